@@ -0,0 +1,61 @@
+package com.stock.batch.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 1분 주기 현재가 수집 Job 설정
+ * 거래 가능한 전체 종목(stock_information)을 종목코드 순으로 gridSize개 구간으로 나누어 동시에 수집한다.
+ * 구간들은 같은 KisRateLimiter를 거치므로 KIS 호출 한도는 구간 수와 관계없이 전체에 한 번만 적용된다.
+ *
+ * 호출 예산: 멀티종목 시세는 호출당 30종목이므로 전체 약 2,700종목이면 1회 실행에 약 90회를 호출한다.
+ * 배치 몫의 초당 한도(18회) 기준 5초 안팎이 걸리고, 정규장 390분 동안 하루 약 35,000회를 쓴다.
+ * 그래서 분당 한도는 90회 이상, 일일 한도는 36,000회 이상이어야 하며 계약에 없는 한도는 설정하지 않는다(0).
+ * 구간마다 동시에 2회씩 호출하므로 gridSize × 2가 kis.api.rate-limit.max-concurrent-connections를 넘지 않게 둔다.
+ *
+ * 구간마다 현재가 응답을 chunkSize개씩 모아 한 트랜잭션에서 일괄 저장한다(청크 크기 = 커밋 간격).
+ *
+ * 정규장(KRX 달력) 중에만 매분 0초(KST)에 비동기로 실행하며, 이전 실행이 아직 끝나지 않았으면 overlapPolicy를 따른다.
+ * 정규장 밖에서는 거래일마다 마감 후 eodSweepDelay가 지나면 종가 수집을 한 번만 실행한다.
+ *
+ * @param gridSize      종목 구간(파티션) 수 = 동시에 수집하는 스레드 수
+ * @param chunkSize     한 번에 저장(커밋)하는 행 수, 리더가 미리 받아 두는 응답 수도 같다
+ * @param overlapPolicy 이전 실행이 끝나지 않았을 때 처리 방식
+ * @param eodSweepDelay 정규장 마감 후 종가 수집까지 기다리는 시간 (종가 확정 대기)
+ */
+@ConfigurationProperties(prefix = "kis.batch.minute")
+public record StockPriceMinuteJobProperties(
+        int gridSize,
+        int chunkSize,
+        OverlapPolicy overlapPolicy,
+        Duration eodSweepDelay
+) {
+
+    public StockPriceMinuteJobProperties {
+        if (gridSize <= 0) {
+            gridSize = 2;
+        }
+        if (chunkSize <= 0) {
+            chunkSize = 300;
+        }
+        if (overlapPolicy == null) {
+            overlapPolicy = OverlapPolicy.SKIP;
+        }
+        if (eodSweepDelay == null || eodSweepDelay.isNegative()) {
+            eodSweepDelay = Duration.ofMinutes(10);
+        }
+    }
+
+    /**
+     * 이전 분의 실행이 아직 끝나지 않았을 때 처리 방식
+     */
+    public enum OverlapPolicy {
+        /** 이번 분은 실행하지 않음 */
+        SKIP,
+        /** 이전 실행이 끝나면 바로 실행 (대기는 가장 최근 분 하나만 유지) */
+        QUEUE,
+        /** 이전 실행을 중지시키고, 중지가 끝나면 가장 최근 분을 실행 */
+        CANCEL_AND_REPLACE
+    }
+}
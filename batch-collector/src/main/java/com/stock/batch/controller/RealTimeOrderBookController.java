@@ -0,0 +1,41 @@
+package com.stock.batch.controller;
+
+import com.stock.batch.service.RealTimeOrderBookService;
+import com.stock.common.dto.ApiResponse;
+import com.stock.common.realtime.OrderBookSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 실시간 호가창 조회 컨트롤러
+ * 수집기가 유지하는 종목별 10단계 호가창을 잠금 없이 복사해 돌려준다 (스프레드, 중간가, 잔량 합 포함).
+ */
+@RestController
+@RequestMapping("/api/v1/realtime/orderbooks")
+@ConditionalOnProperty(name = "kis.api.websocket.order-book.enabled", havingValue = "true")
+public class RealTimeOrderBookController {
+
+    private final RealTimeOrderBookService orderBookService;
+
+    public RealTimeOrderBookController(RealTimeOrderBookService orderBookService) {
+        this.orderBookService = orderBookService;
+    }
+
+    /**
+     * 종목 호가창 조회
+     */
+    @GetMapping("/{stockCode}")
+    public ResponseEntity<ApiResponse<OrderBookSnapshot>> getOrderBook(@PathVariable String stockCode) {
+        OrderBookSnapshot snapshot = orderBookService.getSnapshot(stockCode);
+        if (snapshot == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("호가창이 없습니다: " + stockCode));
+        }
+        return ResponseEntity.ok(ApiResponse.success(snapshot));
+    }
+}
@@ -0,0 +1,108 @@
+package com.stock.batch.controller;
+
+import com.stock.batch.service.RealTimeSubscriptionManager;
+import com.stock.common.dto.ApiResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 실시간 체결가 관심종목 관리 컨트롤러
+ * 웹소켓 연결을 끊지 않고 관심종목을 추가/제거/교체한다.
+ * 기록해 둔 수신 프레임을 재생해 KIS 연결 없이 같은 처리 경로를 재현할 수도 있다.
+ */
+@RestController
+@RequestMapping("/api/v1/realtime/subscriptions")
+@ConditionalOnProperty(name = "kis.api.websocket.enabled", havingValue = "true")
+public class RealTimeSubscriptionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealTimeSubscriptionController.class);
+
+    private final RealTimeSubscriptionManager subscriptionManager;
+
+    public RealTimeSubscriptionController(RealTimeSubscriptionManager subscriptionManager) {
+        this.subscriptionManager = subscriptionManager;
+    }
+
+    /**
+     * 구독 현황 조회
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<RealTimeSubscriptionManager.Status>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(subscriptionManager.getStatus()));
+    }
+
+    /**
+     * 관심종목 전체 교체
+     */
+    @PutMapping
+    public ResponseEntity<ApiResponse<RealTimeSubscriptionManager.Status>> replaceWatchlist(@RequestBody List<String> stockCodes) {
+        logger.info("관심종목 교체 요청: {}개 종목", stockCodes.size());
+        try {
+            return ResponseEntity.ok(ApiResponse.success("관심종목 교체 완료", subscriptionManager.replaceWatchlist(stockCodes)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("잘못된 요청: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 기록한 프레임 재생 시작 (완료를 기다리지 않음, 한 번에 하나만)
+     *
+     * @param date  재생할 기록 날짜 (yyyyMMdd)
+     * @param speed 1이면 수신 당시 간격, N이면 N배속, 0이면 최대 속도
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<ApiResponse<String>> replay(@RequestParam @DateTimeFormat(pattern = "yyyyMMdd") LocalDate date,
+                                                      @RequestParam(defaultValue = "1") double speed) {
+        logger.info("실시간 프레임 재생 요청: 날짜={}, {}배속", date, speed);
+        try {
+            subscriptionManager.startReplay(date, speed);
+            return ResponseEntity.accepted().body(ApiResponse.success("실시간 프레임 재생 시작", date.toString()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("잘못된 요청: " + e.getMessage()));
+        } catch (IOException e) {
+            logger.error("실시간 프레임 재생 시작 실패: 날짜={}", date, e);
+            return ResponseEntity.internalServerError().body(ApiResponse.error("기록을 읽지 못했습니다: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 진행 중인 재생 중지
+     */
+    @DeleteMapping("/replay")
+    public ResponseEntity<ApiResponse<String>> stopReplay() {
+        LocalDate date = subscriptionManager.getReplayDate();
+        if (!subscriptionManager.stopReplay()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error("진행 중인 재생이 없습니다"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("실시간 프레임 재생 중지", String.valueOf(date)));
+    }
+
+    /**
+     * 관심종목 추가
+     */
+    @PostMapping("/{stockCode}")
+    public ResponseEntity<ApiResponse<RealTimeSubscriptionManager.Status>> subscribe(@PathVariable String stockCode) {
+        logger.info("관심종목 추가 요청: 종목코드={}", stockCode);
+        return ResponseEntity.ok(ApiResponse.success("관심종목 추가 완료", subscriptionManager.subscribe(stockCode)));
+    }
+
+    /**
+     * 관심종목 제거
+     */
+    @DeleteMapping("/{stockCode}")
+    public ResponseEntity<ApiResponse<RealTimeSubscriptionManager.Status>> unsubscribe(@PathVariable String stockCode) {
+        logger.info("관심종목 제거 요청: 종목코드={}", stockCode);
+        return ResponseEntity.ok(ApiResponse.success("관심종목 제거 완료", subscriptionManager.unsubscribe(stockCode)));
+    }
+}
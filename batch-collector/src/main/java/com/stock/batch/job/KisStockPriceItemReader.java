@@ -0,0 +1,65 @@
+package com.stock.batch.job;
+
+import com.stock.common.dto.KisStockPriceResponse;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 리액티브 현재가 조회(Flux)를 Spring Batch ItemReader로 잇는 리더
+ * Step이 열릴 때 조회를 시작하고, read()는 도착한 응답을 하나씩 꺼낸다.
+ * prefetch개까지만 미리 받아 두고 꺼내는 만큼 더 요청하므로(backpressure) 청크 처리가 느려도 응답이 쌓이지 않는다.
+ * 현재가는 다시 읽을 수 없는 시점 데이터이므로 재시작 상태를 저장하지 않고, 닫으면 남은 조회를 취소한다.
+ * 스레드 하나(파티션 하나)에서만 읽는다. {@link #cancel()}만 다른 스레드에서 호출할 수 있다.
+ */
+public class KisStockPriceItemReader implements ItemStreamReader<KisStockPriceResponse> {
+
+    private final Supplier<Flux<KisStockPriceResponse>> source;
+    private final int prefetch;
+    private final Sinks.One<Boolean> cancelled = Sinks.one();
+    private Stream<KisStockPriceResponse> stream;
+    private Iterator<KisStockPriceResponse> iterator;
+
+    public KisStockPriceItemReader(Supplier<Flux<KisStockPriceResponse>> source, int prefetch) {
+        this.source = source;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        stream = source.get()
+            .takeUntilOther(cancelled.asMono())
+            .toStream(prefetch);
+        iterator = stream.iterator();
+    }
+
+    @Override
+    public KisStockPriceResponse read() {
+        if (iterator == null) {
+            open(new ExecutionContext());
+        }
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * 남은 조회를 끊고, read()에서 기다리던 스레드는 null(입력 끝)을 받는다.
+     * Job 중지 요청 시 청크 경계까지 응답을 기다리지 않고 Step이 바로 끝나도록 쓴다.
+     */
+    public void cancel() {
+        cancelled.tryEmitValue(Boolean.TRUE);
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+            iterator = null;
+        }
+    }
+}
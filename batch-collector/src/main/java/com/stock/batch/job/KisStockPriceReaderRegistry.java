@@ -0,0 +1,46 @@
+package com.stock.batch.job;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Job 실행별로 열린 현재가 리더 목록
+ * 파티션마다 리더가 하나씩 생기므로 Job 실행 id 하나에 여러 리더가 등록된다.
+ * 스케줄러가 실행을 중지할 때 그 실행의 리더를 모두 취소해, 조회 응답을 기다리던 파티션이 바로 끝나게 한다.
+ * 취소 뒤에 늦게 열린 파티션의 리더는 등록하는 즉시 취소한다.
+ */
+public class KisStockPriceReaderRegistry {
+
+    private final Map<Long, List<KisStockPriceItemReader>> readers = new ConcurrentHashMap<>();
+    private final Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+
+    public void register(long jobExecutionId, KisStockPriceItemReader reader) {
+        readers.computeIfAbsent(jobExecutionId, id -> new CopyOnWriteArrayList<>()).add(reader);
+        if (cancelled.contains(jobExecutionId)) {
+            reader.cancel();
+        }
+    }
+
+    /**
+     * 실행의 리더를 모두 취소
+     *
+     * @return 취소한 리더 수
+     */
+    public int cancel(long jobExecutionId) {
+        cancelled.add(jobExecutionId);
+        List<KisStockPriceItemReader> registered = readers.getOrDefault(jobExecutionId, List.of());
+        registered.forEach(KisStockPriceItemReader::cancel);
+        return registered.size();
+    }
+
+    /**
+     * 끝난 실행의 리더를 목록에서 뺌
+     */
+    public void release(long jobExecutionId) {
+        readers.remove(jobExecutionId);
+        cancelled.remove(jobExecutionId);
+    }
+}
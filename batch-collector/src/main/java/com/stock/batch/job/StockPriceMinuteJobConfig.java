@@ -1,47 +1,146 @@
 package com.stock.batch.job;
 
+import com.stock.batch.config.StockPriceMinuteJobProperties;
 import com.stock.batch.service.StockPriceCollectionService;
+import com.stock.batch.service.StockUniverseService;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.dto.KisStockPriceResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.support.CompositeItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * 1분 주기 수집용 배치 Job/Step 설정
+ * stockPriceMinuteStep은 거래 가능한 전체 종목을 종목코드 구간으로 나누어(파티션)
+ * 구간마다 stockPriceMinuteWorkerStep을 별도 스레드에서 동시에 실행한다.
+ * stockPriceMinuteWorkerStep은 청크 Step으로, 현재가 응답을 읽어(reader) 숫자 행으로 바꾸고(processor)
+ * 청크 단위로 realtime_stock_price와 minute_stock_price에 일괄 upsert한다(writer).
+ * 실시간 체결을 받고 있는 종목은 MinuteStockPriceBarWriter가 체결로 만든 분봉을 저장하므로 조회하지 않는다.
  */
 @Configuration
+@EnableConfigurationProperties(StockPriceMinuteJobProperties.class)
 public class StockPriceMinuteJobConfig {
 
+    /** 실행 대상 분(KST) Job 파라미터 */
+    public static final String SCHEDULED_AT = "scheduledAt";
+
     private static final Logger log = LoggerFactory.getLogger(StockPriceMinuteJobConfig.class);
 
+    @Bean
+    public StockUniversePartitioner stockUniversePartitioner(StockUniverseService stockUniverseService,
+                                                             KisApiProperties kisApiProperties) {
+        return new StockUniversePartitioner(stockUniverseService, kisApiProperties.rateLimit());
+    }
+
+    @Bean
+    public TaskExecutor stockPriceMinutePartitionExecutor(StockPriceMinuteJobProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.gridSize());
+        executor.setMaxPoolSize(properties.gridSize());
+        executor.setThreadNamePrefix("minute-partition-");
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public KisStockPriceReaderRegistry kisStockPriceReaderRegistry() {
+        return new KisStockPriceReaderRegistry();
+    }
+
+    /**
+     * 파티션 하나(종목코드 구간)의 현재가 조회를 시작해 응답을 하나씩 넘기는 리더
+     * Job 중지 시 스케줄러가 취소할 수 있도록 실행 id로 등록한다.
+     */
+    @Bean
+    @StepScope
+    public KisStockPriceItemReader stockPriceMinuteReader(
+            StockUniverseService stockUniverseService,
+            StockPriceCollectionService stockPriceCollectionService,
+            StockPriceMinuteJobProperties properties,
+            KisStockPriceReaderRegistry kisStockPriceReaderRegistry,
+            @Value("#{stepExecution.jobExecutionId}") Long jobExecutionId,
+            @Value("#{stepExecutionContext['" + StockUniversePartitioner.FROM_STOCK_CODE + "']}") String fromStockCode,
+            @Value("#{stepExecutionContext['" + StockUniversePartitioner.TO_STOCK_CODE + "']}") String toStockCode) {
+        KisStockPriceItemReader reader = new KisStockPriceItemReader(() -> {
+            List<KisStockPriceRequest> stocks = stockUniverseService.findTradableStocks(fromStockCode, toStockCode);
+            log.info("[배치] 종목 구간 수집 시작: {} ~ {}, {}개 종목", fromStockCode, toStockCode, stocks.size());
+            return stockPriceCollectionService.collectPolledStockPrices(stocks);
+        }, properties.chunkSize());
+        kisStockPriceReaderRegistry.register(jobExecutionId, reader);
+        return reader;
+    }
+
+    /**
+     * 스케줄러가 넘긴 예정 시각(scheduledAt)의 분으로 분봉 시각을 맞추는 프로세서
+     * 실행이 늦게 시작하거나 다음 분까지 이어져도 행은 예정된 분에 저장된다.
+     */
+    @Bean
+    @StepScope
+    public StockPriceRowProcessor stockPriceRowProcessor(
+            @Value("#{jobParameters['" + SCHEDULED_AT + "']}") LocalDateTime scheduledAt) {
+        return new StockPriceRowProcessor(scheduledAt);
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<StockPriceRow> realtimeStockPriceWriter(DataSource dataSource) {
+        return StockPriceRowWriters.realtimeStockPrice(dataSource);
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<StockPriceRow> minuteStockPriceWriter(DataSource dataSource) {
+        return StockPriceRowWriters.minuteStockPrice(dataSource);
+    }
+
+    @Bean
+    public Step stockPriceMinuteWorkerStep(JobRepository jobRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           KisStockPriceItemReader stockPriceMinuteReader,
+                                           StockPriceRowProcessor stockPriceRowProcessor,
+                                           JdbcBatchItemWriter<StockPriceRow> realtimeStockPriceWriter,
+                                           JdbcBatchItemWriter<StockPriceRow> minuteStockPriceWriter,
+                                           StockPriceMinuteJobProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new StepBuilder("stockPriceMinuteWorkerStep", jobRepository)
+            .<KisStockPriceResponse, StockPriceRow>chunk(properties.chunkSize(), transactionManager)
+            .reader(stockPriceMinuteReader)
+            .processor(stockPriceRowProcessor)
+            .writer(new CompositeItemWriter<>(realtimeStockPriceWriter, minuteStockPriceWriter))
+            .listener(new StockPricePartitionMetricsListener(meterRegistry))
+            .build();
+    }
+
     @Bean
     public Step stockPriceMinuteStep(JobRepository jobRepository,
-                                     PlatformTransactionManager transactionManager,
-                                     StockPriceCollectionService stockPriceCollectionService) {
+                                     StockUniversePartitioner stockUniversePartitioner,
+                                     Step stockPriceMinuteWorkerStep,
+                                     TaskExecutor stockPriceMinutePartitionExecutor,
+                                     StockPriceMinuteJobProperties properties) {
         return new StepBuilder("stockPriceMinuteStep", jobRepository)
-            .tasklet((contribution, chunkContext) -> {
-                log.info("[배치] 1분 주기 종목 현재가 수집 Step 시작");
-                try {
-                    // 주요 종목 현재가를 순차 수집 (Reactive -> 블로킹 완료 대기)
-                    stockPriceCollectionService
-                        .collectMajorStockPrices()
-                        .collectList()
-                        .block();
-                    log.info("[배치] 1분 주기 종목 현재가 수집 Step 완료");
-                } catch (Exception e) {
-                    log.error("[배치] 1분 주기 종목 현재가 수집 Step 중 오류", e);
-                    throw e;
-                }
-                return RepeatStatus.FINISHED;
-            }, transactionManager)
+            .partitioner("stockPriceMinuteWorkerStep", stockUniversePartitioner)
+            .step(stockPriceMinuteWorkerStep)
+            .gridSize(properties.gridSize())
+            .taskExecutor(stockPriceMinutePartitionExecutor)
             .build();
     }
 
@@ -0,0 +1,45 @@
+package com.stock.batch.job;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 파티션(종목 구간)별 수집 소요 시간 기록
+ * 구간마다 kis.batch.minute.partition.duration{partition, status}로 남겨 1분 안에 끝나지 않는 구간을 찾는다.
+ */
+public class StockPricePartitionMetricsListener implements StepExecutionListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public StockPricePartitionMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LocalDateTime startTime = stepExecution.getStartTime();
+        if (startTime != null) {
+            Timer.builder("kis.batch.minute.partition.duration")
+                .description("1분 주기 수집 파티션별 소요 시간")
+                .tag("partition", partitionName(stepExecution.getStepName()))
+                .tag("status", stepExecution.getStatus().name())
+                .register(meterRegistry)
+                .record(Duration.between(startTime, LocalDateTime.now()));
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    /**
+     * "stockPriceMinuteWorkerStep:partition0" → "partition0"
+     */
+    static String partitionName(String stepName) {
+        int separator = stepName.lastIndexOf(':');
+        return separator < 0 ? stepName : stepName.substring(separator + 1);
+    }
+}
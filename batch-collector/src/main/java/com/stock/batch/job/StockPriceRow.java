@@ -0,0 +1,27 @@
+package com.stock.batch.job;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 현재가 응답(문자열 필드)을 숫자로 바꾼 저장용 행
+ *
+ * @param barTime           수집한 분 (KST, 초 이하 절삭)
+ * @param accumulatedVolume 누적 거래량
+ * @param accumulatedValue  누적 거래대금
+ */
+public record StockPriceRow(
+    String stockCode,
+    LocalDateTime barTime,
+    long currentPrice,
+    long priceChange,
+    BigDecimal priceChangeRate,
+    long openPrice,
+    long highPrice,
+    long lowPrice,
+    long askPrice1,
+    long bidPrice1,
+    long accumulatedVolume,
+    long accumulatedValue
+) {
+}
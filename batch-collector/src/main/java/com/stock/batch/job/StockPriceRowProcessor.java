@@ -0,0 +1,87 @@
+package com.stock.batch.job;
+
+import com.stock.common.dto.KisStockPriceResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ItemProcessor;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 현재가 응답을 저장용 숫자 행으로 변환
+ * 실패 응답과 현재가가 없는 응답은 걸러 낸다(null 반환). 숫자 필드는 부호(+/-)와 빈 값을 허용한다.
+ * 분봉 시각은 Job의 예정 시각(scheduledAt)을 받으면 그 분을 쓰고, 없으면 처리 시점의 분(KST)을 쓴다.
+ */
+public class StockPriceRowProcessor implements ItemProcessor<KisStockPriceResponse, StockPriceRow> {
+
+    private static final Logger log = LoggerFactory.getLogger(StockPriceRowProcessor.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final Clock clock;
+    private final LocalDateTime barTime;
+
+    public StockPriceRowProcessor() {
+        this(Clock.system(KST));
+    }
+
+    /**
+     * @param barTime 모든 행에 쓸 분봉 시각 (null이면 처리 시점의 분)
+     */
+    public StockPriceRowProcessor(LocalDateTime barTime) {
+        this.clock = Clock.system(KST);
+        this.barTime = barTime == null ? null : barTime.truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    StockPriceRowProcessor(Clock clock) {
+        this.clock = clock;
+        this.barTime = null;
+    }
+
+    @Override
+    public StockPriceRow process(KisStockPriceResponse response) {
+        KisStockPriceResponse.Output output = response.output();
+        if (!response.isSuccessful() || output == null || isBlank(output.stockCode()) || isBlank(output.currentPrice())) {
+            log.debug("저장하지 않는 현재가 응답: {}", response.getErrorMessage());
+            return null;
+        }
+        try {
+            return new StockPriceRow(
+                output.stockCode(),
+                barTime != null ? barTime : LocalDateTime.now(clock.withZone(KST)).truncatedTo(ChronoUnit.MINUTES),
+                parseLong(output.currentPrice()),
+                parseLong(output.priceChange()),
+                parseDecimal(output.priceChangeRate()),
+                parseLong(output.openPrice()),
+                parseLong(output.highPrice()),
+                parseLong(output.lowPrice()),
+                parseLong(output.askPrice1()),
+                parseLong(output.bidPrice1()),
+                parseLong(output.accumulatedVolume()),
+                parseLong(output.accumulatedValue()));
+        } catch (NumberFormatException e) {
+            log.warn("현재가 응답 숫자 변환 실패, 건너뜀: 종목코드={}, 오류={}", output.stockCode(), e.getMessage());
+            return null;
+        }
+    }
+
+    static long parseLong(String value) {
+        if (isBlank(value)) {
+            return 0;
+        }
+        String trimmed = value.trim();
+        return Long.parseLong(trimmed.charAt(0) == '+' ? trimmed.substring(1) : trimmed);
+    }
+
+    static BigDecimal parseDecimal(String value) {
+        return isBlank(value) ? BigDecimal.ZERO : new BigDecimal(value.trim());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
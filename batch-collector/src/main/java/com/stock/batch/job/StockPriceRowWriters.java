@@ -0,0 +1,90 @@
+package com.stock.batch.job;
+
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+
+/**
+ * 현재가 행 저장용 JDBC 일괄 writer
+ * 청크 하나를 한 번의 JDBC batch로 보내며, MariaDB 드라이버는 이를 bulk 명령 하나로 전송하므로(useBulkStmts)
+ * 행마다 DB 왕복이 생기지 않는다. 같은 키로 다시 쓰면 덮어쓰므로(ON DUPLICATE KEY UPDATE) 재실행해도 안전하다.
+ * 값이 같아 바뀐 행이 없으면 갱신 건수가 0이므로 갱신 건수는 검사하지 않는다.
+ */
+public final class StockPriceRowWriters {
+
+    static final String REALTIME_UPSERT_SQL = """
+        INSERT INTO realtime_stock_price
+            (stock_code, current_price, change_price, change_rate, volume, trading_value, bid_price, ask_price)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            current_price = VALUES(current_price),
+            change_price = VALUES(change_price),
+            change_rate = VALUES(change_rate),
+            volume = VALUES(volume),
+            trading_value = VALUES(trading_value),
+            bid_price = VALUES(bid_price),
+            ask_price = VALUES(ask_price)
+        """;
+
+    /**
+     * 분봉은 해당 분에 수집한 현재가로 만든다. 같은 분에 다시 수집하면 시가는 두고 고가/저가/종가와 누적 거래량만 갱신한다.
+     */
+    static final String MINUTE_UPSERT_SQL = """
+        INSERT INTO minute_stock_price
+            (stock_code, bar_time, open_price, high_price, low_price, close_price, accumulated_volume, accumulated_value)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            high_price = GREATEST(high_price, VALUES(high_price)),
+            low_price = LEAST(low_price, VALUES(low_price)),
+            close_price = VALUES(close_price),
+            accumulated_volume = VALUES(accumulated_volume),
+            accumulated_value = VALUES(accumulated_value)
+        """;
+
+    private StockPriceRowWriters() {
+    }
+
+    /**
+     * 종목별 최신 현재가 (realtime_stock_price)
+     */
+    public static JdbcBatchItemWriter<StockPriceRow> realtimeStockPrice(DataSource dataSource) {
+        return new JdbcBatchItemWriterBuilder<StockPriceRow>()
+            .dataSource(dataSource)
+            .sql(REALTIME_UPSERT_SQL)
+            .itemPreparedStatementSetter((row, ps) -> {
+                ps.setString(1, row.stockCode());
+                ps.setLong(2, row.currentPrice());
+                ps.setLong(3, row.priceChange());
+                ps.setBigDecimal(4, row.priceChangeRate());
+                ps.setLong(5, row.accumulatedVolume());
+                ps.setLong(6, row.accumulatedValue());
+                ps.setLong(7, row.bidPrice1());
+                ps.setLong(8, row.askPrice1());
+            })
+            .assertUpdates(false)
+            .build();
+    }
+
+    /**
+     * 종목별 1분봉 (minute_stock_price)
+     */
+    public static JdbcBatchItemWriter<StockPriceRow> minuteStockPrice(DataSource dataSource) {
+        return new JdbcBatchItemWriterBuilder<StockPriceRow>()
+            .dataSource(dataSource)
+            .sql(MINUTE_UPSERT_SQL)
+            .itemPreparedStatementSetter((row, ps) -> {
+                ps.setString(1, row.stockCode());
+                ps.setTimestamp(2, Timestamp.valueOf(row.barTime()));
+                ps.setLong(3, row.currentPrice());
+                ps.setLong(4, row.currentPrice());
+                ps.setLong(5, row.currentPrice());
+                ps.setLong(6, row.currentPrice());
+                ps.setLong(7, row.accumulatedVolume());
+                ps.setLong(8, row.accumulatedValue());
+            })
+            .assertUpdates(false)
+            .build();
+    }
+}
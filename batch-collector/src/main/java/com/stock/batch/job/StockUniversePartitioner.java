@@ -0,0 +1,74 @@
+package com.stock.batch.job;
+
+import com.stock.batch.service.StockUniverseService;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.service.KisApiService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 거래 가능한 전체 종목을 종목코드 순으로 정렬해 종목 수가 고른 연속 구간으로 나누는 파티셔너
+ * 파티션마다 구간 양 끝 종목코드만 넘기고 종목 목록은 각 파티션이 다시 조회하므로 Job 저장소에 큰 컨텍스트가 남지 않는다.
+ * 분할할 때 한 번 실행에 필요한 멀티종목 시세 호출 수를 호출 한도와 비교해, 1분 안에 끝낼 수 없으면 경고한다.
+ */
+public class StockUniversePartitioner implements Partitioner {
+
+    private static final Logger log = LoggerFactory.getLogger(StockUniversePartitioner.class);
+
+    public static final String FROM_STOCK_CODE = "fromStockCode";
+    public static final String TO_STOCK_CODE = "toStockCode";
+    public static final String STOCK_COUNT = "stockCount";
+
+    private final StockUniverseService stockUniverseService;
+    private final KisApiProperties.RateLimit rateLimit;
+
+    public StockUniversePartitioner(StockUniverseService stockUniverseService, KisApiProperties.RateLimit rateLimit) {
+        this.stockUniverseService = stockUniverseService;
+        this.rateLimit = rateLimit;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<KisStockPriceRequest> stocks = stockUniverseService.findTradableStocks();
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        if (stocks.isEmpty()) {
+            log.warn("[배치] 수집 대상 종목 없음 (stock_information 확인 필요)");
+            return partitions;
+        }
+        int partitionCount = Math.min(gridSize, stocks.size());
+        for (int i = 0; i < partitionCount; i++) {
+            int from = (int) ((long) stocks.size() * i / partitionCount);
+            int to = (int) ((long) stocks.size() * (i + 1) / partitionCount);
+            ExecutionContext context = new ExecutionContext();
+            context.putString(FROM_STOCK_CODE, stocks.get(from).stockCode());
+            context.putString(TO_STOCK_CODE, stocks.get(to - 1).stockCode());
+            context.putInt(STOCK_COUNT, to - from);
+            partitions.put("partition" + i, context);
+        }
+        log.info("[배치] 수집 대상 {}개 종목을 {}개 구간으로 분할", stocks.size(), partitionCount);
+        checkBudget(stocks.size());
+        return partitions;
+    }
+
+    /**
+     * 한 번 실행의 호출 수(종목 수 / 30)가 분당 한도를 넘거나 초당 한도로 60초 안에 끝나지 않으면 경고
+     */
+    private void checkBudget(int stockCount) {
+        int calls = (stockCount + KisApiService.MAX_STOCKS_PER_MULTI_PRICE - 1) / KisApiService.MAX_STOCKS_PER_MULTI_PRICE;
+        double seconds = (double) calls / rateLimit.requestsPerSecond();
+        boolean overMinuteLimit = rateLimit.requestsPerMinute() > 0 && calls > rateLimit.requestsPerMinute();
+        if (overMinuteLimit || seconds >= 60) {
+            log.warn("[배치] 호출 한도 부족: 1회 실행에 {}회 호출 필요 (초당={}, 분당={}), 매분 수집이 다음 분으로 밀립니다",
+                calls, rateLimit.requestsPerSecond(), rateLimit.requestsPerMinute());
+        } else {
+            log.debug("[배치] 1회 실행 호출 수={}, 초당 한도 기준 최소 {}초", calls, String.format("%.1f", seconds));
+        }
+    }
+}
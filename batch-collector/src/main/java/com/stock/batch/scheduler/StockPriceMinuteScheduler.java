@@ -1,172 +1,271 @@
 package com.stock.batch.scheduler;
 
-import com.stock.common.config.KisApiProperties;
-import com.stock.common.dto.KisStockPriceRequest;
-import com.stock.common.dto.KisStockPriceResponse;
-import com.stock.common.service.KisApiService;
+import com.stock.batch.config.StockPriceMinuteJobProperties;
+import com.stock.batch.config.StockPriceMinuteJobProperties.OverlapPolicy;
+import com.stock.batch.job.KisStockPriceReaderRegistry;
+import com.stock.batch.job.StockPriceMinuteJobConfig;
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.calendar.TradingHours;
+import com.stock.common.calendar.TradingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
- * 매 1분마다 배치 Job 실행 스케줄러
+ * 정규장 중 매 1분(KST 0초)마다 배치 Job 실행 스케줄러
+ * 실행 여부는 {@link KrxTradingCalendar}로 판단한다. 휴장일, 야간, 장전/장후 시간외에는 분 단위로 실행하지 않고,
+ * 거래일 정규장 마감 후 eodSweepDelay가 지나면 마감 시각을 예정 시각으로 한 종가 수집을 한 번만 실행한다.
+ * Job은 별도 스레드에서 비동기로 실행하므로 스케줄러 스레드는 막히지 않고 다음 분을 제때 시작한다.
+ * 이전 분의 실행이 아직 끝나지 않았으면 {@link OverlapPolicy}에 따라 건너뛰거나, 끝난 뒤 실행하거나,
+ * 이전 실행을 중지시키고 중지가 끝나는 대로 실행한다. 어느 정책이든 두 실행이 동시에 돌지 않는다.
+ * 실행마다 예정 시각 대비 시작 지연(start skew)과 실행 시간을 기록한다.
  */
 @Configuration
 @EnableScheduling
 public class StockPriceMinuteScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(StockPriceMinuteScheduler.class);
-    
-    // 삼성전자 종목코드
-    private static final String SAMSUNG_STOCK_CODE = "005930";
 
-    private final JobLauncher jobLauncher;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final Job stockPriceMinuteJob;
-    private final KisApiService kisApiService;
-    private final KisApiProperties kisApiProperties;
+    private final JobOperator jobOperator;
+    private final KisStockPriceReaderRegistry readerRegistry;
+    private final KrxTradingCalendar calendar;
+    private final OverlapPolicy overlapPolicy;
+    private final Duration eodSweepDelay;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Timer startSkewTimer;
+    private JobLauncher jobLauncher;
+
+    // 아래 상태는 this로 동기화
+    private final List<JobExecution> inFlight = new ArrayList<>();
+    private JobExecution current;
+    private JobExecution stopRequested;
+    private LocalDateTime queuedMinute;
+    private LocalDate lastSweepDate;
+
+    @Autowired
+    public StockPriceMinuteScheduler(JobRepository jobRepository, Job stockPriceMinuteJob, JobOperator jobOperator,
+                                     KisStockPriceReaderRegistry readerRegistry, KrxTradingCalendar calendar,
+                                     StockPriceMinuteJobProperties properties, MeterRegistry meterRegistry) {
+        this(null, stockPriceMinuteJob, jobOperator, readerRegistry, calendar, properties, meterRegistry,
+            Clock.system(KST));
+        this.jobLauncher = asyncJobLauncher(jobRepository);
+    }
 
-    public StockPriceMinuteScheduler(JobLauncher jobLauncher, Job stockPriceMinuteJob, 
-                                   KisApiService kisApiService, KisApiProperties kisApiProperties) {
+    StockPriceMinuteScheduler(JobLauncher jobLauncher, Job stockPriceMinuteJob, JobOperator jobOperator,
+                              KisStockPriceReaderRegistry readerRegistry, KrxTradingCalendar calendar,
+                              StockPriceMinuteJobProperties properties, MeterRegistry meterRegistry, Clock clock) {
         this.jobLauncher = jobLauncher;
         this.stockPriceMinuteJob = stockPriceMinuteJob;
-        this.kisApiService = kisApiService;
-        this.kisApiProperties = kisApiProperties;
+        this.jobOperator = jobOperator;
+        this.readerRegistry = readerRegistry;
+        this.calendar = calendar;
+        this.overlapPolicy = properties.overlapPolicy();
+        this.eodSweepDelay = properties.eodSweepDelay();
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.startSkewTimer = Timer.builder("kis.batch.minute.start.skew")
+            .description("예정 시각(분 0초) 대비 Job 시작 지연")
+            .register(meterRegistry);
     }
 
-    // 초(0)마다 1분 간격 실행
-    @Scheduled(cron = "0 * * * * *")
-    public void runStockPriceMinuteJob() {
-        try {
-            // 삼성전자 현재가 조회
-            getSamsungStockPrice();
-            
-            // 기존 배치 Job 실행
-            JobParameters params = new JobParametersBuilder()
-                .addLong("timestamp", System.currentTimeMillis()) // RunId 대체 키
-                .toJobParameters();
-
-            log.info("[스케줄러] 1분 주기 배치 시작");
-            jobLauncher.run(stockPriceMinuteJob, params);
-        } catch (Exception e) {
-            log.error("[스케줄러] 1분 주기 배치 실행 실패", e);
+    @Scheduled(cron = "0 * * * * *", zone = "Asia/Seoul")
+    public synchronized void runStockPriceMinuteJob() {
+        Instant now = clock.instant();
+        LocalDateTime minute = LocalDateTime.ofInstant(now, KST).truncatedTo(ChronoUnit.MINUTES);
+        TradingHours hours = calendar.hoursOf(minute.toLocalDate());
+        if (hours == null) {
+            return;
+        }
+        if (hours.sessionAt(minute.toLocalTime()) == TradingSession.REGULAR) {
+            onMinute(minute);
+        } else if (!hours.date().equals(lastSweepDate)
+                && !now.isBefore(hours.at(hours.regularClose()).plus(eodSweepDelay))) {
+            sweep(hours.date().atTime(hours.regularClose()));
         }
     }
-    
+
     /**
-     * 삼성전자 현재가 조회 및 콘솔 출력
+     * 예정된 분의 실행 요청
+     *
+     * @param minute 실행 대상 분 (KST)
      */
-    private void getSamsungStockPrice() {
-        try {
-            // API 설정 정보 출력
-            logApiConfiguration();
-            
-            log.info("[삼성전자 시세 조회] 시작 - 종목코드: {}", SAMSUNG_STOCK_CODE);
-            
-            // 삼성전자는 코스피 종목이므로 kospi 메서드 사용
-            KisStockPriceResponse response = kisApiService.getKospiStockPrice(SAMSUNG_STOCK_CODE)
-                .block(); // 동기적으로 처리
-            
-            if (response != null && response.isSuccessful()) {
-                printStockPriceInfo(response);
-            } else {
-                String errorMessage = response != null ? response.getErrorMessage() : "응답 없음";
-                log.error("[삼성전자 시세 조회] 실패: {}", errorMessage);
+    synchronized void onMinute(LocalDateTime minute) {
+        if (current != null && current.isRunning()) {
+            Counter.builder("kis.batch.minute.overlaps")
+                .description("이전 실행이 끝나지 않은 채 다음 분이 된 횟수")
+                .tag("policy", overlapPolicy.name().toLowerCase())
+                .register(meterRegistry)
+                .increment();
+            switch (overlapPolicy) {
+                case SKIP -> {
+                    log.warn("[스케줄러] 이전 실행(id={})이 끝나지 않아 {} 실행을 건너뜀", current.getId(), minute);
+                    return;
+                }
+                case QUEUE -> {
+                    if (queuedMinute != null) {
+                        log.warn("[스케줄러] 대기 중이던 {} 실행을 {} 실행으로 대체", queuedMinute, minute);
+                    }
+                    queuedMinute = minute;
+                    return;
+                }
+                case CANCEL_AND_REPLACE -> {
+                    // 중지가 끝나면 onJobFinished()에서 실행 (중지 중에 온 분은 가장 최근 분만 유지)
+                    if (stopRequested != current) {
+                        stop(current);
+                        stopRequested = current;
+                    }
+                    queuedMinute = minute;
+                    return;
+                }
             }
-            
-        } catch (Exception e) {
-            log.error("[삼성전자 시세 조회] 예외 발생", e);
         }
+        launch(minute);
     }
-    
+
     /**
-     * 주식 시세 정보 콘솔 출력
+     * 비동기 실행 스레드에서 Job이 끝날 때마다 호출
+     * 끝난 실행의 시간을 기록하고, 대기 중인 분(QUEUE 또는 중지를 기다리던 CANCEL_AND_REPLACE)이 있으면 실행한다.
      */
-    private void printStockPriceInfo(KisStockPriceResponse response) {
-        KisStockPriceResponse.Output output = response.output();
-        
-        log.info("============= 삼성전자 현재가 정보 =============");
-        log.info("종목명: {}", output.stockName());
-        log.info("종목코드: {}", output.stockCode());
-        log.info("현재가: {}원", formatPrice(output.currentPrice()));
-        log.info("전일대비: {} ({}%)", formatPrice(output.priceChange()), output.priceChangeRate());
-        log.info("등락률 부호: {}", getPriceChangeSignText(output.priceChangeSign()));
-        log.info("시가: {}원", formatPrice(output.openPrice()));
-        log.info("고가: {}원", formatPrice(output.highPrice()));
-        log.info("저가: {}원", formatPrice(output.lowPrice()));
-        log.info("거래량: {}", formatVolume(output.accumulatedVolume()));
-        log.info("거래대금: {}원", formatPrice(output.accumulatedValue()));
-        log.info("체결시간: {}", output.transactionTime());
-        log.info("===========================================");
+    synchronized void onJobFinished() {
+        Iterator<JobExecution> iterator = inFlight.iterator();
+        while (iterator.hasNext()) {
+            JobExecution execution = iterator.next();
+            if (execution.isRunning()) {
+                continue;
+            }
+            iterator.remove();
+            readerRegistry.release(execution.getId());
+            if (execution.getStartTime() != null && execution.getEndTime() != null) {
+                Timer.builder("kis.batch.minute.duration")
+                    .description("1분 주기 Job 실행 시간")
+                    .tag("status", execution.getStatus().name())
+                    .register(meterRegistry)
+                    .record(Duration.between(execution.getStartTime(), execution.getEndTime()));
+            }
+        }
+        if (queuedMinute != null && (current == null || !current.isRunning())) {
+            LocalDateTime minute = queuedMinute;
+            queuedMinute = null;
+            launch(minute);
+        }
     }
-    
+
     /**
-     * 가격 포맷팅 (천 단위 구분)
+     * 장 마감 후 종가 수집 (진행 중인 실행이 있거나 실행에 실패하면 다음 분에 다시 시도)
+     * 재시작 등으로 같은 마감 시각의 실행이 이미 완료돼 있으면 수집한 것으로 본다.
+     *
+     * @param close 정규장 마감 시각 (분봉 시각으로 사용)
      */
-    private String formatPrice(String price) {
-        if (price == null || price.trim().isEmpty()) {
-            return "0";
+    private void sweep(LocalDateTime close) {
+        if (current != null && current.isRunning()) {
+            return;
         }
+        queuedMinute = null;
         try {
-            long longPrice = Long.parseLong(price);
-            return String.format("%,d", longPrice);
-        } catch (NumberFormatException e) {
-            return price;
+            JobExecution execution = run(close);
+            log.info("[스케줄러] 장 마감 종가 수집 시작: {} (id={})", close, execution.getId());
+        } catch (JobInstanceAlreadyCompleteException e) {
+            log.info("[스케줄러] 장 마감 종가 수집 이미 완료: {}", close);
+        } catch (Exception e) {
+            log.error("[스케줄러] 장 마감 종가 수집 실행 실패: {}", close, e);
+            return;
         }
+        lastSweepDate = close.toLocalDate();
     }
-    
-    /**
-     * 거래량 포맷팅
-     */
-    private String formatVolume(String volume) {
-        if (volume == null || volume.trim().isEmpty()) {
-            return "0";
+
+    private void launch(LocalDateTime minute) {
+        Duration skew = Duration.between(minute, LocalDateTime.now(clock.withZone(KST)));
+        startSkewTimer.record(skew.isNegative() ? Duration.ZERO : skew);
+        JobExecution execution = start(minute);
+        if (execution != null) {
+            log.info("[스케줄러] 1분 주기 배치 시작: {} (id={}, 지연={}ms)", minute, execution.getId(), skew.toMillis());
         }
+    }
+
+    private JobExecution start(LocalDateTime minute) {
         try {
-            long longVolume = Long.parseLong(volume);
-            return String.format("%,d", longVolume);
-        } catch (NumberFormatException e) {
-            return volume;
+            return run(minute);
+        } catch (Exception e) {
+            log.error("[스케줄러] 1분 주기 배치 실행 실패: {}", minute, e);
+            return null;
         }
     }
-    
+
+    private JobExecution run(LocalDateTime minute) throws Exception {
+        JobParameters params = new JobParametersBuilder()
+            .addLocalDateTime(StockPriceMinuteJobConfig.SCHEDULED_AT, minute)
+            .toJobParameters();
+        JobExecution execution = jobLauncher.run(stockPriceMinuteJob, params);
+        current = execution;
+        inFlight.add(execution);
+        return execution;
+    }
+
     /**
-     * 등락률 부호 텍스트 변환
+     * 실행 중지 요청 후 파티션 리더의 조회를 끊어, 응답을 기다리던 파티션도 바로 끝나게 한다.
      */
-    private String getPriceChangeSignText(String sign) {
-        if (sign == null) return "보합";
-        
-        return switch (sign) {
-            case "1" -> "▲ 상승";
-            case "2" -> "▼ 하락";
-            case "3" -> "→ 보합";
-            case "4" -> "▲ 상한가";
-            case "5" -> "▼ 하한가";
-            default -> "보합 (" + sign + ")";
-        };
+    private void stop(JobExecution execution) {
+        try {
+            jobOperator.stop(execution.getId());
+        } catch (Exception e) {
+            log.warn("[스케줄러] 이전 실행(id={}) 중지 요청 실패: {}", execution.getId(), e.getMessage());
+        }
+        int cancelled = readerRegistry.cancel(execution.getId());
+        log.warn("[스케줄러] 이전 실행(id={})을 중지 요청 (리더 {}개 취소), 중지되면 다음 분을 실행",
+            execution.getId(), cancelled);
     }
-    
+
     /**
-     * API 설정 정보 로깅
+     * 실행 요청 즉시 JobExecution을 돌려주고 Job은 새 스레드에서 실행하는 런처
+     * Job이 끝나면(성공/실패 무관) {@link #onJobFinished()}를 호출한다.
      */
-    private void logApiConfiguration() {
-        String appKey = kisApiProperties.appKey();
-        String baseUrl = kisApiProperties.baseUrl();
-        
-        // AppKey 마스킹 (보안을 위해 마지막 4자리만 표시)
-        String maskedAppKey = appKey != null && appKey.length() > 4 ? 
-            "*".repeat(appKey.length() - 4) + appKey.substring(appKey.length() - 4) : 
-            "*".repeat(appKey != null ? appKey.length() : 0);
-            
-        log.info("========== KIS API 설정 정보 ==========");
-        log.info("Base URL: {}", baseUrl);
-        log.info("App Key: {}", maskedAppKey);
-        log.info("Account Number: {}", kisApiProperties.accountNumber());
-        log.info("=====================================");
+    private JobLauncher asyncJobLauncher(JobRepository jobRepository) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("minute-job-");
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(task -> executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                onJobFinished();
+            }
+        }));
+        try {
+            launcher.afterPropertiesSet();
+        } catch (Exception e) {
+            throw new IllegalStateException("1분 주기 배치 런처 초기화 실패", e);
+        }
+        return launcher;
     }
 }
@@ -0,0 +1,72 @@
+package com.stock.batch.service;
+
+import com.stock.common.realtime.BarResolution;
+import com.stock.common.realtime.PriceBar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 장 마감 후 닫힌 일봉을 daily_stock_price에 저장
+ * 실시간 체결로 만든 일봉을 그대로 쓰므로 장 마감 후 종목별 REST 조회가 필요 없다.
+ * 수정 일봉(revision)도 같은 (종목코드, 거래일) 행을 덮어쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.websocket.enabled", havingValue = "true")
+public class DailyStockPriceBarWriter implements PriceBarWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyStockPriceBarWriter.class);
+
+    static final String UPSERT_SQL = """
+        INSERT INTO daily_stock_price
+            (stock_code, trade_date, open_price, high_price, low_price, close_price, volume, trading_value)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            open_price = VALUES(open_price),
+            high_price = VALUES(high_price),
+            low_price = VALUES(low_price),
+            close_price = VALUES(close_price),
+            volume = VALUES(volume),
+            trading_value = VALUES(trading_value)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyStockPriceBarWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(List<PriceBar> bars) {
+        List<Object[]> rows = bars.stream()
+            .filter(bar -> bar.resolution() == BarResolution.DAY_1)
+            .map(DailyStockPriceBarWriter::toRow)
+            .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        log.info("일별 시세 저장: {}건", rows.size());
+    }
+
+    private static Object[] toRow(PriceBar bar) {
+        int date = bar.businessDate();
+        LocalDate tradeDate = LocalDate.of(date / 10000, date / 100 % 100, date % 100);
+        return new Object[]{
+            bar.stockCode(),
+            Date.valueOf(tradeDate),
+            bar.openPrice(),
+            bar.highPrice(),
+            bar.lowPrice(),
+            bar.closePrice(),
+            bar.volume(),
+            bar.tradeValue()
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.stock.batch.service;
+
+import com.stock.common.realtime.BarResolution;
+import com.stock.common.realtime.PriceBar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 닫힌 1분봉을 minute_stock_price에 저장
+ * 실시간 체결로 만든 분봉이므로 실시간 구독 중인 종목은 1분 주기 배치가 조회하지 않는다.
+ * 수정 분봉(revision)도 같은 (종목코드, 분봉 시각) 행을 통째로 덮어쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.websocket.enabled", havingValue = "true")
+public class MinuteStockPriceBarWriter implements PriceBarWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(MinuteStockPriceBarWriter.class);
+
+    static final String UPSERT_SQL = """
+        INSERT INTO minute_stock_price
+            (stock_code, bar_time, open_price, high_price, low_price, close_price, accumulated_volume, accumulated_value)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            open_price = VALUES(open_price),
+            high_price = VALUES(high_price),
+            low_price = VALUES(low_price),
+            close_price = VALUES(close_price),
+            accumulated_volume = VALUES(accumulated_volume),
+            accumulated_value = VALUES(accumulated_value)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MinuteStockPriceBarWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(List<PriceBar> bars) {
+        List<Object[]> rows = bars.stream()
+            .filter(bar -> bar.resolution() == BarResolution.MINUTE_1)
+            .map(MinuteStockPriceBarWriter::toRow)
+            .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        log.debug("분봉 저장: {}건", rows.size());
+    }
+
+    private static Object[] toRow(PriceBar bar) {
+        int date = bar.businessDate();
+        int time = bar.startTime();
+        LocalDateTime barTime = LocalDateTime.of(date / 10000, date / 100 % 100, date % 100,
+            time / 10000, time / 100 % 100);
+        return new Object[]{
+            bar.stockCode(),
+            Timestamp.valueOf(barTime),
+            bar.openPrice(),
+            bar.highPrice(),
+            bar.lowPrice(),
+            bar.closePrice(),
+            bar.accumulatedVolume(),
+            bar.accumulatedTradeValue()
+        };
+    }
+}
@@ -0,0 +1,555 @@
+package com.stock.batch.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KisWebSocketProperties;
+import com.stock.common.realtime.BarResolution;
+import com.stock.common.realtime.KisExecutionTick;
+import com.stock.common.realtime.PriceBar;
+import com.stock.common.symbol.SymbolTable;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 실시간 체결(H0STCNT0) 한 번의 처리로 여러 주기(1초/10초/1분/5분/1시간/1일)의 봉을 함께 만드는 집계기
+ * 체결은 가장 짧은 주기의 봉에만 반영하고, 봉이 닫히면 그 봉을 바로 위 주기의 봉에 합친다.
+ * 주기별로 진행 중인 봉 하나(와 늦은 체결 반영용 직전 봉)만 종목 디렉터리의 id로 찾는 기본형 배열에 담으므로
+ * 메모리는 종목 수 x 주기 수를 넘지 않는다. 디렉터리에 없는 종목의 체결은 버린다.
+ *
+ * 봉은 거래소 시각(체결시간) 기준으로 닫는다.
+ * - 같은 종목의 다음 주기 체결이 오면 진행 중인 봉을 닫고 위 주기로 올린다.
+ * - 체결이 뜸한 종목은 주기가 끝나고 closeGrace가 지나면 주기 작업이 아래 주기부터 차례로 닫는다.
+ * - 모든 봉은 그날의 정규장 마감(KRX 달력) + dailyCloseDelay를 넘기지 않고 닫히며, 이때 일봉이 일별 시세가 된다.
+ * - 늦은 체결은 그 시각을 포함하는 가장 짧은 진행 중인 봉에 더하고, 그보다 짧은 주기는 직전 봉을 고쳐 revision으로 다시 내보낸다.
+ * - 재연결 후 REST로 보정한 합성 체결(isSnapshot)은 끊긴 동안의 거래량을 한꺼번에 담고 있으므로 분 단위 이하 봉에는 넣지 않고,
+ *   진행 중인 일봉의 거래량/종가와 당일 시가/고가/저가/누적 거래량 보정에만 쓴다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.websocket.enabled", havingValue = "true")
+public class PriceBarCascade implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceBarCascade.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private final Supplier<SymbolTable> symbols;
+    private final Level[] levels;
+    // 일봉 주기의 levels 위치 (일봉을 만들지 않으면 -1)
+    private final int dayLevel;
+    private final Duration closeGrace;
+    private final Function<LocalDate, LocalTime> dailyClose;
+    private final Clock clock;
+    private volatile List<PriceBarWriter> writers = List.of(PriceBarCascade::logBars);
+
+    private String[] stockCodes = new String[INITIAL_CAPACITY];
+    // 거래소가 체결마다 보내는 당일 시가/고가/저가/누적 거래량 (구독 전 구간까지 포함한 일봉 보정용)
+    private int[] sessionDate = new int[INITIAL_CAPACITY];
+    private long[] sessionOpen = new long[INITIAL_CAPACITY];
+    private long[] sessionHigh = new long[INITIAL_CAPACITY];
+    private long[] sessionLow = new long[INITIAL_CAPACITY];
+    private long[] sessionVolume = new long[INITIAL_CAPACITY];
+    private long[] sessionTradeValue = new long[INITIAL_CAPACITY];
+    // 체결을 받은 가장 큰 id + 1
+    private int symbolCount;
+
+    private final AtomicLong emittedCount = new AtomicLong();
+    private final AtomicLong revisedCount = new AtomicLong();
+    private final AtomicLong absorbedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong unknownCount = new AtomicLong();
+    private final AtomicLong snapshotCount = new AtomicLong();
+
+    @Autowired
+    public PriceBarCascade(RealTimeSubscriptionManager subscriptionManager, SymbolDirectory symbolDirectory,
+                           KisWebSocketProperties properties, KrxTradingCalendar calendar) {
+        this(symbolDirectory::current, properties.bars().resolutions(), properties.bars().closeGrace(),
+            date -> calendar.regularCloseOf(date).plus(properties.bars().dailyCloseDelay()), Clock.system(KST));
+        subscriptionManager.setTickListener(this::onTick);
+    }
+
+    PriceBarCascade(Supplier<SymbolTable> symbols, List<BarResolution> resolutions, Duration closeGrace,
+                    LocalTime dailyClose, Clock clock) {
+        this(symbols, resolutions, closeGrace, date -> dailyClose, clock);
+    }
+
+    /**
+     * @param dailyClose 날짜별 일봉 마감 시각 (KST)
+     */
+    PriceBarCascade(Supplier<SymbolTable> symbols, List<BarResolution> resolutions, Duration closeGrace,
+                    Function<LocalDate, LocalTime> dailyClose, Clock clock) {
+        this.symbols = symbols;
+        this.levels = resolutions.stream().map(Level::new).toArray(Level[]::new);
+        this.dayLevel = resolutions.indexOf(BarResolution.DAY_1);
+        this.closeGrace = closeGrace;
+        this.dailyClose = dailyClose;
+        this.clock = clock;
+    }
+
+    /**
+     * 닫힌 봉을 받을 저장소 지정 (없으면 로그만 남김)
+     */
+    @Autowired(required = false)
+    public void setWriters(List<PriceBarWriter> writers) {
+        this.writers = List.copyOf(writers);
+    }
+
+    /**
+     * 체결 반영
+     */
+    public void onTick(KisExecutionTick tick) {
+        int id = symbols.get().idOf(tick.stockCode());
+        if (id == SymbolTable.UNKNOWN) {
+            unknownCount.incrementAndGet();
+            log.debug("종목 디렉터리에 없는 종목의 체결 버림: 종목코드={}", tick.stockCode());
+            return;
+        }
+        List<PriceBar> closed = new ArrayList<>(2);
+        synchronized (this) {
+            apply(id, tick, closed);
+        }
+        if (!closed.isEmpty()) {
+            emit(closed);
+        }
+    }
+
+    /**
+     * 주기가 끝나고 closeGrace가 지난 봉을 아래 주기부터 모두 닫음 (체결이 뜸한 종목, 장 마감 일봉용)
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void flushElapsedBars() {
+        ZonedDateTime watermark = ZonedDateTime.now(clock).withZoneSameInstant(KST).minus(closeGrace);
+        int watermarkDate = watermark.getYear() * 10000 + watermark.getMonthValue() * 100 + watermark.getDayOfMonth();
+        int watermarkSecond = watermark.toLocalTime().toSecondOfDay();
+        int dailyCloseSecond = dailyClose.apply(watermark.toLocalDate()).toSecondOfDay();
+        List<PriceBar> closed = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < levels.length; i++) {
+                Level level = levels[i];
+                for (int id = 0; id < symbolCount; id++) {
+                    long key = level.barKey[id];
+                    if (key != 0 && isElapsed(level, key, watermarkDate, watermarkSecond, dailyCloseSecond)) {
+                        closeAndCascade(i, id, closed);
+                    }
+                }
+            }
+        }
+        if (!closed.isEmpty()) {
+            emit(closed);
+        }
+    }
+
+    /**
+     * 주기별 진행 중인 봉 수
+     */
+    public synchronized int getOpenBarCount(BarResolution resolution) {
+        for (Level level : levels) {
+            if (level.resolution == resolution) {
+                int open = 0;
+                for (int id = 0; id < symbolCount; id++) {
+                    if (level.barKey[id] != 0) {
+                        open++;
+                    }
+                }
+                return open;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isElapsed(Level level, long key, int watermarkDate, int watermarkSecond,
+                                     int dailyCloseSecond) {
+        int date = (int) (key / SECONDS_PER_DAY);
+        if (date != watermarkDate) {
+            return date < watermarkDate;
+        }
+        int start = (int) (key % SECONDS_PER_DAY);
+        int end = start + level.resolution.seconds();
+        if (start < dailyCloseSecond) {
+            // 장 마감에 걸친 봉(1시간, 1일 등)은 마감 시각에 잘라 닫음
+            end = Math.min(end, dailyCloseSecond);
+        }
+        return end <= watermarkSecond;
+    }
+
+    private void apply(int id, KisExecutionTick tick, List<PriceBar> closed) {
+        track(id, tick.stockCode());
+        updateSession(id, tick);
+        if (tick.isSnapshot()) {
+            applySnapshot(id, tick);
+            return;
+        }
+        int second = BarResolution.secondOfDay(tick.executionTime());
+        Level first = levels[0];
+        long key = first.key(tick.businessDate(), second);
+        long current = first.barKey[id];
+
+        if (key == current) {
+            first.add(id, tick.price(), tick.price(), tick.price(),
+                tick.executionVolume(), tick.price() * tick.executionVolume(), 1);
+            first.accumulate(id, tick.accumulatedVolume(), tick.accumulatedTradeValue());
+            return;
+        }
+        boolean late = current == 0
+            ? first.lastClosed[id] != null && key <= first.lastClosedKey[id]
+            : key < current;
+        if (late) {
+            late(id, tick, second, closed);
+            return;
+        }
+        closeCompleted(id, tick.businessDate(), second, closed);
+        first.start(id, key, tick.price(), tick.price(), tick.price(), tick.price(),
+            tick.executionVolume(), tick.price() * tick.executionVolume(), 1);
+        first.accumulate(id, tick.accumulatedVolume(), tick.accumulatedTradeValue());
+    }
+
+    /**
+     * 새 체결 시각보다 앞선 구간의 봉은 더 받을 체결이 없으므로 아래 주기부터 닫음
+     * (위 주기 봉이 다음 아래 주기 봉이 닫힐 때까지 늦어지지 않도록)
+     */
+    private void closeCompleted(int id, int businessDate, int second, List<PriceBar> closed) {
+        for (int i = 0; i < levels.length; i++) {
+            long current = levels[i].barKey[id];
+            if (current != 0 && current < levels[i].key(businessDate, second)) {
+                closeAndCascade(i, id, closed);
+            }
+        }
+    }
+
+    /**
+     * level 주기의 진행 중인 봉을 닫아 내보내고 바로 위 주기의 봉에 합침
+     */
+    private void closeAndCascade(int index, int id, List<PriceBar> closed) {
+        Level level = levels[index];
+        PriceBar bar = level.close(id, stockCodes[id]);
+        if (level.resolution == BarResolution.DAY_1) {
+            bar = withSession(id, bar);
+            level.lastClosed[id] = bar;
+        }
+        closed.add(bar);
+        if (index + 1 == levels.length) {
+            return;
+        }
+        Level upper = levels[index + 1];
+        long key = upper.key(bar.businessDate(), BarResolution.secondOfDay(bar.startTime()));
+        long current = upper.barKey[id];
+        if (current == key) {
+            upper.add(id, bar.highPrice(), bar.lowPrice(), bar.closePrice(), bar.volume(), bar.tradeValue(), bar.tickCount());
+            upper.accumulate(id, bar.accumulatedVolume(), bar.accumulatedTradeValue());
+        } else if (current == 0 || key > current) {
+            if (current != 0) {
+                closeAndCascade(index + 1, id, closed);
+            }
+            if (upper.lastClosed[id] != null && key == upper.lastClosedKey[id]) {
+                // 위 주기 봉이 먼저 닫힌 경우 (장 마감 시각에 잘린 봉 등): 수정본으로 반영
+                PriceBar revised = merge(upper.lastClosed[id], bar);
+                upper.lastClosed[id] = revised;
+                closed.add(revised);
+                return;
+            }
+            upper.start(id, key, bar.openPrice(), bar.highPrice(), bar.lowPrice(), bar.closePrice(),
+                bar.volume(), bar.tradeValue(), bar.tickCount());
+            upper.accumulate(id, bar.accumulatedVolume(), bar.accumulatedTradeValue());
+        } else {
+            log.debug("위 주기 봉보다 이른 봉은 건너뜀: {}", bar);
+        }
+    }
+
+    /**
+     * 가장 짧은 주기의 진행 중인 봉보다 이른 체결
+     * 체결 시각을 포함하는 가장 짧은 진행 중인 봉에 더하고(위 주기로는 그 봉이 닫힐 때 함께 올라감),
+     * 그보다 짧은 주기는 직전 봉이 같은 구간이면 수정본을 내보낸다. 포함하는 진행 중인 봉이 없으면 모든 주기에서 수정본만 내보낸다.
+     */
+    private void late(int id, KisExecutionTick tick, int second, List<PriceBar> closed) {
+        int covering = -1;
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i].barKey[id] != 0 && levels[i].barKey[id] == levels[i].key(tick.businessDate(), second)) {
+                covering = i;
+                break;
+            }
+        }
+        int revisedUpTo = covering < 0 ? levels.length : covering;
+        boolean revised = false;
+        for (int i = 0; i < revisedUpTo; i++) {
+            Level level = levels[i];
+            if (level.lastClosed[id] != null && level.lastClosedKey[id] == level.key(tick.businessDate(), second)) {
+                PriceBar bar = level.lastClosed[id].revise(tick);
+                level.lastClosed[id] = bar;
+                closed.add(bar);
+                revised = true;
+            }
+        }
+        if (covering >= 0) {
+            levels[covering].add(id, tick.price(), tick.price(), levels[covering].closePrice[id],
+                tick.executionVolume(), tick.price() * tick.executionVolume(), 1);
+            levels[covering].accumulate(id, tick.accumulatedVolume(), tick.accumulatedTradeValue());
+            absorbedCount.incrementAndGet();
+        } else if (revised) {
+            revisedCount.incrementAndGet();
+        } else {
+            droppedCount.incrementAndGet();
+            log.debug("반영할 봉이 없는 오래된 체결 버림: 종목코드={}, {} {}",
+                tick.stockCode(), tick.businessDate(), tick.executionTime());
+        }
+    }
+
+    /**
+     * REST 보정 합성 체결은 진행 중인 같은 날 일봉에만 반영 (놓친 거래량, 당일 고가/저가, 현재가를 종가로)
+     * 진행 중인 일봉이 없으면 봉을 새로 열지 않는다. 다음 실제 체결로 열린 일봉은 닫을 때 당일 값(updateSession)으로 보정된다.
+     * 놓친 거래대금은 알 수 없으므로 일봉을 닫을 때 누적 거래대금으로 보정한다.
+     */
+    private void applySnapshot(int id, KisExecutionTick tick) {
+        if (dayLevel < 0) {
+            return;
+        }
+        Level day = levels[dayLevel];
+        if (day.barKey[id] == 0 || day.barKey[id] != day.key(tick.businessDate(), 0)) {
+            return;
+        }
+        long high = Math.max(tick.highPrice(), tick.price());
+        long low = tick.lowPrice() > 0 ? Math.min(tick.lowPrice(), tick.price()) : tick.price();
+        day.add(id, high, low, tick.price(), tick.executionVolume(), 0, 0);
+        day.accumulate(id, tick.accumulatedVolume(), tick.accumulatedTradeValue());
+        snapshotCount.incrementAndGet();
+    }
+
+    private void updateSession(int id, KisExecutionTick tick) {
+        if (tick.businessDate() < sessionDate[id]) {
+            return;
+        }
+        if (tick.businessDate() > sessionDate[id]) {
+            sessionDate[id] = tick.businessDate();
+            sessionOpen[id] = 0;
+            sessionHigh[id] = 0;
+            sessionLow[id] = 0;
+            sessionVolume[id] = 0;
+            sessionTradeValue[id] = 0;
+        }
+        if (sessionOpen[id] == 0) {
+            sessionOpen[id] = tick.openPrice();
+        }
+        sessionHigh[id] = Math.max(sessionHigh[id], tick.highPrice());
+        if (tick.lowPrice() > 0 && (sessionLow[id] == 0 || tick.lowPrice() < sessionLow[id])) {
+            sessionLow[id] = tick.lowPrice();
+        }
+        sessionVolume[id] = Math.max(sessionVolume[id], tick.accumulatedVolume());
+        sessionTradeValue[id] = Math.max(sessionTradeValue[id], tick.accumulatedTradeValue());
+    }
+
+    /**
+     * 일봉에 거래소 당일 시가/고가/저가/누적 거래량을 반영 (구독 전이나 버려진 체결 구간 보정)
+     */
+    private PriceBar withSession(int id, PriceBar bar) {
+        if (sessionDate[id] != bar.businessDate()) {
+            return bar;
+        }
+        return new PriceBar(bar.resolution(), bar.stockCode(), bar.businessDate(), bar.startTime(),
+            sessionOpen[id] > 0 ? sessionOpen[id] : bar.openPrice(),
+            Math.max(bar.highPrice(), sessionHigh[id]),
+            sessionLow[id] > 0 ? Math.min(bar.lowPrice(), sessionLow[id]) : bar.lowPrice(),
+            bar.closePrice(),
+            Math.max(bar.volume(), sessionVolume[id]),
+            Math.max(bar.tradeValue(), sessionTradeValue[id]),
+            Math.max(bar.accumulatedVolume(), sessionVolume[id]),
+            Math.max(bar.accumulatedTradeValue(), sessionTradeValue[id]),
+            bar.tickCount(), bar.revision());
+    }
+
+    private static PriceBar merge(PriceBar bar, PriceBar later) {
+        return new PriceBar(bar.resolution(), bar.stockCode(), bar.businessDate(), bar.startTime(), bar.openPrice(),
+            Math.max(bar.highPrice(), later.highPrice()), Math.min(bar.lowPrice(), later.lowPrice()), later.closePrice(),
+            bar.volume() + later.volume(), bar.tradeValue() + later.tradeValue(),
+            Math.max(bar.accumulatedVolume(), later.accumulatedVolume()),
+            Math.max(bar.accumulatedTradeValue(), later.accumulatedTradeValue()), bar.tickCount() + later.tickCount(), true);
+    }
+
+    /**
+     * 처음 체결을 받은 id면 배열을 늘리고 종목코드를 기억함
+     */
+    private void track(int id, String stockCode) {
+        if (id < symbolCount && stockCodes[id] != null) {
+            return;
+        }
+        if (id >= stockCodes.length) {
+            grow(Math.max(stockCodes.length * 2, id + 1));
+        }
+        stockCodes[id] = stockCode;
+        symbolCount = Math.max(symbolCount, id + 1);
+    }
+
+    private void grow(int capacity) {
+        stockCodes = Arrays.copyOf(stockCodes, capacity);
+        sessionDate = Arrays.copyOf(sessionDate, capacity);
+        sessionOpen = Arrays.copyOf(sessionOpen, capacity);
+        sessionHigh = Arrays.copyOf(sessionHigh, capacity);
+        sessionLow = Arrays.copyOf(sessionLow, capacity);
+        sessionVolume = Arrays.copyOf(sessionVolume, capacity);
+        sessionTradeValue = Arrays.copyOf(sessionTradeValue, capacity);
+        for (Level level : levels) {
+            level.grow(capacity);
+        }
+    }
+
+    private void emit(List<PriceBar> bars) {
+        emittedCount.addAndGet(bars.size());
+        for (PriceBarWriter writer : writers) {
+            try {
+                writer.write(bars);
+            } catch (RuntimeException e) {
+                log.error("봉 저장 실패: {}건", bars.size(), e);
+            }
+        }
+    }
+
+    private static void logBars(List<PriceBar> bars) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        bars.forEach(bar -> log.debug("{}: 종목코드={}, {} {}, O={} H={} L={} C={} V={}{}",
+            bar.resolution(), bar.stockCode(), bar.businessDate(), bar.startTime(), bar.openPrice(), bar.highPrice(),
+            bar.lowPrice(), bar.closePrice(), bar.volume(), bar.revision() ? " (수정)" : ""));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Level level : levels) {
+            Gauge.builder("kis.realtime.bars.open", this, cascade -> cascade.getOpenBarCount(level.resolution))
+                .tag("resolution", level.resolution.name().toLowerCase())
+                .description("주기별 진행 중인 봉 수")
+                .register(registry);
+        }
+        FunctionCounter.builder("kis.realtime.bars.emitted", emittedCount, AtomicLong::get)
+            .description("내보낸 봉 수 (모든 주기, 수정본 포함)")
+            .register(registry);
+        FunctionCounter.builder("kis.realtime.bars.late.ticks", absorbedCount, AtomicLong::get)
+            .tag("action", "absorbed")
+            .description("더 긴 주기의 진행 중인 봉에 더한 늦은 체결 수")
+            .register(registry);
+        FunctionCounter.builder("kis.realtime.bars.late.ticks", revisedCount, AtomicLong::get)
+            .tag("action", "revised")
+            .description("닫힌 봉의 수정본으로만 반영한 늦은 체결 수")
+            .register(registry);
+        FunctionCounter.builder("kis.realtime.bars.late.ticks", droppedCount, AtomicLong::get)
+            .tag("action", "dropped")
+            .description("반영할 봉이 없어 버린 늦은 체결 수")
+            .register(registry);
+        FunctionCounter.builder("kis.realtime.bars.snapshot.ticks", snapshotCount, AtomicLong::get)
+            .description("진행 중인 일봉에만 반영한 REST 보정 합성 체결 수")
+            .register(registry);
+        FunctionCounter.builder("kis.realtime.bars.unknown.ticks", unknownCount, AtomicLong::get)
+            .description("종목 디렉터리에 없어 버린 체결 수")
+            .register(registry);
+    }
+
+    /**
+     * 한 주기의 종목별 진행 중인 봉 (barKey 0이면 없음, 키는 영업일자 x 86400 + 봉 시작 초)
+     */
+    private static final class Level {
+
+        private final BarResolution resolution;
+        private long[] barKey = new long[INITIAL_CAPACITY];
+        private long[] openPrice = new long[INITIAL_CAPACITY];
+        private long[] highPrice = new long[INITIAL_CAPACITY];
+        private long[] lowPrice = new long[INITIAL_CAPACITY];
+        private long[] closePrice = new long[INITIAL_CAPACITY];
+        private long[] volume = new long[INITIAL_CAPACITY];
+        private long[] tradeValue = new long[INITIAL_CAPACITY];
+        private long[] accumulatedVolume = new long[INITIAL_CAPACITY];
+        private long[] accumulatedTradeValue = new long[INITIAL_CAPACITY];
+        private int[] tickCount = new int[INITIAL_CAPACITY];
+        // 직전에 닫은 봉 (늦은 체결 반영용)
+        private long[] lastClosedKey = new long[INITIAL_CAPACITY];
+        private PriceBar[] lastClosed = new PriceBar[INITIAL_CAPACITY];
+
+        Level(BarResolution resolution) {
+            this.resolution = resolution;
+        }
+
+        long key(int businessDate, int secondOfDay) {
+            return (long) businessDate * SECONDS_PER_DAY + resolution.bucketStart(secondOfDay);
+        }
+
+        void start(int id, long key, long open, long high, long low, long close, long addedVolume, long addedValue, int ticks) {
+            barKey[id] = key;
+            openPrice[id] = open;
+            highPrice[id] = high;
+            lowPrice[id] = low;
+            closePrice[id] = close;
+            volume[id] = addedVolume;
+            tradeValue[id] = addedValue;
+            accumulatedVolume[id] = 0;
+            accumulatedTradeValue[id] = 0;
+            tickCount[id] = ticks;
+        }
+
+        void add(int id, long high, long low, long close, long addedVolume, long addedValue, int ticks) {
+            if (high > highPrice[id]) {
+                highPrice[id] = high;
+            }
+            if (low < lowPrice[id]) {
+                lowPrice[id] = low;
+            }
+            closePrice[id] = close;
+            volume[id] += addedVolume;
+            tradeValue[id] += addedValue;
+            tickCount[id] += ticks;
+        }
+
+        /**
+         * 거래소 당일 누적 거래량/거래대금 반영 (체결 순서가 뒤바뀌어도 가장 큰 값을 유지)
+         */
+        void accumulate(int id, long sessionVolume, long sessionTradeValue) {
+            accumulatedVolume[id] = Math.max(accumulatedVolume[id], sessionVolume);
+            accumulatedTradeValue[id] = Math.max(accumulatedTradeValue[id], sessionTradeValue);
+        }
+
+        PriceBar close(int id, String stockCode) {
+            long key = barKey[id];
+            int businessDate = (int) (key / SECONDS_PER_DAY);
+            int startTime = BarResolution.toTime((int) (key % SECONDS_PER_DAY));
+            PriceBar bar = new PriceBar(resolution, stockCode, businessDate, startTime, openPrice[id], highPrice[id],
+                lowPrice[id], closePrice[id], volume[id], tradeValue[id], accumulatedVolume[id],
+                accumulatedTradeValue[id], tickCount[id], false);
+            barKey[id] = 0;
+            lastClosedKey[id] = key;
+            lastClosed[id] = bar;
+            return bar;
+        }
+
+        void grow(int capacity) {
+            barKey = Arrays.copyOf(barKey, capacity);
+            openPrice = Arrays.copyOf(openPrice, capacity);
+            highPrice = Arrays.copyOf(highPrice, capacity);
+            lowPrice = Arrays.copyOf(lowPrice, capacity);
+            closePrice = Arrays.copyOf(closePrice, capacity);
+            volume = Arrays.copyOf(volume, capacity);
+            tradeValue = Arrays.copyOf(tradeValue, capacity);
+            accumulatedVolume = Arrays.copyOf(accumulatedVolume, capacity);
+            accumulatedTradeValue = Arrays.copyOf(accumulatedTradeValue, capacity);
+            tickCount = Arrays.copyOf(tickCount, capacity);
+            lastClosedKey = Arrays.copyOf(lastClosedKey, capacity);
+            lastClosed = Arrays.copyOf(lastClosed, capacity);
+        }
+    }
+}
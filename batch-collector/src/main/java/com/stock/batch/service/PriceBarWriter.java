@@ -0,0 +1,16 @@
+package com.stock.batch.service;
+
+import com.stock.common.realtime.PriceBar;
+
+import java.util.List;
+
+/**
+ * 닫힌 봉을 받아 저장하는 쪽
+ * 여러 주기의 봉이 섞여 들어오므로 필요한 주기만 골라 쓴다.
+ * revision이 true인 봉은 이미 받은 봉의 수정본이므로 (주기, 종목, 영업일자, 시작 시각) 기준으로 덮어써야 한다.
+ */
+@FunctionalInterface
+public interface PriceBarWriter {
+
+    void write(List<PriceBar> bars);
+}
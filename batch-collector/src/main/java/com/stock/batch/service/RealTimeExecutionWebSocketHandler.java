@@ -1,77 +1,316 @@
-
 package com.stock.batch.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.stock.common.dto.KisRealTimeExecutionResponse;
 import com.stock.common.dto.KisRealTimeSubscriptionRequest;
+import com.stock.common.exception.KisWebSocketException;
+import com.stock.common.realtime.KisExecutionTick;
+import com.stock.common.realtime.KisRealTimeDecryptor;
+import com.stock.common.realtime.KisRealTimeFrameParser;
+import com.stock.common.realtime.OrderBookRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
 import org.springframework.web.reactive.socket.WebSocketHandler;
 import org.springframework.web.reactive.socket.WebSocketMessage;
 import org.springframework.web.reactive.socket.WebSocketSession;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.function.Consumer;
 
+/**
+ * 실시간 체결가 웹소켓 핸들러 (연결 1개당 1개)
+ * 연결 중에도 subscribe/unsubscribe로 종목을 등록(tr_type 1)/해제(tr_type 2)할 수 있으며,
+ * 연결 전에 요청한 등록은 버퍼에 쌓였다가 연결되면 순서대로 전송된다.
+ * 서버가 보내는 PINGPONG은 받은 그대로 돌려보내며(응답하지 않으면 서버가 세션을 끊는다),
+ * 마지막 메시지 수신 시각을 기록해 두어 세션 감시에 쓴다.
+ * 구독 응답에 key/iv가 있으면 TR별로 등록해 두고 이후 암호화 프레임('1|')을 복호화하여 처리한다.
+ * dispatcher를 지정하면 데이터 프레임 처리를 네트워크 스레드가 아닌 작업 스레드에서 한다.
+ * 평문 프레임은 종목코드, 암호화 프레임은 TR_ID로 작업 스레드를 골라 같은 종목의 체결 순서를 지킨다.
+ * 대기열이 가득 차면 데이터 프레임만 버려진다. PINGPONG과 구독 응답(JSON)은 버리면 세션이 끊기거나
+ * 복호화 키를 잃으므로 수신 스레드에서 바로 처리하며, 키 등록이 이후 암호화 프레임보다 항상 먼저 끝난다.
+ * journal을 지정하면 처리 전에 원본 프레임을 기록하며, 기록한 프레임은 onFrame으로 다시 넣어 재생할 수 있다.
+ * orderBooks를 지정하면 체결가와 함께 실시간 호가(H0STASP0)도 등록/해제하고 호가 프레임을 종목별 호가창에 반영한다.
+ */
 public class RealTimeExecutionWebSocketHandler implements WebSocketHandler {
 
     private static final Logger log = LoggerFactory.getLogger(RealTimeExecutionWebSocketHandler.class);
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final String approvalKey;
-    private final String stockCode;
+    private final Consumer<KisExecutionTick> tickListener;
+    private final KisRealTimeDecryptor decryptor = new KisRealTimeDecryptor();
+    private final Sinks.Many<String> outbound = Sinks.many().unicast().onBackpressureBuffer();
+    private volatile WebSocketSession session;
+    private volatile long lastMessageAt = System.currentTimeMillis();
+    private volatile Runnable heartbeatListener = () -> { };
+    private volatile RealTimeFrameDispatcher dispatcher;
+    private volatile RealTimeFrameJournal journal;
+    private volatile OrderBookRegistry orderBooks;
 
     public RealTimeExecutionWebSocketHandler(String approvalKey, String stockCode) {
+        this(approvalKey, stockCode, RealTimeExecutionWebSocketHandler::logTick);
+    }
+
+    public RealTimeExecutionWebSocketHandler(String approvalKey, String stockCode, Consumer<KisExecutionTick> tickListener) {
+        this(approvalKey, tickListener);
+        subscribe(stockCode);
+    }
+
+    public RealTimeExecutionWebSocketHandler(String approvalKey, Consumer<KisExecutionTick> tickListener) {
         this.approvalKey = approvalKey;
-        this.stockCode = stockCode;
+        this.tickListener = tickListener;
+    }
+
+    /**
+     * 실시간 체결가 등록 요청 전송
+     */
+    public void subscribe(String stockCode) {
+        emit(KisRealTimeSubscriptionRequest.execution(approvalKey, stockCode));
+        OrderBookRegistry current = orderBooks;
+        if (current == null) {
+            return;
+        }
+        if (current.register(stockCode) != null) {
+            emit(KisRealTimeSubscriptionRequest.orderBook(approvalKey, stockCode));
+        } else {
+            log.warn("Skipping order book for symbol missing from the symbol directory: {}", stockCode);
+        }
+    }
+
+    /**
+     * 실시간 체결가 해제 요청 전송
+     */
+    public void unsubscribe(String stockCode) {
+        emit(KisRealTimeSubscriptionRequest.executionUnsubscribe(approvalKey, stockCode));
+        OrderBookRegistry current = orderBooks;
+        if (current != null) {
+            emit(KisRealTimeSubscriptionRequest.orderBookUnsubscribe(approvalKey, stockCode));
+            current.remove(stockCode);
+        }
+    }
+
+    /**
+     * PINGPONG 수신 시 호출할 리스너 지정
+     */
+    public void setHeartbeatListener(Runnable heartbeatListener) {
+        this.heartbeatListener = heartbeatListener;
+    }
+
+    /**
+     * 수신 프레임을 처리할 작업 스레드 풀 지정 (없으면 수신 스레드에서 바로 처리)
+     */
+    public void setDispatcher(RealTimeFrameDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * 원본 프레임 기록 지정 (없으면 기록하지 않음)
+     */
+    public void setJournal(RealTimeFrameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 실시간 호가를 반영할 호가창 모음 지정 (없으면 호가를 등록하지 않음, 종목 등록 전에 지정)
+     */
+    public void setOrderBooks(OrderBookRegistry orderBooks) {
+        this.orderBooks = orderBooks;
+    }
+
+    /**
+     * 마지막 메시지(체결, 응답, PINGPONG) 수신 시각 (연결 전에는 핸들러 생성 시각)
+     */
+    public long getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    /**
+     * 연결 종료 요청 (재연결은 감시하는 쪽에서 처리)
+     */
+    public Mono<Void> close() {
+        WebSocketSession current = session;
+        return current == null ? Mono.empty() : current.close(CloseStatus.GOING_AWAY);
+    }
+
+    private void emit(KisRealTimeSubscriptionRequest request) {
+        log.info("Queueing subscription request: tr_type={}, tr_key={}",
+            request.header().transactionType(), request.body().input().transactionKey());
+        emit(toJson(request));
+    }
+
+    private synchronized void emit(String message) {
+        Sinks.EmitResult result = outbound.tryEmitNext(message);
+        if (result.isFailure()) {
+            log.warn("Failed to queue outbound message: {}, result={}", message, result);
+        }
     }
 
     @Override
     public Mono<Void> handle(WebSocketSession session) {
-        return session.send(Mono.fromCallable(() -> {
-                KisRealTimeSubscriptionRequest subscriptionRequest = KisRealTimeSubscriptionRequest.execution(approvalKey, stockCode);
-                String jsonRequest = objectMapper.writeValueAsString(subscriptionRequest);
-                log.info("Sending subscription request: {}", jsonRequest);
-                return session.textMessage(jsonRequest);
-            }))
-            .thenMany(session.receive()
-                .map(WebSocketMessage::getPayloadAsText)
-                .flatMap(this::processMessage))
+        this.session = session;
+        this.lastMessageAt = System.currentTimeMillis();
+        Mono<Void> send = session.send(outbound.asFlux().map(session::textMessage));
+        Mono<Void> receive = session.receive()
+            .map(WebSocketMessage::getPayloadAsText)
+            .doOnNext(this::onFrame)
             .then();
+        // 어느 한쪽이 끝나면(서버 종료 등) 연결 종료로 본다
+        return Mono.zip(send, receive).then();
     }
 
-    private Mono<Void> processMessage(String payload) {
-        return Mono.fromRunnable(() -> {
-            if (payload.startsWith("{")) { // JSON
-                try {
-                    KisRealTimeExecutionResponse response = objectMapper.readValue(payload, KisRealTimeExecutionResponse.class);
-                    
-                    String transactionId = response.header().transactionId();
-                    
-                    if ("PINGPONG".equals(transactionId)) {
-                        log.debug("Received PINGPONG message");
-                    } else if ("H0STCNT0".equals(transactionId)) {
-                        if (response.isSuccessful()) {
-                            log.info("Subscription successful for stock: {}", stockCode);
-                        } else {
-                            log.warn("Subscription failed: {}", response.body().message());
-                        }
+    /**
+     * 수신 프레임 처리 (웹소켓 수신, 기록 재생 공통)
+     */
+    public void onFrame(String payload) {
+        lastMessageAt = System.currentTimeMillis();
+        RealTimeFrameJournal current = journal;
+        if (current != null) {
+            current.append(payload);
+        }
+        dispatch(payload);
+    }
+
+    private String toJson(KisRealTimeSubscriptionRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new KisWebSocketException("Failed to serialize subscription request", e);
+        }
+    }
+
+    private void dispatch(String payload) {
+        RealTimeFrameDispatcher current = dispatcher;
+        if (current == null || !KisRealTimeFrameParser.isDataFrame(payload)) {
+            processMessage(payload);
+        } else {
+            current.dispatch(partitionKey(payload), () -> processMessage(payload));
+        }
+    }
+
+    /**
+     * 데이터 프레임의 작업 스레드 선택용 키
+     * 평문 체결 프레임은 첫 레코드의 종목코드(한 프레임의 레코드는 같은 구독 종목), 암호화 프레임은 TR_ID 해시
+     */
+    static int partitionKey(String payload) {
+        int trIdEnd = payload.indexOf('|', 2);
+        if (trIdEnd < 0) {
+            return 0;
+        }
+        if (!KisRealTimeFrameParser.isEncrypted(payload)) {
+            int bodyStart = payload.indexOf('|', trIdEnd + 1) + 1;
+            if (bodyStart > 0) {
+                int codeEnd = payload.indexOf('^', bodyStart);
+                return RealTimeFrameDispatcher.hash(payload, bodyStart, codeEnd < 0 ? payload.length() : codeEnd);
+            }
+        }
+        return RealTimeFrameDispatcher.hash(payload, 2, trIdEnd);
+    }
+
+    private void processMessage(String payload) {
+        if (KisRealTimeFrameParser.isDataFrame(payload)) { // 0|H0STCNT0|001|...
+            processDataFrame(payload);
+        } else if (payload.startsWith("{")) { // JSON
+            try {
+                KisRealTimeExecutionResponse response = objectMapper.readValue(payload, KisRealTimeExecutionResponse.class);
+
+                String transactionId = response.header().transactionId();
+                String transactionKey = response.header().transactionKey();
+                registerDecryptionKey(transactionId, response);
+
+                if ("PINGPONG".equals(transactionId)) {
+                    log.debug("Received PINGPONG message, echoing back");
+                    emit(payload);
+                    heartbeatListener.run();
+                } else if (KisRealTimeFrameParser.TR_ID_EXECUTION.equals(transactionId)
+                    || KisRealTimeFrameParser.TR_ID_ORDER_BOOK.equals(transactionId)) {
+                    if (response.isSuccessful()) {
+                        log.info("Subscription updated for stock: {} {} ({})", transactionId, transactionKey, response.body().message());
                     } else {
-                        // Actual execution data
-                        if (response.isSuccessful() && response.body().output() != null) {
-                            var output = response.body().output();
-                            // Only log if it's actual execution data (has price field)
-                            if (output.price() != null) {
-                                log.info("Received execution data for {}: price={}, volume={}", 
-                                    stockCode, output.price(), output.executionVolume());
-                            }
-                        } else {
-                            log.warn("Received non-successful execution message: {}", payload);
+                        log.warn("Subscription failed for stock: {} {} ({})", transactionId, transactionKey, response.body().message());
+                    }
+                } else {
+                    // Actual execution data
+                    if (response.isSuccessful() && response.body().output() != null) {
+                        var output = response.body().output();
+                        // Only log if it's actual execution data (has price field)
+                        if (output.price() != null) {
+                            log.info("Received execution data for {}: price={}, volume={}",
+                                transactionKey, output.price(), output.executionVolume());
                         }
+                    } else {
+                        log.warn("Received non-successful execution message: {}", payload);
                     }
-                } catch (Exception e) {
-                    log.error("Error parsing execution data: {}", payload, e);
                 }
-            } else { // PONG or other non-JSON messages
-                log.debug("Received non-JSON message: {}", payload);
+            } catch (Exception e) {
+                log.error("Error parsing execution data: {}", payload, e);
+            }
+        } else { // PONG or other non-JSON messages
+            log.debug("Received non-JSON message: {}", payload);
+        }
+    }
+
+    private void registerDecryptionKey(String transactionId, KisRealTimeExecutionResponse response) {
+        if (!response.isSuccessful() || response.body().output() == null) {
+            return;
+        }
+        var output = response.body().output();
+        if (output.key() != null && output.iv() != null) {
+            try {
+                decryptor.register(transactionId, output.key(), output.iv());
+                log.debug("Registered decryption key for {}", transactionId);
+            } catch (KisWebSocketException e) {
+                log.warn("Ignoring invalid decryption key for {}: {}", transactionId, e.getMessage());
+            }
+        }
+    }
+
+    private void processDataFrame(String payload) {
+        if (KisRealTimeFrameParser.isEncrypted(payload)) {
+            processEncryptedFrame(payload);
+            return;
+        }
+        OrderBookRegistry currentOrderBooks = orderBooks;
+        try {
+            if (KisRealTimeFrameParser.hasTransactionId(payload, KisRealTimeFrameParser.TR_ID_EXECUTION)) {
+                KisRealTimeFrameParser.parseExecutionFrame(payload, tickListener);
+            } else if (currentOrderBooks != null
+                && KisRealTimeFrameParser.hasTransactionId(payload, KisRealTimeFrameParser.TR_ID_ORDER_BOOK)) {
+                KisRealTimeFrameParser.parseOrderBookFrame(payload, currentOrderBooks);
+            } else {
+                log.debug("Received unsupported real-time frame: {}", payload);
+            }
+        } catch (KisWebSocketException e) {
+            log.error("Error parsing real-time frame: {}", payload, e);
+        }
+    }
+
+    private void processEncryptedFrame(String payload) {
+        if (!decryptor.canDecrypt(payload)) {
+            log.warn("Received encrypted real-time frame without a registered key: {}", payload);
+            return;
+        }
+        try {
+            CharSequence decrypted = decryptor.decrypt(payload);
+            OrderBookRegistry currentOrderBooks = orderBooks;
+            if (KisRealTimeFrameParser.hasTransactionId(payload, KisRealTimeFrameParser.TR_ID_EXECUTION)) {
+                KisRealTimeFrameParser.parseExecutionRecords(decrypted, 0, decrypted.length(),
+                    KisRealTimeFrameParser.recordCount(payload), tickListener);
+            } else if (currentOrderBooks != null
+                && KisRealTimeFrameParser.hasTransactionId(payload, KisRealTimeFrameParser.TR_ID_ORDER_BOOK)) {
+                KisRealTimeFrameParser.parseOrderBookRecords(decrypted, 0, decrypted.length(),
+                    KisRealTimeFrameParser.recordCount(payload), currentOrderBooks);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Received decrypted real-time frame: {}|{}", payload.substring(0, payload.indexOf('|', 2)), decrypted);
             }
-        });
+        } catch (KisWebSocketException e) {
+            log.error("Error decrypting real-time frame: {}", payload, e);
+        }
+    }
+
+    static void logTick(KisExecutionTick tick) {
+        log.info("Received execution data for {}: time={}, price={}, volume={}",
+            tick.stockCode(), tick.executionTime(), tick.price(), tick.executionVolume());
     }
 }
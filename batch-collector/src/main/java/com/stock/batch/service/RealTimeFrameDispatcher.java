@@ -0,0 +1,154 @@
+package com.stock.batch.service;
+
+import com.stock.common.config.KisWebSocketProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 수신 프레임 처리 스레드 풀
+ * 프레임 파싱/로그/리스너 호출을 reactor-netty 네트워크 스레드에서 떼어 내 작업 스레드로 넘긴다.
+ * 작업 스레드마다 대기열이 따로 있고 파티션 키(종목코드 해시)로 스레드를 고르므로,
+ * 같은 종목의 프레임은 항상 같은 스레드에서 도착 순서대로 처리되고 종목이 많으면 여러 코어로 나뉜다.
+ * 대기열이 가득 차면 네트워크 스레드를 막지 않고 해당 프레임을 버리며 rejected로 집계한다.
+ * 그래서 버려도 되는 데이터 프레임만 넘기고, PINGPONG/구독 응답 같은 제어 프레임은 호출하는 쪽에서 바로 처리한다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.websocket.enabled", havingValue = "true")
+public class RealTimeFrameDispatcher implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RealTimeFrameDispatcher.class);
+
+    private final ThreadPoolExecutor[] workers;
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile Timer lagTimer;
+
+    @Autowired
+    public RealTimeFrameDispatcher(KisWebSocketProperties properties) {
+        this(properties.dispatch().workers(), properties.dispatch().queueCapacity());
+    }
+
+    RealTimeFrameDispatcher(int workerCount, int queueCapacity) {
+        this.workers = new ThreadPoolExecutor[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            String threadName = "kis-realtime-" + i;
+            workers[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadName);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * 파티션 키에 해당하는 작업 스레드로 처리 위임
+     *
+     * @param partitionKey 같은 값이면 같은 스레드에서 순서대로 처리 (종목코드 해시 등)
+     * @return 대기열에 넣었으면 true, 가득 차서 버렸으면 false
+     */
+    public boolean dispatch(int partitionKey, Runnable task) {
+        ThreadPoolExecutor worker = workers[Math.floorMod(partitionKey, workers.length)];
+        long enqueuedAt = System.nanoTime();
+        try {
+            worker.execute(() -> {
+                Timer timer = lagTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("실시간 프레임 처리 중 오류", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (rejectedCount.incrementAndGet() % 1000 == 1) {
+                log.warn("실시간 프레임 대기열이 가득 차서 버림: 누적 {}건", rejectedCount.get());
+            }
+            return false;
+        }
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    /**
+     * 전체 대기 중인 프레임 수
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor worker : workers) {
+            depth += worker.getQueue().size();
+        }
+        return depth;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * CharSequence [from, to) 구간의 String.hashCode와 같은 해시 (부분 문자열 생성 없이)
+     */
+    public static int hash(CharSequence data, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + data.charAt(i);
+        }
+        return hash;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor worker : workers) {
+            worker.shutdown();
+        }
+        for (ThreadPoolExecutor worker : workers) {
+            try {
+                if (!worker.awaitTermination(5, TimeUnit.SECONDS)) {
+                    worker.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < workers.length; i++) {
+            ThreadPoolExecutor worker = workers[i];
+            Gauge.builder("kis.websocket.dispatch.queue.depth", worker, executor -> executor.getQueue().size())
+                .tag("worker", String.valueOf(i))
+                .description("작업 스레드별 처리 대기 프레임 수")
+                .register(registry);
+        }
+        FunctionCounter.builder("kis.websocket.dispatch.rejected", rejectedCount, AtomicLong::get)
+            .description("대기열이 가득 차서 버린 프레임 수")
+            .register(registry);
+        lagTimer = Timer.builder("kis.websocket.dispatch.lag")
+            .description("프레임 수신부터 처리 시작까지 대기 시간")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+    }
+}
@@ -0,0 +1,212 @@
+package com.stock.batch.service;
+
+import com.stock.common.config.KisWebSocketProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 수신한 원본 실시간 프레임을 수신 시각과 함께 남기는 추가 전용 기록
+ * 세그먼트 파일을 FileChannel.map으로 통째로 매핑해 두고 메모리에 바로 쓰므로 프레임마다 시스템 호출이 없다.
+ * 세그먼트가 가득 차거나 날짜(KST)가 바뀌면 새 파일(frames-yyyyMMdd-NNN.journal)로 넘어간다.
+ *
+ * 레코드 형식: [길이 int][수신 시각 epoch 마이크로초 long][UTF-8 프레임]
+ * 길이가 0이면 세그먼트의 끝이다. 기록은 {@link RealTimeFrameReplay}로 다시 재생할 수 있다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.websocket.journal.enabled", havingValue = "true")
+public class RealTimeFrameJournal implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RealTimeFrameJournal.class);
+
+    static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter SEGMENT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Clock clock;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private LocalDate segmentDate;
+    private long nextDayStartMillis;
+    private int nextSequence;
+
+    private final AtomicLong frameCount = new AtomicLong();
+    private final AtomicLong byteCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    @Autowired
+    public RealTimeFrameJournal(KisWebSocketProperties properties) {
+        this(properties.journal().directory(), properties.journal().segmentSize().toBytes(), Clock.system(KST));
+    }
+
+    RealTimeFrameJournal(Path directory, long segmentBytes, Clock clock) {
+        if (segmentBytes <= RECORD_HEADER_BYTES || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("세그먼트 크기가 올바르지 않습니다: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * 프레임 기록 (실패해도 수신 처리에는 영향을 주지 않음)
+     */
+    public synchronized void append(CharSequence frame) {
+        long now = clock.millis();
+        try {
+            if (segment == null || now >= nextDayStartMillis) {
+                openSegment(Instant.ofEpochMilli(now).atZone(KST).toLocalDate());
+            }
+            if (!write(frame, now)) {
+                openSegment(segmentDate);
+                if (!write(frame, now)) {
+                    droppedCount.incrementAndGet();
+                    log.warn("세그먼트보다 큰 프레임은 기록하지 않음: {}자", frame.length());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            segment = null;
+            if (droppedCount.incrementAndGet() % 1000 == 1) {
+                log.error("실시간 프레임 기록 실패: 누적 {}건", droppedCount.get(), e);
+            }
+        }
+    }
+
+    /**
+     * 현재 세그먼트에 레코드 쓰기
+     *
+     * @return 남은 공간이 부족하면 false (위치는 그대로)
+     */
+    private boolean write(CharSequence frame, long receivedAtMillis) {
+        int start = segment.position();
+        // 다음 레코드 길이(0)가 들어갈 자리를 남겨 둠
+        if (segment.remaining() < RECORD_HEADER_BYTES + Integer.BYTES) {
+            return false;
+        }
+        segment.position(start + RECORD_HEADER_BYTES);
+        segment.limit(segment.capacity() - Integer.BYTES);
+        encoder.reset();
+        CoderResult result = encoder.encode(CharBuffer.wrap(frame), segment, true);
+        if (!result.isUnderflow() || !encoder.flush(segment).isUnderflow()) {
+            segment.limit(segment.capacity());
+            segment.position(start);
+            return false;
+        }
+        int end = segment.position();
+        segment.limit(segment.capacity());
+        segment.putLong(start + Integer.BYTES, receivedAtMillis * 1000);
+        // 길이를 마지막에 써서 읽는 쪽이 쓰다 만 레코드를 보지 않게 함
+        segment.putInt(start, end - start - RECORD_HEADER_BYTES);
+        frameCount.incrementAndGet();
+        byteCount.addAndGet(end - start);
+        return true;
+    }
+
+    private void openSegment(LocalDate date) throws IOException {
+        closeSegment();
+        Files.createDirectories(directory);
+        String prefix = "frames-" + date.format(SEGMENT_DATE) + "-";
+        if (!date.equals(segmentDate)) {
+            nextSequence = nextSequence(prefix);
+        }
+        Path path = directory.resolve(String.format("%s%03d%s", prefix, nextSequence++, SEGMENT_SUFFIX));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segmentDate = date;
+        nextDayStartMillis = date.plusDays(1).atStartOfDay(KST).toInstant().toEpochMilli();
+        log.info("실시간 프레임 기록 세그먼트 시작: {}", path);
+    }
+
+    /**
+     * 같은 날짜의 기존 세그먼트 다음 번호 (재시작 시 덮어쓰지 않도록)
+     */
+    private int nextSequence(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.endsWith(SEGMENT_SUFFIX))
+                .mapToInt(name -> Integer.parseInt(name.substring(prefix.length(), name.length() - SEGMENT_SUFFIX.length())))
+                .max()
+                .orElse(-1) + 1;
+        }
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 반영하고 쓴 만큼으로 줄여 닫음
+     */
+    private void closeSegment() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (segment != null) {
+                segment.force();
+                channel.truncate(segment.position() + Integer.BYTES);
+            }
+        } finally {
+            channel.close();
+            channel = null;
+            segment = null;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            log.warn("실시간 프레임 기록 세그먼트 닫기 실패", e);
+        }
+    }
+
+    public long getFrameCount() {
+        return frameCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("kis.websocket.journal.frames", frameCount, AtomicLong::get)
+            .description("기록한 원본 프레임 수")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.journal.bytes", byteCount, AtomicLong::get)
+            .baseUnit("bytes")
+            .description("기록한 바이트 수 (레코드 헤더 포함)")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.journal.dropped", droppedCount, AtomicLong::get)
+            .description("기록하지 못한 프레임 수")
+            .register(registry);
+    }
+}
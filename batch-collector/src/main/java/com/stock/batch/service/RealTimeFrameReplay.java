@@ -0,0 +1,123 @@
+package com.stock.batch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link RealTimeFrameJournal}로 남긴 프레임을 기록 순서대로 다시 내보내는 재생기
+ * speed가 1이면 수신 당시 간격 그대로, N이면 N배 빠르게, 0 이하이면 기다리지 않고 최대 속도로 재생한다.
+ * 재생한 프레임은 웹소켓 핸들러에 넣어 실제 수신과 같은 방식(복호화, 파싱)으로 처리한다.
+ * {@link #cancel()}을 부르면 다음 프레임 전에 멈춘다.
+ */
+public class RealTimeFrameReplay {
+
+    private static final Logger log = LoggerFactory.getLogger(RealTimeFrameReplay.class);
+
+    // 긴 공백(점심, 장 마감 후)을 1배속으로 기다리는 중에도 중지 요청을 바로 확인하도록 나누어 대기
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final double speed;
+    private volatile boolean cancelled;
+
+    public RealTimeFrameReplay(double speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * 재생 중지 요청 (다른 스레드에서 호출 가능)
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 디렉터리에서 해당 날짜의 세그먼트를 순서대로 찾음
+     */
+    public static List<Path> segments(Path directory, LocalDate date) throws IOException {
+        String prefix = "frames-" + date.format(DateTimeFormatter.BASIC_ISO_DATE) + "-";
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(prefix) && name.endsWith(RealTimeFrameJournal.SEGMENT_SUFFIX);
+                })
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * 세그먼트들의 프레임을 차례로 재생
+     *
+     * @return 재생한 프레임 수 (중지하면 중지 전까지)
+     */
+    public long replay(List<Path> segments, Consumer<String> frameConsumer) throws IOException {
+        long replayed = 0;
+        long firstReceivedAtMicros = -1;
+        long startedAtNanos = System.nanoTime();
+        for (Path path : segments) {
+            if (cancelled) {
+                break;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (!cancelled && segment.remaining() >= RealTimeFrameJournal.RECORD_HEADER_BYTES) {
+                    int length = segment.getInt();
+                    if (length <= 0 || length > segment.remaining() - Long.BYTES) {
+                        break;
+                    }
+                    long receivedAtMicros = segment.getLong();
+                    if (firstReceivedAtMicros < 0) {
+                        firstReceivedAtMicros = receivedAtMicros;
+                    }
+                    pace(startedAtNanos, receivedAtMicros - firstReceivedAtMicros);
+                    if (cancelled) {
+                        break;
+                    }
+                    ByteBuffer payload = segment.slice(segment.position(), length);
+                    segment.position(segment.position() + length);
+                    frameConsumer.accept(StandardCharsets.UTF_8.decode(payload).toString());
+                    replayed++;
+                }
+            }
+            log.info("실시간 프레임 재생: {} 완료, 누적 {}건", path.getFileName(), replayed);
+        }
+        return replayed;
+    }
+
+    /**
+     * 기록 당시 간격 / speed 만큼 지나도록 대기
+     */
+    private void pace(long startedAtNanos, long elapsedMicros) {
+        if (speed <= 0) {
+            return;
+        }
+        long dueNanos = startedAtNanos + (long) (TimeUnit.MICROSECONDS.toNanos(elapsedMicros) / speed);
+        long waitNanos;
+        while ((waitNanos = dueNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(Math.min(waitNanos, MAX_PARK_NANOS));
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.stock.batch.service;
+
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.dto.KisStockPriceResponse;
+import com.stock.common.realtime.KisExecutionTick;
+import com.stock.common.service.KisApiService;
+import com.stock.common.symbol.SymbolTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 종목별 실시간 체결 공백 감지 및 REST 보정
+ * 종목마다 마지막 체결 수신 시각과 누적거래량을 기억해 두고,
+ * 재연결 후에는 주식현재가 조회로 끊긴 동안 놓친 누적거래량과 가격 상태를 합성 체결 한 건으로 흘려보낸다.
+ * 연결 중에도 누적거래량이 체결량보다 크게 뛰면 공백으로 보고 경고한다.
+ */
+public class RealTimeGapTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(RealTimeGapTracker.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KisApiService kisApiService;
+    private final Supplier<SymbolTable> symbols;
+    private final int backfillConcurrency;
+    private final Clock clock;
+    private final Map<String, SymbolState> states = new ConcurrentHashMap<>();
+
+    public RealTimeGapTracker(KisApiService kisApiService, Supplier<SymbolTable> symbols, int backfillConcurrency) {
+        this(kisApiService, symbols, backfillConcurrency, Clock.system(KST));
+    }
+
+    RealTimeGapTracker(KisApiService kisApiService, Supplier<SymbolTable> symbols, int backfillConcurrency, Clock clock) {
+        this.kisApiService = kisApiService;
+        this.symbols = symbols;
+        this.backfillConcurrency = backfillConcurrency;
+        this.clock = clock;
+    }
+
+    /**
+     * 실시간 체결 수신 기록
+     * 직전 누적거래량 + 이번 체결량보다 누적거래량이 크면 그 사이 체결을 놓친 것이다.
+     */
+    public void onTick(KisExecutionTick tick) {
+        SymbolState state = states.computeIfAbsent(tick.stockCode(), code -> new SymbolState());
+        synchronized (state) {
+            state.rollOver(tick.businessDate());
+            long previous = state.accumulatedVolume;
+            if (previous > 0 && tick.accumulatedVolume() - tick.executionVolume() > previous) {
+                log.warn("실시간 체결 공백 감지: 종목코드={}, 누락 거래량={}, 직전 수신 후 {}ms",
+                    tick.stockCode(), tick.accumulatedVolume() - tick.executionVolume() - previous,
+                    clock.millis() - state.lastTickAt);
+            }
+            state.record(tick.accumulatedVolume(), clock.millis());
+        }
+    }
+
+    /**
+     * 재연결 후 종목별 공백 보정
+     * 주식현재가 조회 결과의 누적거래량이 마지막 수신값보다 크면 차이만큼의 합성 체결을 listener로 전달한다.
+     * 조회 실패한 종목은 건너뛰고 다음 실시간 체결의 누적거래량으로 이어진다.
+     * 시장 구분은 종목 디렉터리를 따르고, 디렉터리에 없는 종목은 코스피로 조회한다.
+     *
+     * @return 합성 체결을 보낸 종목 수
+     */
+    public Mono<Long> backfill(Collection<String> stockCodes, Consumer<KisExecutionTick> listener) {
+        SymbolTable table = symbols.get();
+        return Flux.fromIterable(stockCodes)
+            .flatMap(stockCode -> kisApiService.getStockPrice(requestOf(table, stockCode))
+                .filter(response -> response.isSuccessful() && response.output() != null)
+                .mapNotNull(response -> toBackfillTick(stockCode, response))
+                .doOnNext(listener)
+                .onErrorResume(error -> {
+                    log.warn("실시간 공백 보정 조회 실패: 종목코드={}, 원인={}", stockCode, error.getMessage());
+                    return Mono.empty();
+                }), backfillConcurrency)
+            .count()
+            .doOnNext(count -> log.info("실시간 공백 보정 완료: 대상 {}개 종목, 보정 {}개 종목", stockCodes.size(), count));
+    }
+
+    /**
+     * 구독 해제된 종목의 상태 제거
+     */
+    public void forget(String stockCode) {
+        states.remove(stockCode);
+    }
+
+    /**
+     * 마지막 체결 수신 이후 경과 시간 (수신 이력이 없으면 null)
+     */
+    public Duration sinceLastTick(String stockCode) {
+        SymbolState state = states.get(stockCode);
+        if (state == null) {
+            return null;
+        }
+        synchronized (state) {
+            return Duration.ofMillis(clock.millis() - state.lastTickAt);
+        }
+    }
+
+    private static KisStockPriceRequest requestOf(SymbolTable table, String stockCode) {
+        int id = table.idOf(stockCode);
+        if (id == SymbolTable.UNKNOWN) {
+            log.warn("종목 디렉터리에 없는 종목, 코스피로 보정 조회: 종목코드={}", stockCode);
+            return KisStockPriceRequest.kospi(stockCode);
+        }
+        return table.requestOf(id);
+    }
+
+    private KisExecutionTick toBackfillTick(String stockCode, KisStockPriceResponse response) {
+        ZonedDateTime now = ZonedDateTime.now(clock).withZoneSameInstant(KST);
+        int businessDate = now.getYear() * 10000 + now.getMonthValue() * 100 + now.getDayOfMonth();
+        int executionTime = now.getHour() * 10000 + now.getMinute() * 100 + now.getSecond();
+        KisExecutionTick snapshot = KisExecutionTick.fromSnapshot(stockCode, response.output(), businessDate, executionTime, 0);
+
+        SymbolState state = states.computeIfAbsent(stockCode, code -> new SymbolState());
+        synchronized (state) {
+            state.rollOver(businessDate);
+            long missed = snapshot.accumulatedVolume() - state.accumulatedVolume;
+            boolean firstSeen = state.accumulatedVolume == 0;
+            if (!firstSeen && missed <= 0) {
+                // 재연결 후 실시간 체결이 먼저 도착해 이미 따라잡은 경우
+                return null;
+            }
+            log.info("실시간 공백 보정: 종목코드={}, 공백 {}ms, 누락 거래량={}", stockCode,
+                firstSeen ? 0 : clock.millis() - state.lastTickAt, firstSeen ? 0 : missed);
+            state.record(snapshot.accumulatedVolume(), clock.millis());
+            return KisExecutionTick.fromSnapshot(stockCode, response.output(), businessDate, executionTime,
+                firstSeen ? 0 : missed);
+        }
+    }
+
+    private static final class SymbolState {
+        private int businessDate;
+        private long accumulatedVolume;
+        private long lastTickAt;
+
+        /**
+         * 영업일이 바뀌면 누적거래량이 0부터 다시 시작하므로 상태 초기화
+         */
+        private void rollOver(int businessDate) {
+            if (this.businessDate != businessDate) {
+                this.businessDate = businessDate;
+                this.accumulatedVolume = 0;
+            }
+        }
+
+        private void record(long accumulatedVolume, long receivedAt) {
+            // 늦게 도착한 조회 결과가 더 최신 실시간 값을 되돌리지 않도록 증가할 때만 반영
+            if (accumulatedVolume > this.accumulatedVolume) {
+                this.accumulatedVolume = accumulatedVolume;
+            }
+            this.lastTickAt = receivedAt;
+        }
+    }
+}
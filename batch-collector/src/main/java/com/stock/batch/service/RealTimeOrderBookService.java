@@ -0,0 +1,55 @@
+package com.stock.batch.service;
+
+import com.stock.common.realtime.OrderBook;
+import com.stock.common.realtime.OrderBookRegistry;
+import com.stock.common.realtime.OrderBookSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 관심종목의 실시간 10단계 호가창 보관
+ * 웹소켓 핸들러가 종목 등록 시 호가창을 종목 디렉터리 id 자리에 만들고 H0STASP0 프레임을 받을 때마다 제자리에서 덮어쓰며,
+ * 조회 쪽은 잠금 없이 {@link OrderBook#snapshot()}으로 일관된 복사본을 얻는다.
+ */
+@Service
+@ConditionalOnProperty(name = "kis.api.websocket.order-book.enabled", havingValue = "true")
+public class RealTimeOrderBookService implements MeterBinder {
+
+    private final OrderBookRegistry registry;
+
+    public RealTimeOrderBookService(SymbolDirectory symbolDirectory) {
+        this.registry = new OrderBookRegistry(symbolDirectory::current);
+    }
+
+    public OrderBookRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * 종목의 현재 호가창 복사본
+     *
+     * @return 등록되지 않았거나 아직 호가를 받지 못했으면 null
+     */
+    public OrderBookSnapshot getSnapshot(String stockCode) {
+        OrderBook book = registry.get(stockCode);
+        return book == null ? null : book.snapshot();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        Gauge.builder("kis.realtime.orderbook.books", registry, OrderBookRegistry::size)
+            .description("실시간 호가창을 유지 중인 종목 수")
+            .register(meterRegistry);
+        FunctionCounter.builder("kis.realtime.orderbook.updates", registry, RealTimeOrderBookService::countUpdates)
+            .description("호가창에 반영한 호가 갱신 수 (현재 등록 종목 기준)")
+            .register(meterRegistry);
+    }
+
+    private static double countUpdates(OrderBookRegistry registry) {
+        return registry.getBooks().stream().mapToLong(OrderBook::getUpdateCount).sum();
+    }
+}
@@ -0,0 +1,140 @@
+package com.stock.batch.service;
+
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 실시간 웹소켓 세션 하나와 그 세션에 등록된 종목 목록
+ * 연결 전(핸들러 없음)에 등록한 종목은 목록에만 남겨 두었다가 연결되는 시점에 한꺼번에 등록한다.
+ * 재연결할 때도 같은 방식으로 종목 목록 전체를 새 연결에 다시 등록한다.
+ */
+public class RealTimeSession {
+
+    private final int id;
+    private final Set<String> stockCodes = new LinkedHashSet<>();
+    private RealTimeExecutionWebSocketHandler handler;
+    private Disposable connection;
+    private int connectCount;
+    private String approvalKey;
+    private Instant approvalKeyIssuedAt;
+    private boolean stalled;
+
+    public RealTimeSession(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public synchronized void subscribe(String stockCode) {
+        if (stockCodes.add(stockCode) && handler != null) {
+            handler.subscribe(stockCode);
+        }
+    }
+
+    public synchronized void unsubscribe(String stockCode) {
+        if (stockCodes.remove(stockCode) && handler != null) {
+            handler.unsubscribe(stockCode);
+        }
+    }
+
+    public synchronized Set<String> getStockCodes() {
+        return Set.copyOf(stockCodes);
+    }
+
+    public synchronized int size() {
+        return stockCodes.size();
+    }
+
+    public synchronized boolean isConnected() {
+        return handler != null;
+    }
+
+    /**
+     * 현재 연결의 마지막 메시지 수신 시각 (연결되지 않았으면 null)
+     */
+    public synchronized Instant getLastMessageAt() {
+        return handler == null ? null : Instant.ofEpochMilli(handler.getLastMessageAt());
+    }
+
+    public synchronized boolean isStalled() {
+        return stalled;
+    }
+
+    synchronized void setStalled(boolean stalled) {
+        this.stalled = stalled;
+    }
+
+    /**
+     * 현재 연결을 끊어 재연결을 유도 (종목 목록과 감시는 유지)
+     */
+    synchronized void reconnect() {
+        if (handler != null) {
+            handler.close().subscribe();
+        }
+    }
+
+    public synchronized int getConnectCount() {
+        return connectCount;
+    }
+
+    /**
+     * 새 연결의 핸들러를 붙이고 현재 종목 목록을 모두 등록
+     *
+     * @return 이전에 연결된 적이 있는 재연결이면 true
+     */
+    synchronized boolean attach(RealTimeExecutionWebSocketHandler handler) {
+        this.handler = handler;
+        stockCodes.forEach(handler::subscribe);
+        return connectCount++ > 0;
+    }
+
+    /**
+     * 연결 종료 시 핸들러 분리 (종목 목록은 유지)
+     */
+    synchronized void detach(RealTimeExecutionWebSocketHandler handler) {
+        if (this.handler == handler) {
+            this.handler = null;
+            this.stalled = false;
+        }
+    }
+
+    /**
+     * 재사용할 수 있는 접속키 (없거나 maxAge보다 오래되었으면 null)
+     */
+    synchronized String getApprovalKey(Instant now, Duration maxAge) {
+        if (approvalKey == null || approvalKeyIssuedAt.plus(maxAge).isBefore(now)) {
+            return null;
+        }
+        return approvalKey;
+    }
+
+    synchronized void setApprovalKey(String approvalKey, Instant issuedAt) {
+        this.approvalKey = approvalKey;
+        this.approvalKeyIssuedAt = issuedAt;
+    }
+
+    /**
+     * 연결 수립 전에 실패한 경우 접속키 문제일 수 있으므로 다음 시도에서 새로 발급
+     */
+    synchronized void invalidateApprovalKey() {
+        this.approvalKey = null;
+        this.approvalKeyIssuedAt = null;
+    }
+
+    synchronized void setConnection(Disposable connection) {
+        this.connection = connection;
+    }
+
+    synchronized void close() {
+        if (connection != null) {
+            connection.dispose();
+        }
+        handler = null;
+    }
+}
@@ -0,0 +1,658 @@
+package com.stock.batch.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.calendar.TradingHours;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.config.KisWebSocketProperties;
+import com.stock.common.dto.KisWebSocketKeyResponse;
+import com.stock.common.exception.KisWebSocketException;
+import com.stock.common.realtime.KisExecutionTick;
+import com.stock.common.realtime.OrderBookRegistry;
+import com.stock.common.service.KisApiService;
+import com.stock.common.service.KisWebSocketKeyService;
+import com.stock.common.util.KisWebSocketUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 실시간 체결가 구독 관리자
+ * 원하는 관심종목 목록(watchlist)과 실제 세션에 등록된 종목을 비교하여 차이만 등록/해제한다.
+ * 한 세션에는 maxSubscriptionsPerSession건까지 등록하고(호가도 받으면 종목당 2건), 가득 차면 maxSessions까지 새 세션을 열어 나누어 담는다.
+ * 세션 수 한도까지 모두 차면 남는 종목은 대기(pending) 상태로 두고 자리가 나면 다음 조정 때 등록한다.
+ * 각 세션은 연결이 끊기면 지수 백오프로 재연결하여 등록 종목을 다시 등록하고,
+ * 끊긴 동안 놓친 체결은 {@link RealTimeGapTracker}가 주식현재가 조회로 보정한다.
+ * 정규장 중에는 주기적으로 세션별 마지막 수신 시각을 확인하여 멈춘 세션을 서버보다 먼저 끊고 다시 연결한다.
+ * 세션은 KRX 거래일의 장전 시간외 시작부터 정규장 마감 + bars.dailyCloseDelay까지만 유지한다.
+ * 그 밖의 시간(야간, 주말, 휴장일)에는 세션을 모두 닫고 관심종목은 대기로 두었다가 다음 거래일 장전에 다시 연결한다.
+ * 체결은 {@link RealTimeTickBuffer}에 넣고 소비 스레드 하나(기동 완료 시 시작, 종료 시 정지)가 꺼내어 리스너에 전달하므로,
+ * 리스너가 느려져도 메모리는 버퍼 크기 이상 늘지 않는다.
+ */
+@Service
+@ConditionalOnProperty(name = "kis.api.websocket.enabled", havingValue = "true")
+public class RealTimeSubscriptionManager implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(RealTimeSubscriptionManager.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int CONSUMER_BATCH_SIZE = 256;
+    private static final Duration CONSUMER_STOP_TIMEOUT = Duration.ofSeconds(2);
+
+    private final WebSocketClient webSocketClient;
+    private final KisWebSocketKeyService webSocketKeyService;
+    private final KisWebSocketProperties properties;
+    private final KrxTradingCalendar calendar;
+    private final RealTimeGapTracker gapTracker;
+    private final RealTimeFrameDispatcher dispatcher;
+    private final RealTimeTickBuffer tickBuffer;
+    private final URI webSocketUri;
+
+    private final Set<String> watchlist = new LinkedHashSet<>();
+    private final List<RealTimeSession> sessions = new ArrayList<>();
+    private Set<String> pending = Set.of();
+    private int nextSessionId = 1;
+    private boolean suspended;
+    private volatile Consumer<KisExecutionTick> tickListener = RealTimeExecutionWebSocketHandler::logTick;
+    private volatile RealTimeFrameJournal journal;
+    private volatile OrderBookRegistry orderBooks;
+    private Disposable livenessMonitor;
+    private Thread tickConsumer;
+    private ActiveReplay activeReplay;
+
+    private final AtomicLong heartbeatCount = new AtomicLong();
+    private final AtomicLong disconnectCount = new AtomicLong();
+    private final AtomicLong stallCount = new AtomicLong();
+
+    public RealTimeSubscriptionManager(WebSocketClient webSocketClient,
+                                       KisWebSocketKeyService webSocketKeyService,
+                                       KisApiService kisApiService,
+                                       SymbolDirectory symbolDirectory,
+                                       KisApiProperties kisApiProperties,
+                                       KisWebSocketProperties properties,
+                                       KrxTradingCalendar calendar,
+                                       RealTimeFrameDispatcher dispatcher) {
+        this.webSocketClient = webSocketClient;
+        this.calendar = calendar;
+        this.dispatcher = dispatcher;
+        this.webSocketKeyService = webSocketKeyService;
+        this.properties = properties;
+        this.gapTracker = new RealTimeGapTracker(kisApiService, symbolDirectory::current, properties.backfillConcurrency());
+        this.webSocketUri = URI.create(KisWebSocketUtil.getWebSocketUrl(kisApiProperties));
+        this.tickBuffer = new RealTimeTickBuffer(properties.buffer().capacity(), properties.buffer().overflowPolicy());
+    }
+
+    /**
+     * 수신한 체결 데이터와 공백 보정용 합성 체결을 받을 리스너 지정
+     */
+    public void setTickListener(Consumer<KisExecutionTick> tickListener) {
+        this.tickListener = tickListener;
+    }
+
+    /**
+     * 수신 프레임 기록 지정 (journal.enabled일 때만 주입)
+     */
+    @Autowired(required = false)
+    public void setJournal(RealTimeFrameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * 실시간 호가창 보관 지정 (orderBook.enabled일 때만 주입)
+     */
+    @Autowired(required = false)
+    public void setOrderBookService(RealTimeOrderBookService orderBookService) {
+        this.orderBooks = orderBookService.getRegistry();
+    }
+
+    /**
+     * 기록해 둔 날짜의 프레임 재생 시작 (KIS 연결 없이 재현/부하 시험용)
+     * 재생은 자기 핸들러로 복호화/파싱만 하고 체결은 재생 전용 싱크에서 세기만 한다.
+     * 실시간 체결 버퍼, 공백 보정, 봉 집계, 호가창에는 넣지 않으므로 실시간 수신 중에 재생해도 섞이지 않는다.
+     * 한 번에 하나만 재생하며 {@link #stopReplay()}로 멈출 수 있다.
+     *
+     * @param speed 1이면 수신 당시 간격, N이면 N배속, 0 이하이면 최대 속도
+     * @throws IllegalStateException    이미 재생 중일 때
+     * @throws IllegalArgumentException 해당 날짜의 기록이 없을 때
+     */
+    public synchronized void startReplay(LocalDate date, double speed) throws IOException {
+        if (activeReplay != null) {
+            throw new IllegalStateException("이미 재생 중입니다: " + activeReplay.date());
+        }
+        List<Path> segments = RealTimeFrameReplay.segments(properties.journal().directory(), date);
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("기록된 프레임이 없습니다: " + date);
+        }
+        log.info("실시간 프레임 재생 시작: {}, 세그먼트 {}개, {}배속", date, segments.size(), speed);
+        RealTimeFrameReplay replay = new RealTimeFrameReplay(speed);
+        AtomicLong replayedTicks = new AtomicLong();
+        RealTimeExecutionWebSocketHandler handler =
+            new RealTimeExecutionWebSocketHandler("replay", tick -> replayedTicks.incrementAndGet());
+        Disposable disposable = Mono.fromCallable(() -> replay.replay(segments, handler::onFrame))
+            .subscribeOn(Schedulers.boundedElastic())
+            .doFinally(signal -> finishReplay(replay))
+            .subscribe(
+                frames -> log.info("실시간 프레임 재생 종료: {}, 프레임 {}건, 체결 {}건", date, frames, replayedTicks.get()),
+                error -> log.error("실시간 프레임 재생 실패: {}", date, error));
+        activeReplay = new ActiveReplay(date, replay, disposable);
+    }
+
+    /**
+     * 진행 중인 재생 중지
+     *
+     * @return 멈춘 재생이 있으면 true
+     */
+    public synchronized boolean stopReplay() {
+        if (activeReplay == null) {
+            return false;
+        }
+        log.info("실시간 프레임 재생 중지: {}", activeReplay.date());
+        activeReplay.replay().cancel();
+        activeReplay.disposable().dispose();
+        activeReplay = null;
+        return true;
+    }
+
+    /**
+     * 재생 중인 기록 날짜 (재생 중이 아니면 null)
+     */
+    public synchronized LocalDate getReplayDate() {
+        return activeReplay == null ? null : activeReplay.date();
+    }
+
+    private synchronized void finishReplay(RealTimeFrameReplay replay) {
+        if (activeReplay != null && activeReplay.replay() == replay) {
+            activeReplay = null;
+        }
+    }
+
+    /**
+     * 애플리케이션 기동 후 설정된 관심종목 구독 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        startConsumer();
+        if (livenessMonitor == null) {
+            livenessMonitor = Flux.interval(properties.liveness().checkInterval())
+                .subscribe(unused -> {
+                    Instant now = Instant.now();
+                    checkSessionWindow(now);
+                    checkLiveness(now);
+                });
+        }
+        checkSessionWindow(Instant.now());
+        if (!properties.watchlist().isEmpty()) {
+            log.info("실시간 체결가 구독 시작: {}개 종목", properties.watchlist().size());
+            replaceWatchlist(properties.watchlist());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (livenessMonitor != null) {
+            livenessMonitor.dispose();
+            livenessMonitor = null;
+        }
+        stopReplay();
+        sessions.forEach(RealTimeSession::close);
+        sessions.clear();
+        stopConsumer();
+    }
+
+    /**
+     * 체결 소비 스레드 시작 (이미 돌고 있으면 무시)
+     */
+    synchronized void startConsumer() {
+        if (tickConsumer != null) {
+            return;
+        }
+        tickConsumer = new Thread(this::consumeTicks, "kis-realtime-consumer");
+        tickConsumer.setDaemon(true);
+        tickConsumer.start();
+    }
+
+    /**
+     * 체결 소비 스레드를 멈추고 끝날 때까지 잠시 기다림 (버퍼 대기는 인터럽트로 바로 풀림)
+     */
+    private void stopConsumer() {
+        if (tickConsumer == null) {
+            return;
+        }
+        tickConsumer.interrupt();
+        try {
+            tickConsumer.join(CONSUMER_STOP_TIMEOUT.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        tickConsumer = null;
+    }
+
+    /**
+     * 관심종목 전체 교체 (연결을 끊지 않고 차이만 등록/해제)
+     */
+    public synchronized Status replaceWatchlist(Collection<String> stockCodes) {
+        Set<String> normalized = new LinkedHashSet<>();
+        stockCodes.forEach(code -> normalized.add(normalize(code)));
+        watchlist.clear();
+        watchlist.addAll(normalized);
+        reconcile();
+        return getStatus();
+    }
+
+    /**
+     * 관심종목 추가
+     */
+    public synchronized Status subscribe(String stockCode) {
+        watchlist.add(normalize(stockCode));
+        reconcile();
+        return getStatus();
+    }
+
+    /**
+     * 관심종목 제거
+     */
+    public synchronized Status unsubscribe(String stockCode) {
+        watchlist.remove(normalize(stockCode));
+        reconcile();
+        return getStatus();
+    }
+
+    /**
+     * 연결된 세션에서 실시간 체결을 받고 있는 종목인지 (폴링 수집 생략 판단용)
+     */
+    public synchronized boolean isStreaming(String stockCode) {
+        String normalized = normalize(stockCode);
+        for (RealTimeSession session : sessions) {
+            if (session.isConnected() && session.getStockCodes().contains(normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized Status getStatus() {
+        List<SessionStatus> sessionStatuses = sessions.stream()
+            .map(session -> new SessionStatus(session.getId(), session.isConnected(), session.isStalled(),
+                session.getLastMessageAt(), session.getStockCodes()))
+            .toList();
+        return new Status(Set.copyOf(watchlist), sessionStatuses, pending, properties.maxSubscriptionsPerSession(),
+            properties.maxSessions());
+    }
+
+    /**
+     * 세션 유지 시간 확인
+     * 유지 시간이 끝났으면 세션을 모두 닫고, 다시 시작되면 관심종목 전체를 새로 등록한다.
+     *
+     * @return 세션을 유지하는 시간이면 true
+     */
+    synchronized boolean checkSessionWindow(Instant now) {
+        boolean open = isSessionWindow(now);
+        if (!open && !suspended) {
+            suspended = true;
+            log.info("실시간 세션 유지 시간 종료, 세션 {}개 닫음 (다음 정규장: {})", sessions.size(),
+                calendar.nextRegularOpen(now).atZone(KST).toLocalDateTime());
+            sessions.forEach(RealTimeSession::close);
+            sessions.clear();
+            watchlist.forEach(gapTracker::forget);
+            pending = Set.copyOf(watchlist);
+        } else if (open && suspended) {
+            suspended = false;
+            log.info("실시간 세션 유지 시간 시작, 관심종목 {}개 등록", watchlist.size());
+            reconcile();
+        }
+        return open;
+    }
+
+    private boolean isSessionWindow(Instant now) {
+        TradingHours hours = calendar.hoursOf(now.atZone(KST).toLocalDate());
+        return hours != null
+            && !now.isBefore(hours.at(hours.preMarketOpen()))
+            && now.isBefore(hours.at(hours.regularClose()).plus(properties.bars().dailyCloseDelay()));
+    }
+
+    /**
+     * 세션 생존 확인
+     * 정규장 중에 stallTimeout 동안 메시지를 받지 못한 세션은 멈춘 것으로 표시하고 연결을 끊어 재연결한다.
+     *
+     * @return 멈춘 것으로 판단한 세션 수
+     */
+    synchronized int checkLiveness(Instant now) {
+        if (!calendar.isRegularSession(now)) {
+            return 0;
+        }
+        Duration stallTimeout = properties.liveness().stallTimeout();
+        int stalled = 0;
+        for (RealTimeSession session : sessions) {
+            Instant lastMessageAt = session.getLastMessageAt();
+            if (lastMessageAt == null) {
+                continue;
+            }
+            Duration silence = Duration.between(lastMessageAt, now);
+            if (silence.compareTo(stallTimeout) > 0) {
+                stalled++;
+                stallCount.incrementAndGet();
+                log.warn("실시간 웹소켓 세션 응답 없음, 재연결: session={}, 마지막 수신 후 {}ms",
+                    session.getId(), silence.toMillis());
+                session.setStalled(true);
+                session.reconnect();
+            } else {
+                session.setStalled(false);
+            }
+        }
+        return stalled;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("kis.websocket.sessions", this, manager -> manager.countSessions(true))
+            .tag("state", "connected")
+            .description("연결된 실시간 웹소켓 세션 수")
+            .register(registry);
+        Gauge.builder("kis.websocket.sessions", this, manager -> manager.countSessions(false))
+            .tag("state", "stalled")
+            .description("응답이 없어 재연결 중인 실시간 웹소켓 세션 수")
+            .register(registry);
+        Gauge.builder("kis.websocket.last.message.age", this, RealTimeSubscriptionManager::maxSilenceSeconds)
+            .baseUnit("seconds")
+            .description("연결된 세션 중 가장 오래 메시지를 받지 못한 시간")
+            .register(registry);
+        Gauge.builder("kis.websocket.tick.buffer.size", tickBuffer, RealTimeTickBuffer::size)
+            .tag("policy", tickBuffer.getPolicy().name())
+            .description("소비를 기다리는 체결 수")
+            .register(registry);
+        Gauge.builder("kis.websocket.tick.buffer.capacity", tickBuffer, RealTimeTickBuffer::capacity)
+            .description("체결 버퍼 크기")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.tick.buffer.overflow", tickBuffer, RealTimeTickBuffer::getDroppedCount)
+            .tag("action", "dropped")
+            .description("버퍼가 가득 차서 버린 체결 수")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.tick.buffer.overflow", tickBuffer, RealTimeTickBuffer::getConflatedCount)
+            .tag("action", "conflated")
+            .description("버퍼가 가득 차서 같은 종목 체결에 합친 수")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.tick.buffer.overflow", tickBuffer, RealTimeTickBuffer::getBlockedCount)
+            .tag("action", "blocked")
+            .description("버퍼가 가득 차서 생산자가 기다린 횟수")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.heartbeats", heartbeatCount, AtomicLong::get)
+            .description("응답한 PINGPONG 수")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.reconnects", disconnectCount, AtomicLong::get)
+            .tag("reason", "disconnected")
+            .description("연결 종료/실패로 인한 재연결 시도 수")
+            .register(registry);
+        FunctionCounter.builder("kis.websocket.reconnects", stallCount, AtomicLong::get)
+            .tag("reason", "stalled")
+            .description("응답 없는 세션을 먼저 끊고 재연결한 수")
+            .register(registry);
+    }
+
+    private synchronized double countSessions(boolean connected) {
+        return sessions.stream()
+            .filter(session -> connected ? session.isConnected() : session.isStalled())
+            .count();
+    }
+
+    private synchronized double maxSilenceSeconds() {
+        Instant now = Instant.now();
+        return sessions.stream()
+            .map(RealTimeSession::getLastMessageAt)
+            .filter(lastMessageAt -> lastMessageAt != null)
+            .mapToDouble(lastMessageAt -> Duration.between(lastMessageAt, now).toMillis() / 1000.0)
+            .max()
+            .orElse(0);
+    }
+
+    /**
+     * 원하는 상태(watchlist)와 실제 등록 상태의 차이를 반영
+     */
+    private void reconcile() {
+        if (suspended) {
+            pending = Set.copyOf(watchlist);
+            return;
+        }
+        // 1. 관심종목에서 빠진 종목 해제
+        Set<String> assigned = new LinkedHashSet<>();
+        for (RealTimeSession session : sessions) {
+            for (String stockCode : session.getStockCodes()) {
+                if (watchlist.contains(stockCode)) {
+                    assigned.add(stockCode);
+                } else {
+                    session.unsubscribe(stockCode);
+                    gapTracker.forget(stockCode);
+                }
+            }
+        }
+
+        // 2. 빈 세션 정리
+        Iterator<RealTimeSession> iterator = sessions.iterator();
+        while (iterator.hasNext()) {
+            RealTimeSession session = iterator.next();
+            if (session.size() == 0) {
+                log.info("등록 종목이 없는 세션 종료: session={}", session.getId());
+                session.close();
+                iterator.remove();
+            }
+        }
+
+        // 3. 새 종목을 여유 있는 세션에 등록, 없으면 세션 추가
+        Set<String> unassigned = new LinkedHashSet<>();
+        for (String stockCode : watchlist) {
+            if (assigned.contains(stockCode)) {
+                continue;
+            }
+            RealTimeSession target = findSessionWithCapacity();
+            if (target == null && sessions.size() < properties.maxSessions()) {
+                target = openSession();
+            }
+            if (target == null) {
+                unassigned.add(stockCode);
+            } else {
+                target.subscribe(stockCode);
+            }
+        }
+
+        if (!unassigned.isEmpty()) {
+            log.warn("세션 한도({}개 x {}건) 초과로 등록하지 못한 종목: {}",
+                properties.maxSessions(), properties.maxSubscriptionsPerSession(), unassigned);
+        }
+        pending = Set.copyOf(unassigned);
+    }
+
+    private RealTimeSession findSessionWithCapacity() {
+        for (RealTimeSession session : sessions) {
+            if ((session.size() + 1) * properties.subscriptionsPerStock() <= properties.maxSubscriptionsPerSession()) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    private RealTimeSession openSession() {
+        RealTimeSession session = new RealTimeSession(nextSessionId++);
+        log.info("실시간 웹소켓 세션 열기: session={}, url={}", session.getId(), webSocketUri);
+
+        Disposable connection = superviseSession(session)
+            .subscribe(
+                unused -> { },
+                error -> log.error("실시간 웹소켓 세션 오류: session={}", session.getId(), error),
+                () -> log.info("실시간 웹소켓 세션 종료: session={}", session.getId()));
+        session.setConnection(connection);
+
+        sessions.add(session);
+        return session;
+    }
+
+    /**
+     * 세션 연결 감시
+     * 연결이 끊기거나 연결에 실패하면 지수 백오프로 재연결한다. 한 번 연결에 성공하면 백오프를 처음부터 다시 센다.
+     * 재연결에 성공하면 등록 종목 전체의 공백을 보정한다. 세션을 닫으면(dispose) 재연결도 멈춘다.
+     */
+    private Flux<Boolean> superviseSession(RealTimeSession session) {
+        return Flux.defer(() -> connectOnce(session))
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.reconnectInitialBackoff())
+                .maxBackoff(properties.reconnectMaxBackoff())
+                .transientErrors(true)
+                .doBeforeRetry(signal -> {
+                    disconnectCount.incrementAndGet();
+                    log.warn("실시간 웹소켓 재연결 시도: session={}, 연속 실패 {}회, 원인={}",
+                        session.getId(), signal.totalRetriesInARow() + 1, signal.failure().getMessage());
+                }))
+            .flatMap(reconnected -> reconnected
+                ? gapTracker.backfill(session.getStockCodes(), this::publish).thenReturn(true)
+                : Mono.just(false));
+    }
+
+    /**
+     * 한 번의 연결 시도
+     * 연결이 수립되면 재연결 여부를 내보내고, 연결이 끝나면 정상 종료라도 오류로 끝내 재연결을 유도한다.
+     */
+    private Flux<Boolean> connectOnce(RealTimeSession session) {
+        return approvalKey(session).flatMapMany(approvalKey -> {
+            RealTimeExecutionWebSocketHandler handler = new RealTimeExecutionWebSocketHandler(approvalKey, this::onTick);
+            handler.setHeartbeatListener(heartbeatCount::incrementAndGet);
+            handler.setDispatcher(dispatcher);
+            handler.setJournal(journal);
+            handler.setOrderBooks(orderBooks);
+            AtomicBoolean established = new AtomicBoolean();
+            Sinks.One<Boolean> connected = Sinks.one();
+            WebSocketHandler supervised = webSocketSession -> {
+                established.set(true);
+                connected.tryEmitValue(session.attach(handler));
+                return handler.handle(webSocketSession);
+            };
+
+            Mono<Boolean> closed = webSocketClient.execute(webSocketUri, supervised)
+                .doFinally(signal -> session.detach(handler))
+                .then(Mono.error(() -> new KisWebSocketException("실시간 웹소켓 연결 종료")));
+            return Flux.merge(connected.asMono(), closed)
+                .doOnError(error -> {
+                    if (!established.get()) {
+                        session.invalidateApprovalKey();
+                    }
+                });
+        });
+    }
+
+    /**
+     * 세션에 발급된 접속키를 재사용하고, 없거나 오래되었으면 새로 발급
+     */
+    private Mono<String> approvalKey(RealTimeSession session) {
+        Instant now = Instant.now();
+        String approvalKey = session.getApprovalKey(now, properties.approvalKeyMaxAge());
+        if (approvalKey != null) {
+            return Mono.just(approvalKey);
+        }
+        return webSocketKeyService.getWebSocketApprovalKey()
+            .map(this::requireApprovalKey)
+            .doOnNext(issued -> session.setApprovalKey(issued, now));
+    }
+
+    private void onTick(KisExecutionTick tick) {
+        gapTracker.onTick(tick);
+        publish(tick);
+    }
+
+    private void publish(KisExecutionTick tick) {
+        try {
+            tickBuffer.put(tick);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("체결 버퍼 대기 중 인터럽트되어 체결을 버림: 종목코드={}", tick.stockCode());
+        }
+    }
+
+    /**
+     * 버퍼에서 체결을 꺼내 리스너에 전달 (소비 스레드)
+     */
+    private void consumeTicks() {
+        List<KisExecutionTick> batch = new ArrayList<>(CONSUMER_BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                tickBuffer.drainTo(batch, CONSUMER_BATCH_SIZE, 1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            for (KisExecutionTick tick : batch) {
+                try {
+                    tickListener.accept(tick);
+                } catch (RuntimeException e) {
+                    log.error("체결 리스너 처리 중 오류: 종목코드={}", tick.stockCode(), e);
+                }
+            }
+            batch.clear();
+        }
+        log.info("체결 소비 스레드 종료");
+    }
+
+    private String requireApprovalKey(KisWebSocketKeyResponse response) {
+        if (!response.hasApprovalKey()) {
+            throw new KisWebSocketException("웹소켓 접속키 발급 실패: " + response.message());
+        }
+        return response.approvalKey();
+    }
+
+    private static String normalize(String stockCode) {
+        if (stockCode == null || stockCode.isBlank()) {
+            throw new IllegalArgumentException("종목코드는 필수입니다");
+        }
+        return stockCode.trim();
+    }
+
+    /**
+     * 구독 현황
+     */
+    public record Status(
+        Set<String> watchlist,
+        List<SessionStatus> sessions,
+        Set<String> pending,
+        int maxSubscriptionsPerSession,
+        int maxSessions
+    ) {}
+
+    private record ActiveReplay(LocalDate date, RealTimeFrameReplay replay, Disposable disposable) {}
+
+    public record SessionStatus(
+        int id,
+        boolean connected,
+        boolean stalled,
+        Instant lastMessageAt,
+        Set<String> stockCodes
+    ) {}
+}
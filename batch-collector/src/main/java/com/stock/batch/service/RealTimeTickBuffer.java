@@ -0,0 +1,193 @@
+package com.stock.batch.service;
+
+import com.stock.common.config.KisWebSocketProperties.OverflowPolicy;
+import com.stock.common.realtime.KisExecutionTick;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 체결 생산자(프레임 처리 스레드)와 소비자(DB 저장, 분봉 집계 등) 사이의 고정 크기 링 버퍼
+ * 배열 하나를 돌려 쓰므로 장 시작처럼 체결이 몰려도 메모리 사용량이 capacity를 넘지 않는다.
+ * 가득 찼을 때는 {@link OverflowPolicy}에 따라 대기하거나, 가장 오래된 체결을 버리거나,
+ * 같은 종목의 대기 중인 체결에 합친다. 합치는 것은 같은 초, 같은 가격의 체결뿐이다.
+ * 그래서 합쳐도 1초 이상 봉의 시가/고가/저가/종가/거래량/거래대금은 그대로다(체결 건수만 줄어듦).
+ * 같은 종목의 체결은 넣은 순서대로 꺼낸다.
+ */
+public class RealTimeTickBuffer {
+
+    private final KisExecutionTick[] ring;
+    private final OverflowPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    // CONFLATE_LATEST_PER_SYMBOL: 종목별로 가장 나중에 넣은 대기 체결의 위치
+    private final Map<String, Integer> latestSlotByStockCode = new HashMap<>();
+
+    private int head;
+    private int size;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong conflatedCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+
+    public RealTimeTickBuffer(int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("버퍼 크기는 1 이상이어야 합니다: " + capacity);
+        }
+        this.ring = new KisExecutionTick[capacity];
+        this.policy = policy;
+    }
+
+    /**
+     * 체결 추가 (BLOCK 또는 합칠 대상이 없는 CONFLATE 정책에서는 자리가 날 때까지 대기)
+     */
+    public void put(KisExecutionTick tick) throws InterruptedException {
+        lock.lock();
+        try {
+            if (size == ring.length) {
+                switch (policy) {
+                    case DROP_OLDEST -> {
+                        removeHead();
+                        droppedCount.incrementAndGet();
+                    }
+                    case CONFLATE_LATEST_PER_SYMBOL -> {
+                        Integer slot = latestSlotByStockCode.get(tick.stockCode());
+                        if (slot != null && canConflate(ring[slot], tick)) {
+                            ring[slot] = conflate(ring[slot], tick);
+                            conflatedCount.incrementAndGet();
+                            return;
+                        }
+                        awaitNotFull();
+                    }
+                    case BLOCK -> awaitNotFull();
+                }
+            }
+            int slot = (head + size) % ring.length;
+            ring[slot] = tick;
+            size++;
+            if (policy == OverflowPolicy.CONFLATE_LATEST_PER_SYMBOL) {
+                latestSlotByStockCode.put(tick.stockCode(), slot);
+            }
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 체결이 들어올 때까지 최대 timeout 기다린 뒤 최대 maxTicks건을 꺼내 sink에 담음
+     *
+     * @return 꺼낸 건수 (시간 초과 시 0)
+     */
+    public int drainTo(List<KisExecutionTick> sink, int maxTicks, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = unit.toNanos(timeout);
+            while (size == 0) {
+                if (remaining <= 0) {
+                    return 0;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            int drained = 0;
+            while (size > 0 && drained < maxTicks) {
+                sink.add(removeHead());
+                drained++;
+            }
+            notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getConflatedCount() {
+        return conflatedCount.get();
+    }
+
+    public long getBlockedCount() {
+        return blockedCount.get();
+    }
+
+    private void awaitNotFull() throws InterruptedException {
+        blockedCount.incrementAndGet();
+        while (size == ring.length) {
+            notFull.await();
+        }
+    }
+
+    private KisExecutionTick removeHead() {
+        KisExecutionTick tick = ring[head];
+        ring[head] = null;
+        if (policy == OverflowPolicy.CONFLATE_LATEST_PER_SYMBOL) {
+            latestSlotByStockCode.remove(tick.stockCode(), head);
+        }
+        head = (head + 1) % ring.length;
+        size--;
+        return tick;
+    }
+
+    /**
+     * 같은 영업일, 같은 체결 초(가장 짧은 봉 구간), 같은 가격이면 합쳐도 봉이 바뀌지 않음
+     * 체결구분이 다르면 합치지 않는다 (매수/매도 구분과 REST 보정 합성 체결 표시를 잃지 않도록).
+     */
+    static boolean canConflate(KisExecutionTick pending, KisExecutionTick newer) {
+        return pending.businessDate() == newer.businessDate()
+            && pending.executionTime() == newer.executionTime()
+            && pending.price() == newer.price()
+            && pending.executionType() == newer.executionType();
+    }
+
+    /**
+     * 대기 중인 체결에 새 체결을 합침: 가격/누적 값은 새 체결, 체결량은 합산 (체결구분은 둘이 같음)
+     */
+    static KisExecutionTick conflate(KisExecutionTick pending, KisExecutionTick newer) {
+        return new KisExecutionTick(
+            newer.stockCode(),
+            newer.businessDate(),
+            newer.executionTime(),
+            newer.price(),
+            newer.changeSign(),
+            newer.change(),
+            newer.changeRate(),
+            newer.openPrice(),
+            newer.highPrice(),
+            newer.lowPrice(),
+            newer.askPrice1(),
+            newer.bidPrice1(),
+            pending.executionVolume() + newer.executionVolume(),
+            newer.accumulatedVolume(),
+            newer.accumulatedTradeValue(),
+            newer.executionStrength(),
+            newer.executionType()
+        );
+    }
+}
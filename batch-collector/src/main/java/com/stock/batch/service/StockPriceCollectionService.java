@@ -3,13 +3,14 @@ package com.stock.batch.service;
 import com.stock.common.dto.KisStockPriceRequest;
 import com.stock.common.dto.KisStockPriceResponse;
 import com.stock.common.service.KisApiService;
+import com.stock.common.symbol.SymbolTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.List;
 
 /**
@@ -22,18 +23,22 @@ public class StockPriceCollectionService {
     private static final Logger logger = LoggerFactory.getLogger(StockPriceCollectionService.class);
     
     private final KisApiService kisApiService;
-    
-    // 주요 종목들 (예시)
-    private static final List<KisStockPriceRequest> SAMPLE_STOCKS = List.of(
-        KisStockPriceRequest.kospi("005930"), // 삼성전자
-        KisStockPriceRequest.kospi("000660"), // SK하이닉스  
-        KisStockPriceRequest.kospi("035420"), // NAVER
-        KisStockPriceRequest.kospi("005490"), // POSCO홀딩스
-        KisStockPriceRequest.kosdaq("035720") // 카카오
-    );
+    private final SymbolDirectory symbolDirectory;
+    private RealTimeSubscriptionManager realTimeSubscriptionManager;
+
 
-    public StockPriceCollectionService(KisApiService kisApiService) {
+    public StockPriceCollectionService(KisApiService kisApiService, SymbolDirectory symbolDirectory) {
         this.kisApiService = kisApiService;
+        this.symbolDirectory = symbolDirectory;
+    }
+
+    /**
+     * 실시간 체결 구독 관리자 (웹소켓 사용 시에만 주입)
+     * 실시간으로 받고 있는 종목은 1분봉 집계로 대신하므로 폴링 대상에서 뺀다.
+     */
+    @Autowired(required = false)
+    public void setRealTimeSubscriptionManager(RealTimeSubscriptionManager realTimeSubscriptionManager) {
+        this.realTimeSubscriptionManager = realTimeSubscriptionManager;
     }
 
     /**
@@ -71,61 +76,57 @@ public class StockPriceCollectionService {
     }
 
     /**
-     * 여러 종목의 현재가 정보를 순차적으로 수집
-     * API 호출 제한을 고려하여 딜레이 적용
+     * 여러 종목의 현재가 정보를 멀티종목 시세 조회(30종목/호출)로 일괄 수집
+     * 실패한 묶음은 건너뛰고 성공한 종목만 방출
      */
     public Flux<KisStockPriceResponse> collectMultipleStockPrices(List<KisStockPriceRequest> requests) {
         logger.info("다중 종목 현재가 수집 시작: 총 {}개 종목", requests.size());
         
-        return Flux.fromIterable(requests)
-            .flatMap(request -> 
-                collectSingleStockPrice(request)
-                    .onErrorResume(error -> {
-                        logger.warn("종목 {} 현재가 수집 실패, 건너뜀", request.stockCode(), error);
-                        return Mono.empty();
-                    })
-                    .delayElement(Duration.ofMillis(200)), // API 호출 간격 200ms
-                2) // 동시 호출 제한: 2개
+        return kisApiService.getStockPrices(requests)
+            .onErrorResume(error -> {
+                logger.warn("다중 종목 현재가 수집 중 일부 묶음 실패, 건너뜀", error);
+                return Flux.empty();
+            })
             .doOnComplete(() -> {
                 logger.info("다중 종목 현재가 수집 완료");
             });
     }
     
     /**
-     * 샘플 주요 종목들의 현재가 정보 수집
+     * 실시간 체결로 받고 있는 종목을 뺀 나머지 종목의 현재가 수집
      */
-    public Flux<KisStockPriceResponse> collectMajorStockPrices() {
-        logger.info("주요 종목 현재가 수집 시작");
-        return collectMultipleStockPrices(SAMPLE_STOCKS);
+    public Flux<KisStockPriceResponse> collectPolledStockPrices(List<KisStockPriceRequest> requests) {
+        List<KisStockPriceRequest> polled = requests.stream()
+            .filter(request -> !isStreaming(request.stockCode()))
+            .toList();
+        if (polled.isEmpty()) {
+            logger.info("대상 종목 모두 실시간 체결 수신 중, 폴링 생략");
+            return Flux.empty();
+        }
+        return collectMultipleStockPrices(polled);
     }
     
     /**
      * 특정 종목 리스트의 현재가 정보 수집
+     * 시장 구분은 종목 디렉터리(stock_information)를 따르고, 디렉터리에 없는 종목은 코스피로 조회한다.
      */
     public Flux<KisStockPriceResponse> collectStockPricesByStockCodes(List<String> stockCodes) {
+        SymbolTable symbols = symbolDirectory.current();
         List<KisStockPriceRequest> requests = stockCodes.stream()
             .map(code -> {
-                // 기본적으로 코스피로 설정, 실제로는 종목코드로 시장 구분 필요
-                String market = determineMarketByStockCode(code);
-                return new KisStockPriceRequest(code, market);
+                int id = symbols.idOf(code);
+                if (id == SymbolTable.UNKNOWN) {
+                    logger.warn("종목 디렉터리에 없는 종목, 코스피로 조회: 종목코드={}", code);
+                    return KisStockPriceRequest.kospi(code);
+                }
+                return symbols.requestOf(id);
             })
             .toList();
-            
+
         return collectMultipleStockPrices(requests);
     }
     
-    /**
-     * 종목코드로 시장 구분 결정 (간단한 휴리스틱)
-     * 실제로는 데이터베이스에서 조회하거나 별도 API 호출 필요
-     */
-    private String determineMarketByStockCode(String stockCode) {
-        // 000000-099999: 코스피
-        // 100000-299999: 코스닥 (실제로는 더 복잡함)
-        try {
-            int code = Integer.parseInt(stockCode);
-            return code < 100000 ? "J" : "Q";
-        } catch (NumberFormatException e) {
-            return "J"; // 기본값: 코스피
-        }
+    private boolean isStreaming(String stockCode) {
+        return realTimeSubscriptionManager != null && realTimeSubscriptionManager.isStreaming(stockCode);
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.stock.batch.service;
+
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.symbol.SymbolTable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 수집 대상 종목 목록 (종목 디렉터리 기준)
+ * 거래정지 종목과 정리매매 종목은 시세가 바뀌지 않으므로 제외하고, 종목코드 순으로 돌려준다.
+ * 시장 구분과 상태는 {@link SymbolDirectory}가 읽어 둔 stock_information을 그대로 쓴다.
+ */
+@Service
+public class StockUniverseService {
+
+    private final SymbolDirectory symbolDirectory;
+
+    public StockUniverseService(SymbolDirectory symbolDirectory) {
+        this.symbolDirectory = symbolDirectory;
+    }
+
+    /**
+     * 거래 가능한 전체 종목
+     */
+    public List<KisStockPriceRequest> findTradableStocks() {
+        return findTradableStocks(null, null);
+    }
+
+    /**
+     * 종목코드가 [fromStockCode, toStockCode] 구간인 거래 가능 종목 (null이면 그쪽 끝은 제한 없음)
+     */
+    public List<KisStockPriceRequest> findTradableStocks(String fromStockCode, String toStockCode) {
+        SymbolTable symbols = symbolDirectory.current();
+        List<String> codes = new ArrayList<>();
+        for (int id = 0; id < symbols.size(); id++) {
+            String code = symbols.codeOf(id);
+            if (symbols.isTradable(id)
+                && (fromStockCode == null || code.compareTo(fromStockCode) >= 0)
+                && (toStockCode == null || code.compareTo(toStockCode) <= 0)) {
+                codes.add(code);
+            }
+        }
+        // 다시 읽을 때 새 종목은 id가 뒤에 붙으므로 종목코드로 정렬
+        codes.sort(Comparator.naturalOrder());
+        return codes.stream()
+            .map(code -> symbols.requestOf(symbols.idOf(code)))
+            .toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.stock.batch.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.symbol.SymbolTable;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * 종목 디렉터리 (stock_information 기준)
+ * 기동 시 전체 종목을 읽어 {@link SymbolTable}로 만들고, 거래일 아침마다 다시 읽어 통째로 바꾼다.
+ * 조회 쪽은 {@link #current()}로 받은 표 하나를 끝까지 쓰므로 다시 읽는 도중에도 섞인 값을 보지 않는다.
+ * 다시 읽기에 실패하면 이전 표를 그대로 쓴다.
+ * 시장 구분은 상장 시장(market)을 쓴다. is_kospi는 KOSPI 지수 편입 여부라 코스피 상장 ETF/ETN/우선주도 'N'이다.
+ */
+@Service
+public class SymbolDirectory implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(SymbolDirectory.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String MARKET_KOSDAQ = "KOSDAQ";
+
+    static final String SELECT_SYMBOLS_SQL = """
+        SELECT short_code, market, index_sector_major,
+               is_trading_suspended, is_delisting_trade, is_administrative_issue,
+               is_preferred_stock, is_etp, is_spac
+        FROM stock_information
+        ORDER BY short_code
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final KrxTradingCalendar calendar;
+    private volatile SymbolTable table = SymbolTable.empty();
+
+    public SymbolDirectory(JdbcTemplate jdbcTemplate, KrxTradingCalendar calendar) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.calendar = calendar;
+    }
+
+    /**
+     * 현재 종목 표 (한 번 받은 표는 바뀌지 않음)
+     */
+    public SymbolTable current() {
+        return table;
+    }
+
+    /**
+     * 기동 시 로드 (id로 종목을 찾는 실시간 구독보다 먼저)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(cron = "${kis.symbols.reload-cron:0 0 8 * * *}", zone = "Asia/Seoul")
+    public void reloadOnTradingDay() {
+        if (calendar.isTradingDay(LocalDate.now(KST))) {
+            reload();
+        }
+    }
+
+    /**
+     * stock_information을 다시 읽어 표 교체 (기존 종목의 id는 유지)
+     *
+     * @return 교체했으면 true
+     */
+    public synchronized boolean reload() {
+        SymbolTable previous = table;
+        SymbolTable.Builder builder = SymbolTable.builder(previous);
+        try {
+            jdbcTemplate.query(SELECT_SYMBOLS_SQL, rs -> {
+                builder.add(rs.getString("short_code"),
+                    MARKET_KOSDAQ.equals(rs.getString("market")) ? SymbolTable.MARKET_KOSDAQ : SymbolTable.MARKET_KOSPI,
+                    rs.getString("index_sector_major"),
+                    flag(rs.getString("is_trading_suspended"), SymbolTable.TRADING_SUSPENDED)
+                        | flag(rs.getString("is_delisting_trade"), SymbolTable.DELISTING_TRADE)
+                        | flag(rs.getString("is_administrative_issue"), SymbolTable.ADMINISTRATIVE_ISSUE)
+                        | flag(rs.getString("is_preferred_stock"), SymbolTable.PREFERRED_STOCK)
+                        | flag(rs.getString("is_etp"), SymbolTable.ETP)
+                        | flag(rs.getString("is_spac"), SymbolTable.SPAC));
+            });
+        } catch (DataAccessException e) {
+            log.error("종목 디렉터리 로드 실패, 이전 표 유지 ({}개 종목)", previous.listedCount(), e);
+            return false;
+        }
+        SymbolTable loaded = builder.build();
+        table = loaded;
+        log.info("종목 디렉터리 로드: 상장 {}개, 신규 {}개, id {}개",
+            loaded.listedCount(), loaded.size() - previous.size(), loaded.size());
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("kis.symbols.listed", this, directory -> directory.current().listedCount())
+            .description("종목 디렉터리의 상장 종목 수")
+            .register(registry);
+        Gauge.builder("kis.symbols.ids", this, directory -> directory.current().size())
+            .description("종목 디렉터리에 부여한 id 수 (빠진 종목 포함)")
+            .register(registry);
+    }
+
+    private static int flag(String value, int flag) {
+        return "Y".equals(value) ? flag : 0;
+    }
+}
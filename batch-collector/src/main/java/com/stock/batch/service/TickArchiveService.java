@@ -0,0 +1,84 @@
+package com.stock.batch.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KisWebSocketProperties;
+import com.stock.common.realtime.TickArchiveWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 거래일 장 마감 후 하루치 수신 프레임 기록을 종목별 열 압축 보관 파일(ticks-yyyyMMdd.tca)로 옮기는 서비스
+ * 기록을 최대 속도로 재생해 실제 수신과 같은 방식(암호화 프레임 복호화 포함)으로 체결을 복원하고,
+ * 체결은 복원되는 대로 {@link TickArchiveWriter}의 종목별 열에 부호화한다.
+ */
+@Service
+@ConditionalOnProperty(name = "kis.api.websocket.journal.enabled", havingValue = "true")
+public class TickArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TickArchiveService.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KrxTradingCalendar calendar;
+    private final Path journalDirectory;
+    private final Path archiveDirectory;
+
+    @Autowired
+    public TickArchiveService(KisWebSocketProperties properties, KrxTradingCalendar calendar) {
+        this(calendar, properties.journal().directory(), properties.journal().archiveDirectory());
+    }
+
+    TickArchiveService(KrxTradingCalendar calendar, Path journalDirectory, Path archiveDirectory) {
+        this.calendar = calendar;
+        this.journalDirectory = journalDirectory;
+        this.archiveDirectory = archiveDirectory;
+    }
+
+    @Scheduled(cron = "${kis.api.websocket.journal.archive-cron:0 0 18 * * MON-FRI}", zone = "Asia/Seoul")
+    public void archiveToday() {
+        LocalDate today = LocalDate.now(KST);
+        if (!calendar.isTradingDay(today)) {
+            log.info("휴장일이라 체결 보관 파일을 만들지 않음: {}", today);
+            return;
+        }
+        try {
+            archive(today);
+        } catch (IOException | RuntimeException e) {
+            log.error("체결 보관 파일 생성 실패", e);
+        }
+    }
+
+    /**
+     * 해당 날짜의 기록을 보관 파일로 변환
+     *
+     * @return 보관 파일 경로 (기록이 없으면 null)
+     */
+    public Path archive(LocalDate date) throws IOException {
+        List<Path> segments = RealTimeFrameReplay.segments(journalDirectory, date);
+        if (segments.isEmpty()) {
+            log.info("보관할 수신 프레임 기록 없음: {}", date);
+            return null;
+        }
+        int businessDate = Integer.parseInt(date.format(DateTimeFormatter.BASIC_ISO_DATE));
+        TickArchiveWriter writer = new TickArchiveWriter(businessDate);
+        RealTimeExecutionWebSocketHandler handler = new RealTimeExecutionWebSocketHandler("archive", writer::add);
+        long frames = new RealTimeFrameReplay(0).replay(segments, handler::onFrame);
+
+        Path path = archiveDirectory.resolve("ticks-" + businessDate + ".tca");
+        long size = writer.writeTo(path);
+        log.info("체결 보관 파일 생성: {}, 프레임 {}건, 종목 {}개, 체결 {}건, {} bytes",
+            path, frames, writer.getStockCount(), writer.getTickCount(), size);
+        return path;
+    }
+}
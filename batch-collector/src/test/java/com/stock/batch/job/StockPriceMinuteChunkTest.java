@@ -0,0 +1,151 @@
+package com.stock.batch.job;
+
+import com.stock.common.dto.KisStockPriceResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1분 주기 수집 청크 Step 구성 요소 (리더, 변환, 일괄 upsert)
+ */
+class StockPriceMinuteChunkTest {
+
+    private static final LocalDateTime BAR_TIME = LocalDateTime.of(2026, 10, 16, 10, 1);
+
+    private EmbeddedDatabase database;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("minute-chunk;MODE=MySQL")
+            .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE realtime_stock_price (
+                stock_code VARCHAR(20) PRIMARY KEY, current_price DECIMAL(15,2), change_price DECIMAL(15,2),
+                change_rate DECIMAL(8,4), volume BIGINT, trading_value BIGINT, bid_price DECIMAL(15,2), ask_price DECIMAL(15,2))
+            """);
+        jdbcTemplate.execute("""
+            CREATE TABLE minute_stock_price (
+                stock_code VARCHAR(20), bar_time TIMESTAMP, open_price DECIMAL(15,2), high_price DECIMAL(15,2),
+                low_price DECIMAL(15,2), close_price DECIMAL(15,2), accumulated_volume BIGINT, accumulated_value BIGINT,
+                PRIMARY KEY (stock_code, bar_time))
+            """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("리더는 미리 받는 응답 수를 제한하고, 닫으면 남은 조회를 취소")
+    void reader_bridgesFluxWithBackpressure() throws Exception {
+        // given
+        AtomicLong requested = new AtomicLong();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<KisStockPriceResponse> quotes = Flux.range(1, 1000)
+            .map(i -> response(String.format("%06d", i), "1000", "0", "0.00", "1", "1000"))
+            .doOnRequest(requested::addAndGet)
+            .doOnCancel(() -> cancelled.set(true));
+        KisStockPriceItemReader reader = new KisStockPriceItemReader(() -> quotes, 16);
+
+        // when
+        reader.open(new ExecutionContext());
+        List<String> read = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            read.add(reader.read().output().stockCode());
+        }
+        reader.close();
+
+        // then
+        assertThat(read).hasSize(20).startsWith("000001").endsWith("000020");
+        assertThat(requested.get()).isLessThan(1000);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    @DisplayName("부호가 붙은 문자열 필드를 숫자 행으로 바꾸고 실패 응답은 거름")
+    void processor_convertsSignedStringsAndFiltersFailures() {
+        // given
+        StockPriceRowProcessor processor = new StockPriceRowProcessor(
+            Clock.fixed(Instant.parse("2026-10-16T01:01:37Z"), ZoneId.of("UTC")));
+        KisStockPriceResponse failed = new KisStockPriceResponse("1", "EGW00201", "초당 거래건수를 초과하였습니다.", null);
+
+        // when
+        StockPriceRow row = processor.process(response("005930", "73100", "-1100", "-1.48", "6677685", "488582510400"));
+
+        // then
+        assertThat(row.stockCode()).isEqualTo("005930");
+        assertThat(row.barTime()).isEqualTo(BAR_TIME);
+        assertThat(row.currentPrice()).isEqualTo(73100L);
+        assertThat(row.priceChange()).isEqualTo(-1100L);
+        assertThat(row.priceChangeRate()).isEqualByComparingTo("-1.48");
+        assertThat(row.accumulatedVolume()).isEqualTo(6677685L);
+        assertThat(row.accumulatedValue()).isEqualTo(488582510400L);
+        assertThat(StockPriceRowProcessor.parseLong("+500")).isEqualTo(500L);
+        assertThat(processor.process(failed)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 종목/분을 다시 쓰면 최신 현재가로 덮어쓰고 분봉은 시가를 두고 고가/저가/종가만 갱신")
+    void writers_upsertRealtimeAndMinuteRows() throws Exception {
+        // given
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        var realtimeWriter = StockPriceRowWriters.realtimeStockPrice(database);
+        var minuteWriter = StockPriceRowWriters.minuteStockPrice(database);
+
+        // when
+        for (long price : new long[]{73100, 73500, 72900}) {
+            Chunk<StockPriceRow> chunk = Chunk.of(row("005930", price), row("000660", 150000));
+            realtimeWriter.write(chunk);
+            minuteWriter.write(chunk);
+        }
+
+        // then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM realtime_stock_price", Integer.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT current_price FROM realtime_stock_price WHERE stock_code = '005930'", BigDecimal.class))
+            .isEqualByComparingTo("72900");
+        Map<String, Object> bar = jdbcTemplate.queryForMap(
+            "SELECT open_price, high_price, low_price, close_price FROM minute_stock_price WHERE stock_code = '005930'");
+        assertThat(bar.values()).extracting(value -> ((BigDecimal) value).longValue())
+            .containsExactly(73100L, 73500L, 72900L, 72900L);
+    }
+
+    private static StockPriceRow row(String stockCode, long price) {
+        return new StockPriceRow(stockCode, BAR_TIME, price, 0, BigDecimal.ZERO, price, price, price,
+            price + 100, price, 1000, price * 1000);
+    }
+
+    private static KisStockPriceResponse response(String stockCode, String currentPrice, String priceChange,
+                                                  String priceChangeRate, String volume, String value) {
+        KisStockPriceResponse.Output output = new KisStockPriceResponse.Output(
+            currentPrice, priceChange, "5", priceChangeRate, "73200", "73100", null, null,
+            volume, value, null, null, "73700", "73900", "72400", null, null,
+            stockCode, null, null, null, null, null, null, null, null);
+        return new KisStockPriceResponse("0", "MCA00000", "정상처리 되었습니다.", output);
+    }
+}
@@ -0,0 +1,76 @@
+package com.stock.batch.job;
+
+import com.stock.batch.service.StockUniverseService;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.dto.KisStockPriceRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockUniversePartitionerTest {
+
+    @Mock
+    private StockUniverseService stockUniverseService;
+
+    private StockUniversePartitioner partitioner;
+
+    @BeforeEach
+    void setUp() {
+        partitioner = new StockUniversePartitioner(stockUniverseService, new KisApiProperties.RateLimit(18, 0, 0, 5));
+    }
+
+    @Test
+    @DisplayName("정렬된 종목을 종목 수가 고른 연속 구간으로 분할")
+    void partition_splitsIntoContiguousRanges() {
+        // given
+        List<KisStockPriceRequest> stocks = IntStream.range(0, 10)
+            .mapToObj(i -> KisStockPriceRequest.kospi(String.format("%06d", (i + 1) * 10)))
+            .toList();
+        when(stockUniverseService.findTradableStocks()).thenReturn(stocks);
+
+        // when
+        Map<String, ExecutionContext> partitions = partitioner.partition(3);
+
+        // then
+        assertThat(partitions).containsOnlyKeys("partition0", "partition1", "partition2");
+        assertThat(range(partitions.get("partition0"))).isEqualTo("000010~000030/3");
+        assertThat(range(partitions.get("partition1"))).isEqualTo("000040~000060/3");
+        assertThat(range(partitions.get("partition2"))).isEqualTo("000070~000100/4");
+    }
+
+    @Test
+    @DisplayName("종목이 구간 수보다 적으면 종목 수만큼만, 없으면 파티션을 만들지 않음")
+    void partition_neverCreatesEmptyRanges() {
+        // given
+        when(stockUniverseService.findTradableStocks())
+            .thenReturn(List.of(KisStockPriceRequest.kospi("005930"), KisStockPriceRequest.kosdaq("035720")))
+            .thenReturn(List.of());
+
+        // when
+        Map<String, ExecutionContext> small = partitioner.partition(8);
+        Map<String, ExecutionContext> empty = partitioner.partition(8);
+
+        // then
+        assertThat(small).hasSize(2);
+        assertThat(range(small.get("partition1"))).isEqualTo("035720~035720/1");
+        assertThat(empty).isEmpty();
+    }
+
+    private static String range(ExecutionContext context) {
+        return context.getString(StockUniversePartitioner.FROM_STOCK_CODE) + "~"
+            + context.getString(StockUniversePartitioner.TO_STOCK_CODE) + "/"
+            + context.getInt(StockUniversePartitioner.STOCK_COUNT);
+    }
+}
@@ -0,0 +1,211 @@
+package com.stock.batch.scheduler;
+
+import com.stock.batch.config.StockPriceMinuteJobProperties;
+import com.stock.batch.config.StockPriceMinuteJobProperties.OverlapPolicy;
+import com.stock.batch.job.KisStockPriceItemReader;
+import com.stock.batch.job.KisStockPriceReaderRegistry;
+import com.stock.batch.job.StockPriceMinuteJobConfig;
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KrxCalendarProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.item.ExecutionContext;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class StockPriceMinuteSchedulerTest {
+
+    private static final LocalDateTime MINUTE_0 = LocalDateTime.of(2026, 10, 16, 10, 0);
+    private static final LocalDateTime MINUTE_1 = MINUTE_0.plusMinutes(1);
+    private static final LocalDateTime MINUTE_2 = MINUTE_0.plusMinutes(2);
+
+    private static final KrxTradingCalendar CALENDAR =
+        new KrxTradingCalendar(new KrxCalendarProperties(null, null, null, null, null));
+
+    private final List<JobExecution> launched = new ArrayList<>();
+    private final JobOperator jobOperator = mock(JobOperator.class);
+    private final KisStockPriceReaderRegistry readerRegistry = new KisStockPriceReaderRegistry();
+    private MeterRegistry meterRegistry;
+
+    // 실행 요청을 기록하고 실행 중 상태의 JobExecution을 바로 돌려주는 런처
+    private final JobLauncher jobLauncher = (job, params) -> {
+        JobExecution execution = new JobExecution((long) launched.size() + 1, params);
+        execution.setStatus(BatchStatus.STARTED);
+        execution.setStartTime(params.getLocalDateTime(StockPriceMinuteJobConfig.SCHEDULED_AT));
+        launched.add(execution);
+        return execution;
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("SKIP: 이전 실행 중에 온 분은 건너뛰고 다음 분부터 다시 실행")
+    void skip_dropsOverlappingMinute() {
+        // given
+        StockPriceMinuteScheduler scheduler = scheduler(OverlapPolicy.SKIP);
+
+        // when
+        scheduler.onMinute(MINUTE_0);
+        scheduler.onMinute(MINUTE_1);
+        finish(scheduler, launched.get(0));
+        scheduler.onMinute(MINUTE_2);
+
+        // then
+        assertThat(scheduledMinutes()).containsExactly(MINUTE_0, MINUTE_2);
+        assertThat(meterRegistry.get("kis.batch.minute.overlaps").tag("policy", "skip").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("kis.batch.minute.duration").tag("status", "COMPLETED").timer().count())
+            .isEqualTo(1);
+        verifyNoInteractions(jobOperator);
+    }
+
+    @Test
+    @DisplayName("QUEUE: 이전 실행이 끝나면 가장 최근에 밀린 분 하나만 실행")
+    void queue_runsLatestMissedMinuteAfterCompletion() {
+        // given
+        StockPriceMinuteScheduler scheduler = scheduler(OverlapPolicy.QUEUE);
+
+        // when
+        scheduler.onMinute(MINUTE_0);
+        scheduler.onMinute(MINUTE_1);
+        scheduler.onMinute(MINUTE_2);
+        finish(scheduler, launched.get(0));
+
+        // then
+        assertThat(scheduledMinutes()).containsExactly(MINUTE_0, MINUTE_2);
+        assertThat(launched.get(1).isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("CANCEL_AND_REPLACE: 이전 실행을 중지시키고 리더를 취소, 중지가 끝나면 가장 최근 분을 실행")
+    void cancelAndReplace_stopsPreviousAndLaunchesAfterStopped() throws Exception {
+        // given
+        StockPriceMinuteScheduler scheduler = scheduler(OverlapPolicy.CANCEL_AND_REPLACE);
+        scheduler.onMinute(MINUTE_0);
+        KisStockPriceItemReader reader = new KisStockPriceItemReader(Flux::never, 16);
+        reader.open(new ExecutionContext());
+        readerRegistry.register(launched.get(0).getId(), reader);
+
+        // when
+        scheduler.onMinute(MINUTE_1);
+        scheduler.onMinute(MINUTE_2);
+
+        // then: 중지가 끝나기 전에는 다음 실행을 시작하지 않음
+        verify(jobOperator, times(1)).stop(launched.get(0).getId());
+        assertThat(reader.read()).isNull();
+        assertThat(scheduledMinutes()).containsExactly(MINUTE_0);
+
+        // when
+        launched.get(0).setStatus(BatchStatus.STOPPED);
+        launched.get(0).setEndTime(MINUTE_0.plusSeconds(70));
+        scheduler.onJobFinished();
+
+        // then
+        assertThat(scheduledMinutes()).containsExactly(MINUTE_0, MINUTE_2);
+    }
+
+    @Test
+    @DisplayName("예정 분 대비 시작 지연을 기록")
+    void launch_recordsStartSkew() {
+        // given
+        StockPriceMinuteScheduler scheduler = scheduler(OverlapPolicy.SKIP, "2026-10-16T01:00:01.500Z");
+
+        // when
+        scheduler.runStockPriceMinuteJob();
+
+        // then
+        assertThat(scheduledMinutes()).containsExactly(MINUTE_0);
+        assertThat(meterRegistry.get("kis.batch.minute.start.skew").timer().totalTime(TimeUnit.MILLISECONDS))
+            .isEqualTo(1500.0);
+    }
+
+    @Test
+    @DisplayName("정규장 밖에서는 분 단위로 실행하지 않고, 마감 후 종가 수집을 거래일마다 한 번만 실행")
+    void outsideRegularSession_runsSingleEodSweep() {
+        // given
+        StockPriceMinuteScheduler preMarket = scheduler(OverlapPolicy.SKIP, "2026-10-15T23:45:00Z");
+        StockPriceMinuteScheduler settling = scheduler(OverlapPolicy.SKIP, "2026-10-16T06:35:00Z");
+        StockPriceMinuteScheduler afterClose = scheduler(OverlapPolicy.SKIP, "2026-10-16T06:40:00Z");
+        StockPriceMinuteScheduler weekend = scheduler(OverlapPolicy.SKIP, "2026-10-17T01:00:00Z");
+
+        // when
+        preMarket.runStockPriceMinuteJob();
+        settling.runStockPriceMinuteJob();
+        weekend.runStockPriceMinuteJob();
+        afterClose.runStockPriceMinuteJob();
+        finish(afterClose, launched.get(0));
+        afterClose.runStockPriceMinuteJob();
+
+        // then
+        assertThat(scheduledMinutes()).containsExactly(LocalDateTime.of(2026, 10, 16, 15, 30));
+    }
+
+    @Test
+    @DisplayName("재시작 후 이미 완료된 종가 수집은 수집한 것으로 보고 다시 실행하지 않음")
+    void eodSweep_alreadyCompleteInstanceCountsAsSwept() {
+        // given
+        List<LocalDateTime> attempts = new ArrayList<>();
+        JobLauncher completedLauncher = (job, params) -> {
+            attempts.add(params.getLocalDateTime(StockPriceMinuteJobConfig.SCHEDULED_AT));
+            throw new JobInstanceAlreadyCompleteException("이미 완료됨");
+        };
+        StockPriceMinuteScheduler scheduler = new StockPriceMinuteScheduler(completedLauncher, mock(Job.class),
+            jobOperator, readerRegistry, CALENDAR, new StockPriceMinuteJobProperties(0, 0, OverlapPolicy.SKIP, null),
+            meterRegistry, Clock.fixed(Instant.parse("2026-10-16T06:40:00Z"), ZoneId.of("UTC")));
+
+        // when
+        scheduler.runStockPriceMinuteJob();
+        scheduler.runStockPriceMinuteJob();
+
+        // then
+        assertThat(attempts).containsExactly(LocalDateTime.of(2026, 10, 16, 15, 30));
+    }
+
+    private StockPriceMinuteScheduler scheduler(OverlapPolicy policy) {
+        return scheduler(policy, "2026-10-16T01:00:00Z");
+    }
+
+    private StockPriceMinuteScheduler scheduler(OverlapPolicy policy, String now) {
+        return new StockPriceMinuteScheduler(jobLauncher, mock(Job.class), jobOperator, readerRegistry, CALENDAR,
+            new StockPriceMinuteJobProperties(0, 0, policy, null), meterRegistry,
+            Clock.fixed(Instant.parse(now), ZoneId.of("UTC")));
+    }
+
+    private List<LocalDateTime> scheduledMinutes() {
+        return launched.stream()
+            .map(JobExecution::getJobParameters)
+            .map(params -> params.getLocalDateTime(StockPriceMinuteJobConfig.SCHEDULED_AT))
+            .toList();
+    }
+
+    private static void finish(StockPriceMinuteScheduler scheduler, JobExecution execution) {
+        execution.setStatus(BatchStatus.COMPLETED);
+        execution.setEndTime(execution.getStartTime().plusSeconds(30));
+        scheduler.onJobFinished();
+    }
+}
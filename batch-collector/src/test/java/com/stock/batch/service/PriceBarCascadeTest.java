@@ -0,0 +1,267 @@
+package com.stock.batch.service;
+
+import com.stock.common.realtime.BarResolution;
+import com.stock.common.realtime.KisExecutionTick;
+import com.stock.common.realtime.PriceBar;
+import com.stock.common.symbol.SymbolTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.stock.common.realtime.BarResolution.DAY_1;
+import static com.stock.common.realtime.BarResolution.HOUR_1;
+import static com.stock.common.realtime.BarResolution.MINUTE_1;
+import static com.stock.common.realtime.BarResolution.MINUTE_5;
+import static com.stock.common.realtime.BarResolution.SECOND_1;
+import static com.stock.common.realtime.BarResolution.SECOND_10;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PriceBarCascadeTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final SymbolTable SYMBOLS = symbols();
+
+    private final List<PriceBar> written = new ArrayList<>();
+    private MutableClock clock;
+    private PriceBarCascade cascade;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-10-16T00:30:00Z"));
+        cascade = new PriceBarCascade(() -> SYMBOLS, List.of(BarResolution.values()), Duration.ofSeconds(2),
+            LocalTime.of(15, 35), clock);
+        cascade.setWriters(List.of(written::addAll));
+    }
+
+    @Test
+    @DisplayName("체결은 1초봉에만 반영하고 닫힌 봉을 위 주기로 올려 10초봉/1분봉을 만듦")
+    void onTick_rollsUpLowerBars() {
+        // given
+        cascade.onTick(tick("005930", 93001, 73100, 10));
+        cascade.onTick(tick("005930", 93001, 73400, 5));
+        cascade.onTick(tick("005930", 93015, 72900, 20));
+        cascade.onTick(tick("005930", 93059, 73000, 1));
+
+        // when
+        cascade.onTick(tick("005930", 93100, 73200, 3));
+
+        // then
+        assertThat(bars(SECOND_1)).extracting(PriceBar::startTime).containsExactly(93001, 93015, 93059);
+        assertThat(bars(SECOND_1).get(0)).extracting(PriceBar::openPrice, PriceBar::highPrice, PriceBar::closePrice,
+            PriceBar::volume).containsExactly(73100L, 73400L, 73400L, 15L);
+        assertThat(bars(SECOND_10)).extracting(PriceBar::startTime).containsExactly(93000, 93010, 93050);
+        assertThat(bars(MINUTE_1)).containsExactly(new PriceBar(MINUTE_1, "005930", 20261016, 93000,
+            73100, 73400, 72900, 73000, 36, 73100L * 10 + 73400L * 5 + 72900L * 20 + 73000L, 20, 72900L * 20, 4, false));
+        assertThat(bars(MINUTE_5)).isEmpty();
+        assertThat(cascade.getOpenBarCount(SECOND_1)).isEqualTo(1);
+        assertThat(cascade.getOpenBarCount(MINUTE_5)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("체결이 뜸한 종목은 주기가 끝나고 유예 시간이 지나면 아래 주기부터 닫음")
+    void flushElapsedBars_closesAfterGrace() {
+        // given
+        cascade.onTick(tick("005930", 93010, 73100, 10));
+        cascade.onTick(tick("000660", 93020, 150000, 1));
+        clock.set(Instant.parse("2026-10-16T00:31:01Z"));
+
+        // when
+        cascade.flushElapsedBars();
+        List<PriceBar> beforeGrace = bars(MINUTE_1);
+        clock.set(Instant.parse("2026-10-16T00:31:02Z"));
+        cascade.flushElapsedBars();
+
+        // then
+        assertThat(beforeGrace).isEmpty();
+        assertThat(bars(MINUTE_1)).extracting(PriceBar::stockCode).containsExactly("005930", "000660");
+        assertThat(cascade.getOpenBarCount(MINUTE_1)).isZero();
+        assertThat(cascade.getOpenBarCount(MINUTE_5)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("장 마감 후 모든 주기를 닫고 거래소 당일 시가/누적 거래량으로 보정한 일봉을 내보냄")
+    void flushElapsedBars_closesDailyBarAfterMarketClose() {
+        // given
+        cascade.onTick(new KisExecutionTick("005930", 20261016, 142000, 73100, 2, 100, 0.14, 72000, 74000, 71500,
+            73100, 73000, 10, 1_000_000, 73_000_000_000L, 100.0, 1));
+        cascade.onTick(tick("005930", 152959, 73300, 5));
+        cascade.onTick(tick("005930", 153000, 73500, 100));
+
+        // when
+        clock.set(Instant.parse("2026-10-16T06:35:01Z"));
+        cascade.flushElapsedBars();
+        List<PriceBar> beforeClose = bars(DAY_1);
+        clock.set(Instant.parse("2026-10-16T06:35:02Z"));
+        cascade.flushElapsedBars();
+
+        // then
+        assertThat(beforeClose).isEmpty();
+        assertThat(bars(DAY_1)).containsExactly(new PriceBar(DAY_1, "005930", 20261016, 0,
+            72000, 74000, 71500, 73500, 1_000_000, 73_000_000_000L, 1_000_000, 73_000_000_000L, 3, false));
+        assertThat(bars(HOUR_1)).extracting(PriceBar::startTime).containsExactly(140000, 150000);
+        for (BarResolution resolution : BarResolution.values()) {
+            assertThat(cascade.getOpenBarCount(resolution)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("재연결 보정 합성 체결은 분 단위 이하 봉에 넣지 않고 진행 중인 일봉의 거래량/종가만 보정")
+    void onTick_appliesBackfillSnapshotToDailyBarOnly() {
+        // given - 93001 체결 후 끊겼다가 93130에 REST로 490주를 보정, 이어서 실제 체결 재개
+        cascade.onTick(execution("005930", 93001, 73000, 10, 10, 1));
+        cascade.onTick(execution("005930", 93130, 73500, 490, 500, KisExecutionTick.EXECUTION_TYPE_SNAPSHOT));
+        cascade.onTick(execution("005930", 93131, 73400, 1, 501, 1));
+        // 처음 보는 종목의 합성 체결은 봉을 열지 않음
+        cascade.onTick(execution("000660", 93130, 150000, 0, 300, KisExecutionTick.EXECUTION_TYPE_SNAPSHOT));
+
+        // when
+        clock.set(Instant.parse("2026-10-16T06:35:02Z"));
+        cascade.flushElapsedBars();
+
+        // then
+        assertThat(bars(MINUTE_1)).extracting(PriceBar::startTime, PriceBar::openPrice, PriceBar::volume)
+            .containsExactly(tuple(93000, 73000L, 10L), tuple(93100, 73400L, 1L));
+        assertThat(written).filteredOn(bar -> bar.resolution() != DAY_1)
+            .noneMatch(bar -> bar.highPrice() == 73500 || bar.volume() > 10);
+        assertThat(bars(DAY_1)).singleElement()
+            .extracting(PriceBar::stockCode, PriceBar::openPrice, PriceBar::highPrice, PriceBar::lowPrice,
+                PriceBar::closePrice, PriceBar::volume, PriceBar::tickCount)
+            .containsExactly("005930", 73000L, 73800L, 72900L, 73400L, 501L, 2);
+    }
+
+    @Test
+    @DisplayName("늦은 체결은 그 시각을 포함하는 진행 중인 봉에 더하고 짧은 주기는 수정본으로 내보냄")
+    void onTick_handlesLateTicks() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cascade.bindTo(registry);
+        cascade.onTick(tick("005930", 93001, 73100, 10));
+        cascade.onTick(tick("005930", 93002, 73200, 3));
+        written.clear();
+
+        // when
+        cascade.onTick(tick("005930", 93001, 73500, 2));
+        cascade.onTick(tick("005930", 93000, 72000, 4));
+        cascade.onTick(tick("005930", 92000, 71000, 7));
+        cascade.onTick(tick("005930", 93100, 73300, 1));
+
+        // then
+        PriceBar revised = written.get(0);
+        assertThat(revised.resolution()).isEqualTo(SECOND_1);
+        assertThat(revised.revision()).isTrue();
+        assertThat(revised.highPrice()).isEqualTo(73500);
+        assertThat(revised.volume()).isEqualTo(12);
+
+        PriceBar minute = bars(MINUTE_1).get(0);
+        assertThat(minute.revision()).isFalse();
+        assertThat(minute).extracting(PriceBar::openPrice, PriceBar::highPrice, PriceBar::lowPrice,
+            PriceBar::closePrice, PriceBar::volume).containsExactly(73100L, 73500L, 72000L, 73200L, 19L);
+        assertThat(registry.get("kis.realtime.bars.late.ticks").tag("action", "absorbed").functionCounter().count())
+            .isEqualTo(2);
+        assertThat(registry.get("kis.realtime.bars.late.ticks").tag("action", "dropped").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 보는 종목이 많아도 배열을 늘려 종목별로 따로 집계")
+    void onTick_growsSymbolArrays() {
+        // given
+        for (int i = 0; i < 200; i++) {
+            cascade.onTick(tick(String.format("%06d", i), 93001, 1000 + i, 1));
+        }
+
+        // when
+        for (int i = 0; i < 200; i++) {
+            cascade.onTick(tick(String.format("%06d", i), 93101, 2000, 1));
+        }
+
+        // then
+        assertThat(bars(MINUTE_1)).hasSize(200);
+        assertThat(bars(MINUTE_1).get(199)).extracting(PriceBar::stockCode, PriceBar::openPrice)
+            .containsExactly("000199", 1199L);
+        assertThat(cascade.getOpenBarCount(SECOND_1)).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("종목 디렉터리에 없는 종목의 체결은 봉을 만들지 않고 버림")
+    void onTick_dropsSymbolsMissingFromDirectory() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cascade.bindTo(registry);
+
+        // when
+        cascade.onTick(tick("999999", 93001, 1000, 1));
+        cascade.onTick(tick("999999", 93101, 1000, 1));
+
+        // then
+        assertThat(written).isEmpty();
+        assertThat(cascade.getOpenBarCount(SECOND_1)).isZero();
+        assertThat(registry.get("kis.realtime.bars.unknown.ticks").functionCounter().count()).isEqualTo(2);
+    }
+
+    private static SymbolTable symbols() {
+        SymbolTable.Builder builder = SymbolTable.builder(null)
+            .add("005930", SymbolTable.MARKET_KOSPI, null, 0)
+            .add("000660", SymbolTable.MARKET_KOSPI, null, 0);
+        for (int i = 0; i < 200; i++) {
+            builder.add(String.format("%06d", i), SymbolTable.MARKET_KOSDAQ, null, 0);
+        }
+        return builder.build();
+    }
+
+    private List<PriceBar> bars(BarResolution resolution) {
+        return written.stream().filter(bar -> bar.resolution() == resolution).toList();
+    }
+
+    /**
+     * 당일 시가 73000, 고가 73800, 저가 72900인 종목의 체결
+     */
+    private static KisExecutionTick execution(String stockCode, int executionTime, long price, long volume,
+                                              long accumulatedVolume, int executionType) {
+        return new KisExecutionTick(stockCode, 20261016, executionTime, price, 2, 100, 0.14, 73000, 73800, 72900,
+            price, price - 100, volume, accumulatedVolume, accumulatedVolume * price, 100.0, executionType);
+    }
+
+    private static KisExecutionTick tick(String stockCode, int executionTime, long price, long volume) {
+        return new KisExecutionTick(stockCode, 20261016, executionTime, price, 2, 100, 0.14, price, price, price,
+            price, price - 100, volume, volume, volume * price, 100.0, 1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return KST;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
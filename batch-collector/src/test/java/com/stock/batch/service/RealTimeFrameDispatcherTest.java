@@ -0,0 +1,145 @@
+package com.stock.batch.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class RealTimeFrameDispatcherTest {
+
+    private RealTimeFrameDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 파티션 키의 작업은 한 스레드에서 넣은 순서대로 처리")
+    void dispatch_keepsOrderPerPartitionKey() {
+        // given
+        dispatcher = new RealTimeFrameDispatcher(4, 10000);
+        List<String> stockCodes = List.of("005930", "000660", "035420", "005490", "035720", "051910");
+        Map<String, List<Integer>> processed = new ConcurrentHashMap<>();
+        Map<String, Long> threadByStockCode = new ConcurrentHashMap<>();
+        stockCodes.forEach(code -> processed.put(code, new ArrayList<>()));
+
+        // when
+        for (int sequence = 0; sequence < 1000; sequence++) {
+            for (String stockCode : stockCodes) {
+                int value = sequence;
+                dispatcher.dispatch(stockCode.hashCode(), () -> {
+                    processed.get(stockCode).add(value);
+                    threadByStockCode.merge(stockCode, Thread.currentThread().getId(),
+                        (previous, current) -> previous.equals(current) ? previous : -1L);
+                });
+            }
+        }
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.getQueueDepth() == 0
+            && processed.values().stream().allMatch(values -> values.size() == 1000));
+        for (String stockCode : stockCodes) {
+            List<Integer> values = processed.get(stockCode);
+            for (int i = 0; i < values.size(); i++) {
+                assertThat(values.get(i)).isEqualTo(i);
+            }
+            assertThat(threadByStockCode.get(stockCode)).isNotEqualTo(-1L);
+        }
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 네트워크 스레드를 막지 않고 버리며 지표에 반영")
+    void dispatch_rejectsWhenQueueIsFull() throws InterruptedException {
+        // given
+        dispatcher = new RealTimeFrameDispatcher(1, 2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch(0, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        boolean first = dispatcher.dispatch(0, () -> { });
+        boolean second = dispatcher.dispatch(0, () -> { });
+        boolean third = dispatcher.dispatch(0, () -> { });
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(registry.get("kis.websocket.dispatch.queue.depth").tag("worker", "0").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("kis.websocket.dispatch.rejected").functionCounter().count()).isEqualTo(1);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> dispatcher.getQueueDepth() == 0);
+        assertThat(registry.get("kis.websocket.dispatch.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차도 PINGPONG과 구독 응답은 버리지 않고 수신 스레드에서 바로 처리")
+    void handler_processesControlFramesInlineWhenQueueIsFull() throws InterruptedException {
+        // given
+        dispatcher = new RealTimeFrameDispatcher(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        dispatcher.dispatch(0, () -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        dispatcher.dispatch(0, () -> { });
+        AtomicInteger heartbeats = new AtomicInteger();
+        RealTimeExecutionWebSocketHandler handler = new RealTimeExecutionWebSocketHandler("approval-key", tick -> { });
+        handler.setDispatcher(dispatcher);
+        handler.setHeartbeatListener(heartbeats::incrementAndGet);
+
+        // when
+        handler.onFrame("{\"header\":{\"tr_id\":\"PINGPONG\",\"datetime\":\"20261016093000\"}}");
+        handler.onFrame("0|H0STCNT0|001|005930^093001^73100");
+
+        // then
+        assertThat(heartbeats.get()).isEqualTo(1);
+        assertThat(dispatcher.getRejectedCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("평문 프레임은 종목코드, 암호화 프레임은 TR_ID로 파티션 키 결정")
+    void partitionKey_bySymbolOrTransactionId() {
+        // given
+        String samsung = "0|H0STCNT0|001|005930^093001^73100";
+        String samsungMulti = "0|H0STCNT0|002|005930^093002^73200^005930^093003^73300";
+        String encrypted = "1|H0STCNI0|001|QUJDRA==";
+
+        // when & then
+        assertThat(RealTimeExecutionWebSocketHandler.partitionKey(samsung)).isEqualTo("005930".hashCode());
+        assertThat(RealTimeExecutionWebSocketHandler.partitionKey(samsungMulti)).isEqualTo("005930".hashCode());
+        assertThat(RealTimeExecutionWebSocketHandler.partitionKey(encrypted)).isEqualTo("H0STCNI0".hashCode());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.stock.batch.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RealTimeFrameJournalTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 16);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("기록한 프레임을 순서대로 재생하고 세그먼트가 가득 차면 다음 파일로 넘어감")
+    void appendAndReplay_rollsSegmentsWhenFull() throws IOException {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-16T00:30:00Z"));
+        RealTimeFrameJournal journal = new RealTimeFrameJournal(directory, 256, clock);
+        List<String> frames = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            frames.add("0|H0STCNT0|001|005930^0930" + String.format("%02d", i) + "^73100^삼성전자");
+        }
+
+        // when
+        frames.forEach(journal::append);
+        journal.close();
+        List<Path> segments = RealTimeFrameReplay.segments(directory, TODAY);
+        List<String> replayed = new ArrayList<>();
+        long count = new RealTimeFrameReplay(0).replay(segments, replayed::add);
+
+        // then
+        assertThat(segments.size()).isGreaterThan(1);
+        assertThat(segments.get(0).getFileName().toString()).isEqualTo("frames-20261016-000.journal");
+        assertThat(Files.size(segments.get(segments.size() - 1))).isLessThan(256);
+        assertThat(count).isEqualTo(20);
+        assertThat(replayed).containsExactlyElementsOf(frames);
+        assertThat(journal.getFrameCount()).isEqualTo(20);
+        assertThat(journal.getDroppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("날짜가 바뀌면 새 날짜의 세그먼트로 넘어가고 재시작해도 기존 세그먼트를 덮어쓰지 않음")
+    void append_rotatesDailyAndKeepsExistingSegments() throws IOException {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-16T14:59:59Z"));
+        RealTimeFrameJournal journal = new RealTimeFrameJournal(directory, 1024, clock);
+        journal.append("before-midnight");
+
+        // when
+        clock.set(Instant.parse("2026-10-16T15:00:00Z"));
+        journal.append("after-midnight");
+        journal.close();
+        RealTimeFrameJournal restarted = new RealTimeFrameJournal(directory, 1024, clock);
+        restarted.append("after-restart");
+        restarted.close();
+
+        // then
+        assertThat(RealTimeFrameReplay.segments(directory, TODAY)).hasSize(1);
+        List<Path> nextDay = RealTimeFrameReplay.segments(directory, TODAY.plusDays(1));
+        assertThat(nextDay).extracting(path -> path.getFileName().toString())
+            .containsExactly("frames-20261017-000.journal", "frames-20261017-001.journal");
+        List<String> replayed = new ArrayList<>();
+        new RealTimeFrameReplay(0).replay(nextDay, replayed::add);
+        assertThat(replayed).containsExactly("after-midnight", "after-restart");
+    }
+
+    @Test
+    @DisplayName("배속을 지정하면 기록 당시 간격을 배속으로 나눈 만큼 기다리며 재생")
+    void replay_pacesBySpeed() throws IOException {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-16T00:30:00Z"));
+        RealTimeFrameJournal journal = new RealTimeFrameJournal(directory, 1024, clock);
+        journal.append("first");
+        clock.set(Instant.parse("2026-10-16T00:30:02Z"));
+        journal.append("second");
+        journal.close();
+        List<Path> segments = RealTimeFrameReplay.segments(directory, TODAY);
+
+        // when
+        long startedAt = System.nanoTime();
+        long count = new RealTimeFrameReplay(10).replay(segments, frame -> { });
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(elapsedMillis).isBetween(190L, 2000L);
+    }
+
+    @Test
+    @DisplayName("재생 중 중지하면 남은 간격을 기다리지 않고 다음 프레임 전에 멈춤")
+    void replay_stopsPromptlyWhenCancelled() throws IOException {
+        // given
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-16T00:30:00Z"));
+        RealTimeFrameJournal journal = new RealTimeFrameJournal(directory, 1024, clock);
+        journal.append("first");
+        clock.set(Instant.parse("2026-10-16T01:30:00Z"));
+        journal.append("an-hour-later");
+        journal.close();
+        List<Path> segments = RealTimeFrameReplay.segments(directory, TODAY);
+        RealTimeFrameReplay replay = new RealTimeFrameReplay(1);
+        List<String> replayed = new ArrayList<>();
+
+        // when
+        long startedAt = System.nanoTime();
+        long count = replay.replay(segments, frame -> {
+            replayed.add(frame);
+            replay.cancel();
+        });
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        // then
+        assertThat(count).isEqualTo(1);
+        assertThat(replayed).containsExactly("first");
+        assertThat(elapsedMillis).isLessThan(2000L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return KST;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
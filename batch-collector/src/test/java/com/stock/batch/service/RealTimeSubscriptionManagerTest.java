@@ -0,0 +1,442 @@
+package com.stock.batch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.config.KrxCalendarProperties;
+import com.stock.common.config.KisWebSocketProperties;
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.dto.KisStockPriceResponse;
+import com.stock.common.dto.KisWebSocketKeyResponse;
+import com.stock.common.realtime.KisExecutionTick;
+import com.stock.common.service.KisApiService;
+import com.stock.common.service.KisWebSocketKeyService;
+import com.stock.common.symbol.SymbolTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.WebSocketClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RealTimeSubscriptionManagerTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final SymbolTable SYMBOLS = SymbolTable.builder(null)
+        .add("005930", SymbolTable.MARKET_KOSPI, null, 0)
+        .add("000660", SymbolTable.MARKET_KOSPI, null, 0)
+        .add("035420", SymbolTable.MARKET_KOSPI, null, 0)
+        .add("005490", SymbolTable.MARKET_KOSPI, null, 0)
+        .add("035720", SymbolTable.MARKET_KOSPI, null, 0)
+        .build();
+    private static final String PINGPONG = "{\"header\":{\"tr_id\":\"PINGPONG\",\"datetime\":\"20261016100000\"}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private WebSocketClient webSocketClient;
+
+    @Mock
+    private KisWebSocketKeyService webSocketKeyService;
+
+    @Mock
+    private KisApiService kisApiService;
+
+    @Mock
+    private SymbolDirectory symbolDirectory;
+
+    // 세션별로 전송된 (tr_type, tr_key) 기록
+    private final List<List<String>> sentBySession = new CopyOnWriteArrayList<>();
+
+    // 연결마다 서버가 보낼 메시지 (비어 있으면 연결 유지)
+    private final Queue<Flux<String>> serverFrames = new ConcurrentLinkedQueue<>();
+
+    private final RealTimeFrameDispatcher dispatcher = new RealTimeFrameDispatcher(2, 100);
+
+    private final KrxTradingCalendar calendar =
+        new KrxTradingCalendar(new KrxCalendarProperties(null, null, null, null, null));
+
+    private RealTimeSubscriptionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        AtomicInteger keySequence = new AtomicInteger();
+        lenient().when(symbolDirectory.current()).thenReturn(SYMBOLS);
+        when(webSocketKeyService.getWebSocketApprovalKey()).thenAnswer(inv ->
+            Mono.just(new KisWebSocketKeyResponse("approval-key-" + keySequence.incrementAndGet(), "0", "성공")));
+        lenient().when(webSocketClient.execute(any(URI.class), any(WebSocketHandler.class))).thenAnswer(inv -> {
+            List<String> sent = new CopyOnWriteArrayList<>();
+            sentBySession.add(sent);
+            WebSocketHandler handler = inv.getArgument(1);
+            Flux<String> frames = serverFrames.poll();
+            return handler.handle(fakeSession(sent, frames != null ? frames : Flux.never()));
+        });
+
+        manager = createManager(null);
+    }
+
+    private RealTimeSubscriptionManager createManager(KisWebSocketProperties.OrderBook orderBook) {
+        KisApiProperties kisApiProperties = new KisApiProperties(
+            "https://openapivts.koreainvestment.com:29443",
+            "test-app-key",
+            "test-app-secret",
+            "01234567-89",
+            null,
+            new KisApiProperties.RateLimit(20, 10000, 5),
+            new KisApiProperties.Timeout(5000, 30000, 30000)
+        );
+        RealTimeSubscriptionManager created = new RealTimeSubscriptionManager(webSocketClient, webSocketKeyService,
+            kisApiService, symbolDirectory, kisApiProperties,
+            new KisWebSocketProperties(true, 2, 2, List.of(),
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofHours(12), 2,
+                new KisWebSocketProperties.Liveness(Duration.ofSeconds(1), Duration.ofSeconds(30)), null, null, null, null, orderBook),
+            calendar, dispatcher);
+        created.startConsumer();
+        return created;
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.stop();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("세션 한도를 넘으면 새 세션으로 나누어 등록하고, 세션 수 한도를 넘으면 대기")
+    void replaceWatchlist_shardsAcrossSessions() {
+        // when
+        RealTimeSubscriptionManager.Status status = manager.replaceWatchlist(
+            List.of("005930", "000660", "035420", "005490", "035720"));
+
+        // then
+        assertThat(status.sessions()).hasSize(2);
+        assertThat(status.sessions().get(0).stockCodes()).containsExactlyInAnyOrder("005930", "000660");
+        assertThat(status.sessions().get(1).stockCodes()).containsExactlyInAnyOrder("035420", "005490");
+        assertThat(status.pending()).containsExactly("035720");
+        assertThat(sentBySession.get(0)).containsExactly("1:005930", "1:000660");
+        assertThat(sentBySession.get(1)).containsExactly("1:035420", "1:005490");
+        verify(webSocketKeyService, times(2)).getWebSocketApprovalKey();
+    }
+
+    @Test
+    @DisplayName("호가도 받으면 종목당 2건으로 세어 나누어 등록하고 호가 프레임을 종목 호가창에 반영")
+    void orderBook_countsTwoSubscriptionsPerStockAndUpdatesBook() {
+        // given
+        manager.stop();
+        manager = createManager(new KisWebSocketProperties.OrderBook(true));
+        RealTimeOrderBookService orderBookService = new RealTimeOrderBookService(symbolDirectory);
+        manager.setOrderBookService(orderBookService);
+        // 등록 요청이 나간 뒤에 호가가 오도록 잠시 늦춤
+        serverFrames.add(Flux.concat(Flux.just(orderBookFrame("005930", 73100, 73000)).delaySubscription(Duration.ofMillis(200)),
+            Flux.never()));
+
+        // when
+        RealTimeSubscriptionManager.Status status = manager.replaceWatchlist(List.of("005930", "000660", "035420"));
+
+        // then
+        assertThat(status.sessions()).hasSize(2);
+        assertThat(status.pending()).containsExactly("035420");
+        assertThat(sentBySession.get(0)).containsExactly("1:005930", "1:005930:H0STASP0");
+        assertThat(sentBySession.get(1)).containsExactly("1:000660", "1:000660:H0STASP0");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> orderBookService.getSnapshot("005930") != null);
+        assertThat(orderBookService.getSnapshot("005930").spread()).isEqualTo(100L);
+        assertThat(orderBookService.getSnapshot("000660")).isNull();
+    }
+
+    @Test
+    @DisplayName("관심종목 변경 시 연결을 유지한 채 차이만 해제/등록")
+    void replaceWatchlist_sendsOnlyDiff() {
+        // given
+        manager.replaceWatchlist(List.of("005930", "000660"));
+
+        // when
+        RealTimeSubscriptionManager.Status status = manager.replaceWatchlist(List.of("005930", "035420"));
+
+        // then
+        assertThat(status.sessions()).hasSize(1);
+        assertThat(status.sessions().get(0).stockCodes()).containsExactlyInAnyOrder("005930", "035420");
+        assertThat(sentBySession).hasSize(1);
+        assertThat(sentBySession.get(0)).containsExactly("1:005930", "1:000660", "2:000660", "1:035420");
+        verify(webSocketClient, times(1)).execute(any(URI.class), any(WebSocketHandler.class));
+    }
+
+    @Test
+    @DisplayName("마지막 종목을 해제하면 빈 세션을 닫고 대기 종목은 자리가 나면 등록")
+    void unsubscribe_closesEmptySessionAndPromotesPending() {
+        // given
+        manager.replaceWatchlist(List.of("005930", "000660", "035420", "005490", "035720"));
+
+        // when
+        manager.unsubscribe("005930");
+        RealTimeSubscriptionManager.Status status = manager.getStatus();
+
+        // then
+        assertThat(status.pending()).isEmpty();
+        assertThat(status.sessions().get(0).stockCodes()).containsExactlyInAnyOrder("000660", "035720");
+        assertThat(sentBySession.get(0)).containsExactly("1:005930", "1:000660", "2:005930", "1:035720");
+
+        // when
+        manager.replaceWatchlist(List.of("035420"));
+
+        // then
+        assertThat(manager.getStatus().sessions()).hasSize(1);
+        assertThat(manager.getStatus().sessions().get(0).stockCodes()).containsExactly("035420");
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 재연결하여 종목을 다시 등록하고 놓친 거래량을 현재가 조회로 보정")
+    void reconnect_resubscribesAndBackfillsGap() {
+        // given - 첫 연결은 체결 한 건(누적 1000주)을 보내고 끊김
+        serverFrames.add(Flux.just(executionFrame("005930", 73000, 10, 1000)));
+        when(kisApiService.getStockPrice(KisStockPriceRequest.kospi("005930")))
+            .thenReturn(Mono.just(stockPriceResponse("73500", "1500")));
+        when(kisApiService.getStockPrice(KisStockPriceRequest.kospi("000660")))
+            .thenReturn(Mono.just(stockPriceResponse("120000", "300")));
+        List<KisExecutionTick> ticks = new CopyOnWriteArrayList<>();
+        manager.setTickListener(ticks::add);
+
+        // when
+        manager.replaceWatchlist(List.of("005930", "000660"));
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> ticks.size() >= 3);
+        assertThat(sentBySession).hasSize(2);
+        assertThat(sentBySession.get(1)).containsExactly("1:005930", "1:000660");
+        assertThat(manager.getStatus().sessions()).hasSize(1);
+        assertThat(manager.getStatus().sessions().get(0).connected()).isTrue();
+
+        KisExecutionTick live = ticks.get(0);
+        assertThat(live.isSnapshot()).isFalse();
+        assertThat(live.accumulatedVolume()).isEqualTo(1000);
+
+        KisExecutionTick samsung = ticks.stream()
+            .filter(tick -> tick.isSnapshot() && tick.stockCode().equals("005930")).findFirst().orElseThrow();
+        assertThat(samsung.executionVolume()).isEqualTo(500);
+        assertThat(samsung.accumulatedVolume()).isEqualTo(1500);
+        assertThat(samsung.price()).isEqualTo(73500);
+
+        // 수신 이력이 없던 종목은 가격 상태만 채우고 거래량은 0
+        KisExecutionTick hynix = ticks.stream()
+            .filter(tick -> tick.isSnapshot() && tick.stockCode().equals("000660")).findFirst().orElseThrow();
+        assertThat(hynix.executionVolume()).isZero();
+        assertThat(hynix.price()).isEqualTo(120000);
+
+        // 재연결은 같은 접속키를 재사용
+        verify(webSocketKeyService, times(1)).getWebSocketApprovalKey();
+    }
+
+    @Test
+    @DisplayName("연결 수립 전에 실패하면 새 접속키를 발급받아 재시도")
+    void reconnect_refreshesApprovalKeyWhenHandshakeFails() {
+        // given
+        AtomicInteger attempts = new AtomicInteger();
+        when(webSocketClient.execute(any(URI.class), any(WebSocketHandler.class))).thenAnswer(inv -> {
+            if (attempts.incrementAndGet() == 1) {
+                return Mono.error(new IllegalStateException("handshake failed"));
+            }
+            List<String> sent = new CopyOnWriteArrayList<>();
+            sentBySession.add(sent);
+            WebSocketHandler handler = inv.getArgument(1);
+            return handler.handle(fakeSession(sent, Flux.never()));
+        });
+
+        // when
+        manager.subscribe("005930");
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sentBySession.size() == 1 && !sentBySession.get(0).isEmpty());
+        assertThat(sentBySession.get(0)).containsExactly("1:005930");
+        verify(webSocketKeyService, times(2)).getWebSocketApprovalKey();
+    }
+
+    @Test
+    @DisplayName("PINGPONG은 받은 그대로 돌려보내고 수신 시각을 갱신")
+    void pingpong_isEchoedBack() {
+        // given
+        serverFrames.add(Flux.concat(Flux.just(PINGPONG), Flux.never()));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        manager.bindTo(registry);
+
+        // when
+        manager.subscribe("005930");
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sentBySession.get(0).size() == 2);
+        assertThat(sentBySession.get(0)).containsExactlyInAnyOrder("1:005930", "PINGPONG");
+        assertThat(registry.get("kis.websocket.heartbeats").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("kis.websocket.sessions").tag("state", "connected").gauge().value()).isEqualTo(1);
+        assertThat(manager.getStatus().sessions().get(0).lastMessageAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("장중에 메시지가 끊긴 세션은 먼저 끊고 재연결, 장외에는 감시하지 않음")
+    void checkLiveness_reconnectsStalledSessionDuringMarketHours() {
+        // given
+        when(kisApiService.getStockPrice(any())).thenReturn(Mono.empty());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        manager.bindTo(registry);
+        manager.subscribe("005930");
+        Instant lastMessageAt = manager.getStatus().sessions().get(0).lastMessageAt();
+        Instant nextWeekdayMorning = nextTradingDayAt(lastMessageAt, LocalTime.of(10, 0));
+
+        // when - 장외
+        int stalledAfterClose = manager.checkLiveness(nextWeekdayMorning.atZone(KST).with(LocalTime.of(20, 0)).toInstant());
+
+        // then
+        assertThat(stalledAfterClose).isZero();
+
+        // when - 장중
+        int stalled = manager.checkLiveness(nextWeekdayMorning);
+
+        // then
+        assertThat(stalled).isEqualTo(1);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sentBySession.size() == 2 && !sentBySession.get(1).isEmpty());
+        assertThat(sentBySession.get(1)).containsExactly("1:005930");
+        assertThat(registry.get("kis.websocket.reconnects").tag("reason", "stalled").functionCounter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("거래 시간이 끝나면 세션을 모두 닫고 관심종목은 대기, 다음 거래일 장전에 다시 등록")
+    void checkSessionWindow_closesSessionsOutsideTradingHours() {
+        // given
+        manager.replaceWatchlist(List.of("005930", "000660"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sentBySession.size() == 1 && sentBySession.get(0).size() == 2);
+        Instant tradingDay = nextTradingDayAt(Instant.now(), LocalTime.of(10, 0));
+
+        // when - 정규장 마감 후
+        boolean afterClose = manager.checkSessionWindow(tradingDay.atZone(KST).with(LocalTime.of(16, 0)).toInstant());
+
+        // then
+        assertThat(afterClose).isFalse();
+        assertThat(manager.getStatus().sessions()).isEmpty();
+        assertThat(manager.getStatus().pending()).containsExactlyInAnyOrder("005930", "000660");
+
+        // when - 관심종목 변경은 대기 목록에만 반영
+        manager.subscribe("035420");
+
+        // then
+        assertThat(manager.getStatus().sessions()).isEmpty();
+        assertThat(manager.getStatus().pending()).hasSize(3);
+
+        // when - 다음 거래일 장전
+        boolean nextMorning = manager.checkSessionWindow(
+            nextTradingDayAt(tradingDay, LocalTime.of(8, 30)));
+
+        // then
+        assertThat(nextMorning).isTrue();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> sentBySession.size() == 3
+            && sentBySession.get(1).size() == 2 && sentBySession.get(2).size() == 1);
+        assertThat(sentBySession.get(1)).containsExactlyInAnyOrder("1:005930", "1:000660");
+        assertThat(sentBySession.get(2)).containsExactly("1:035420");
+        assertThat(manager.getStatus().pending()).isEmpty();
+    }
+
+    private Instant nextTradingDayAt(Instant from, LocalTime time) {
+        return calendar.nextTradingDay(from.atZone(KST).toLocalDate()).atTime(time).atZone(KST).toInstant();
+    }
+
+    private static String executionFrame(String stockCode, long price, long volume, long accumulatedVolume) {
+        String[] fields = new String[46];
+        Arrays.fill(fields, "0");
+        fields[0] = stockCode;
+        fields[1] = "090001";
+        fields[2] = String.valueOf(price);
+        fields[12] = String.valueOf(volume);
+        fields[13] = String.valueOf(accumulatedVolume);
+        fields[21] = "1";
+        fields[33] = LocalDate.now(KST).format(DateTimeFormatter.BASIC_ISO_DATE);
+        return "0|H0STCNT0|001|" + String.join("^", fields);
+    }
+
+    private static String orderBookFrame(String stockCode, long askPrice, long bidPrice) {
+        String[] fields = new String[59];
+        Arrays.fill(fields, "0");
+        fields[0] = stockCode;
+        fields[1] = "100000";
+        for (int level = 0; level < 10; level++) {
+            fields[3 + level] = String.valueOf(askPrice + level * 100);
+            fields[13 + level] = String.valueOf(bidPrice - level * 100);
+            fields[23 + level] = "100";
+            fields[33 + level] = "100";
+        }
+        return "0|H0STASP0|001|" + String.join("^", fields);
+    }
+
+    private static KisStockPriceResponse stockPriceResponse(String currentPrice, String accumulatedVolume) {
+        KisStockPriceResponse.Output output = new KisStockPriceResponse.Output(
+            currentPrice, "0", "3", "0.00", null, null, null, null,
+            accumulatedVolume, null, null, null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null, null);
+        return new KisStockPriceResponse("0", "0", "성공", output);
+    }
+
+    private WebSocketSession fakeSession(List<String> sent, Flux<String> frames) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        lenient().when(session.textMessage(anyString())).thenAnswer(inv -> new WebSocketMessage(
+            WebSocketMessage.Type.TEXT,
+            DefaultDataBufferFactory.sharedInstance.wrap(((String) inv.getArgument(0)).getBytes(StandardCharsets.UTF_8))));
+        lenient().when(session.send(any())).thenAnswer(inv -> Flux.<WebSocketMessage>from(inv.getArgument(0))
+            .doOnNext(message -> sent.add(summarize(message.getPayloadAsText())))
+            .then());
+        Sinks.One<Boolean> closed = Sinks.one();
+        lenient().when(session.receive()).thenReturn(frames.map(session::textMessage).takeUntilOther(closed.asMono()));
+        lenient().when(session.close(any(CloseStatus.class))).thenAnswer(inv -> {
+            closed.tryEmitValue(true);
+            return Mono.empty();
+        });
+        return session;
+    }
+
+    private String summarize(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            if ("PINGPONG".equals(node.at("/header/tr_id").asText())) {
+                return "PINGPONG";
+            }
+            String summary = node.at("/header/tr_type").asText() + ":" + node.at("/body/input/tr_key").asText();
+            return "H0STASP0".equals(node.at("/body/input/tr_id").asText()) ? summary + ":H0STASP0" : summary;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
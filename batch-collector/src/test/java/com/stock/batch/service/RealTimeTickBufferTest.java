@@ -0,0 +1,163 @@
+package com.stock.batch.service;
+
+import com.stock.common.config.KisWebSocketProperties.OverflowPolicy;
+import com.stock.common.realtime.KisExecutionTick;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class RealTimeTickBufferTest {
+
+    @Test
+    @DisplayName("DROP_OLDEST: 가득 차면 가장 오래된 체결을 버리고 최신 체결 유지")
+    void dropOldest_keepsNewestTicks() throws InterruptedException {
+        // given
+        RealTimeTickBuffer buffer = new RealTimeTickBuffer(3, OverflowPolicy.DROP_OLDEST);
+
+        // when
+        for (int i = 1; i <= 5; i++) {
+            buffer.put(tick("005930", 73000 + i, i, i * 10L));
+        }
+
+        // then
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.getDroppedCount()).isEqualTo(2);
+        assertThat(drain(buffer)).extracting(KisExecutionTick::price).containsExactly(73003L, 73004L, 73005L);
+    }
+
+    @Test
+    @DisplayName("CONFLATE: 가득 차면 같은 종목의 같은 초, 같은 가격 대기 체결에 합쳐 체결량만 합산")
+    void conflate_mergesIntoPendingTickOfSameSymbol() throws InterruptedException {
+        // given
+        RealTimeTickBuffer buffer = new RealTimeTickBuffer(3, OverflowPolicy.CONFLATE_LATEST_PER_SYMBOL);
+        buffer.put(tick("005930", 73000, 10, 1010));
+        buffer.put(tick("000660", 120000, 5, 505));
+        buffer.put(tick("005930", 73100, 20, 1030));
+
+        // when - 가득 찬 상태에서 두 종목 체결 추가
+        buffer.put(tick("005930", 73100, 30, 1060));
+        buffer.put(tick("000660", 120000, 7, 512));
+
+        // then
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.getConflatedCount()).isEqualTo(2);
+        List<KisExecutionTick> ticks = drain(buffer);
+        assertThat(ticks).extracting(KisExecutionTick::stockCode).containsExactly("005930", "000660", "005930");
+        // 000660: 첫 대기 체결에 합쳐짐
+        assertThat(ticks.get(1).price()).isEqualTo(120000L);
+        assertThat(ticks.get(1).executionVolume()).isEqualTo(12L);
+        assertThat(ticks.get(1).accumulatedVolume()).isEqualTo(512L);
+        // 005930: 가장 나중 대기 체결에 합쳐져 종목 내 순서 유지
+        assertThat(ticks.get(0).executionVolume()).isEqualTo(10L);
+        assertThat(ticks.get(2).price()).isEqualTo(73100L);
+        assertThat(ticks.get(2).executionVolume()).isEqualTo(50L);
+        assertThat(ticks.get(2).accumulatedVolume()).isEqualTo(1060L);
+        // 합산 체결량 = 누적거래량 증가분
+        long total = ticks.stream().filter(t -> t.stockCode().equals("005930")).mapToLong(KisExecutionTick::executionVolume).sum();
+        assertThat(total).isEqualTo(60L);
+    }
+
+    @Test
+    @DisplayName("BLOCK 및 합칠 대상이 없는 CONFLATE: 자리가 날 때까지 생산자 대기")
+    void block_waitsUntilConsumerDrains() throws InterruptedException {
+        for (OverflowPolicy policy : List.of(OverflowPolicy.BLOCK, OverflowPolicy.CONFLATE_LATEST_PER_SYMBOL)) {
+            // given
+            RealTimeTickBuffer buffer = new RealTimeTickBuffer(2, policy);
+            buffer.put(tick("005930", 73000, 1, 1));
+            buffer.put(tick("000660", 120000, 1, 1));
+
+            // when
+            CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+                try {
+                    buffer.put(tick("035420", 180000, 1, 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            // then
+            await().atMost(5, TimeUnit.SECONDS).until(() -> buffer.getBlockedCount() == 1);
+            assertThat(producer).isNotDone();
+
+            List<KisExecutionTick> first = new ArrayList<>();
+            buffer.drainTo(first, 1, 1, TimeUnit.SECONDS);
+            producer.orTimeout(5, TimeUnit.SECONDS).join();
+            assertThat(drain(buffer)).extracting(KisExecutionTick::stockCode).containsExactly("000660", "035420");
+            assertThat(buffer.getDroppedCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("CONFLATE: 가격, 체결 초, 체결구분(합성 체결 포함) 중 하나라도 다르면 합치지 않고 대기")
+    void conflate_waitsInsteadOfMergingDifferentPriceSecondOrType() throws InterruptedException {
+        List<KisExecutionTick> unmergeable = List.of(tick("005930", 73100, 1, 2), tick("005930", 93002, 73000, 1, 2),
+            snapshot("005930", 73000, 1, 2));
+        for (KisExecutionTick newer : unmergeable) {
+            // given
+            RealTimeTickBuffer buffer = new RealTimeTickBuffer(1, OverflowPolicy.CONFLATE_LATEST_PER_SYMBOL);
+            buffer.put(tick("005930", 73000, 1, 1));
+
+            // when
+            CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+                try {
+                    buffer.put(newer);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            // then
+            await().atMost(5, TimeUnit.SECONDS).until(() -> buffer.getBlockedCount() == 1);
+            assertThat(buffer.getConflatedCount()).isZero();
+            List<KisExecutionTick> first = new ArrayList<>();
+            buffer.drainTo(first, 1, 1, TimeUnit.SECONDS);
+            producer.orTimeout(5, TimeUnit.SECONDS).join();
+            assertThat(drain(buffer)).containsExactly(newer);
+        }
+    }
+
+    @Test
+    @DisplayName("비어 있으면 timeout 후 0건 반환")
+    void drainTo_returnsZeroOnTimeout() throws InterruptedException {
+        // given
+        RealTimeTickBuffer buffer = new RealTimeTickBuffer(4, OverflowPolicy.BLOCK);
+
+        // when
+        int drained = buffer.drainTo(new ArrayList<>(), 10, 10, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(drained).isZero();
+    }
+
+    private static List<KisExecutionTick> drain(RealTimeTickBuffer buffer) throws InterruptedException {
+        List<KisExecutionTick> ticks = new ArrayList<>();
+        buffer.drainTo(ticks, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS);
+        return ticks;
+    }
+
+    private static KisExecutionTick tick(String stockCode, long price, long volume, long accumulatedVolume) {
+        return tick(stockCode, 93001, price, volume, accumulatedVolume);
+    }
+
+    /**
+     * 같은 초, 같은 가격의 REST 보정 합성 체결
+     */
+    private static KisExecutionTick snapshot(String stockCode, long price, long volume, long accumulatedVolume) {
+        return new KisExecutionTick(stockCode, 20261016, 93001, price, 2, 100, 0.14, price, price, price,
+            price, price - 100, volume, accumulatedVolume, accumulatedVolume * price, 0,
+            KisExecutionTick.EXECUTION_TYPE_SNAPSHOT);
+    }
+
+    private static KisExecutionTick tick(String stockCode, int executionTime, long price, long volume,
+                                         long accumulatedVolume) {
+        return new KisExecutionTick(stockCode, 20261016, executionTime, price, 2, 100, 0.14, price, price, price,
+            price, price - 100, volume, accumulatedVolume, accumulatedVolume * price, 100.0, 1);
+    }
+}
@@ -3,6 +3,7 @@ package com.stock.batch.service;
 import com.stock.common.dto.KisStockPriceRequest;
 import com.stock.common.dto.KisStockPriceResponse;
 import com.stock.common.service.KisApiService;
+import com.stock.common.symbol.SymbolTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,24 +15,35 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class StockPriceCollectionServiceTest {
 
+    private static final List<KisStockPriceRequest> POLLED_STOCKS = List.of(
+        KisStockPriceRequest.kospi("005930"),
+        KisStockPriceRequest.kospi("000660"),
+        KisStockPriceRequest.kospi("035420"),
+        KisStockPriceRequest.kospi("005490"),
+        KisStockPriceRequest.kosdaq("035720")
+    );
+
     @Mock
     private KisApiService kisApiService;
 
+    @Mock
+    private SymbolDirectory symbolDirectory;
+
     private StockPriceCollectionService service;
 
     @BeforeEach
     void setUp() {
-        service = new StockPriceCollectionService(kisApiService);
+        service = new StockPriceCollectionService(kisApiService, symbolDirectory);
     }
 
     @Test
@@ -85,7 +97,7 @@ class StockPriceCollectionServiceTest {
     }
 
     @Test
-    @DisplayName("다중 종목 현재가 수집 - 성공 항목만 방출 (가상시간)")
+    @DisplayName("다중 종목 현재가 수집 - 일괄 조회 후 실패 묶음은 건너뛰고 성공 항목만 방출")
     void collectMultipleStockPrices_skipErrors_emitSuccessOnly() {
         // given
         KisStockPriceRequest r1 = KisStockPriceRequest.kospi("005930");
@@ -95,77 +107,79 @@ class StockPriceCollectionServiceTest {
         KisStockPriceResponse resp1 = successResponse("005930", "삼성전자", "70000", "+500", "+0.72");
         KisStockPriceResponse resp2 = successResponse("000660", "SK하이닉스", "150000", "+1000", "+0.67");
 
-        when(kisApiService.getStockPrice(r1)).thenReturn(Mono.just(resp1));
-        when(kisApiService.getStockPrice(r2)).thenReturn(Mono.just(resp2));
-        when(kisApiService.getStockPrice(r3)).thenReturn(Mono.error(new RuntimeException("API 실패")));
+        when(kisApiService.getStockPrices(List.of(r1, r2, r3)))
+            .thenReturn(Flux.concat(Flux.just(resp1, resp2), Flux.error(new RuntimeException("API 실패"))));
 
-        // when
-        Flux<KisStockPriceResponse> flux = service.collectMultipleStockPrices(List.of(r1, r2, r3));
-
-        // then (delayElement 이 있어 충분한 가상 시간 경과 필요)
-        StepVerifier.withVirtualTime(() -> flux)
-            .thenAwait(Duration.ofSeconds(2))
+        // when & then
+        StepVerifier.create(service.collectMultipleStockPrices(List.of(r1, r2, r3)))
             .expectNextMatches(r -> "005930".equals(r.output().stockCode()))
             .expectNextMatches(r -> "000660".equals(r.output().stockCode()))
             .verifyComplete();
 
-        verify(kisApiService, times(1)).getStockPrice(r1);
-        verify(kisApiService, times(1)).getStockPrice(r2);
-        verify(kisApiService, times(1)).getStockPrice(r3);
+        verify(kisApiService, times(1)).getStockPrices(List.of(r1, r2, r3));
+        verify(kisApiService, never()).getStockPrice(any(KisStockPriceRequest.class));
     }
 
     @Test
-    @DisplayName("종목코드 리스트로 수집 - 시장 구분 휴리스틱 적용")
-    void collectStockPricesByStockCodes_marketHeuristic() {
+    @DisplayName("종목코드 리스트로 수집 - 시장 구분은 종목 디렉터리를 따르고 없는 종목은 코스피")
+    void collectStockPricesByStockCodes_marketFromSymbolDirectory() {
         // given
-        // 005930 -> J, 120000 -> Q
-        when(kisApiService.getStockPrice(any(KisStockPriceRequest.class)))
-            .thenAnswer(inv -> {
-                KisStockPriceRequest req = inv.getArgument(0);
-                KisStockPriceResponse r = successResponse(req.stockCode(), "N/A", "1", "+1", "+0.1");
-                return Mono.just(r);
-            });
-
-        // when
-        Flux<KisStockPriceResponse> flux = service.collectStockPricesByStockCodes(List.of("005930", "120000"));
-
-        // then
-        StepVerifier.withVirtualTime(() -> flux)
-            .thenAwait(Duration.ofSeconds(2))
-            .expectNextCount(2)
+        // 코드 숫자 범위와 실제 시장이 다른 종목: 373220(코스피), 035720(코스피), 247540(코스닥)
+        when(symbolDirectory.current()).thenReturn(SymbolTable.builder(null)
+            .add("373220", SymbolTable.MARKET_KOSPI, null, 0)
+            .add("035720", SymbolTable.MARKET_KOSPI, null, 0)
+            .add("247540", SymbolTable.MARKET_KOSDAQ, null, 0)
+            .build());
+        when(kisApiService.getStockPrices(anyList())).thenAnswer(inv -> stockPricesAnswer(inv.getArgument(0)));
+
+        // when & then
+        StepVerifier.create(service.collectStockPricesByStockCodes(List.of("373220", "035720", "247540", "999999")))
+            .expectNextCount(4)
             .verifyComplete();
 
-        ArgumentCaptor<KisStockPriceRequest> captor = ArgumentCaptor.forClass(KisStockPriceRequest.class);
-        verify(kisApiService, atLeast(2)).getStockPrice(captor.capture());
-        List<KisStockPriceRequest> sent = captor.getAllValues();
-        assertThat(sent).extracting(KisStockPriceRequest::stockCode).contains("005930", "120000");
-        // 시장 구분 확인
-        assertThat(sent.stream().filter(r -> r.stockCode().equals("005930")).findFirst().orElseThrow().market())
-            .isEqualTo("J");
-        assertThat(sent.stream().filter(r -> r.stockCode().equals("120000")).findFirst().orElseThrow().market())
-            .isEqualTo("Q");
+        ArgumentCaptor<List<KisStockPriceRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(kisApiService).getStockPrices(captor.capture());
+        assertThat(captor.getValue()).extracting(KisStockPriceRequest::market).containsExactly("J", "J", "Q", "J");
     }
 
     @Test
-    @DisplayName("주요 샘플 종목 수집 - 모두 호출")
-    void collectMajorStockPrices_callsAllSamples() {
+    @DisplayName("폴링 대상 종목 수집 - 한 번의 일괄 조회로 모두 수집")
+    void collectPolledStockPrices_callsAllRequests() {
         // given
-        when(kisApiService.getStockPrice(any(KisStockPriceRequest.class)))
-            .thenAnswer(inv -> {
-                KisStockPriceRequest req = inv.getArgument(0);
-                return Mono.just(successResponse(req.stockCode(), "N/A", "1", "+1", "+0.1"));
-            });
-
-        // when
-        Flux<KisStockPriceResponse> flux = service.collectMajorStockPrices();
-
-        // then
-        StepVerifier.withVirtualTime(() -> flux)
-            .thenAwait(Duration.ofSeconds(3))
+        when(kisApiService.getStockPrices(anyList())).thenAnswer(inv -> stockPricesAnswer(inv.getArgument(0)));
+
+        // when & then
+        StepVerifier.create(service.collectPolledStockPrices(POLLED_STOCKS))
             .expectNextCount(5)
             .verifyComplete();
 
-        verify(kisApiService, atLeast(5)).getStockPrice(any(KisStockPriceRequest.class));
+        verify(kisApiService, times(1)).getStockPrices(anyList());
+    }
+
+    @Test
+    @DisplayName("폴링 대상 종목 수집 - 실시간 체결을 받는 종목은 폴링 제외")
+    void collectPolledStockPrices_skipsStreamingStocks() {
+        // given
+        RealTimeSubscriptionManager realTimeSubscriptionManager = mock(RealTimeSubscriptionManager.class);
+        when(realTimeSubscriptionManager.isStreaming(any())).thenAnswer(inv ->
+            List.of("005930", "000660").contains(inv.<String>getArgument(0)));
+        service.setRealTimeSubscriptionManager(realTimeSubscriptionManager);
+        ArgumentCaptor<List<KisStockPriceRequest>> captor = ArgumentCaptor.forClass(List.class);
+        when(kisApiService.getStockPrices(anyList())).thenAnswer(inv -> stockPricesAnswer(inv.getArgument(0)));
+
+        // when & then
+        StepVerifier.create(service.collectPolledStockPrices(POLLED_STOCKS))
+            .expectNextCount(3)
+            .verifyComplete();
+
+        verify(kisApiService).getStockPrices(captor.capture());
+        assertThat(captor.getValue()).extracting(KisStockPriceRequest::stockCode)
+            .containsExactly("035420", "005490", "035720");
+    }
+
+    private static Flux<KisStockPriceResponse> stockPricesAnswer(List<KisStockPriceRequest> requests) {
+        return Flux.fromIterable(requests)
+            .map(req -> successResponse(req.stockCode(), "N/A", "1", "+1", "+0.1"));
     }
 
     private static KisStockPriceResponse successResponse(
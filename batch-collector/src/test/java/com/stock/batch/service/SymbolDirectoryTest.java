@@ -0,0 +1,118 @@
+package com.stock.batch.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KrxCalendarProperties;
+import com.stock.common.symbol.SymbolTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolDirectoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SymbolDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("symbol-directory;MODE=MySQL")
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+            CREATE TABLE stock_information (
+                short_code VARCHAR(20), market VARCHAR(10), is_kospi CHAR(1), index_sector_major VARCHAR(50),
+                is_trading_suspended CHAR(1), is_delisting_trade CHAR(1), is_administrative_issue CHAR(1),
+                is_preferred_stock CHAR(1), is_etp CHAR(1), is_spac CHAR(1))
+            """);
+        insert("005930", "KOSPI", "Y", "전기전자", "N");
+        insert("247540", "KOSDAQ", "N", "전기전자", "N");
+        insert("373220", "KOSPI", "Y", "전기전자", "Y");
+        directory = new SymbolDirectory(jdbcTemplate,
+            new KrxTradingCalendar(new KrxCalendarProperties(null, null, null, null, null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("stock_information으로 시장과 상태 플래그를 담은 종목 표 생성")
+    void reload_buildsTableFromStockInformation() {
+        // when
+        boolean loaded = directory.reload();
+
+        // then
+        SymbolTable table = directory.current();
+        assertThat(loaded).isTrue();
+        assertThat(table.listedCount()).isEqualTo(3);
+        assertThat(table.requestOf(table.idOf("247540")).market()).isEqualTo("Q");
+        assertThat(table.requestOf(table.idOf("373220")).market()).isEqualTo("J");
+        assertThat(table.has(table.idOf("373220"), SymbolTable.TRADING_SUSPENDED)).isTrue();
+        assertThat(table.isTradable(table.idOf("005930"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("KOSPI 지수에 없는 코스피 상장 ETF와 우선주도 상장 시장으로 코스피 조회")
+    void reload_takesMarketFromListingMarketNotKospiIndexFlag() {
+        // given - KODEX 200(ETF), 삼성전자우(우선주)는 is_kospi가 'N'
+        jdbcTemplate.update("""
+            INSERT INTO stock_information VALUES ('069500', 'KOSPI', 'N', NULL, 'N', 'N', 'N', 'N', 'Y', 'N')
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO stock_information VALUES ('005935', 'KOSPI', 'N', '전기전자', 'N', 'N', 'N', 'Y', 'N', 'N')
+            """);
+
+        // when
+        directory.reload();
+
+        // then
+        SymbolTable table = directory.current();
+        assertThat(table.requestOf(table.idOf("069500")).market()).isEqualTo("J");
+        assertThat(table.has(table.idOf("069500"), SymbolTable.ETP)).isTrue();
+        assertThat(table.requestOf(table.idOf("005935")).market()).isEqualTo("J");
+        assertThat(table.has(table.idOf("005935"), SymbolTable.PREFERRED_STOCK)).isTrue();
+        assertThat(table.requestOf(table.idOf("247540")).market()).isEqualTo("Q");
+    }
+
+    @Test
+    @DisplayName("다시 읽으면 표를 통째로 바꾸되 기존 id는 유지, 실패하면 이전 표 유지")
+    void reload_swapsTableAtomicallyAndKeepsIds() {
+        // given
+        directory.reload();
+        SymbolTable before = directory.current();
+        int samsung = before.idOf("005930");
+        jdbcTemplate.update("DELETE FROM stock_information WHERE short_code = '247540'");
+        insert("000660", "KOSPI", "Y", "전기전자", "N");
+
+        // when
+        directory.reload();
+        SymbolTable after = directory.current();
+        jdbcTemplate.execute("DROP TABLE stock_information");
+        boolean failed = directory.reload();
+
+        // then
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.idOf("005930")).isEqualTo(samsung);
+        assertThat(after.idOf("000660")).isEqualTo(3);
+        assertThat(after.isTradable(after.idOf("247540"))).isFalse();
+        assertThat(before.isTradable(before.idOf("247540"))).isTrue();
+        assertThat(failed).isFalse();
+        assertThat(directory.current()).isSameAs(after);
+    }
+
+    private void insert(String code, String market, String kospi, String sector, String suspended) {
+        jdbcTemplate.update("""
+            INSERT INTO stock_information VALUES (?, ?, ?, ?, ?, 'N', 'N', 'N', 'N', 'N')
+            """, code, market, kospi, sector, suspended);
+    }
+}
@@ -0,0 +1,70 @@
+package com.stock.batch.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KrxCalendarProperties;
+import com.stock.common.realtime.TickArchiveReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TickArchiveServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 16);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("하루치 수신 프레임 기록을 종목별 체결 보관 파일로 변환")
+    void archive_convertsJournalToColumnarArchive() throws IOException {
+        // given
+        Path journalDirectory = directory.resolve("journal");
+        RealTimeFrameJournal journal = new RealTimeFrameJournal(journalDirectory, 4096,
+            Clock.fixed(Instant.parse("2026-10-16T00:30:00Z"), ZoneId.of("Asia/Seoul")));
+        journal.append("{\"header\":{\"tr_id\":\"PINGPONG\",\"datetime\":\"20261016093000\"}}");
+        journal.append(executionFrame("005930", "093001", 73100, 10));
+        journal.append(executionFrame("000660", "093001", 150000, 1));
+        journal.append(executionFrame("005930", "093005", 73200, 3));
+        journal.close();
+        TickArchiveService service = new TickArchiveService(
+            new KrxTradingCalendar(new KrxCalendarProperties(null, null, null, null, null)),
+            journalDirectory, directory.resolve("archive"));
+
+        // when
+        Path archive = service.archive(TODAY);
+
+        // then
+        assertThat(archive.getFileName().toString()).isEqualTo("ticks-20261016.tca");
+        List<String> samsung = new ArrayList<>();
+        try (TickArchiveReader reader = TickArchiveReader.open(archive)) {
+            assertThat(reader.getStockCodes()).containsExactly("000660", "005930");
+            reader.read("005930", (time, price, volume) -> samsung.add(time + "/" + price + "/" + volume));
+        }
+        assertThat(samsung).containsExactly("93001/73100/10", "93005/73200/3");
+        assertThat(service.archive(TODAY.plusDays(1))).isNull();
+    }
+
+    private static String executionFrame(String stockCode, String time, long price, long volume) {
+        String[] fields = new String[46];
+        Arrays.fill(fields, "0");
+        fields[0] = stockCode;
+        fields[1] = time;
+        fields[2] = String.valueOf(price);
+        fields[12] = String.valueOf(volume);
+        fields[21] = "1";
+        fields[33] = "20261016";
+        return "0|H0STCNT0|001|" + String.join("^", fields);
+    }
+}
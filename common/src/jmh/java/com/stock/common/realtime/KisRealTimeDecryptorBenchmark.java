@@ -0,0 +1,67 @@
+package com.stock.common.realtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 암호화 프레임 복호화 벤치마크
+ * 스레드별 Cipher/버퍼 재사용과 메시지마다 Cipher, base64 결과, 문자열을 새로 만드는 방식을 비교한다.
+ * 할당량 비교: gradle :common:jmh -PjmhArgs="KisRealTimeDecryptor -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KisRealTimeDecryptorBenchmark {
+
+    private static final String KEY = "abcdefghijklmnopqrstuvwxyz012345";
+    private static final String IV = "0123456789abcdef";
+
+    private final KisRealTimeDecryptor decryptor = new KisRealTimeDecryptor();
+    private String frame;
+
+    @Setup
+    public void setUp() throws Exception {
+        String body = String.join("^",
+            "12345678", "0123456789", "0000012345", "", "02", "0", "00", "0", "005930", "0000000010",
+            "000073100", "093001", "N", "2", "Y", "0", "000000000", "01", "00", "삼성전자", "", "", "73100");
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE,
+            new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"),
+            new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8)));
+        frame = "1|H0STCNI0|001|" + Base64.getEncoder().encodeToString(cipher.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        decryptor.register("H0STCNI0", KEY, IV);
+    }
+
+    @Benchmark
+    public int cachedCipher() {
+        return decryptor.decrypt(frame).length();
+    }
+
+    @Benchmark
+    public int newCipherPerMessage() throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.DECRYPT_MODE,
+            new SecretKeySpec(KEY.getBytes(StandardCharsets.UTF_8), "AES"),
+            new IvParameterSpec(IV.getBytes(StandardCharsets.UTF_8)));
+        byte[] encrypted = Base64.getDecoder().decode(frame.substring(frame.lastIndexOf('|') + 1));
+        return new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8).length();
+    }
+}
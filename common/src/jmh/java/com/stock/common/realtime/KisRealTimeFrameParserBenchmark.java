@@ -0,0 +1,88 @@
+package com.stock.common.realtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H0STCNT0 프레임 파싱 벤치마크
+ * 인덱스 기반 파서와 String.split 기반 파싱(기존 방식의 일반적인 구현)을 비교한다.
+ * 할당량 비교는 -prof gc 옵션으로 확인: gradle :common:jmh -PjmhArgs="KisRealTimeFrameParser -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KisRealTimeFrameParserBenchmark {
+
+    @Param({"1", "10"})
+    int records;
+
+    private String frame;
+
+    @Setup
+    public void setUp() {
+        StringJoiner body = new StringJoiner("^");
+        for (int i = 0; i < records; i++) {
+            body.add(record(73100 + i * 100L, 10 + i));
+        }
+        frame = String.format("0|H0STCNT0|%03d|%s", records, body);
+    }
+
+    @Benchmark
+    public int indexParser(Blackhole blackhole) {
+        return KisRealTimeFrameParser.parseExecutionFrame(frame, blackhole::consume);
+    }
+
+    @Benchmark
+    public int splitParser(Blackhole blackhole) {
+        String[] parts = frame.split("\\|");
+        int count = Integer.parseInt(parts[2]);
+        String[] fields = parts[3].split("\\^");
+        for (int i = 0; i < count; i++) {
+            int base = i * KisRealTimeFrameParser.EXECUTION_FIELD_COUNT;
+            blackhole.consume(new KisExecutionTick(
+                fields[base],
+                Integer.parseInt(fields[base + 33]),
+                Integer.parseInt(fields[base + 1]),
+                Long.parseLong(fields[base + 2]),
+                Integer.parseInt(fields[base + 3]),
+                Long.parseLong(fields[base + 4]),
+                Double.parseDouble(fields[base + 5]),
+                Long.parseLong(fields[base + 7]),
+                Long.parseLong(fields[base + 8]),
+                Long.parseLong(fields[base + 9]),
+                Long.parseLong(fields[base + 10]),
+                Long.parseLong(fields[base + 11]),
+                Long.parseLong(fields[base + 12]),
+                Long.parseLong(fields[base + 13]),
+                Long.parseLong(fields[base + 14]),
+                Double.parseDouble(fields[base + 18]),
+                Integer.parseInt(fields[base + 21])));
+        }
+        return count;
+    }
+
+    private static String record(long price, long volume) {
+        return String.join("^",
+            "005930", "093001", Long.toString(price), "5", "-1100", "-1.48", "72996.51", "73700", "73900", "72400",
+            "73100", "73000", Long.toString(volume), "6677685", "488582510400", "5732", "6284", "552", "108.15",
+            "3208114", "3469571", "5", "51.96", "42.17", "090000", "5", "-500", "091532", "2", "+200",
+            "090412", "5", "-1000", "20240614", "20", "N", "60133", "107529", "1150327", "1437205",
+            "0.05", "9732381", "73.61", "0", "00", "73900");
+    }
+}
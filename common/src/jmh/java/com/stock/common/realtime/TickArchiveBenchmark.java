@@ -0,0 +1,76 @@
+package com.stock.common.realtime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결 보관 파일 순차 복원 벤치마크
+ * 100만 건(종목 100개 x 1만 건)을 종목별로 모두 복원하는 시간을 잰다.
+ * 초당 복원 바이트 = 파일 크기(setUp 로그) / 평균 시간
+ * 실행: gradle :common:jmh -PjmhArgs="TickArchive"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TickArchiveBenchmark {
+
+    private static final int STOCKS = 100;
+    private static final int TICKS_PER_STOCK = 10_000;
+
+    private Path path;
+    private TickArchiveReader reader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        TickArchiveWriter writer = new TickArchiveWriter(20261016);
+        Random random = new Random(1);
+        for (int stock = 0; stock < STOCKS; stock++) {
+            String stockCode = String.format("%06d", stock);
+            int second = 9 * 3600;
+            long price = 10_000 + stock * 100L;
+            for (int i = 0; i < TICKS_PER_STOCK; i++) {
+                second += random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(3);
+                price += (random.nextInt(3) - 1) * 10L;
+                writer.add(stockCode, BarResolution.toTime(second), price, 1 + random.nextInt(100));
+            }
+        }
+        path = Files.createTempFile("tick-archive", ".tca");
+        long size = writer.writeTo(path);
+        System.out.printf("보관 파일 크기: %,d bytes (체결당 %.2f bytes)%n", size, (double) size / (STOCKS * TICKS_PER_STOCK));
+        reader = TickArchiveReader.open(path);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reader.close();
+        Files.deleteIfExists(path);
+    }
+
+    @Benchmark
+    public long readAll() {
+        long[] checksum = new long[1];
+        for (String stockCode : reader.getStockCodes()) {
+            reader.read(stockCode, (time, price, volume) -> checksum[0] += time + price + volume);
+        }
+        return checksum[0];
+    }
+}
@@ -0,0 +1,160 @@
+package com.stock.common.calendar;
+
+import com.stock.common.config.KrxCalendarProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KRX 거래일/거래시간 달력
+ * 평일 중 휴장일 파일에 없는 날이 거래일이다. 수집 스케줄, 시세 캐시 만료, 실시간 세션 유지 시간이 모두 이 달력을 따른다.
+ *
+ * 휴장일 파일은 한 줄에 하루씩 적는다 ('#' 뒤는 주석).
+ * <pre>
+ * 2026-02-16 설날            # 휴장
+ * 2026-11-19 10:00-16:30 수능 # 정규장 시간 변경 (장전/장후 시간외도 같은 만큼 밀림)
+ * </pre>
+ * KRX가 매년 말 다음 해 휴장일을 공시하므로 그때 파일에 추가한다. 해당 연도 항목이 없으면 기동 시 경고를 남긴다.
+ */
+@Component
+public class KrxTradingCalendar {
+
+    private static final Logger log = LoggerFactory.getLogger(KrxTradingCalendar.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KrxCalendarProperties properties;
+    private final Set<LocalDate> holidays = new HashSet<>();
+    private final Map<LocalDate, TradingHours> specialHours = new HashMap<>();
+
+    public KrxTradingCalendar(KrxCalendarProperties properties) {
+        this.properties = properties;
+        Resource resource = properties.holidays();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("KRX 휴장일 파일을 읽지 못했습니다: " + resource, e);
+        }
+        int year = LocalDate.now(KST).getYear();
+        if (holidays.stream().noneMatch(date -> date.getYear() == year)) {
+            log.warn("KRX 휴장일 파일에 {}년 항목이 없습니다. 주말만 휴장으로 처리합니다: {}", year, resource);
+        }
+        log.info("KRX 거래 달력 로드: 휴장일 {}일, 거래시간 변경일 {}일", holidays.size(), specialHours.size());
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    /**
+     * 거래일의 거래시간
+     *
+     * @return 거래일이 아니면 null
+     */
+    public TradingHours hoursOf(LocalDate date) {
+        if (!isTradingDay(date)) {
+            return null;
+        }
+        TradingHours special = specialHours.get(date);
+        return special != null ? special : new TradingHours(date, properties.preMarketOpen(),
+            properties.regularOpen(), properties.regularClose(), properties.postMarketClose());
+    }
+
+    /**
+     * 해당 날짜의 정규장 마감 시각 (거래일이 아니면 기본 마감 시각)
+     */
+    public LocalTime regularCloseOf(LocalDate date) {
+        TradingHours hours = hoursOf(date);
+        return hours != null ? hours.regularClose() : properties.regularClose();
+    }
+
+    public TradingSession sessionAt(Instant now) {
+        LocalDateTime local = LocalDateTime.ofInstant(now, KST);
+        TradingHours hours = hoursOf(local.toLocalDate());
+        return hours == null ? TradingSession.CLOSED : hours.sessionAt(local.toLocalTime());
+    }
+
+    public boolean isRegularSession(Instant now) {
+        return sessionAt(now) == TradingSession.REGULAR;
+    }
+
+    /**
+     * date 다음 거래일
+     */
+    public LocalDate nextTradingDay(LocalDate date) {
+        LocalDate next = date.plusDays(1);
+        while (!isTradingDay(next)) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
+    /**
+     * now 이후(now 포함) 가장 가까운 정규장 시작 시각
+     */
+    public Instant nextRegularOpen(Instant now) {
+        LocalDate today = LocalDate.ofInstant(now, KST);
+        TradingHours hours = hoursOf(today);
+        if (hours != null && !now.isAfter(hours.at(hours.regularOpen()))) {
+            return hours.at(hours.regularOpen());
+        }
+        TradingHours next = hoursOf(nextTradingDay(today));
+        return next.at(next.regularOpen());
+    }
+
+    private void load(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            String[] tokens = content.split("\\s+");
+            try {
+                LocalDate date = LocalDate.parse(tokens[0]);
+                if (tokens.length > 1 && tokens[1].matches("\\d{2}:\\d{2}-\\d{2}:\\d{2}")) {
+                    specialHours.put(date, shiftedHours(date,
+                        LocalTime.parse(tokens[1].substring(0, 5)), LocalTime.parse(tokens[1].substring(6))));
+                } else {
+                    holidays.add(date);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("KRX 휴장일 파일 " + lineNumber + "번째 줄 형식 오류: " + line, e);
+            }
+        }
+    }
+
+    /**
+     * 정규장 시간이 바뀐 날의 거래시간 (장전 시간외는 시작이, 장후 시간외는 마감이 밀린 만큼 함께 밀림)
+     */
+    private TradingHours shiftedHours(LocalDate date, LocalTime regularOpen, LocalTime regularClose) {
+        Duration openShift = Duration.between(properties.regularOpen(), regularOpen);
+        Duration closeShift = Duration.between(properties.regularClose(), regularClose);
+        return new TradingHours(date, properties.preMarketOpen().plus(openShift), regularOpen, regularClose,
+            properties.postMarketClose().plus(closeShift));
+    }
+}
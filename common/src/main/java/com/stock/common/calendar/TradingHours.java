@@ -0,0 +1,37 @@
+package com.stock.common.calendar;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * 거래일 하루의 거래시간 (KST)
+ */
+public record TradingHours(
+    LocalDate date,
+    LocalTime preMarketOpen,
+    LocalTime regularOpen,
+    LocalTime regularClose,
+    LocalTime postMarketClose
+) {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /**
+     * 이 거래일의 해당 시각
+     */
+    public Instant at(LocalTime time) {
+        return date.atTime(time).atZone(KST).toInstant();
+    }
+
+    public TradingSession sessionAt(LocalTime time) {
+        if (time.isBefore(preMarketOpen) || !time.isBefore(postMarketClose)) {
+            return TradingSession.CLOSED;
+        }
+        if (time.isBefore(regularOpen)) {
+            return TradingSession.PRE_MARKET;
+        }
+        return time.isBefore(regularClose) ? TradingSession.REGULAR : TradingSession.POST_MARKET;
+    }
+}
@@ -0,0 +1,15 @@
+package com.stock.common.calendar;
+
+/**
+ * KRX 거래 구간
+ */
+public enum TradingSession {
+    /** 장전 시간외 (기본 08:30 ~ 09:00) */
+    PRE_MARKET,
+    /** 정규장 (기본 09:00 ~ 15:30, 종가 단일가 포함) */
+    REGULAR,
+    /** 장후 시간외 (기본 15:30 ~ 18:00) */
+    POST_MARKET,
+    /** 휴장일, 야간 */
+    CLOSED
+}
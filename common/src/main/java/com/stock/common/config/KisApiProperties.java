@@ -22,24 +22,42 @@ public record KisApiProperties(
         if (appSecret == null || appSecret.isBlank()) {
             throw new IllegalArgumentException("KIS API App Secret is required");
         }
+        if (rateLimit == null) {
+            rateLimit = new RateLimit(0, 0, 0);
+        }
     }
 
+    /**
+     * 호출 한도
+     * KIS 실전 계좌 REST 한도는 앱키당 초당 20회다. 한도는 프로세스마다 따로 적용되므로 같은 앱키를 쓰는
+     * batch-collector(18)와 api-server(2)의 초당 한도 합이 20을 넘지 않게 나눠 둔다.
+     * 분당/일일 한도는 계약에 따라 다르므로 0(미적용)이 기본이고, 계약에 별도 한도가 있을 때만 설정한다.
+     */
     public record RateLimit(
+            int requestsPerSecond,
             int requestsPerMinute,
             int requestsPerDay,
             int maxConcurrentConnections
     ) {
+        @ConstructorBinding
         public RateLimit {
-            if (requestsPerMinute <= 0) {
-                requestsPerMinute = 20;
+            if (requestsPerSecond <= 0) {
+                requestsPerSecond = 20;
+            }
+            if (requestsPerMinute < 0) {
+                requestsPerMinute = 0;
             }
-            if (requestsPerDay <= 0) {
-                requestsPerDay = 10000;
+            if (requestsPerDay < 0) {
+                requestsPerDay = 0;
             }
             if (maxConcurrentConnections <= 0) {
                 maxConcurrentConnections = 5;
             }
         }
+
+        public RateLimit(int requestsPerMinute, int requestsPerDay, int maxConcurrentConnections) {
+            this(0, requestsPerMinute, requestsPerDay, maxConcurrentConnections);
+        }
     }
 
     public record Timeout(
@@ -0,0 +1,37 @@
+package com.stock.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * KIS API 전용 커넥션 풀 설정
+ * 최대 커넥션 수는 kis.api.rate-limit.max-concurrent-connections 값을 사용한다.
+ */
+@ConfigurationProperties(prefix = "kis.api.connection-pool")
+public record KisConnectionPoolProperties(
+        int pendingAcquireMaxCount,
+        Duration pendingAcquireTimeout,
+        Duration maxIdleTime,
+        Duration maxLifeTime,
+        Duration evictionInterval
+) {
+
+    public KisConnectionPoolProperties {
+        if (pendingAcquireMaxCount <= 0) {
+            pendingAcquireMaxCount = 500;
+        }
+        if (pendingAcquireTimeout == null || pendingAcquireTimeout.isNegative() || pendingAcquireTimeout.isZero()) {
+            pendingAcquireTimeout = Duration.ofSeconds(10);
+        }
+        if (maxIdleTime == null || maxIdleTime.isNegative() || maxIdleTime.isZero()) {
+            maxIdleTime = Duration.ofSeconds(60);
+        }
+        if (maxLifeTime == null || maxLifeTime.isNegative() || maxLifeTime.isZero()) {
+            maxLifeTime = Duration.ofMinutes(10);
+        }
+        if (evictionInterval == null || evictionInterval.isNegative() || evictionInterval.isZero()) {
+            evictionInterval = Duration.ofSeconds(30);
+        }
+    }
+}
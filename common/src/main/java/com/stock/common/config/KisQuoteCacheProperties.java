@@ -0,0 +1,34 @@
+package com.stock.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 주식현재가 단기 캐시 설정
+ * 정규장(KRX 달력의 정규장 시작 ~ 마감 + closeSettle) 중에는 ttl 동안만 캐시하고,
+ * 장 종료 후와 휴장일에는 시세가 바뀌지 않으므로 다음 정규장 시작 시각까지 캐시한다.
+ */
+@ConfigurationProperties(prefix = "kis.api.quote-cache")
+public record KisQuoteCacheProperties(
+        int maxSize,
+        Duration ttl,
+        Duration refreshAhead,
+        Duration closeSettle
+) {
+
+    public KisQuoteCacheProperties {
+        if (maxSize <= 0) {
+            maxSize = 10000;
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            ttl = Duration.ofSeconds(1);
+        }
+        if (refreshAhead == null || refreshAhead.isNegative() || refreshAhead.compareTo(ttl) >= 0) {
+            refreshAhead = ttl.dividedBy(5);
+        }
+        if (closeSettle == null || closeSettle.isNegative()) {
+            closeSettle = Duration.ofMinutes(10);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.stock.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Redis 기반 접근 토큰 공유(브로커) 설정
+ * 여러 프로세스가 하나의 토큰을 공유하여 /oauth2/tokenP 호출 수를 줄인다.
+ */
+@ConfigurationProperties(prefix = "kis.api.token-broker")
+public record KisTokenBrokerProperties(
+        boolean enabled,
+        String keyPrefix,
+        Duration lease,
+        Duration pollInterval,
+        Duration minValidity
+) {
+
+    public KisTokenBrokerProperties {
+        if (keyPrefix == null || keyPrefix.isBlank()) {
+            keyPrefix = "kis:token";
+        }
+        if (lease == null || lease.isZero() || lease.isNegative()) {
+            lease = Duration.ofSeconds(30);
+        }
+        if (pollInterval == null || pollInterval.isZero() || pollInterval.isNegative()) {
+            pollInterval = Duration.ofMillis(200);
+        }
+        if (minValidity == null || minValidity.isNegative()) {
+            minValidity = Duration.ofMinutes(5);
+        }
+    }
+}
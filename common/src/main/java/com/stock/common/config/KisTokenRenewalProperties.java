@@ -0,0 +1,32 @@
+package com.stock.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 접근 토큰 백그라운드 갱신 설정
+ */
+@ConfigurationProperties(prefix = "kis.api.token-renewal")
+public record KisTokenRenewalProperties(
+        Duration refreshBeforeExpiry,
+        Duration jitter,
+        Duration retryInterval,
+        Duration maxRetryInterval
+) {
+
+    public KisTokenRenewalProperties {
+        if (refreshBeforeExpiry == null || refreshBeforeExpiry.isNegative()) {
+            refreshBeforeExpiry = Duration.ofMinutes(30);
+        }
+        if (jitter == null || jitter.isNegative()) {
+            jitter = Duration.ofMinutes(5);
+        }
+        if (retryInterval == null || retryInterval.isZero() || retryInterval.isNegative()) {
+            retryInterval = Duration.ofSeconds(30);
+        }
+        if (maxRetryInterval == null || maxRetryInterval.compareTo(retryInterval) < 0) {
+            maxRetryInterval = retryInterval.multipliedBy(10);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.stock.common.config;
 
 import com.stock.common.constants.KisApiConstants;
+import com.stock.common.ratelimit.KisRateLimiter;
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -14,38 +14,69 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
-@EnableConfigurationProperties(KisApiProperties.class)
+@EnableConfigurationProperties({KisApiProperties.class, KisTokenRenewalProperties.class, KisTokenBrokerProperties.class,
+        KisConnectionPoolProperties.class, KisQuoteCacheProperties.class, KisWebSocketProperties.class,
+        KrxCalendarProperties.class})
 public class KisWebClientConfig {
 
     private final KisApiProperties kisApiProperties;
+    private final KisConnectionPoolProperties connectionPoolProperties;
     private final ExchangeFilterFunction loggingFilter;
     private final ExchangeFilterFunction errorHandlingFilter;
     private final ExchangeFilterFunction rateLimitFilter;
+    private final KisRateLimiter kisRateLimiter;
 
     public KisWebClientConfig(KisApiProperties kisApiProperties,
+                              KisConnectionPoolProperties connectionPoolProperties,
                               ExchangeFilterFunction loggingFilter,
                               ExchangeFilterFunction errorHandlingFilter,
-                              ExchangeFilterFunction rateLimitFilter) {
+                              ExchangeFilterFunction rateLimitFilter,
+                              KisRateLimiter kisRateLimiter) {
         this.kisApiProperties = kisApiProperties;
+        this.connectionPoolProperties = connectionPoolProperties;
         this.loggingFilter = loggingFilter;
         this.errorHandlingFilter = errorHandlingFilter;
         this.rateLimitFilter = rateLimitFilter;
+        this.kisRateLimiter = kisRateLimiter;
+    }
+
+    /**
+     * KIS API 전용 커넥션 풀
+     * 분 경계에 몰리는 요청이 TLS 핸드셰이크 없이 미리 열린 연결을 재사용하도록 고정 크기 풀을 사용한다.
+     * reactor.netty.connection.provider.* 지표(active/idle/pending)를 Micrometer로 노출한다.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider kisApiConnectionProvider() {
+        return ConnectionProvider.builder("kis-api")
+                .maxConnections(kisApiProperties.rateLimit().maxConcurrentConnections())
+                .pendingAcquireMaxCount(connectionPoolProperties.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(connectionPoolProperties.pendingAcquireTimeout())
+                .maxIdleTime(connectionPoolProperties.maxIdleTime())
+                .maxLifeTime(connectionPoolProperties.maxLifeTime())
+                .evictInBackground(connectionPoolProperties.evictionInterval())
+                .lifo() // 가장 최근에 사용한 (따뜻한) 연결부터 재사용
+                .metrics(true)
+                .build();
     }
 
     @Bean
     public WebClient kisApiWebClient() {
-        // HTTP Client 설정
-        HttpClient httpClient = HttpClient.create()
+        // HTTP Client 설정 (응답/쓰기 타임아웃은 요청 단위로 적용되어 풀에 반납된 유휴 연결에는 영향 없음)
+        // 요청 중에 붙인 WriteTimeoutHandler는 연결이 풀로 돌아갈 때 Reactor Netty가 떼어 낸다.
+        int writeTimeoutMs = kisApiProperties.timeout().writeTimeoutMs();
+        HttpClient httpClient = HttpClient.create(kisApiConnectionProvider())
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, kisApiProperties.timeout().connectionTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
                 .responseTimeout(Duration.ofMillis(kisApiProperties.timeout().readTimeoutMs()))
-                .doOnConnected(conn ->
-                        conn.addHandlerLast(new ReadTimeoutHandler(kisApiProperties.timeout().readTimeoutMs(), TimeUnit.MILLISECONDS))
-                                .addHandlerLast(new WriteTimeoutHandler(kisApiProperties.timeout().writeTimeoutMs(), TimeUnit.MILLISECONDS)));
+                .doOnRequest((request, connection) ->
+                        connection.addHandlerFirst(new WriteTimeoutHandler(writeTimeoutMs, TimeUnit.MILLISECONDS)));
 
         // Exchange Strategies 설정 (메모리 버퍼 크기 증가)
         ExchangeStrategies strategies = ExchangeStrategies.builder()
@@ -61,6 +92,8 @@ public class KisWebClientConfig {
                     filters.add(loggingFilter);
                     filters.add(errorHandlingFilter);
                     filters.add(rateLimitFilter);
+                    // 실제 호출 직전에 초당/분당/일일/동시연결 한도를 적용
+                    filters.add(kisRateLimiter.filter());
                 })
                 .build();
     }
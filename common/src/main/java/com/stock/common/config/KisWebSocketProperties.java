@@ -0,0 +1,227 @@
+package com.stock.common.config;
+
+import com.stock.common.realtime.BarResolution;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 실시간 웹소켓 구독 설정
+ * KIS는 세션 하나에 등록할 수 있는 실시간 항목 수를 제한하므로(기본 41건),
+ * 관심종목이 그보다 많으면 maxSessions까지 세션을 추가로 열어 나누어 등록한다 (세션마다 별도 접속키).
+ * 연결이 끊기면 reconnectInitialBackoff부터 reconnectMaxBackoff까지 늘려 가며 재연결한다.
+ */
+@ConfigurationProperties(prefix = "kis.api.websocket")
+public record KisWebSocketProperties(
+        boolean enabled,
+        int maxSubscriptionsPerSession,
+        int maxSessions,
+        List<String> watchlist,
+        Duration reconnectInitialBackoff,
+        Duration reconnectMaxBackoff,
+        Duration approvalKeyMaxAge,
+        int backfillConcurrency,
+        Liveness liveness,
+        Dispatch dispatch,
+        Buffer buffer,
+        Bars bars,
+        Journal journal,
+        OrderBook orderBook
+) {
+
+    public KisWebSocketProperties {
+        if (maxSubscriptionsPerSession <= 0) {
+            maxSubscriptionsPerSession = 41;
+        }
+        if (maxSessions <= 0) {
+            maxSessions = 1;
+        }
+        watchlist = watchlist == null ? List.of() : watchlist.stream()
+            .filter(stockCode -> stockCode != null && !stockCode.isBlank())
+            .map(String::trim)
+            .toList();
+        if (reconnectInitialBackoff == null || reconnectInitialBackoff.isNegative() || reconnectInitialBackoff.isZero()) {
+            reconnectInitialBackoff = Duration.ofSeconds(1);
+        }
+        if (reconnectMaxBackoff == null || reconnectMaxBackoff.compareTo(reconnectInitialBackoff) < 0) {
+            reconnectMaxBackoff = reconnectInitialBackoff.compareTo(Duration.ofMinutes(1)) > 0
+                ? reconnectInitialBackoff : Duration.ofMinutes(1);
+        }
+        if (approvalKeyMaxAge == null || approvalKeyMaxAge.isNegative() || approvalKeyMaxAge.isZero()) {
+            approvalKeyMaxAge = Duration.ofHours(12);
+        }
+        if (backfillConcurrency <= 0) {
+            backfillConcurrency = 4;
+        }
+        if (liveness == null) {
+            liveness = new Liveness(null, null);
+        }
+        if (dispatch == null) {
+            dispatch = new Dispatch(0, 0);
+        }
+        if (buffer == null) {
+            buffer = new Buffer(0, null);
+        }
+        if (bars == null) {
+            bars = new Bars(null, null, null);
+        }
+        if (journal == null) {
+            journal = new Journal(false, null, null, null);
+        }
+        if (orderBook == null) {
+            orderBook = new OrderBook(false);
+        }
+    }
+
+    /**
+     * 종목 하나가 차지하는 세션 등록 건수 (체결가, 호가 사용 시 호가 포함)
+     */
+    public int subscriptionsPerStock() {
+        return orderBook.enabled() ? 2 : 1;
+    }
+
+    /**
+     * 세션 생존 감시 설정
+     *
+     * @param checkInterval 감시 주기
+     * @param stallTimeout  이 시간 동안 메시지가 없으면 멈춘 세션으로 판단 (정규장 중에만 감시)
+     */
+    public record Liveness(
+            Duration checkInterval,
+            Duration stallTimeout
+    ) {
+
+        public Liveness {
+            if (checkInterval == null || checkInterval.isNegative() || checkInterval.isZero()) {
+                checkInterval = Duration.ofSeconds(10);
+            }
+            if (stallTimeout == null || stallTimeout.isNegative() || stallTimeout.isZero()) {
+                stallTimeout = Duration.ofSeconds(30);
+            }
+        }
+    }
+
+    /**
+     * 수신 프레임 처리 스레드 설정
+     *
+     * @param workers       작업 스레드 수 (기본: CPU 코어 수)
+     * @param queueCapacity 작업 스레드별 대기열 크기
+     */
+    public record Dispatch(
+            int workers,
+            int queueCapacity
+    ) {
+
+        public Dispatch {
+            if (workers <= 0) {
+                workers = Runtime.getRuntime().availableProcessors();
+            }
+            if (queueCapacity <= 0) {
+                queueCapacity = 10000;
+            }
+        }
+    }
+
+    /**
+     * 체결 버퍼 설정
+     *
+     * @param capacity       버퍼 크기 (체결 건수)
+     * @param overflowPolicy 가득 찼을 때 처리 방식
+     */
+    public record Buffer(
+            int capacity,
+            OverflowPolicy overflowPolicy
+    ) {
+
+        public Buffer {
+            if (capacity <= 0) {
+                capacity = 16384;
+            }
+            if (overflowPolicy == null) {
+                overflowPolicy = OverflowPolicy.BLOCK;
+            }
+        }
+    }
+
+    /**
+     * 실시간 봉 집계 설정
+     *
+     * @param closeGrace      봉 주기가 끝난 뒤 늦은 체결을 기다리는 시간 (이후 체결이 없는 종목의 봉도 닫음)
+     * @param resolutions     함께 만들 봉 주기 (오름차순으로 정렬해 사용)
+     * @param dailyCloseDelay 장 마감 후 일봉을 닫기까지 기다리는 시간 (종가 단일가 체결 수신 대기)
+     */
+    public record Bars(
+            Duration closeGrace,
+            List<BarResolution> resolutions,
+            Duration dailyCloseDelay
+    ) {
+
+        public Bars {
+            if (closeGrace == null || closeGrace.isNegative()) {
+                closeGrace = Duration.ofSeconds(2);
+            }
+            resolutions = resolutions == null || resolutions.isEmpty()
+                ? List.of(BarResolution.values())
+                : resolutions.stream().distinct().sorted().toList();
+            if (dailyCloseDelay == null || dailyCloseDelay.isNegative()) {
+                dailyCloseDelay = Duration.ofMinutes(5);
+            }
+        }
+    }
+
+    /**
+     * 수신 프레임 기록 설정
+     *
+     * @param enabled     원본 프레임 기록 여부
+     * @param directory   세그먼트 파일 디렉터리
+     * @param segmentSize 세그먼트 파일 하나의 크기 (가득 차거나 날짜가 바뀌면 새 파일)
+     * @param archiveDirectory 장 마감 후 하루치 체결을 압축해 두는 보관 파일 디렉터리
+     */
+    public record Journal(
+            boolean enabled,
+            Path directory,
+            DataSize segmentSize,
+            Path archiveDirectory
+    ) {
+
+        public Journal {
+            if (directory == null) {
+                directory = Path.of("data", "journal");
+            }
+            if (segmentSize == null || segmentSize.toBytes() <= 0) {
+                segmentSize = DataSize.ofMegabytes(256);
+            }
+            if (archiveDirectory == null) {
+                archiveDirectory = Path.of("data", "archive");
+            }
+        }
+    }
+
+    /**
+     * 실시간 호가 설정
+     *
+     * @param enabled 관심종목의 실시간 호가(H0STASP0) 등록 여부 (종목당 세션 등록 2건을 차지)
+     */
+    public record OrderBook(
+            boolean enabled
+    ) {
+    }
+
+    /**
+     * 체결 버퍼가 가득 찼을 때 처리 방식
+     * 생산자는 프레임 처리 작업 스레드라서 대기해도 웹소켓 수신까지 막지는 못한다.
+     * 작업 스레드가 기다리는 동안 그 대기열(dispatch.queueCapacity)이 차면 이후 데이터 프레임은 디스패처에서 버려진다
+     * (kis.websocket.dispatch.rejected).
+     */
+    public enum OverflowPolicy {
+        /** 자리가 날 때까지 생산자(작업 스레드) 대기 */
+        BLOCK,
+        /** 가장 오래된 체결을 버리고 추가 */
+        DROP_OLDEST,
+        /** 같은 종목의 마지막 대기 체결이 같은 초, 같은 가격, 같은 체결구분이면 합침 (체결량 합산, 봉은 그대로). 합칠 수 없으면 BLOCK */
+        CONFLATE_LATEST_PER_SYMBOL
+    }
+}
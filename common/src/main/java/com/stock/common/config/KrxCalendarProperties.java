@@ -0,0 +1,45 @@
+package com.stock.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import java.time.LocalTime;
+
+/**
+ * KRX 거래일/거래시간 설정 (모든 시각은 KST)
+ * 평일 중 holidays 파일에 없는 날이 거래일이며, 파일에 시간이 적힌 날(수능일, 새해 첫 거래일 등)은 그 시간으로 연다.
+ *
+ * @param holidays        휴장일/특별 거래시간 파일 (기본: classpath:krx-holidays.txt)
+ * @param preMarketOpen   장전 시간외 시작
+ * @param regularOpen     정규장 시작
+ * @param regularClose    정규장 마감 (종가 단일가 포함)
+ * @param postMarketClose 장후 시간외(시간외 단일가) 마감
+ */
+@ConfigurationProperties(prefix = "kis.calendar")
+public record KrxCalendarProperties(
+        Resource holidays,
+        LocalTime preMarketOpen,
+        LocalTime regularOpen,
+        LocalTime regularClose,
+        LocalTime postMarketClose
+) {
+
+    public KrxCalendarProperties {
+        if (holidays == null) {
+            holidays = new ClassPathResource("krx-holidays.txt");
+        }
+        if (preMarketOpen == null) {
+            preMarketOpen = LocalTime.of(8, 30);
+        }
+        if (regularOpen == null) {
+            regularOpen = LocalTime.of(9, 0);
+        }
+        if (regularClose == null) {
+            regularClose = LocalTime.of(15, 30);
+        }
+        if (postMarketClose == null) {
+            postMarketClose = LocalTime.of(18, 0);
+        }
+    }
+}
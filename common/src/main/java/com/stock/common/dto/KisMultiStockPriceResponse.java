@@ -0,0 +1,115 @@
+package com.stock.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 관심종목(멀티종목) 시세 조회 응답 DTO
+ * 한국투자증권 API: 국내주식-205 (최대 30종목)
+ */
+public record KisMultiStockPriceResponse(
+    @JsonProperty("rt_cd") String returnCode,
+    @JsonProperty("msg_cd") String messageCode,
+    @JsonProperty("msg1") String message,
+    @JsonProperty("output") List<Item> output
+) {
+
+    public record Item(
+        // 기본 정보
+        @JsonProperty("kospi_kosdaq_cls_name") String marketName,       // 코스피/코스닥 구분명
+        @JsonProperty("mrkt_trtm_cls_name") String marketActionName,    // 시장조치 구분명
+        @JsonProperty("hour_cls_code") String hourClassCode,            // 시간 구분 코드
+        @JsonProperty("inter_shrn_iscd") String stockCode,              // 단축 종목코드
+        @JsonProperty("inter_kor_isnm") String stockName,               // 종목명
+
+        // 현재가 정보
+        @JsonProperty("inter2_prpr") String currentPrice,               // 현재가
+        @JsonProperty("inter2_prdy_vrss") String priceChange,           // 전일 대비
+        @JsonProperty("prdy_vrss_sign") String priceChangeSign,         // 전일 대비 부호
+        @JsonProperty("prdy_ctrt") String priceChangeRate,              // 전일 대비율
+        @JsonProperty("inter2_prdy_clpr") String previousClosePrice,    // 전일 종가
+
+        // 호가 정보
+        @JsonProperty("inter2_askp") String askPrice1,                  // 매도호가
+        @JsonProperty("inter2_bidp") String bidPrice1,                  // 매수호가
+        @JsonProperty("seln_rsqn") String askQuantity1,                 // 매도 잔량
+        @JsonProperty("shnu_rsqn") String bidQuantity1,                 // 매수 잔량
+
+        // 거래량 정보
+        @JsonProperty("acml_vol") String accumulatedVolume,             // 누적 거래량
+        @JsonProperty("acml_tr_pbmn") String accumulatedValue,          // 누적 거래대금
+
+        // 가격 범위
+        @JsonProperty("inter2_oprc") String openPrice,                  // 시가
+        @JsonProperty("inter2_hgpr") String highPrice,                  // 고가
+        @JsonProperty("inter2_lwpr") String lowPrice,                   // 저가
+        @JsonProperty("inter2_mxpr") String maxPrice,                   // 상한가
+        @JsonProperty("inter2_llam") String minPrice                    // 하한가
+    ) {
+
+        /**
+         * 단일 종목 현재가 응답의 Output 형태로 변환
+         * 멀티종목 조회에서 제공하지 않는 항목은 null
+         */
+        public KisStockPriceResponse.Output toOutput() {
+            return new KisStockPriceResponse.Output(
+                currentPrice,
+                priceChange,
+                priceChangeSign,
+                priceChangeRate,
+                askPrice1,
+                bidPrice1,
+                askQuantity1,
+                bidQuantity1,
+                accumulatedVolume,
+                accumulatedValue,
+                null,
+                null,
+                openPrice,
+                highPrice,
+                lowPrice,
+                maxPrice,
+                minPrice,
+                stockCode,
+                stockName,
+                marketName,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null
+            );
+        }
+    }
+
+    /**
+     * 응답이 성공인지 확인
+     */
+    public boolean isSuccessful() {
+        return "0".equals(returnCode);
+    }
+
+    /**
+     * 에러 메시지 반환
+     */
+    public String getErrorMessage() {
+        if (isSuccessful()) {
+            return null;
+        }
+        return String.format("[%s] %s", messageCode, message);
+    }
+
+    /**
+     * 종목별 단일 현재가 응답 목록으로 변환
+     */
+    public List<KisStockPriceResponse> toStockPriceResponses() {
+        if (output == null) {
+            return List.of();
+        }
+        return output.stream()
+            .map(item -> new KisStockPriceResponse(returnCode, messageCode, message, item.toOutput()))
+            .toList();
+    }
+}
@@ -10,6 +10,10 @@ public record KisRealTimeSubscriptionRequest(
     Body body
 ) {
 
+    // tr_type: 1 등록, 2 해제
+    public static final String TR_TYPE_REGISTER = "1";
+    public static final String TR_TYPE_UNREGISTER = "2";
+
     public record Header(
         @JsonProperty("approval_key") String approvalKey,
         @JsonProperty("custtype") String customerType,
@@ -30,10 +34,39 @@ public record KisRealTimeSubscriptionRequest(
         @JsonProperty("tr_key") String transactionKey
     ) {}
 
-    public static KisRealTimeSubscriptionRequest execution(String approvalKey, String stockCode) {
-        Header header = new Header(approvalKey, "1"); // 1: 실시간 체결가
-        Input input = new Input("H0STCNT0", stockCode);
+    public static KisRealTimeSubscriptionRequest of(String approvalKey, String transactionType,
+                                                    String transactionId, String transactionKey) {
+        Header header = new Header(approvalKey, transactionType);
+        Input input = new Input(transactionId, transactionKey);
         Body body = new Body(input);
         return new KisRealTimeSubscriptionRequest(header, body);
     }
+
+    /**
+     * 실시간 체결가(H0STCNT0) 등록
+     */
+    public static KisRealTimeSubscriptionRequest execution(String approvalKey, String stockCode) {
+        return of(approvalKey, TR_TYPE_REGISTER, "H0STCNT0", stockCode);
+    }
+
+    /**
+     * 실시간 체결가(H0STCNT0) 해제
+     */
+    public static KisRealTimeSubscriptionRequest executionUnsubscribe(String approvalKey, String stockCode) {
+        return of(approvalKey, TR_TYPE_UNREGISTER, "H0STCNT0", stockCode);
+    }
+
+    /**
+     * 실시간 호가(H0STASP0) 등록
+     */
+    public static KisRealTimeSubscriptionRequest orderBook(String approvalKey, String stockCode) {
+        return of(approvalKey, TR_TYPE_REGISTER, "H0STASP0", stockCode);
+    }
+
+    /**
+     * 실시간 호가(H0STASP0) 해제
+     */
+    public static KisRealTimeSubscriptionRequest orderBookUnsubscribe(String approvalKey, String stockCode) {
+        return of(approvalKey, TR_TYPE_UNREGISTER, "H0STASP0", stockCode);
+    }
 }
@@ -19,6 +19,13 @@ public record KisTokenResponse(
     LocalDateTime issuedAt
 ) {
     
+    public KisTokenResponse {
+        // KIS 응답에는 발급 시각이 없으므로 역직렬화 시점을 발급 시각으로 사용
+        if (issuedAt == null) {
+            issuedAt = LocalDateTime.now();
+        }
+    }
+    
     public KisTokenResponse(String accessToken, String tokenType, long expiresIn, String accessTokenExpired) {
         this(accessToken, tokenType, expiresIn, accessTokenExpired, LocalDateTime.now());
     }
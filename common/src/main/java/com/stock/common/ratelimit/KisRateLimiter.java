@@ -0,0 +1,379 @@
+package com.stock.common.ratelimit;
+
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.exception.KisRateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 한국투자증권 API 호출 제한기
+ * KisApiProperties.RateLimit 설정을 기준으로 초당/분당 토큰 버킷, 일일 호출 한도, 동시 연결 수를 제어한다.
+ * 분당 버킷과 일일 한도는 0으로 설정하면 적용하지 않는다(일일 사용량은 계속 집계).
+ * 토큰이 부족하면 요청을 거절하지 않고 리액티브하게 지연시키며, 일일 한도 초과 시에만 예외를 발생시킨다.
+ */
+@Component
+public class KisRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(KisRateLimiter.class);
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final TokenBucket secondBucket;
+    private final TokenBucket minuteBucket; // 분당 한도 미적용 시 null
+
+    private final int requestsPerDay; // 0이면 미적용
+    private final AtomicLong dailyUsed = new AtomicLong();
+    private volatile LocalDate quotaDate = LocalDate.now(KST);
+
+    private final AtomicInteger availablePermits;
+    private final Queue<PermitWaiter> permitWaiters = new ConcurrentLinkedQueue<>();
+
+    private final Counter delayedCounter;
+    private final Counter rejectedCounter;
+    private final Counter throttledCounter;
+    private final Timer waitTimer;
+
+    public KisRateLimiter(KisApiProperties kisApiProperties, MeterRegistry meterRegistry) {
+        KisApiProperties.RateLimit rateLimit = kisApiProperties.rateLimit();
+        long now = System.nanoTime();
+
+        this.secondBucket = new TokenBucket(rateLimit.requestsPerSecond(), NANOS_PER_SECOND, now);
+        this.minuteBucket = rateLimit.requestsPerMinute() > 0
+            ? new TokenBucket(rateLimit.requestsPerMinute(), NANOS_PER_MINUTE, now)
+            : null;
+        this.requestsPerDay = rateLimit.requestsPerDay();
+        this.availablePermits = new AtomicInteger(rateLimit.maxConcurrentConnections());
+
+        Gauge.builder("kis.api.ratelimit.tokens", this, limiter -> limiter.availableTokens(limiter.secondBucket))
+            .tag("bucket", "second")
+            .description("초당 버킷의 남은 토큰 수")
+            .register(meterRegistry);
+        if (minuteBucket != null) {
+            Gauge.builder("kis.api.ratelimit.tokens", this, limiter -> limiter.availableTokens(limiter.minuteBucket))
+                .tag("bucket", "minute")
+                .description("분당 버킷의 남은 토큰 수")
+                .register(meterRegistry);
+        }
+        Gauge.builder("kis.api.ratelimit.daily.used", dailyUsed, AtomicLong::get)
+            .description("금일 사용한 API 호출 수")
+            .register(meterRegistry);
+        if (requestsPerDay > 0) {
+            Gauge.builder("kis.api.ratelimit.daily.remaining", this, KisRateLimiter::getDailyRemaining)
+                .description("금일 남은 API 호출 수")
+                .register(meterRegistry);
+        }
+        Gauge.builder("kis.api.ratelimit.permits.available", availablePermits, AtomicInteger::get)
+            .description("사용 가능한 동시 연결 수")
+            .register(meterRegistry);
+        Gauge.builder("kis.api.ratelimit.permits.pending", permitWaiters, Queue::size)
+            .description("동시 연결 대기 중인 요청 수")
+            .register(meterRegistry);
+
+        this.delayedCounter = Counter.builder("kis.api.ratelimit.delayed")
+            .description("토큰 부족으로 지연된 횟수")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("kis.api.ratelimit.rejected")
+            .description("일일 한도 초과로 거절된 요청 수")
+            .register(meterRegistry);
+        this.throttledCounter = Counter.builder("kis.api.ratelimit.throttled")
+            .description("서버로부터 429 응답을 받은 횟수")
+            .register(meterRegistry);
+        this.waitTimer = Timer.builder("kis.api.ratelimit.wait")
+            .description("호출 허가를 받기까지 대기한 시간")
+            .register(meterRegistry);
+
+        log.info("KIS API 호출 제한 설정: 초당={}, 분당={}, 일일={}, 동시연결={}",
+            rateLimit.requestsPerSecond(), describeLimit(rateLimit.requestsPerMinute()),
+            describeLimit(rateLimit.requestsPerDay()), rateLimit.maxConcurrentConnections());
+    }
+
+    /**
+     * kisApiWebClient 필터 체인에 등록할 호출 제한 필터
+     * 허가를 받은 뒤 요청을 보내고, 응답(또는 오류/취소) 시 동시 연결 허가를 반납한다.
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.usingWhen(
+            acquire(),
+            permit -> next.exchange(request)
+                .doOnNext(response -> {
+                    if (response.statusCode().value() == 429) {
+                        onThrottled();
+                    }
+                }),
+            permit -> Mono.fromRunnable(permit::release),
+            (permit, error) -> Mono.fromRunnable(permit::release),
+            permit -> Mono.fromRunnable(permit::release));
+    }
+
+    /**
+     * 호출 허가 획득
+     * 동시 연결 허가 → 초당/분당 토큰 → 일일 한도 순으로 확인한다.
+     */
+    public Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return acquirePermit()
+                .flatMap(permit -> awaitTokens()
+                    .then(Mono.fromRunnable(this::consumeDailyQuota))
+                    .thenReturn(permit)
+                    .doOnError(error -> permit.release())
+                    .doOnCancel(permit::release))
+                .doOnSuccess(permit -> waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * 429 응답 수신 시 남은 토큰을 비워 이후 요청이 다음 충전 주기까지 대기하도록 한다.
+     */
+    public void onThrottled() {
+        throttledCounter.increment();
+        synchronized (this) {
+            secondBucket.drain();
+            if (minuteBucket != null) {
+                minuteBucket.drain();
+            }
+        }
+        log.warn("KIS API 429 응답 수신 - 토큰 버킷을 비우고 다음 충전 주기까지 대기합니다");
+    }
+
+    public long getDailyUsed() {
+        rollQuotaDateIfNeeded();
+        return dailyUsed.get();
+    }
+
+    /**
+     * 금일 남은 호출 수 (일일 한도 미적용 시 Long.MAX_VALUE)
+     */
+    public long getDailyRemaining() {
+        if (requestsPerDay <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, requestsPerDay - getDailyUsed());
+    }
+
+    public int getAvailablePermits() {
+        return availablePermits.get();
+    }
+
+    private Mono<Void> awaitTokens() {
+        return Mono.defer(() -> {
+            long waitNanos = tryConsumeTokens(System.nanoTime());
+            if (waitNanos == 0) {
+                return Mono.empty();
+            }
+            delayedCounter.increment();
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(awaitTokens());
+        });
+    }
+
+    /**
+     * 두 버킷 모두 토큰이 있으면 소비 후 0을, 아니면 다음 토큰까지 남은 시간(ns)을 반환한다.
+     */
+    private synchronized long tryConsumeTokens(long now) {
+        secondBucket.refill(now);
+        if (minuteBucket == null) {
+            if (secondBucket.hasToken()) {
+                secondBucket.consume();
+                return 0;
+            }
+            return Math.max(1, secondBucket.nanosUntilToken());
+        }
+        minuteBucket.refill(now);
+        if (secondBucket.hasToken() && minuteBucket.hasToken()) {
+            secondBucket.consume();
+            minuteBucket.consume();
+            return 0;
+        }
+        return Math.max(1, Math.max(secondBucket.nanosUntilToken(), minuteBucket.nanosUntilToken()));
+    }
+
+    private synchronized double availableTokens(TokenBucket bucket) {
+        bucket.refill(System.nanoTime());
+        return bucket.tokens;
+    }
+
+    private void consumeDailyQuota() {
+        rollQuotaDateIfNeeded();
+        long used = dailyUsed.incrementAndGet();
+        if (requestsPerDay > 0 && used > requestsPerDay) {
+            dailyUsed.decrementAndGet();
+            rejectedCounter.increment();
+            throw new KisRateLimitExceededException(
+                "KIS API 일일 호출 한도(" + requestsPerDay + "회)를 초과했습니다", secondsUntilQuotaReset());
+        }
+    }
+
+    private void rollQuotaDateIfNeeded() {
+        LocalDate today = LocalDate.now(KST);
+        if (!today.equals(quotaDate)) {
+            synchronized (this) {
+                if (!today.equals(quotaDate)) {
+                    log.info("KIS API 일일 호출 수 초기화: {} 사용량={}", quotaDate, dailyUsed.get());
+                    dailyUsed.set(0);
+                    quotaDate = today;
+                }
+            }
+        }
+    }
+
+    private int secondsUntilQuotaReset() {
+        LocalDateTime now = LocalDateTime.now(KST);
+        return (int) Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toSeconds();
+    }
+
+    private static String describeLimit(int limit) {
+        return limit > 0 ? String.valueOf(limit) : "미적용";
+    }
+
+    private Mono<Permit> acquirePermit() {
+        return Mono.create(sink -> {
+            if (tryTakePermit()) {
+                sink.success(new Permit());
+                return;
+            }
+            PermitWaiter waiter = new PermitWaiter(sink);
+            sink.onCancel(waiter::cancel);
+            permitWaiters.offer(waiter);
+            drainPermitWaiters();
+        });
+    }
+
+    private boolean tryTakePermit() {
+        int current;
+        do {
+            current = availablePermits.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!availablePermits.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    private void releasePermit() {
+        availablePermits.incrementAndGet();
+        drainPermitWaiters();
+    }
+
+    private void drainPermitWaiters() {
+        while (!permitWaiters.isEmpty() && tryTakePermit()) {
+            PermitWaiter waiter = permitWaiters.poll();
+            if (waiter == null || !waiter.grant(new Permit())) {
+                availablePermits.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 동시 연결 허가
+     * 여러 번 반납을 시도해도 한 번만 반납된다.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                releasePermit();
+            }
+        }
+    }
+
+    private final class PermitWaiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private volatile Permit permit;
+
+        private PermitWaiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant(Permit granted) {
+            this.permit = granted;
+            if (!state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+            sink.success(granted);
+            return true;
+        }
+
+        private void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                permitWaiters.remove(this);
+            } else if (permit != null) {
+                // 허가를 받은 직후 취소된 경우 허가를 되돌린다
+                permit.release();
+            }
+        }
+    }
+
+    /**
+     * 고정 용량 토큰 버킷 (동기화는 KisRateLimiter 모니터에서 처리)
+     */
+    private static final class TokenBucket {
+
+        private final int capacity;
+        private final double nanosPerToken;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private TokenBucket(int capacity, long periodNanos, long now) {
+            this.capacity = capacity;
+            this.nanosPerToken = (double) periodNanos / capacity;
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed / nanosPerToken);
+                lastRefillNanos = now;
+            }
+        }
+
+        private boolean hasToken() {
+            return tokens >= 1.0;
+        }
+
+        private void consume() {
+            tokens -= 1.0;
+        }
+
+        private void drain() {
+            tokens = 0;
+        }
+
+        private long nanosUntilToken() {
+            return hasToken() ? 0 : (long) Math.ceil((1.0 - tokens) * nanosPerToken);
+        }
+    }
+}
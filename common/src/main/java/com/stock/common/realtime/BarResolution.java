@@ -0,0 +1,45 @@
+package com.stock.common.realtime;
+
+/**
+ * 실시간 봉 주기
+ * 아래 주기의 봉을 모아 위 주기의 봉을 만들므로 각 주기는 더 짧은 모든 주기의 배수이고, 1시간 이하 주기는 정시에 맞춰 나뉜다.
+ */
+public enum BarResolution {
+    SECOND_1(1),
+    SECOND_10(10),
+    MINUTE_1(60),
+    MINUTE_5(300),
+    HOUR_1(3600),
+    DAY_1(86400);
+
+    private final int seconds;
+
+    BarResolution(int seconds) {
+        this.seconds = seconds;
+    }
+
+    public int seconds() {
+        return seconds;
+    }
+
+    /**
+     * 하루 중 초(0~86399)가 속한 봉의 시작 초
+     */
+    public int bucketStart(int secondOfDay) {
+        return secondOfDay - secondOfDay % seconds;
+    }
+
+    /**
+     * 시각 HHmmss를 하루 중 초로 변환
+     */
+    public static int secondOfDay(int time) {
+        return time / 10000 * 3600 + time / 100 % 100 * 60 + time % 100;
+    }
+
+    /**
+     * 하루 중 초를 시각 HHmmss로 변환
+     */
+    public static int toTime(int secondOfDay) {
+        return secondOfDay / 3600 * 10000 + secondOfDay / 60 % 60 * 100 + secondOfDay % 60;
+    }
+}
@@ -0,0 +1,113 @@
+package com.stock.common.realtime;
+
+import com.stock.common.dto.KisStockPriceResponse;
+
+/**
+ * 실시간 주식 체결가(H0STCNT0) 한 건
+ * 가격/수량은 원 단위 정수, 비율은 % 단위 실수로 보관한다.
+ *
+ * @param stockCode             종목코드 (MKSC_SHRN_ISCD)
+ * @param businessDate          영업일자 yyyyMMdd (BSOP_DATE)
+ * @param executionTime         체결시간 HHmmss (STCK_CNTG_HOUR)
+ * @param price                 현재가 (STCK_PRPR)
+ * @param changeSign            전일대비부호 1:상한 2:상승 3:보합 4:하한 5:하락 (PRDY_VRSS_SIGN)
+ * @param change                전일대비 (PRDY_VRSS)
+ * @param changeRate            전일대비율 (PRDY_CTRT)
+ * @param openPrice             시가 (STCK_OPRC)
+ * @param highPrice             고가 (STCK_HGPR)
+ * @param lowPrice              저가 (STCK_LWPR)
+ * @param askPrice1             매도호가1 (ASKP1)
+ * @param bidPrice1             매수호가1 (BIDP1)
+ * @param executionVolume       체결거래량 (CNTG_VOL)
+ * @param accumulatedVolume     누적거래량 (ACML_VOL)
+ * @param accumulatedTradeValue 누적거래대금 (ACML_TR_PBMN)
+ * @param executionStrength     체결강도 (CTTR)
+ * @param executionType         체결구분 1:매수 3:장전 5:매도 (CCLD_DVSN)
+ */
+public record KisExecutionTick(
+    String stockCode,
+    int businessDate,
+    int executionTime,
+    long price,
+    int changeSign,
+    long change,
+    double changeRate,
+    long openPrice,
+    long highPrice,
+    long lowPrice,
+    long askPrice1,
+    long bidPrice1,
+    long executionVolume,
+    long accumulatedVolume,
+    long accumulatedTradeValue,
+    double executionStrength,
+    int executionType
+) {
+
+    /**
+     * 체결구분 없음 (REST 시세로 보정한 합성 체결)
+     */
+    public static final int EXECUTION_TYPE_SNAPSHOT = 0;
+
+    /**
+     * REST 현재가 응답으로 합성 체결 생성
+     * 실시간 연결이 끊긴 동안 놓친 누적 거래량(executionVolume)과 가격 상태를 하위 집계에 전달하는 데 쓴다.
+     *
+     * @param stockCode       종목코드 (현재가 응답에는 종목코드가 비어 있을 수 있어 요청 값을 사용)
+     * @param output          주식현재가 응답
+     * @param businessDate    영업일자 yyyyMMdd
+     * @param executionTime   보정 시각 HHmmss
+     * @param executionVolume 놓친 거래량
+     */
+    public static KisExecutionTick fromSnapshot(String stockCode, KisStockPriceResponse.Output output,
+                                                int businessDate, int executionTime, long executionVolume) {
+        return new KisExecutionTick(
+            stockCode,
+            businessDate,
+            executionTime,
+            parseLong(output.currentPrice()),
+            (int) parseLong(output.priceChangeSign()),
+            parseLong(output.priceChange()),
+            parseDouble(output.priceChangeRate()),
+            parseLong(output.openPrice()),
+            parseLong(output.highPrice()),
+            parseLong(output.lowPrice()),
+            parseLong(output.askPrice1()),
+            parseLong(output.bidPrice1()),
+            executionVolume,
+            parseLong(output.accumulatedVolume()),
+            parseLong(output.accumulatedValue()),
+            0,
+            EXECUTION_TYPE_SNAPSHOT
+        );
+    }
+
+    /**
+     * REST 시세로 보정한 합성 체결 여부
+     */
+    public boolean isSnapshot() {
+        return executionType == EXECUTION_TYPE_SNAPSHOT;
+    }
+
+    /**
+     * 매수 체결 여부
+     */
+    public boolean isBuy() {
+        return executionType == 1;
+    }
+
+    /**
+     * 매도 체결 여부
+     */
+    public boolean isSell() {
+        return executionType == 5;
+    }
+
+    private static long parseLong(String value) {
+        return value == null ? 0 : KisRealTimeFrameParser.parseLong(value, 0, value.length());
+    }
+
+    private static double parseDouble(String value) {
+        return value == null ? 0 : KisRealTimeFrameParser.parseDecimal(value, 0, value.length());
+    }
+}
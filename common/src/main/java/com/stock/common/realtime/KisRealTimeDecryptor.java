@@ -0,0 +1,198 @@
+package com.stock.common.realtime;
+
+import com.stock.common.exception.KisWebSocketException;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+
+/**
+ * 암호화된 실시간 데이터 프레임 복호화 (AES-256-CBC)
+ * 체결통보(H0STCNI0) 등 암호화 채널은 "1|TR_ID|데이터건수|base64본문" 형식으로 들어오며,
+ * 키(key)와 초기화벡터(iv)는 해당 TR 구독 응답의 output에 한 번만 담겨 온다.
+ * 구독 응답을 받으면 {@link #register}로 TR별 키를 등록하고, 이후 프레임은 {@link #decrypt}로 평문 본문을 얻는다.
+ *
+ * Cipher와 base64/평문 버퍼는 스레드마다 하나씩 두고 재사용한다.
+ * Cipher는 doFinal 후 init 직후 상태(같은 키/iv)로 돌아가므로 같은 TR이 이어지면 init도 생략한다.
+ */
+public final class KisRealTimeDecryptor {
+
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+    // 등록 채널 수가 적어(구독 TR 종류 수) 배열을 통째로 교체하고 순차 탐색한다
+    private volatile Channel[] channels = new Channel[0];
+
+    /**
+     * 구독 응답으로 받은 TR별 키/iv 등록 (같은 TR을 다시 등록하면 교체)
+     */
+    public synchronized void register(String transactionId, String key, String iv) {
+        if (key == null || iv == null) {
+            throw new KisWebSocketException("복호화 키 또는 iv가 없습니다: " + transactionId);
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] ivBytes = iv.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length != 32 || ivBytes.length != 16) {
+            throw new KisWebSocketException(String.format(
+                "AES-256-CBC 키/iv 길이가 올바르지 않습니다: %s (key %d바이트, iv %d바이트)",
+                transactionId, keyBytes.length, ivBytes.length));
+        }
+        Channel channel = new Channel(transactionId, new SecretKeySpec(keyBytes, "AES"), new IvParameterSpec(ivBytes));
+
+        Channel[] current = channels;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].transactionId.equals(transactionId)) {
+                Channel[] updated = current.clone();
+                updated[i] = channel;
+                channels = updated;
+                return;
+            }
+        }
+        Channel[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = channel;
+        channels = updated;
+    }
+
+    public synchronized void unregister(String transactionId) {
+        channels = Arrays.stream(channels)
+            .filter(channel -> !channel.transactionId.equals(transactionId))
+            .toArray(Channel[]::new);
+    }
+
+    /**
+     * 프레임의 TR에 대한 키가 등록되어 있는지 확인
+     */
+    public boolean canDecrypt(CharSequence frame) {
+        return find(frame) != null;
+    }
+
+    /**
+     * 암호화 프레임의 본문을 복호화
+     * 반환값은 호출 스레드의 재사용 버퍼이므로 같은 스레드에서 다음 decrypt를 호출하기 전까지만 유효하다.
+     * 보관이 필요하면 toString()으로 복사해야 한다.
+     *
+     * @throws KisWebSocketException 키가 등록되지 않았거나 본문이 올바르지 않은 경우
+     */
+    public CharSequence decrypt(CharSequence frame) {
+        Channel channel = find(frame);
+        if (channel == null) {
+            throw new KisWebSocketException("복호화 키가 등록되지 않은 실시간 프레임입니다");
+        }
+        Context context = CONTEXT.get();
+        int encryptedLength = context.decodeBase64(frame, KisRealTimeFrameParser.payloadStart(frame), frame.length());
+        return context.decrypt(channel, encryptedLength);
+    }
+
+    private Channel find(CharSequence frame) {
+        for (Channel channel : channels) {
+            if (KisRealTimeFrameParser.hasTransactionId(frame, channel.transactionId)) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    private record Channel(String transactionId, SecretKeySpec key, IvParameterSpec iv) {
+    }
+
+    /**
+     * 스레드별 Cipher와 재사용 버퍼
+     */
+    private static final class Context {
+
+        private final Cipher cipher;
+        private final CharsetDecoder utf8 = StandardCharsets.UTF_8.newDecoder();
+        private Channel initializedFor;
+        private byte[] encrypted = new byte[1024];
+        private ByteBuffer plain = ByteBuffer.allocate(1024);
+        private CharBuffer text = CharBuffer.allocate(1024);
+
+        private Context() {
+            try {
+                cipher = Cipher.getInstance(TRANSFORMATION);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(TRANSFORMATION + " Cipher를 사용할 수 없습니다", e);
+            }
+        }
+
+        /**
+         * [from, to) 구간의 base64를 encrypted 버퍼로 디코딩
+         *
+         * @return 디코딩한 바이트 수
+         */
+        private int decodeBase64(CharSequence data, int from, int to) {
+            int maxLength = (to - from) / 4 * 3 + 3;
+            if (encrypted.length < maxLength) {
+                encrypted = new byte[Math.max(maxLength, encrypted.length * 2)];
+            }
+            int length = 0;
+            int bits = 0;
+            int bitCount = 0;
+            for (int i = from; i < to; i++) {
+                char c = data.charAt(i);
+                if (c == '=') {
+                    break;
+                }
+                int value = c < 128 ? BASE64_VALUES[c] : -1;
+                if (value < 0) {
+                    throw new KisWebSocketException("base64 본문이 아닙니다: 위치 " + (i - from));
+                }
+                bits = (bits << 6) | value;
+                bitCount += 6;
+                if (bitCount >= 8) {
+                    bitCount -= 8;
+                    encrypted[length++] = (byte) (bits >> bitCount);
+                }
+            }
+            return length;
+        }
+
+        private CharSequence decrypt(Channel channel, int encryptedLength) {
+            if (plain.capacity() < encryptedLength) {
+                plain = ByteBuffer.allocate(Math.max(encryptedLength, plain.capacity() * 2));
+            }
+            try {
+                if (initializedFor != channel) {
+                    cipher.init(Cipher.DECRYPT_MODE, channel.key, channel.iv);
+                    initializedFor = channel;
+                }
+                int plainLength = cipher.doFinal(encrypted, 0, encryptedLength, plain.array(), 0);
+                plain.clear().limit(plainLength);
+            } catch (GeneralSecurityException e) {
+                // 실패한 Cipher 상태를 다음 호출에서 다시 초기화
+                initializedFor = null;
+                throw new KisWebSocketException("실시간 프레임 복호화 실패: " + channel.transactionId, e);
+            }
+
+            if (text.capacity() < plain.limit()) {
+                text = CharBuffer.allocate(Math.max(plain.limit(), text.capacity() * 2));
+            }
+            text.clear();
+            utf8.reset();
+            CoderResult result = utf8.decode(plain, text, true);
+            if (result.isError()) {
+                throw new KisWebSocketException("복호화한 본문이 UTF-8이 아닙니다: " + channel.transactionId);
+            }
+            utf8.flush(text);
+            return text.flip();
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.stock.common.realtime;
+
+import com.stock.common.exception.KisWebSocketException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 한국투자증권 실시간 데이터 프레임 파서
+ * 실시간 시세는 JSON이 아니라 "암호화여부|TR_ID|데이터건수|필드^필드^..." 형식의 텍스트로 전달된다.
+ * 예: 0|H0STCNT0|003|005930^093001^75000^...
+ * 데이터건수가 2 이상이면 한 프레임에 여러 건의 레코드가 이어서 들어오며, 레코드 사이도 '^'로 구분된다.
+ * String.split/정규식 없이 인덱스로 직접 훑으며, 숫자 필드는 중간 문자열을 만들지 않고 바로 기본형으로 변환한다.
+ */
+public final class KisRealTimeFrameParser {
+
+    public static final String TR_ID_EXECUTION = "H0STCNT0";
+    public static final String TR_ID_ORDER_BOOK = "H0STASP0";
+
+    // H0STCNT0 레코드 한 건의 필드 수
+    static final int EXECUTION_FIELD_COUNT = 46;
+
+    // H0STASP0 레코드 한 건의 필드 수와 호가/잔량 필드 위치 (종목코드, 영업시간, 시간구분코드 다음부터 40개)
+    static final int ORDER_BOOK_FIELD_COUNT = 59;
+    private static final int ORDER_BOOK_LEVELS_START = 3;
+    private static final int ORDER_BOOK_TOTAL_ASK = ORDER_BOOK_LEVELS_START + OrderBook.LEVEL_FIELDS;
+    private static final int ORDER_BOOK_TOTAL_BID = ORDER_BOOK_TOTAL_ASK + 1;
+
+    private static final char FRAME_DELIMITER = '|';
+    private static final char FIELD_DELIMITER = '^';
+
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+        1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+
+    private KisRealTimeFrameParser() {
+    }
+
+    /**
+     * 실시간 데이터 프레임 여부 ('0|' 평문 또는 '1|' 암호문으로 시작)
+     * JSON 응답(구독 결과, PINGPONG)은 false
+     */
+    public static boolean isDataFrame(CharSequence payload) {
+        return payload != null
+            && payload.length() > 2
+            && (payload.charAt(0) == '0' || payload.charAt(0) == '1')
+            && payload.charAt(1) == FRAME_DELIMITER;
+    }
+
+    /**
+     * 암호화된 프레임 여부
+     */
+    public static boolean isEncrypted(CharSequence frame) {
+        return frame.charAt(0) == '1';
+    }
+
+    /**
+     * 프레임의 TR_ID가 주어진 값인지 확인 (부분 문자열 생성 없이 비교)
+     */
+    public static boolean hasTransactionId(CharSequence frame, String transactionId) {
+        int end = 2 + transactionId.length();
+        if (frame.length() <= end || frame.charAt(end) != FRAME_DELIMITER) {
+            return false;
+        }
+        for (int i = 0; i < transactionId.length(); i++) {
+            if (frame.charAt(2 + i) != transactionId.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 프레임 본문(세 번째 '|' 다음) 시작 위치
+     *
+     * @throws KisWebSocketException 헤더 구분자가 부족한 경우
+     */
+    public static int payloadStart(CharSequence frame) {
+        int trIdEnd = indexOf(frame, FRAME_DELIMITER, 2, frame.length());
+        int countEnd = indexOf(frame, FRAME_DELIMITER, trIdEnd + 1, frame.length());
+        if (countEnd >= frame.length()) {
+            throw new KisWebSocketException("데이터건수 구분자가 없습니다: " + abbreviate(frame));
+        }
+        return countEnd + 1;
+    }
+
+    /**
+     * 프레임 헤더의 데이터건수
+     */
+    public static int recordCount(CharSequence frame) {
+        int trIdEnd = indexOf(frame, FRAME_DELIMITER, 2, frame.length());
+        return (int) parseLong(frame, trIdEnd + 1, payloadStart(frame) - 1);
+    }
+
+    /**
+     * 평문 H0STCNT0 프레임을 파싱하여 체결 건마다 sink로 전달
+     *
+     * @return 파싱한 체결 건수
+     * @throws KisWebSocketException 형식이 맞지 않거나 암호화된 프레임인 경우
+     */
+    public static int parseExecutionFrame(CharSequence frame, Consumer<KisExecutionTick> sink) {
+        if (!isDataFrame(frame)) {
+            throw new KisWebSocketException("실시간 데이터 프레임이 아닙니다: " + abbreviate(frame));
+        }
+        if (isEncrypted(frame)) {
+            throw new KisWebSocketException("암호화된 실시간 데이터 프레임입니다: " + abbreviate(frame));
+        }
+        if (!hasTransactionId(frame, TR_ID_EXECUTION)) {
+            throw new KisWebSocketException("H0STCNT0 프레임이 아닙니다: " + abbreviate(frame));
+        }
+
+        int countStart = 2 + TR_ID_EXECUTION.length() + 1;
+        int countEnd = indexOf(frame, FRAME_DELIMITER, countStart, frame.length());
+        if (countEnd == frame.length()) {
+            throw new KisWebSocketException("데이터건수 구분자가 없습니다: " + abbreviate(frame));
+        }
+        int count = (int) parseLong(frame, countStart, countEnd);
+        return parseExecutionRecords(frame, countEnd + 1, frame.length(), count, sink);
+    }
+
+    /**
+     * 평문 H0STCNT0 프레임을 파싱하여 목록으로 반환
+     */
+    public static List<KisExecutionTick> parseExecutionFrame(CharSequence frame) {
+        List<KisExecutionTick> ticks = new ArrayList<>(1);
+        parseExecutionFrame(frame, ticks::add);
+        return ticks;
+    }
+
+    /**
+     * '^'로 구분된 H0STCNT0 레코드 count건을 파싱 (복호화한 본문도 이 메서드로 처리)
+     *
+     * @param data  레코드가 들어 있는 문자열
+     * @param start 첫 필드 시작 위치
+     * @param end   마지막 필드 끝 위치(exclusive)
+     * @param count 데이터건수
+     * @return 파싱한 체결 건수
+     */
+    public static int parseExecutionRecords(CharSequence data, int start, int end, int count,
+                                            Consumer<KisExecutionTick> sink) {
+        int pos = start;
+        for (int record = 0; record < count; record++) {
+            String stockCode = null;
+            int businessDate = 0;
+            int executionTime = 0;
+            long price = 0;
+            int changeSign = 0;
+            long change = 0;
+            double changeRate = 0;
+            long openPrice = 0;
+            long highPrice = 0;
+            long lowPrice = 0;
+            long askPrice1 = 0;
+            long bidPrice1 = 0;
+            long executionVolume = 0;
+            long accumulatedVolume = 0;
+            long accumulatedTradeValue = 0;
+            double executionStrength = 0;
+            int executionType = 0;
+
+            for (int field = 0; field < EXECUTION_FIELD_COUNT; field++) {
+                if (pos > end) {
+                    throw new KisWebSocketException(String.format(
+                        "H0STCNT0 필드 수가 부족합니다: 레코드 %d/%d, 필드 %d", record + 1, count, field));
+                }
+                int fieldEnd = indexOf(data, FIELD_DELIMITER, pos, end);
+                switch (field) {
+                    case 0 -> stockCode = data.subSequence(pos, fieldEnd).toString();
+                    case 1 -> executionTime = (int) parseLong(data, pos, fieldEnd);
+                    case 2 -> price = parseLong(data, pos, fieldEnd);
+                    case 3 -> changeSign = (int) parseLong(data, pos, fieldEnd);
+                    case 4 -> change = parseLong(data, pos, fieldEnd);
+                    case 5 -> changeRate = parseDecimal(data, pos, fieldEnd);
+                    case 7 -> openPrice = parseLong(data, pos, fieldEnd);
+                    case 8 -> highPrice = parseLong(data, pos, fieldEnd);
+                    case 9 -> lowPrice = parseLong(data, pos, fieldEnd);
+                    case 10 -> askPrice1 = parseLong(data, pos, fieldEnd);
+                    case 11 -> bidPrice1 = parseLong(data, pos, fieldEnd);
+                    case 12 -> executionVolume = parseLong(data, pos, fieldEnd);
+                    case 13 -> accumulatedVolume = parseLong(data, pos, fieldEnd);
+                    case 14 -> accumulatedTradeValue = parseLong(data, pos, fieldEnd);
+                    case 18 -> executionStrength = parseDecimal(data, pos, fieldEnd);
+                    case 21 -> executionType = (int) parseLong(data, pos, fieldEnd);
+                    case 33 -> businessDate = (int) parseLong(data, pos, fieldEnd);
+                    default -> {
+                        // 사용하지 않는 필드
+                    }
+                }
+                pos = fieldEnd + 1;
+            }
+
+            sink.accept(new KisExecutionTick(stockCode, businessDate, executionTime, price, changeSign, change,
+                changeRate, openPrice, highPrice, lowPrice, askPrice1, bidPrice1, executionVolume,
+                accumulatedVolume, accumulatedTradeValue, executionStrength, executionType));
+        }
+        return count;
+    }
+
+    /**
+     * 평문 H0STASP0 프레임을 파싱하여 등록된 종목의 호가창에 반영
+     *
+     * @return 반영한 레코드 수 (등록되지 않은 종목은 건너뜀)
+     * @throws KisWebSocketException 형식이 맞지 않거나 암호화된 프레임인 경우
+     */
+    public static int parseOrderBookFrame(CharSequence frame, OrderBookRegistry registry) {
+        if (!isDataFrame(frame)) {
+            throw new KisWebSocketException("실시간 데이터 프레임이 아닙니다: " + abbreviate(frame));
+        }
+        if (isEncrypted(frame)) {
+            throw new KisWebSocketException("암호화된 실시간 데이터 프레임입니다: " + abbreviate(frame));
+        }
+        if (!hasTransactionId(frame, TR_ID_ORDER_BOOK)) {
+            throw new KisWebSocketException("H0STASP0 프레임이 아닙니다: " + abbreviate(frame));
+        }
+        return parseOrderBookRecords(frame, payloadStart(frame), frame.length(), recordCount(frame), registry);
+    }
+
+    /**
+     * '^'로 구분된 H0STASP0 레코드 count건을 파싱해 호가창에 바로 덮어씀 (복호화한 본문도 이 메서드로 처리)
+     * 호가/잔량은 호가창의 staging 배열에 곧바로 변환해 넣으므로 레코드마다 객체를 만들지 않는다.
+     *
+     * @return 반영한 레코드 수 (등록되지 않은 종목은 건너뜀)
+     */
+    public static int parseOrderBookRecords(CharSequence data, int start, int end, int count,
+                                            OrderBookRegistry registry) {
+        int pos = start;
+        int applied = 0;
+        for (int record = 0; record < count; record++) {
+            if (pos > end) {
+                throw new KisWebSocketException(String.format(
+                    "H0STASP0 레코드 수가 부족합니다: 레코드 %d/%d", record + 1, count));
+            }
+            int codeEnd = indexOf(data, FIELD_DELIMITER, pos, end);
+            OrderBook book = registry.find(data, pos, codeEnd);
+            pos = codeEnd + 1;
+            if (book == null) {
+                pos = skipFields(data, pos, end, ORDER_BOOK_FIELD_COUNT - 1, record, count);
+                continue;
+            }
+            synchronized (book) {
+                int quoteTime = 0;
+                long totalAsk = 0;
+                long totalBid = 0;
+                for (int field = 1; field < ORDER_BOOK_FIELD_COUNT; field++) {
+                    if (pos > end) {
+                        throw new KisWebSocketException(String.format(
+                            "H0STASP0 필드 수가 부족합니다: 레코드 %d/%d, 필드 %d", record + 1, count, field));
+                    }
+                    int fieldEnd = indexOf(data, FIELD_DELIMITER, pos, end);
+                    if (field == 1) {
+                        quoteTime = (int) parseLong(data, pos, fieldEnd);
+                    } else if (field >= ORDER_BOOK_LEVELS_START && field < ORDER_BOOK_TOTAL_ASK) {
+                        book.staging[field - ORDER_BOOK_LEVELS_START] = parseLong(data, pos, fieldEnd);
+                    } else if (field == ORDER_BOOK_TOTAL_ASK) {
+                        totalAsk = parseLong(data, pos, fieldEnd);
+                    } else if (field == ORDER_BOOK_TOTAL_BID) {
+                        totalBid = parseLong(data, pos, fieldEnd);
+                    }
+                    pos = fieldEnd + 1;
+                }
+                book.publish(quoteTime, totalAsk, totalBid);
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    private static int skipFields(CharSequence data, int pos, int end, int fields, int record, int count) {
+        for (int field = 0; field < fields; field++) {
+            if (pos > end) {
+                throw new KisWebSocketException(String.format(
+                    "H0STASP0 필드 수가 부족합니다: 레코드 %d/%d", record + 1, count));
+            }
+            pos = indexOf(data, FIELD_DELIMITER, pos, end) + 1;
+        }
+        return pos;
+    }
+
+    /**
+     * [from, to) 구간에서 ch의 위치, 없으면 to
+     */
+    static int indexOf(CharSequence data, char ch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * 부호(+/-)가 붙을 수 있는 정수 필드 변환, 빈 필드는 0
+     */
+    static long parseLong(CharSequence data, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        boolean negative = false;
+        int i = from;
+        char first = data.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = data.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new KisWebSocketException("숫자 필드가 아닙니다: " + data.subSequence(from, to));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * 부호와 소수점이 있을 수 있는 실수 필드 변환 (예: -0.52, 123.45), 빈 필드는 0
+     */
+    static double parseDecimal(CharSequence data, int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        boolean negative = false;
+        int i = from;
+        char first = data.charAt(i);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int fractionDigits = -1;
+        for (; i < to; i++) {
+            char c = data.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                throw new KisWebSocketException("숫자 필드가 아닙니다: " + data.subSequence(from, to));
+            }
+            if (fractionDigits >= POW10.length - 1) {
+                continue; // 표현 범위를 넘는 소수 자리는 버림
+            }
+            mantissa = mantissa * 10 + digit;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        double value = fractionDigits > 0 ? mantissa / POW10[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static String abbreviate(CharSequence frame) {
+        if (frame == null) {
+            return "null";
+        }
+        return frame.length() <= 40 ? frame.toString() : frame.subSequence(0, 40) + "...";
+    }
+}
@@ -0,0 +1,100 @@
+package com.stock.common.realtime;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * 종목 하나의 실시간 10단계 호가창
+ * 호가/잔량은 고정 크기 long 배열 하나에 H0STASP0 필드 순서대로 담는다.
+ * <pre>
+ * [매도호가 1~10][매수호가 1~10][매도잔량 1~10][매수잔량 1~10]
+ * </pre>
+ * 갱신은 쓰기 스레드 하나가 staging 배열에 파싱해 둔 값을 공개 배열에 덮어쓰는 방식이라 갱신마다 객체를 만들지 않는다.
+ * 읽는 쪽은 잠금 없이 seqlock으로 읽는다: 쓰기 중에는 sequence가 홀수이고, 읽기 전후의 sequence가 같고 짝수일 때만
+ * 읽은 값을 쓰며 아니면 다시 읽는다.
+ */
+public final class OrderBook {
+
+    public static final int DEPTH = 10;
+
+    static final int ASK_PRICE = 0;
+    static final int BID_PRICE = DEPTH;
+    static final int ASK_QUANTITY = DEPTH * 2;
+    static final int BID_QUANTITY = DEPTH * 3;
+    static final int LEVEL_FIELDS = DEPTH * 4;
+
+    private final String stockCode;
+
+    // 쓰기 스레드 전용 (파서가 채움)
+    final long[] staging = new long[LEVEL_FIELDS];
+
+    // 공개 상태 (sequence로 보호)
+    private final long[] levels = new long[LEVEL_FIELDS];
+    private int quoteTime;
+    private long totalAskQuantity;
+    private long totalBidQuantity;
+    private volatile long sequence;
+
+    public OrderBook(String stockCode) {
+        this.stockCode = stockCode;
+    }
+
+    public String getStockCode() {
+        return stockCode;
+    }
+
+    /**
+     * 지금까지 반영한 갱신 수
+     */
+    public long getUpdateCount() {
+        return sequence >>> 1;
+    }
+
+    /**
+     * staging에 파싱해 둔 호가를 공개 (같은 호가창에 쓰는 스레드는 한 번에 하나)
+     *
+     * @param quoteTime 호가 시각 HHmmss
+     */
+    synchronized void publish(int quoteTime, long totalAskQuantity, long totalBidQuantity) {
+        long current = sequence;
+        sequence = current + 1;
+        VarHandle.storeStoreFence();
+        System.arraycopy(staging, 0, levels, 0, LEVEL_FIELDS);
+        this.quoteTime = quoteTime;
+        this.totalAskQuantity = totalAskQuantity;
+        this.totalBidQuantity = totalBidQuantity;
+        sequence = current + 2;
+    }
+
+    /**
+     * 잠금 없이 현재 호가창 복사본 생성 (쓰기와 겹치면 다시 읽음)
+     *
+     * @return 한 번도 갱신되지 않았으면 null
+     */
+    public OrderBookSnapshot snapshot() {
+        long[] copy = new long[LEVEL_FIELDS];
+        while (true) {
+            long before = sequence;
+            if (before == 0) {
+                return null;
+            }
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            System.arraycopy(levels, 0, copy, 0, LEVEL_FIELDS);
+            int time = quoteTime;
+            long totalAsk = totalAskQuantity;
+            long totalBid = totalBidQuantity;
+            VarHandle.loadLoadFence();
+            if (sequence == before) {
+                return new OrderBookSnapshot(stockCode, time,
+                    Arrays.copyOfRange(copy, ASK_PRICE, ASK_PRICE + DEPTH),
+                    Arrays.copyOfRange(copy, ASK_QUANTITY, ASK_QUANTITY + DEPTH),
+                    Arrays.copyOfRange(copy, BID_PRICE, BID_PRICE + DEPTH),
+                    Arrays.copyOfRange(copy, BID_QUANTITY, BID_QUANTITY + DEPTH),
+                    totalAsk, totalBid, before >>> 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.stock.common.realtime;
+
+import com.stock.common.symbol.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 종목별 실시간 호가창 모음
+ * 호가창은 종목 디렉터리의 id로 찾는 배열에 담는다. 종목코드 → id는 {@link SymbolTable}이 프레임 문자열의 종목코드 구간을
+ * 그대로 비교해 찾으므로 조회 중에 문자열을 만들지 않는다.
+ * 등록/제거는 드물고 조회는 호가 프레임마다 일어나므로, 배열은 등록/제거 때마다 새로 만들어 통째로 바꾼다(copy-on-write).
+ */
+public class OrderBookRegistry {
+
+    private final Supplier<SymbolTable> symbols;
+    private volatile OrderBook[] books = new OrderBook[0];
+    private int size;
+
+    /**
+     * @param symbols 현재 종목 표 (id는 프로세스가 떠 있는 동안 바뀌지 않아야 함)
+     */
+    public OrderBookRegistry(Supplier<SymbolTable> symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * 종목 호가창 등록 (이미 있으면 기존 호가창)
+     *
+     * @return 종목 표에 없는 종목이면 null
+     */
+    public synchronized OrderBook register(String stockCode) {
+        int id = symbols.get().idOf(stockCode);
+        if (id == SymbolTable.UNKNOWN) {
+            return null;
+        }
+        OrderBook[] current = books;
+        if (id < current.length && current[id] != null) {
+            return current[id];
+        }
+        OrderBook book = new OrderBook(stockCode);
+        OrderBook[] updated = Arrays.copyOf(current, Math.max(current.length, id + 1));
+        updated[id] = book;
+        books = updated;
+        size++;
+        return book;
+    }
+
+    /**
+     * 종목 호가창 제거
+     *
+     * @return 제거했으면 true
+     */
+    public synchronized boolean remove(String stockCode) {
+        int id = symbols.get().idOf(stockCode);
+        OrderBook[] current = books;
+        if (id == SymbolTable.UNKNOWN || id >= current.length || current[id] == null) {
+            return false;
+        }
+        OrderBook[] updated = current.clone();
+        updated[id] = null;
+        books = updated;
+        size--;
+        return true;
+    }
+
+    public OrderBook get(String stockCode) {
+        return find(stockCode, 0, stockCode.length());
+    }
+
+    /**
+     * data[from, to) 구간을 종목코드로 하는 호가창 조회
+     *
+     * @return 없으면 null
+     */
+    public OrderBook find(CharSequence data, int from, int to) {
+        int id = symbols.get().idOf(data, from, to);
+        OrderBook[] current = books;
+        return id >= 0 && id < current.length ? current[id] : null;
+    }
+
+    public Collection<OrderBook> getBooks() {
+        List<OrderBook> registered = new ArrayList<>();
+        for (OrderBook book : books) {
+            if (book != null) {
+                registered.add(book);
+            }
+        }
+        return registered;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
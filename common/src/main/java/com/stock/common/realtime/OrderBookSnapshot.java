@@ -0,0 +1,74 @@
+package com.stock.common.realtime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 실시간 호가창의 한 시점 복사본 (배열 인덱스 0이 최우선 호가)
+ *
+ * @param quoteTime        호가 시각 HHmmss
+ * @param totalAskQuantity 총 매도호가 잔량 (거래소 제공)
+ * @param totalBidQuantity 총 매수호가 잔량 (거래소 제공)
+ * @param updateCount      복사 시점까지 반영된 갱신 수
+ */
+public record OrderBookSnapshot(
+    String stockCode,
+    int quoteTime,
+    long[] askPrices,
+    long[] askQuantities,
+    long[] bidPrices,
+    long[] bidQuantities,
+    long totalAskQuantity,
+    long totalBidQuantity,
+    long updateCount
+) {
+
+    @JsonProperty
+    public long bestAskPrice() {
+        return askPrices[0];
+    }
+
+    @JsonProperty
+    public long bestBidPrice() {
+        return bidPrices[0];
+    }
+
+    /**
+     * 최우선 매도호가 - 최우선 매수호가 (한쪽 호가가 비어 있으면 0)
+     */
+    @JsonProperty
+    public long spread() {
+        return askPrices[0] == 0 || bidPrices[0] == 0 ? 0 : askPrices[0] - bidPrices[0];
+    }
+
+    /**
+     * 최우선 매도/매수호가의 중간값 (한쪽 호가가 비어 있으면 0)
+     */
+    @JsonProperty
+    public double midPrice() {
+        return askPrices[0] == 0 || bidPrices[0] == 0 ? 0 : (askPrices[0] + bidPrices[0]) / 2.0;
+    }
+
+    /**
+     * 10단계 매도잔량 합
+     */
+    @JsonProperty
+    public long askDepth() {
+        return sum(askQuantities);
+    }
+
+    /**
+     * 10단계 매수잔량 합
+     */
+    @JsonProperty
+    public long bidDepth() {
+        return sum(bidQuantities);
+    }
+
+    private static long sum(long[] quantities) {
+        long total = 0;
+        for (long quantity : quantities) {
+            total += quantity;
+        }
+        return total;
+    }
+}
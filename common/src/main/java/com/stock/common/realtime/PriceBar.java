@@ -0,0 +1,49 @@
+package com.stock.common.realtime;
+
+/**
+ * 실시간 체결로 만든 봉 (1초~1일)
+ * 가격은 원 단위 정수, 시각은 거래소(KST) 기준이다.
+ *
+ * @param resolution   봉 주기
+ * @param stockCode    종목코드
+ * @param businessDate 영업일자 yyyyMMdd
+ * @param startTime    봉 시작 시각 HHmmss (일봉은 0)
+ * @param openPrice    시가
+ * @param highPrice    고가
+ * @param lowPrice     저가
+ * @param closePrice   종가
+ * @param volume       거래량
+ * @param tradeValue   거래대금 (체결가 x 체결량 합)
+ * @param accumulatedVolume     봉에 든 체결 중 가장 큰 거래소 당일 누적 거래량
+ * @param accumulatedTradeValue 봉에 든 체결 중 가장 큰 거래소 당일 누적 거래대금
+ * @param tickCount    체결 건수
+ * @param revision     이미 내보낸 봉을 늦게 도착한 체결로 고쳐 다시 내보낸 경우 true
+ */
+public record PriceBar(
+    BarResolution resolution,
+    String stockCode,
+    int businessDate,
+    int startTime,
+    long openPrice,
+    long highPrice,
+    long lowPrice,
+    long closePrice,
+    long volume,
+    long tradeValue,
+    long accumulatedVolume,
+    long accumulatedTradeValue,
+    int tickCount,
+    boolean revision
+) {
+
+    /**
+     * 늦게 도착한 체결을 반영한 수정 봉 (시가는 유지, 종가는 시각 순서를 알 수 없으므로 유지)
+     */
+    public PriceBar revise(KisExecutionTick tick) {
+        return new PriceBar(resolution, stockCode, businessDate, startTime, openPrice,
+            Math.max(highPrice, tick.price()), Math.min(lowPrice, tick.price()), closePrice,
+            volume + tick.executionVolume(), tradeValue + tick.price() * tick.executionVolume(),
+            Math.max(accumulatedVolume, tick.accumulatedVolume()),
+            Math.max(accumulatedTradeValue, tick.accumulatedTradeValue()), tickCount + 1, true);
+    }
+}
@@ -0,0 +1,166 @@
+package com.stock.common.realtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TickArchiveWriter}로 쓴 보관 파일을 메모리 매핑으로 읽는 도구
+ * 열면 종목 색인만 읽고, 조회할 때 해당 종목의 열만 차례로 복원하므로 파일 전체를 풀지 않는다.
+ * 여러 스레드에서 동시에 읽어도 된다 (절대 위치로만 읽음).
+ */
+public class TickArchiveReader implements Closeable {
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final int businessDate;
+    private final Map<String, Entry> entries;
+
+    private TickArchiveReader(FileChannel channel, MappedByteBuffer mapped) {
+        this.channel = channel;
+        this.mapped = mapped;
+        if (mapped.getInt(0) != TickArchiveWriter.MAGIC || mapped.getInt(4) != TickArchiveWriter.VERSION) {
+            throw new IllegalArgumentException("체결 보관 파일 형식이 아닙니다");
+        }
+        this.businessDate = mapped.getInt(8);
+        int stockCount = mapped.getInt(12);
+        Map<String, Entry> index = new LinkedHashMap<>(stockCount * 2);
+        int position = 16;
+        for (int i = 0; i < stockCount; i++) {
+            int codeLength = mapped.get(position);
+            byte[] code = new byte[codeLength];
+            mapped.get(position + 1, code);
+            position += 1 + codeLength;
+            Entry entry = new Entry(mapped.getInt(position), mapped.getLong(position + 4),
+                mapped.getInt(position + 12), mapped.getInt(position + 16), mapped.getInt(position + 20));
+            position += 24;
+            index.put(new String(code, StandardCharsets.US_ASCII), entry);
+        }
+        this.entries = Collections.unmodifiableMap(index);
+    }
+
+    public static TickArchiveReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("2GB보다 큰 보관 파일은 지원하지 않습니다: " + path);
+            }
+            return new TickArchiveReader(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getBusinessDate() {
+        return businessDate;
+    }
+
+    public Set<String> getStockCodes() {
+        return entries.keySet();
+    }
+
+    public int getTickCount(String stockCode) {
+        Entry entry = entries.get(stockCode);
+        return entry == null ? 0 : entry.count;
+    }
+
+    /**
+     * 종목의 모든 체결 조회
+     *
+     * @return 넘긴 체결 수
+     */
+    public int read(String stockCode, TickConsumer consumer) {
+        return read(stockCode, 0, 240000, consumer);
+    }
+
+    /**
+     * 종목의 [fromTime, toTime) 구간 체결 조회 (기록 순서대로)
+     *
+     * @param fromTime 시작 시각 HHmmss (포함)
+     * @param toTime   끝 시각 HHmmss (제외)
+     * @return 넘긴 체결 수
+     */
+    public int read(String stockCode, int fromTime, int toTime, TickConsumer consumer) {
+        Entry entry = entries.get(stockCode);
+        if (entry == null) {
+            return 0;
+        }
+        int from = BarResolution.secondOfDay(fromTime);
+        int to = BarResolution.secondOfDay(toTime);
+        int timePosition = (int) entry.offset;
+        int pricePosition = timePosition + entry.timeLength;
+        int volumePosition = pricePosition + entry.priceLength;
+        long[] cursor = new long[2];
+
+        int second = 0;
+        int delta = 0;
+        long price = 0;
+        int emitted = 0;
+        for (int i = 0; i < entry.count; i++) {
+            timePosition = readVarLong(timePosition, cursor);
+            if (i == 0) {
+                second = (int) cursor[0];
+            } else {
+                delta += (int) unZigZag(cursor[0]);
+                second += delta;
+            }
+            pricePosition = readVarLong(pricePosition, cursor);
+            price = i == 0 ? unZigZag(cursor[0]) : price + unZigZag(cursor[0]);
+            volumePosition = readVarLong(volumePosition, cursor);
+            if (second >= from && second < to) {
+                consumer.accept(BarResolution.toTime(second), price, cursor[0]);
+                emitted++;
+            }
+        }
+        return emitted;
+    }
+
+    /**
+     * position부터 varint 하나를 읽어 cursor[0]에 담고 다음 위치를 돌려줌
+     */
+    private int readVarLong(int position, long[] cursor) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = mapped.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        cursor[0] = value;
+        return position;
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 복원한 체결 한 건
+     */
+    @FunctionalInterface
+    public interface TickConsumer {
+
+        /**
+         * @param executionTime 체결시간 HHmmss
+         */
+        void accept(int executionTime, long price, long volume);
+    }
+
+    private record Entry(int count, long offset, int timeLength, int priceLength, int volumeLength) {
+    }
+}
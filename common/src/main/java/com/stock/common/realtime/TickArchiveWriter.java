@@ -0,0 +1,175 @@
+package com.stock.common.realtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 하루치 체결을 종목별 열(시각, 가격, 체결량)로 압축해 보관 파일로 쓰는 도구
+ * 체결이 들어오는 대로 종목별 열에 바로 부호화하므로 체결 객체를 모아 두지 않는다.
+ * - 시각: 하루 중 초의 2차 차분(delta-of-delta)을 zig-zag varint로 (같은 초 또는 일정 간격이면 1바이트)
+ * - 가격: 직전 가격과의 차이를 zig-zag varint로
+ * - 체결량: varint
+ *
+ * 파일 구조 (정수는 big-endian)
+ * <pre>
+ * [magic int][version int][영업일자 int][종목 수 int]
+ * 종목마다 [종목코드 길이 byte][종목코드][체결 수 int][열 시작 위치 long][시각 열 길이 int][가격 열 길이 int][체결량 열 길이 int]
+ * 종목마다 [시각 열][가격 열][체결량 열]
+ * </pre>
+ */
+public class TickArchiveWriter {
+
+    static final int MAGIC = 0x4B544131; // "KTA1"
+    static final int VERSION = 1;
+
+    private final int businessDate;
+    private final Map<String, Columns> columnsByStockCode = new TreeMap<>();
+    private long tickCount;
+
+    public TickArchiveWriter(int businessDate) {
+        this.businessDate = businessDate;
+    }
+
+    /**
+     * 체결 추가 (다른 영업일자의 체결은 무시)
+     *
+     * @return 추가했으면 true
+     */
+    public boolean add(KisExecutionTick tick) {
+        if (tick.businessDate() != businessDate) {
+            return false;
+        }
+        add(tick.stockCode(), tick.executionTime(), tick.price(), tick.executionVolume());
+        return true;
+    }
+
+    /**
+     * 체결 추가
+     *
+     * @param executionTime 체결시간 HHmmss
+     */
+    public void add(String stockCode, int executionTime, long price, long volume) {
+        columnsByStockCode.computeIfAbsent(stockCode, code -> new Columns())
+            .add(BarResolution.secondOfDay(executionTime), price, volume);
+        tickCount++;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public int getStockCount() {
+        return columnsByStockCode.size();
+    }
+
+    /**
+     * 보관 파일 쓰기 (임시 파일에 쓴 뒤 바꿔치기하므로 읽는 쪽이 쓰다 만 파일을 보지 않음)
+     *
+     * @return 파일 크기
+     */
+    public long writeTo(Path path) throws IOException {
+        int indexSize = 16;
+        for (String stockCode : columnsByStockCode.keySet()) {
+            indexSize += 1 + stockCode.length() + Integer.BYTES + Long.BYTES + 3 * Integer.BYTES;
+        }
+        ByteBuffer header = ByteBuffer.allocate(indexSize);
+        header.putInt(MAGIC).putInt(VERSION).putInt(businessDate).putInt(columnsByStockCode.size());
+        ByteBuffer[] buffers = new ByteBuffer[1 + columnsByStockCode.size() * 3];
+        long offset = indexSize;
+        int next = 1;
+        for (Map.Entry<String, Columns> entry : columnsByStockCode.entrySet()) {
+            byte[] code = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+            Columns columns = entry.getValue();
+            header.put((byte) code.length).put(code)
+                .putInt(columns.count)
+                .putLong(offset)
+                .putInt(columns.time.size)
+                .putInt(columns.price.size)
+                .putInt(columns.volume.size);
+            offset += columns.time.size + columns.price.size + columns.volume.size;
+            buffers[next++] = columns.time.asBuffer();
+            buffers[next++] = columns.price.asBuffer();
+            buffers[next++] = columns.volume.asBuffer();
+        }
+        buffers[0] = header.flip();
+
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return offset;
+    }
+
+    /**
+     * 한 종목의 열 부호화 상태
+     */
+    private static final class Columns {
+
+        private final ByteColumn time = new ByteColumn();
+        private final ByteColumn price = new ByteColumn();
+        private final ByteColumn volume = new ByteColumn();
+        private int count;
+        private int previousTime;
+        private int previousTimeDelta;
+        private long previousPrice;
+
+        void add(int secondOfDay, long tickPrice, long tickVolume) {
+            if (count == 0) {
+                time.putVarLong(secondOfDay);
+                price.putVarLong(zigZag(tickPrice));
+            } else {
+                int delta = secondOfDay - previousTime;
+                time.putVarLong(zigZag(delta - previousTimeDelta));
+                previousTimeDelta = delta;
+                price.putVarLong(zigZag(tickPrice - previousPrice));
+            }
+            volume.putVarLong(tickVolume);
+            previousTime = secondOfDay;
+            previousPrice = tickPrice;
+            count++;
+        }
+    }
+
+    /**
+     * 늘어나는 바이트 배열
+     */
+    private static final class ByteColumn {
+
+        private byte[] bytes = new byte[64];
+        private int size;
+
+        void putVarLong(long value) {
+            if (size + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        ByteBuffer asBuffer() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
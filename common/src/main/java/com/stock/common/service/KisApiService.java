@@ -1,32 +1,48 @@
 package com.stock.common.service;
 
+import com.stock.common.dto.KisMultiStockPriceResponse;
 import com.stock.common.dto.KisStockPriceRequest;
 import com.stock.common.dto.KisStockPriceResponse;
 import com.stock.common.exception.KisApiException;
+import com.stock.common.util.RequestCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * 한국투자증권 API 서비스
  * 주식 시세, 차트, 호가 등의 시장 데이터 조회 기능 제공
  */
 @Service
-public class KisApiService {
+public class KisApiService implements MeterBinder {
     
     private static final Logger logger = LoggerFactory.getLogger(KisApiService.class);
     
     private final WebClient webClient;
     private final KisTokenService tokenService;
     
+    // 동일 (시장, 종목코드) 동시 조회를 하나의 KIS 호출로 합침
+    private final RequestCoalescer<KisStockPriceRequest, KisStockPriceResponse> stockPriceCoalescer = new RequestCoalescer<>();
+    
+    // 주식현재가 단기 캐시 (kis.api.quote-cache.enabled=false이면 없음)
+    private KisStockPriceCache stockPriceCache;
+    
     // API 엔드포인트 상수
     private static final String STOCK_PRICE_ENDPOINT = "/uapi/domestic-stock/v1/quotations/inquire-price";
+    private static final String MULTI_STOCK_PRICE_ENDPOINT = "/uapi/domestic-stock/v1/quotations/intstock-multprice";
     
     // 헤더 상수
     private static final String HEADER_AUTHORIZATION = "Authorization";
@@ -35,29 +51,52 @@ public class KisApiService {
     
     // TR_ID 상수 (한국투자증권 거래ID)
     private static final String TR_ID_STOCK_PRICE = "FHKST01010100";  // 주식현재가 시세
+    private static final String TR_ID_MULTI_STOCK_PRICE = "FHKST11300006";  // 관심종목(멀티종목) 시세
+    
+    // 멀티종목 시세 조회 1회당 최대 종목 수
+    public static final int MAX_STOCKS_PER_MULTI_PRICE = 30;
+    // 동시에 진행할 멀티종목 시세 조회 수 (초당 한도는 KisRateLimiter가 별도로 적용)
+    private static final int MULTI_PRICE_CONCURRENCY = 2;
 
     public KisApiService(WebClient kisApiWebClient, KisTokenService tokenService) {
         this.webClient = kisApiWebClient;
         this.tokenService = tokenService;
     }
 
+    @Autowired(required = false)
+    public void setStockPriceCache(KisStockPriceCache stockPriceCache) {
+        this.stockPriceCache = stockPriceCache;
+    }
+
     /**
      * 주식현재가 시세 조회
+     * 캐시가 유효하면 캐시된 응답을 반환하고, 같은 종목에 대한 조회가 진행 중이면 새로 호출하지 않고 그 결과를 공유한다.
      * @param request 종목코드 및 시장구분 정보
      * @return 주식 현재가 정보
      */
     public Mono<KisStockPriceResponse> getStockPrice(KisStockPriceRequest request) {
+        if (stockPriceCache == null) {
+            return getStockPriceCoalesced(request);
+        }
+        return stockPriceCache.get(request, this::getStockPriceCoalesced);
+    }
+    
+    private Mono<KisStockPriceResponse> getStockPriceCoalesced(KisStockPriceRequest request) {
+        return stockPriceCoalescer.execute(request, this::fetchStockPrice);
+    }
+    
+    private Mono<KisStockPriceResponse> fetchStockPrice(KisStockPriceRequest request) {
         logger.debug("주식현재가 시세 조회 요청: 종목코드={}, 시장={}", request.stockCode(), request.market());
         
         return tokenService.getValidAccessToken()
-            .flatMap(accessToken -> {
+            .flatMap(bearerToken -> {
                 return webClient.get()
                     .uri(uriBuilder -> uriBuilder
                         .path(STOCK_PRICE_ENDPOINT)
                         .queryParam("FID_COND_MRKT_DIV_CODE", request.market())
                         .queryParam("FID_INPUT_ISCD", request.stockCode())
                         .build())
-                    .header(HEADER_AUTHORIZATION, "Bearer " + accessToken)
+                    .header(HEADER_AUTHORIZATION, bearerToken)  // "Bearer " 포함
                     .header(HEADER_TR_ID, TR_ID_STOCK_PRICE)
                     .header(HEADER_CUSTTYPE, "P")  // P: 개인
                     .retrieve()
@@ -82,6 +121,56 @@ public class KisApiService {
                 new KisApiException("주식현재가 시세 조회 실패: " + ex.getMessage(), ex));
     }
     
+    /**
+     * 여러 종목의 현재가를 멀티종목 시세 조회로 일괄 조회
+     * 요청을 30종목 단위로 나누어 호출하고, 결과는 종목별 KisStockPriceResponse로 방출한다(순서 보장 없음).
+     * 일부 묶음이 실패해도 나머지 묶음 결과는 모두 방출한 뒤 마지막에 오류를 전달한다.
+     * 멀티종목 응답은 매도/매수 잔량 등 일부 필드가 비어 있으므로 단건 조회 캐시에는 저장하지 않는다.
+     * @param requests 종목코드 및 시장구분 정보 목록
+     * @return 종목별 주식 현재가 정보
+     */
+    public Flux<KisStockPriceResponse> getStockPrices(List<KisStockPriceRequest> requests) {
+        return Flux.fromIterable(requests)
+            .distinct()
+            .buffer(MAX_STOCKS_PER_MULTI_PRICE)
+            .flatMapDelayError(this::fetchStockPrices, MULTI_PRICE_CONCURRENCY, MAX_STOCKS_PER_MULTI_PRICE);
+    }
+    
+    private Flux<KisStockPriceResponse> fetchStockPrices(List<KisStockPriceRequest> chunk) {
+        logger.debug("멀티종목 시세 조회 요청: {}개 종목, 첫 종목코드={}", chunk.size(), chunk.get(0).stockCode());
+        
+        return tokenService.getValidAccessToken()
+            .flatMap(bearerToken -> webClient.get()
+                .uri(uriBuilder -> {
+                    uriBuilder.path(MULTI_STOCK_PRICE_ENDPOINT);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        uriBuilder.queryParam("FID_COND_MRKT_DIV_CODE_" + (i + 1), chunk.get(i).market());
+                        uriBuilder.queryParam("FID_INPUT_ISCD_" + (i + 1), chunk.get(i).stockCode());
+                    }
+                    return uriBuilder.build();
+                })
+                .header(HEADER_AUTHORIZATION, bearerToken)  // "Bearer " 포함
+                .header(HEADER_TR_ID, TR_ID_MULTI_STOCK_PRICE)
+                .header(HEADER_CUSTTYPE, "P")  // P: 개인
+                .retrieve()
+                .bodyToMono(KisMultiStockPriceResponse.class))
+            .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
+                .filter(this::isRetryableException))
+            .onErrorMap(WebClientResponseException.class, this::mapWebClientException)
+            .onErrorMap(ex -> !(ex instanceof KisApiException), ex ->
+                new KisApiException("멀티종목 시세 조회 실패: " + ex.getMessage(), ex))
+            .flatMapMany(response -> {
+                if (!response.isSuccessful()) {
+                    return Flux.error(new KisApiException("멀티종목 시세 조회 실패: " + response.getErrorMessage()));
+                }
+                logger.debug("멀티종목 시세 조회 성공: 요청 {}개, 응답 {}개", chunk.size(),
+                    response.output() != null ? response.output().size() : 0);
+                return Flux.fromIterable(response.toStockPriceResponses());
+            })
+            .doOnError(error -> logger.error("멀티종목 시세 조회 중 오류 발생: {}개 종목, 첫 종목코드={}",
+                chunk.size(), chunk.get(0).stockCode(), error));
+    }
+    
     /**
      * 코스피 종목의 현재가 조회
      */
@@ -96,6 +185,24 @@ public class KisApiService {
         return getStockPrice(KisStockPriceRequest.kosdaq(stockCode));
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("kis.api.coalescing.requests", stockPriceCoalescer, RequestCoalescer::getHitCount)
+            .tag("api", "stock-price")
+            .tag("result", "hit")
+            .description("진행 중인 동일 조회에 합류한 요청 수")
+            .register(registry);
+        FunctionCounter.builder("kis.api.coalescing.requests", stockPriceCoalescer, RequestCoalescer::getMissCount)
+            .tag("api", "stock-price")
+            .tag("result", "miss")
+            .description("새 KIS 호출을 시작한 요청 수")
+            .register(registry);
+        Gauge.builder("kis.api.coalescing.inflight", stockPriceCoalescer, RequestCoalescer::getInFlightCount)
+            .tag("api", "stock-price")
+            .description("진행 중인 KIS 조회 수")
+            .register(registry);
+    }
+
     /**
      * 재시도 가능한 예외 판단
      */
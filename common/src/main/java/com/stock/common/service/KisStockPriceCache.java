@@ -0,0 +1,206 @@
+package com.stock.common.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.calendar.TradingHours;
+import com.stock.common.config.KisQuoteCacheProperties;
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.dto.KisStockPriceResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 주식현재가 단기 캐시
+ * KisApiService.getStockPrice 앞에서 동작하며 api-server 컨트롤러와 batch-collector 수집 경로가 함께 사용한다.
+ * 정규장 중에는 ttl(기본 1초) 동안, 장 종료 후와 휴장일에는 다음 정규장 시작 시각까지 같은 응답을 돌려준다 ({@link KrxTradingCalendar} 기준).
+ * 만료 refreshAhead 전에 조회되면 캐시된 값을 즉시 반환하고 백그라운드에서 미리 갱신한다.
+ * 크기는 maxSize로 제한되며 가장 오래 조회되지 않은 종목부터 제거(LRU)한다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.quote-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class KisStockPriceCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(KisStockPriceCache.class);
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KisQuoteCacheProperties properties;
+    private final KrxTradingCalendar calendar;
+    private final Clock clock;
+    private final Map<KisStockPriceRequest, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    @Autowired
+    public KisStockPriceCache(KisQuoteCacheProperties properties, KrxTradingCalendar calendar) {
+        this(properties, calendar, Clock.system(KST));
+    }
+
+    KisStockPriceCache(KisQuoteCacheProperties properties, KrxTradingCalendar calendar, Clock clock) {
+        this.properties = properties;
+        this.calendar = calendar;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<KisStockPriceRequest, Entry> eldest) {
+                if (size() > properties.maxSize()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 현재가를 반환하고, 없거나 만료되었으면 loader로 조회하여 캐시한다
+     * 정상 응답(rt_cd=0)만 캐시하며 오류 응답과 예외는 그대로 전달한다.
+     *
+     * @param request 종목코드 및 시장구분
+     * @param loader  실제 KIS 조회
+     */
+    public Mono<KisStockPriceResponse> get(KisStockPriceRequest request,
+                                           Function<KisStockPriceRequest, Mono<KisStockPriceResponse>> loader) {
+        return Mono.defer(() -> {
+            long now = clock.millis();
+            Entry entry = lookup(request);
+            if (entry != null && now < entry.expiresAt) {
+                hits.increment();
+                if (entry.expiresAt - now <= properties.refreshAhead().toMillis() && entry.refreshing.compareAndSet(false, true)) {
+                    refreshAhead(request, entry, loader);
+                }
+                return Mono.just(entry.response);
+            }
+            misses.increment();
+            return load(request, loader);
+        });
+    }
+
+    /**
+     * 단건 조회로 받은 현재가를 캐시에 저장
+     * 정상 응답만 저장한다. 일부 필드가 비어 있는 멀티종목 조회 결과는 저장하지 않는다.
+     */
+    private void put(KisStockPriceRequest request, KisStockPriceResponse response) {
+        if (response.isSuccessful()) {
+            store(request, new Entry(response, expiresAt(clock.instant())));
+        }
+    }
+
+    /**
+     * 특정 종목 캐시 무효화
+     */
+    public void invalidate(KisStockPriceRequest request) {
+        synchronized (entries) {
+            entries.remove(request);
+        }
+    }
+
+    /**
+     * 전체 캐시 무효화
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("kis.api.quote.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("주식현재가 캐시 조회 수")
+            .register(registry);
+        FunctionCounter.builder("kis.api.quote.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("주식현재가 캐시 조회 수")
+            .register(registry);
+        FunctionCounter.builder("kis.api.quote.cache.evictions", evictions, LongAdder::sum)
+            .description("크기 제한으로 제거된 캐시 항목 수")
+            .register(registry);
+        FunctionCounter.builder("kis.api.quote.cache.refreshes", refreshes, LongAdder::sum)
+            .description("만료 전 백그라운드 갱신 횟수")
+            .register(registry);
+        Gauge.builder("kis.api.quote.cache.size", this, KisStockPriceCache::size)
+            .description("캐시된 종목 수")
+            .register(registry);
+    }
+
+    private void refreshAhead(KisStockPriceRequest request, Entry entry,
+                              Function<KisStockPriceRequest, Mono<KisStockPriceResponse>> loader) {
+        refreshes.increment();
+        load(request, loader)
+            .doFinally(signal -> entry.refreshing.set(false))
+            .subscribe(
+                response -> log.debug("주식현재가 캐시 선갱신 완료: 종목코드={}", request.stockCode()),
+                error -> log.debug("주식현재가 캐시 선갱신 실패: 종목코드={}, 오류={}", request.stockCode(), error.getMessage()));
+    }
+
+    private Mono<KisStockPriceResponse> load(KisStockPriceRequest request,
+                                             Function<KisStockPriceRequest, Mono<KisStockPriceResponse>> loader) {
+        return loader.apply(request)
+            .doOnNext(response -> put(request, response));
+    }
+
+    private Entry lookup(KisStockPriceRequest request) {
+        synchronized (entries) {
+            return entries.get(request);
+        }
+    }
+
+    private void store(KisStockPriceRequest request, Entry entry) {
+        synchronized (entries) {
+            entries.put(request, entry);
+        }
+    }
+
+    /**
+     * 응답을 받은 시각 기준 만료 시각(epoch millis)
+     * 정규장(+closeSettle) 중에는 now + ttl(장 마감 정산 시각을 넘지 않음), 그 외에는 다음 정규장 시작 시각.
+     */
+    long expiresAt(Instant now) {
+        TradingHours hours = calendar.hoursOf(LocalDate.ofInstant(now, KST));
+        if (hours != null) {
+            Instant sessionEnd = hours.at(hours.regularClose()).plus(properties.closeSettle());
+            if (!now.isBefore(hours.at(hours.regularOpen())) && now.isBefore(sessionEnd)) {
+                return Math.min(now.toEpochMilli() + properties.ttl().toMillis(), sessionEnd.toEpochMilli());
+            }
+        }
+        return calendar.nextRegularOpen(now).toEpochMilli();
+    }
+
+    private static final class Entry {
+        private final KisStockPriceResponse response;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(KisStockPriceResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.stock.common.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.config.KisTokenBrokerProperties;
+import com.stock.common.dto.KisTokenResponse;
+import com.stock.common.exception.KisApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Redis 기반 클러스터 공용 접근 토큰 브로커
+ * 임대(lease) 락을 잡은 한 노드만 토큰을 발급하고, 나머지 프로세스는 Redis에 저장된 토큰을 읽어 로컬 메모리에 복사해 쓴다.
+ * KIS는 앱키당 토큰 발급을 분당 1회 수준으로 제한하므로 api-server/batch-collector 복제본이 늘어나도 발급 횟수는 늘지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.token-broker.enabled", havingValue = "true")
+public class KisTokenBroker {
+
+    private static final Logger log = LoggerFactory.getLogger(KisTokenBroker.class);
+
+    // 락 소유자일 때만 삭제 (다른 노드가 재획득한 락을 지우지 않도록)
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT = RedisScript.of(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final KisTokenBrokerProperties properties;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final String tokenKey;
+    private final String lockKey;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public KisTokenBroker(ReactiveStringRedisTemplate redisTemplate,
+                          KisTokenBrokerProperties properties,
+                          KisApiProperties kisApiProperties) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        String appKeyHash = hash(kisApiProperties.appKey());
+        this.tokenKey = properties.keyPrefix() + ":" + appKeyHash;
+        this.lockKey = properties.keyPrefix() + ":" + appKeyHash + ":lock";
+    }
+
+    /**
+     * 공유 토큰 획득
+     * Redis에 현재 로컬 토큰보다 새롭고 충분히 유효한 토큰이 있으면 그대로 사용하고,
+     * 없으면 락을 잡은 노드만 issuer로 새 토큰을 발급하여 Redis에 게시한다.
+     * 락을 잡지 못한 노드는 pollInterval 간격으로 게시된 토큰을 기다린다.
+     *
+     * @param current 현재 로컬에 보관 중인 토큰 (없으면 null)
+     * @param issuer  실제 /oauth2/tokenP 호출
+     */
+    public Mono<KisTokenResponse> obtainToken(KisTokenResponse current, Supplier<Mono<KisTokenResponse>> issuer) {
+        return readSharedToken()
+            .filter(shared -> isUsable(shared, current))
+            .doOnNext(shared -> log.info("Redis 공유 토큰 사용: expiresAt={}", shared.getExpiresAt()))
+            .switchIfEmpty(Mono.defer(() -> tryLock()
+                .flatMap(locked -> locked
+                    ? issueUnderLock(current, issuer)
+                    : awaitSharedToken(current, issuer, System.nanoTime()))));
+    }
+
+    /**
+     * 공유 토큰 삭제 (토큰 폐기/캐시 무효화 시)
+     */
+    public Mono<Void> evict() {
+        return redisTemplate.delete(tokenKey).then();
+    }
+
+    private Mono<KisTokenResponse> issueUnderLock(KisTokenResponse current, Supplier<Mono<KisTokenResponse>> issuer) {
+        // 락 획득 직전에 다른 노드가 게시했을 수 있으므로 한 번 더 확인
+        return readSharedToken()
+            .filter(shared -> isUsable(shared, current))
+            .switchIfEmpty(Mono.defer(() -> {
+                log.info("토큰 발급 락 획득 - 새 토큰을 발급하여 Redis에 게시합니다");
+                return issuer.get().flatMap(this::publish);
+            }))
+            .flatMap(token -> releaseLock().thenReturn(token))
+            .onErrorResume(error -> releaseLock().then(Mono.error(error)));
+    }
+
+    private Mono<KisTokenResponse> awaitSharedToken(KisTokenResponse current,
+                                                    Supplier<Mono<KisTokenResponse>> issuer,
+                                                    long startNanos) {
+        return Mono.delay(properties.pollInterval())
+            .then(readSharedToken())
+            .filter(shared -> isUsable(shared, current))
+            .switchIfEmpty(Mono.defer(() -> {
+                if (System.nanoTime() - startNanos < properties.lease().toNanos()) {
+                    return awaitSharedToken(current, issuer, startNanos);
+                }
+                // 락 소유 노드가 임대 기간 내에 게시하지 못함 → 락 획득부터 다시 시도
+                log.warn("임대 기간({}) 내에 공유 토큰이 게시되지 않아 다시 시도합니다", properties.lease());
+                return obtainToken(current, issuer);
+            }));
+    }
+
+    private Mono<KisTokenResponse> publish(KisTokenResponse token) {
+        Duration ttl = Duration.between(LocalDateTime.now(), token.getExpiresAt());
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.just(token);
+        }
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(token))
+            .flatMap(json -> redisTemplate.opsForValue().set(tokenKey, json, ttl))
+            .doOnNext(saved -> log.info("Redis에 공유 토큰 게시: expiresAt={}, ttl={}s", token.getExpiresAt(), ttl.toSeconds()))
+            .thenReturn(token);
+    }
+
+    private Mono<KisTokenResponse> readSharedToken() {
+        return redisTemplate.opsForValue().get(tokenKey)
+            .flatMap(json -> {
+                try {
+                    return Mono.just(objectMapper.readValue(json, KisTokenResponse.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Redis 공유 토큰 역직렬화 실패 - 무시합니다", e);
+                    return Mono.empty();
+                }
+            });
+    }
+
+    private Mono<Boolean> tryLock() {
+        return redisTemplate.opsForValue().setIfAbsent(lockKey, nodeId, properties.lease())
+            .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> releaseLock() {
+        return redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), List.of(nodeId))
+            .then()
+            .onErrorResume(error -> {
+                log.warn("토큰 발급 락 해제 실패 (임대 만료 시 자동 해제)", error);
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * 현재 로컬 토큰과 다르고(더 새롭고) minValidity 이상 유효한 공유 토큰만 사용한다.
+     * 로컬과 같은 토큰이면 갱신 요청이므로 새로 발급해야 한다.
+     */
+    private boolean isUsable(KisTokenResponse shared, KisTokenResponse current) {
+        if (shared.getExpiresAt().isBefore(LocalDateTime.now().plus(properties.minValidity()))) {
+            return false;
+        }
+        return current == null || !shared.accessToken().equals(current.accessToken());
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new KisApiException("SHA-256 알고리즘을 사용할 수 없습니다", e);
+        }
+    }
+}
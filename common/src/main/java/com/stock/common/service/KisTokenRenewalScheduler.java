@@ -0,0 +1,171 @@
+package com.stock.common.service;
+
+import com.stock.common.config.KisTokenRenewalProperties;
+import com.stock.common.dto.KisTokenResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 접근 토큰 백그라운드 갱신 스케줄러
+ * 만료 시각보다 refreshBeforeExpiry(+jitter) 앞서 토큰을 갱신하여 요청 경로에서 OAuth 호출이 발생하지 않도록 한다.
+ * 갱신 실패 시에는 retryInterval부터 maxRetryInterval까지 지수적으로 늘려가며 자체 일정으로 재시도한다.
+ */
+@Component
+@ConditionalOnProperty(name = "kis.api.token-renewal.enabled", havingValue = "true", matchIfMissing = true)
+public class KisTokenRenewalScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(KisTokenRenewalScheduler.class);
+
+    private final KisTokenService kisTokenService;
+    private final KisTokenRenewalProperties properties;
+    private final Scheduler scheduler = Schedulers.newSingle("kis-token-renewal", true);
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+
+    private volatile Disposable pendingRenewal;
+    private volatile boolean running;
+    private volatile LocalDateTime nextRenewalAt;
+    private int consecutiveFailures;
+
+    public KisTokenRenewalScheduler(KisTokenService kisTokenService,
+                                    KisTokenRenewalProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.kisTokenService = kisTokenService;
+        this.properties = properties;
+
+        Gauge.builder("kis.api.token.age", this, KisTokenRenewalScheduler::tokenAgeSeconds)
+            .description("현재 접근 토큰 발급 후 경과 시간(초)")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("kis.api.token.remaining", this, KisTokenRenewalScheduler::tokenRemainingSeconds)
+            .description("현재 접근 토큰 만료까지 남은 시간(초)")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("kis.api.token.renewal.next", this, KisTokenRenewalScheduler::secondsUntilNextRenewal)
+            .description("다음 갱신 예정까지 남은 시간(초)")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.successCounter = Counter.builder("kis.api.token.renewals")
+            .tag("result", "success")
+            .description("백그라운드 토큰 갱신 횟수")
+            .register(meterRegistry);
+        this.failureCounter = Counter.builder("kis.api.token.renewals")
+            .tag("result", "failure")
+            .description("백그라운드 토큰 갱신 횟수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 애플리케이션 기동 완료 후 갱신 일정 시작
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        scheduleNext(delayUntilRenewal(kisTokenService.getCachedToken()));
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        Disposable pending = pendingRenewal;
+        if (pending != null) {
+            pending.dispose();
+        }
+        scheduler.dispose();
+    }
+
+    public LocalDateTime getNextRenewalAt() {
+        return nextRenewalAt;
+    }
+
+    private synchronized void scheduleNext(Duration delay) {
+        if (!running) {
+            return;
+        }
+        nextRenewalAt = LocalDateTime.now().plus(delay);
+        log.info("다음 접근 토큰 갱신 예정: {} ({}초 후)", nextRenewalAt, delay.toSeconds());
+
+        pendingRenewal = Mono.delay(delay, scheduler)
+            .then(Mono.defer(kisTokenService::refreshToken))
+            .subscribe(this::onRenewed, this::onRenewalFailed);
+    }
+
+    private void onRenewed(KisTokenResponse token) {
+        successCounter.increment();
+        synchronized (this) {
+            consecutiveFailures = 0;
+        }
+        log.info("접근 토큰 백그라운드 갱신 성공: expiresAt={}", token.getExpiresAt());
+        scheduleNext(delayUntilRenewal(token));
+    }
+
+    private void onRenewalFailed(Throwable error) {
+        failureCounter.increment();
+        Duration retryDelay;
+        synchronized (this) {
+            consecutiveFailures++;
+            retryDelay = retryDelay(consecutiveFailures);
+        }
+        log.warn("접근 토큰 백그라운드 갱신 실패 ({}회 연속), {}초 후 재시도",
+            consecutiveFailures, retryDelay.toSeconds(), error);
+        scheduleNext(retryDelay);
+    }
+
+    /**
+     * 만료 시각 - refreshBeforeExpiry - [0, jitter) 까지의 대기 시간
+     * 토큰이 없거나 이미 갱신 구간에 들어섰다면 즉시 갱신한다.
+     */
+    private Duration delayUntilRenewal(KisTokenResponse token) {
+        if (token == null) {
+            return Duration.ZERO;
+        }
+        long jitterMillis = properties.jitter().toMillis() > 0
+            ? ThreadLocalRandom.current().nextLong(properties.jitter().toMillis())
+            : 0;
+        LocalDateTime renewAt = token.getExpiresAt()
+            .minus(properties.refreshBeforeExpiry())
+            .minus(Duration.ofMillis(jitterMillis));
+        Duration delay = Duration.between(LocalDateTime.now(), renewAt);
+        return delay.isNegative() ? Duration.ZERO : delay;
+    }
+
+    private Duration retryDelay(int failures) {
+        Duration delay = properties.retryInterval().multipliedBy(1L << Math.min(failures - 1, 16));
+        return delay.compareTo(properties.maxRetryInterval()) > 0 ? properties.maxRetryInterval() : delay;
+    }
+
+    private double tokenAgeSeconds() {
+        KisTokenResponse token = kisTokenService.getCachedToken();
+        return token == null ? Double.NaN : Duration.between(token.issuedAt(), LocalDateTime.now()).toSeconds();
+    }
+
+    private double tokenRemainingSeconds() {
+        KisTokenResponse token = kisTokenService.getCachedToken();
+        return token == null ? 0 : Math.max(0, Duration.between(LocalDateTime.now(), token.getExpiresAt()).toSeconds());
+    }
+
+    private double secondsUntilNextRenewal() {
+        LocalDateTime next = nextRenewalAt;
+        return next == null ? Double.NaN : Math.max(0, Duration.between(LocalDateTime.now(), next).toSeconds());
+    }
+}
@@ -8,6 +8,7 @@ import com.stock.common.exception.KisApiException;
 import com.stock.common.exception.KisTokenExpiredException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -23,18 +24,32 @@ public class KisTokenService {
     
     private static final Logger logger = LoggerFactory.getLogger(KisTokenService.class);
 
+    // 백그라운드 갱신이 실패했을 때 요청 경로에서 갱신을 시작하는 만료 전 시간(분)
+    private static final long FALLBACK_REFRESH_MINUTES = 5;
+
     private final WebClient webClient;
     private final KisApiProperties kisApiProperties;
     private final AtomicReference<KisTokenResponse> currentToken = new AtomicReference<>();
+    // 진행 중인 토큰 갱신 요청 (동시 호출자들이 하나의 갱신을 공유)
+    private final AtomicReference<Mono<KisTokenResponse>> refreshInFlight = new AtomicReference<>();
+
+    // kis.api.token-broker.enabled=true 인 경우 Redis로 프로세스 간 토큰 공유
+    private KisTokenBroker tokenBroker;
 
     public KisTokenService(WebClient kisApiWebClient, KisApiProperties kisApiProperties) {
         this.webClient = kisApiWebClient;
         this.kisApiProperties = kisApiProperties;
     }
 
+    @Autowired(required = false)
+    public void setTokenBroker(KisTokenBroker tokenBroker) {
+        this.tokenBroker = tokenBroker;
+    }
+
     /**
-     * 유효한 액세스 토큰 반환
-     * 토큰이 없거나 만료된 경우 자동으로 갱신
+     * 유효한 액세스 토큰을 Authorization 헤더 값("Bearer " 포함)으로 반환
+     * 토큰 갱신은 KisTokenRenewalScheduler가 백그라운드에서 미리 수행하므로 요청 경로에서는 메모리만 읽는다.
+     * 토큰이 없거나 만료된 경우(기동 직후 등)에만 갱신을 기다리며, 동시에 들어온 갱신 요청은 하나의 호출로 합쳐진다
      */
     public Mono<String> getValidAccessToken() {
         KisTokenResponse token = currentToken.get();
@@ -42,21 +57,54 @@ public class KisTokenService {
         // 토큰이 없거나 만료된 경우 새로 발급
         if (token == null || token.isExpired()) {
             logger.info("Token is null or expired, requesting new token");
-            return requestNewToken()
+            return refreshToken()
                 .map(KisTokenResponse::getBearerToken);
         }
 
-        // 토큰이 30분 이내에 만료될 예정이면 미리 갱신
-        if (token.getExpiresAt().isBefore(LocalDateTime.now().plusMinutes(30))) {
-            logger.info("Token will expire soon, refreshing token proactively");
-            return requestNewToken()
-                .map(KisTokenResponse::getBearerToken)
-                .onErrorReturn(token.getBearerToken()); // 갱신 실패 시 기존 토큰 사용
+        // 백그라운드 갱신이 밀린 경우: 기존 토큰을 바로 반환하고 갱신은 비동기로 시작
+        if (token.getExpiresAt().isBefore(LocalDateTime.now().plusMinutes(FALLBACK_REFRESH_MINUTES))) {
+            logger.info("Token will expire soon, triggering refresh in background");
+            refreshToken().subscribe(
+                refreshed -> { },
+                error -> logger.warn("Background token refresh failed, keeping current token", error));
         }
 
         return Mono.just(token.getBearerToken());
     }
 
+    /**
+     * 단일 비행(single-flight) 토큰 갱신
+     * 진행 중인 갱신이 있으면 그 결과를 공유하고, 없을 때만 새 토큰 요청을 시작한다.
+     * 갱신이 끝나면(성공/실패 모두) 다음 갱신 주기를 위해 공유 Mono를 비운다.
+     */
+    public Mono<KisTokenResponse> refreshToken() {
+        while (true) {
+            Mono<KisTokenResponse> inFlight = refreshInFlight.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            Mono<KisTokenResponse> refresh = Mono.defer(this::fetchToken)
+                .doFinally(signal -> refreshInFlight.set(null))
+                .cache();
+
+            if (refreshInFlight.compareAndSet(null, refresh)) {
+                return refresh;
+            }
+        }
+    }
+
+    /**
+     * 브로커가 있으면 클러스터 공용 토큰을 받아 로컬에 복사하고, 없으면 직접 발급한다
+     */
+    private Mono<KisTokenResponse> fetchToken() {
+        if (tokenBroker == null) {
+            return requestNewToken();
+        }
+        return tokenBroker.obtainToken(currentToken.get(), this::requestNewToken)
+            .doOnNext(currentToken::set);
+    }
+
     // --- Backward-compatible APIs for existing controllers ---
     /**
      * Legacy: issue a new access token (compat shim for older callers)
@@ -128,6 +176,7 @@ public class KisTokenService {
                 currentToken.set(null);
                 logger.info("Successfully revoked access token");
             })
+            .then(Mono.defer(() -> tokenBroker != null ? tokenBroker.evict() : Mono.<Void>empty()))
             .doOnError(error -> logger.warn("Failed to revoke access token", error))
             .onErrorResume(ex -> Mono.empty()); // 폐기 실패는 무시
     }
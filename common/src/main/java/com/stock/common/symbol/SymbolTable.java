@@ -0,0 +1,257 @@
+package com.stock.common.symbol;
+
+import com.stock.common.dto.KisStockPriceRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 종목 디렉터리의 한 시점 복사본 (불변)
+ * 종목마다 0부터 빈틈없는 int id를 붙이고, 시장/업종/상태 플래그를 id로 찾는 기본형 배열에 담는다.
+ * 종목코드 → id 조회는 개방 주소법 표로 하며, 프레임 문자열의 종목코드 구간을 그대로 비교하므로 문자열을 만들지 않는다.
+ *
+ * 새 표는 이전 표의 id를 그대로 이어받고 새 종목만 뒤에 붙이므로, 프로세스가 떠 있는 동안 id는 바뀌지 않는다
+ * (상장폐지 등으로 빠진 종목도 id는 남고 {@link #LISTED} 플래그만 꺼짐). id로 색인한 배열은 다시 읽어도 그대로 쓸 수 있다.
+ */
+public final class SymbolTable {
+
+    /** 종목 정보에 없는 종목코드 */
+    public static final int UNKNOWN = -1;
+
+    public static final byte MARKET_KOSPI = 0;
+    public static final byte MARKET_KOSDAQ = 1;
+
+    /** 마지막으로 읽은 stock_information에 있음 */
+    public static final int LISTED = 1;
+    public static final int TRADING_SUSPENDED = 1 << 1;
+    public static final int DELISTING_TRADE = 1 << 2;
+    public static final int ADMINISTRATIVE_ISSUE = 1 << 3;
+    public static final int PREFERRED_STOCK = 1 << 4;
+    public static final int ETP = 1 << 5;
+    public static final int SPAC = 1 << 6;
+
+    private static final SymbolTable EMPTY = new Builder(null).build();
+
+    private final String[] codes;
+    private final byte[] markets;
+    private final short[] sectors;
+    private final int[] flags;
+    private final String[] sectorNames;
+    // 값은 id + 1 (0은 빈 칸)
+    private final int[] slots;
+    private final int listedCount;
+
+    private SymbolTable(String[] codes, byte[] markets, short[] sectors, int[] flags, String[] sectorNames) {
+        this.codes = codes;
+        this.markets = markets;
+        this.sectors = sectors;
+        this.flags = flags;
+        this.sectorNames = sectorNames;
+        this.slots = new int[Integer.highestOneBit(Math.max(1, codes.length) * 2) * 2];
+        int listed = 0;
+        int mask = slots.length - 1;
+        for (int id = 0; id < codes.length; id++) {
+            int slot = hash(codes[id], 0, codes[id].length()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+            if ((flags[id] & LISTED) != 0) {
+                listed++;
+            }
+        }
+        this.listedCount = listed;
+    }
+
+    public static SymbolTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param previous id를 이어받을 이전 표 (없으면 null)
+     */
+    public static Builder builder(SymbolTable previous) {
+        return new Builder(previous);
+    }
+
+    /**
+     * id 수 (빠진 종목 포함)
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * 현재 상장(stock_information에 있는) 종목 수
+     */
+    public int listedCount() {
+        return listedCount;
+    }
+
+    public int idOf(String stockCode) {
+        return idOf(stockCode, 0, stockCode.length());
+    }
+
+    /**
+     * data[from, to) 구간을 종목코드로 하는 종목의 id
+     *
+     * @return 없으면 {@link #UNKNOWN}
+     */
+    public int idOf(CharSequence data, int from, int to) {
+        int mask = slots.length - 1;
+        for (int slot = hash(data, from, to) & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return UNKNOWN;
+            }
+            if (matches(codes[entry - 1], data, from, to)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    public String codeOf(int id) {
+        return codes[id];
+    }
+
+    public byte marketOf(int id) {
+        return markets[id];
+    }
+
+    public boolean isKospi(int id) {
+        return markets[id] == MARKET_KOSPI;
+    }
+
+    /**
+     * 업종 번호 (지수업종 대분류, 0은 업종 없음)
+     */
+    public int sectorIdOf(int id) {
+        return sectors[id];
+    }
+
+    /**
+     * @return 업종이 없으면 null
+     */
+    public String sectorOf(int id) {
+        return sectorNames[sectors[id]];
+    }
+
+    public int flagsOf(int id) {
+        return flags[id];
+    }
+
+    public boolean has(int id, int flag) {
+        return (flags[id] & flag) == flag;
+    }
+
+    /**
+     * 시세 조회 대상 여부 (상장 중이고 거래정지/정리매매가 아님)
+     */
+    public boolean isTradable(int id) {
+        return (flags[id] & (LISTED | TRADING_SUSPENDED | DELISTING_TRADE)) == LISTED;
+    }
+
+    /**
+     * 시장구분을 붙인 현재가 조회 요청
+     */
+    public KisStockPriceRequest requestOf(int id) {
+        return isKospi(id) ? KisStockPriceRequest.kospi(codes[id]) : KisStockPriceRequest.kosdaq(codes[id]);
+    }
+
+    private static int hash(CharSequence data, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + data.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String stockCode, CharSequence data, int from, int to) {
+        if (stockCode.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < stockCode.length(); i++) {
+            if (stockCode.charAt(i) != data.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 새 표 작성기
+     * 이전 표의 종목은 같은 id로 미리 담아 두되 상장 플래그를 끈 상태로 시작하고, add된 종목만 다시 켠다.
+     */
+    public static final class Builder {
+
+        private final List<String> codes = new ArrayList<>();
+        private final Map<String, Integer> idByCode = new HashMap<>();
+        private final List<String> sectorNames = new ArrayList<>();
+        private final Map<String, Integer> sectorIdByName = new HashMap<>();
+        private byte[] markets = new byte[16];
+        private short[] sectors = new short[16];
+        private int[] flags = new int[16];
+
+        private Builder(SymbolTable previous) {
+            sectorNames.add(null);
+            if (previous == null) {
+                return;
+            }
+            for (int id = 0; id < previous.size(); id++) {
+                int newId = idOf(previous.codes[id]);
+                markets[newId] = previous.markets[id];
+                sectors[newId] = (short) sectorIdOf(previous.sectorOf(id));
+                flags[newId] = previous.flags[id] & ~LISTED;
+            }
+        }
+
+        /**
+         * 상장 종목 추가 (같은 종목코드를 다시 넣으면 마지막 값)
+         *
+         * @param sector 업종명 (없으면 null)
+         * @param flags  상태 플래그 ({@link #LISTED}는 자동으로 켬)
+         */
+        public Builder add(String stockCode, byte market, String sector, int flags) {
+            int id = idOf(stockCode);
+            this.markets[id] = market;
+            this.sectors[id] = (short) sectorIdOf(sector);
+            this.flags[id] = flags | LISTED;
+            return this;
+        }
+
+        public SymbolTable build() {
+            int size = codes.size();
+            return new SymbolTable(codes.toArray(String[]::new), Arrays.copyOf(markets, size),
+                Arrays.copyOf(sectors, size), Arrays.copyOf(flags, size), sectorNames.toArray(String[]::new));
+        }
+
+        private int idOf(String stockCode) {
+            Integer existing = idByCode.get(stockCode);
+            if (existing != null) {
+                return existing;
+            }
+            int id = codes.size();
+            codes.add(stockCode);
+            idByCode.put(stockCode, id);
+            if (id == markets.length) {
+                markets = Arrays.copyOf(markets, id * 2);
+                sectors = Arrays.copyOf(sectors, id * 2);
+                flags = Arrays.copyOf(flags, id * 2);
+            }
+            return id;
+        }
+
+        private int sectorIdOf(String sector) {
+            if (sector == null || sector.isBlank()) {
+                return 0;
+            }
+            return sectorIdByName.computeIfAbsent(sector, name -> {
+                sectorNames.add(name);
+                return sectorNames.size() - 1;
+            });
+        }
+    }
+}
@@ -8,6 +8,23 @@ public final class KisWebSocketUtil {
     private KisWebSocketUtil() {
     }
 
+    /**
+     * 실시간 웹소켓 접속 URL을 반환합니다.
+     * kis.api.ws-url이 설정되어 있으면 그 값을, 없으면 base-url(실운영/모의투자)에 맞는 기본 URL을 사용합니다.
+     *
+     * @param properties KIS API 설정
+     * @return 웹소켓 URL
+     */
+    public static String getWebSocketUrl(KisApiProperties properties) {
+        if (properties.wsUrl() != null && !properties.wsUrl().isBlank()) {
+            return properties.wsUrl();
+        }
+        if (properties.baseUrl() != null && properties.baseUrl().contains("openapivts")) {
+            return KisApiConstants.WS_MOCK_URL;
+        }
+        return KisApiConstants.WS_REAL_URL;
+    }
+
     /**
      * 웹소켓 연결을 위한 헤더 정보를 생성합니다.
      *
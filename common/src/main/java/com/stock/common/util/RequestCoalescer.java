@@ -0,0 +1,72 @@
+package com.stock.common.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 동일 키로 동시에 들어온 요청을 하나의 업스트림 호출로 합치는 코얼레서
+ * 진행 중인 호출이 있으면 그 결과(Mono)를 공유하고, 호출이 끝나면(성공/실패 모두) 키를 제거한다.
+ *
+ * @param <K> 요청 키 (equals/hashCode 구현 필요)
+ * @param <V> 응답 타입
+ */
+public class RequestCoalescer<K, V> {
+
+    private final ConcurrentHashMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 키에 해당하는 진행 중 호출에 합류하거나, 없으면 loader로 새 호출을 시작한다
+     */
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            while (true) {
+                Mono<V> existing = inFlight.get(key);
+                if (existing != null) {
+                    hits.increment();
+                    return existing;
+                }
+
+                AtomicReference<Mono<V>> self = new AtomicReference<>();
+                // 결과를 구독자에게 전달하기 전에 키를 제거해야 완료 직후 호출이 끝난 결과에 합류하지 않는다
+                Mono<V> shared = Mono.defer(() -> loader.apply(key))
+                    .doOnSuccess(value -> inFlight.remove(key, self.get()))
+                    .doOnError(error -> inFlight.remove(key, self.get()))
+                    .doOnCancel(() -> inFlight.remove(key, self.get()))
+                    .cache();
+                self.set(shared);
+
+                if (inFlight.putIfAbsent(key, shared) == null) {
+                    misses.increment();
+                    return shared;
+                }
+            }
+        });
+    }
+
+    /**
+     * 진행 중인 호출에 합류한 횟수
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 새 업스트림 호출을 시작한 횟수
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 현재 진행 중인 키 수
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
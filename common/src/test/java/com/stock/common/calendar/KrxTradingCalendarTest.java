@@ -0,0 +1,92 @@
+package com.stock.common.calendar;
+
+import com.stock.common.config.KrxCalendarProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KrxTradingCalendarTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final KrxTradingCalendar calendar = calendar("""
+        # 테스트용
+        2026-09-24 추석
+        2026-09-25 추석   # 금요일
+        2026-11-19 10:00-16:30 수능
+        2026-12-30 09:00-12:00 반일장
+        """);
+
+    @Test
+    void isTradingDay_주말과_휴장일은_거래일이_아님() {
+        // When & Then
+        assertThat(calendar.isTradingDay(LocalDate.of(2026, 9, 23))).isTrue();
+        assertThat(calendar.isTradingDay(LocalDate.of(2026, 9, 24))).isFalse();
+        assertThat(calendar.isTradingDay(LocalDate.of(2026, 9, 26))).isFalse();
+        assertThat(calendar.nextTradingDay(LocalDate.of(2026, 9, 23))).isEqualTo(LocalDate.of(2026, 9, 28));
+        assertThat(calendar.nextRegularOpen(kst(2026, 9, 23, 15, 0)))
+            .isEqualTo(kst(2026, 9, 28, 9, 0));
+    }
+
+    @Test
+    void sessionAt_기본_거래시간으로_구간_판단() {
+        // When & Then
+        assertThat(calendar.sessionAt(kst(2026, 10, 16, 8, 0))).isEqualTo(TradingSession.CLOSED);
+        assertThat(calendar.sessionAt(kst(2026, 10, 16, 8, 30))).isEqualTo(TradingSession.PRE_MARKET);
+        assertThat(calendar.sessionAt(kst(2026, 10, 16, 9, 0))).isEqualTo(TradingSession.REGULAR);
+        assertThat(calendar.sessionAt(kst(2026, 10, 16, 15, 30))).isEqualTo(TradingSession.POST_MARKET);
+        assertThat(calendar.sessionAt(kst(2026, 10, 16, 18, 0))).isEqualTo(TradingSession.CLOSED);
+        assertThat(calendar.sessionAt(kst(2026, 10, 17, 10, 0))).isEqualTo(TradingSession.CLOSED);
+    }
+
+    @Test
+    void hoursOf_거래시간_변경일은_장전_장후_시간외도_함께_밀림() {
+        // When
+        TradingHours csat = calendar.hoursOf(LocalDate.of(2026, 11, 19));
+        TradingHours halfDay = calendar.hoursOf(LocalDate.of(2026, 12, 30));
+
+        // Then
+        assertThat(csat.preMarketOpen()).isEqualTo(LocalTime.of(9, 30));
+        assertThat(csat.postMarketClose()).isEqualTo(LocalTime.of(19, 0));
+        assertThat(calendar.sessionAt(kst(2026, 11, 19, 9, 45))).isEqualTo(TradingSession.PRE_MARKET);
+        assertThat(calendar.sessionAt(kst(2026, 11, 19, 16, 0))).isEqualTo(TradingSession.REGULAR);
+        assertThat(halfDay.postMarketClose()).isEqualTo(LocalTime.of(14, 30));
+        assertThat(calendar.regularCloseOf(LocalDate.of(2026, 12, 30))).isEqualTo(LocalTime.of(12, 0));
+    }
+
+    @Test
+    void 생성자_형식이_잘못된_줄은_줄번호와_함께_실패() {
+        // When & Then
+        assertThatThrownBy(() -> calendar("2026-01-01\n2026-13-01 잘못된 날짜\n"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("2번째 줄");
+    }
+
+    @Test
+    void 생성자_기본_휴장일_파일_로드() {
+        // Given
+        KrxTradingCalendar bundled = new KrxTradingCalendar(new KrxCalendarProperties(null, null, null, null, null));
+
+        // When & Then
+        assertThat(bundled.isTradingDay(LocalDate.of(2026, 1, 1))).isFalse();
+        assertThat(bundled.hoursOf(LocalDate.of(2026, 1, 2)).regularOpen()).isEqualTo(LocalTime.of(10, 0));
+    }
+
+    private static KrxTradingCalendar calendar(String holidays) {
+        return new KrxTradingCalendar(new KrxCalendarProperties(
+            new ByteArrayResource(holidays.getBytes(StandardCharsets.UTF_8)), null, null, null, null));
+    }
+
+    private static Instant kst(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(KST).toInstant();
+    }
+}
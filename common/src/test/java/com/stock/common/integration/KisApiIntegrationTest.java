@@ -10,18 +10,25 @@ import com.stock.common.service.KisWebSocketKeyService;
 import com.stock.common.service.KisApiService;
 import com.stock.common.service.KisMockService;
 import com.stock.common.exception.KisApiAuthenticationException;
+import com.stock.common.dto.KisMultiStockPriceResponse;
 import com.stock.common.dto.KisStockPriceRequest;
 import com.stock.common.dto.KisStockPriceResponse;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -362,6 +369,89 @@ class KisApiIntegrationTest {
                 .verifyComplete();
     }
 
+    @Test
+    void 주식현재가_동시_동일종목_조회는_한번만_호출() throws Exception {
+        // Given
+        KisTokenResponse tokenResponse = new KisTokenResponse(
+                "test-access-token",
+                "Bearer",
+                86400L,
+                "2024-12-31 23:59:59"
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(objectMapper.writeValueAsString(tokenResponse)));
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(objectMapper.writeValueAsString(createMockStockPriceResponse()))
+                .setBodyDelay(300, TimeUnit.MILLISECONDS));
+
+        // When
+        List<KisStockPriceResponse> responses = Flux.range(0, 20)
+                .flatMap(i -> kisApiService.getStockPrice(KisStockPriceRequest.kospi("005930")))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(responses).hasSize(20)
+                .allMatch(response -> "005930".equals(response.output().stockCode()));
+        // 토큰 발급 1회 + 주식현재가 조회 1회
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void 멀티종목_시세_조회는_30종목씩_묶어서_호출() throws Exception {
+        // Given
+        KisTokenResponse tokenResponse = new KisTokenResponse(
+                "test-access-token",
+                "Bearer",
+                86400L,
+                "2024-12-31 23:59:59"
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(objectMapper.writeValueAsString(tokenResponse)));
+
+        List<KisStockPriceRequest> requests = IntStream.range(0, 31)
+                .mapToObj(i -> KisStockPriceRequest.kospi(String.format("%06d", i + 1)))
+                .toList();
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(objectMapper.writeValueAsString(createMockMultiStockPriceResponse(requests.subList(0, 30)))));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader("Content-Type", "application/json")
+                .setBody(objectMapper.writeValueAsString(createMockMultiStockPriceResponse(requests.subList(30, 31)))));
+
+        // When
+        List<KisStockPriceResponse> responses = kisApiService.getStockPrices(requests)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(responses).hasSize(31)
+                .allMatch(KisStockPriceResponse::isSuccessful)
+                .extracting(response -> response.output().stockCode())
+                .containsExactlyInAnyOrderElementsOf(requests.stream().map(KisStockPriceRequest::stockCode).toList());
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(3);
+
+        mockWebServer.takeRequest(); // 토큰 발급
+        List<RecordedRequest> batches = List.of(mockWebServer.takeRequest(), mockWebServer.takeRequest());
+        assertThat(batches).extracting(request -> request.getHeader("Authorization"))
+                .containsOnly("Bearer test-access-token");
+        List<String> batchPaths = batches.stream().map(RecordedRequest::getPath).toList();
+        assertThat(batchPaths).allMatch(path -> path.startsWith("/uapi/domestic-stock/v1/quotations/intstock-multprice"));
+        assertThat(batchPaths).anyMatch(path -> path.contains("FID_INPUT_ISCD_30=000030"));
+        assertThat(batchPaths).anyMatch(path -> path.contains("FID_INPUT_ISCD_1=000031") && !path.contains("FID_INPUT_ISCD_2="));
+    }
+
     @Test
     void 주식현재가_조회_잘못된_종목코드_테스트() {
         // Given
@@ -486,6 +576,18 @@ class KisApiIntegrationTest {
         return new KisStockPriceResponse("0", "OPSP0000", "정상처리 되었습니다.", output);
     }
 
+    private KisMultiStockPriceResponse createMockMultiStockPriceResponse(List<KisStockPriceRequest> requests) {
+        List<KisMultiStockPriceResponse.Item> items = requests.stream()
+                .map(request -> new KisMultiStockPriceResponse.Item(
+                        "코스피", "", "0", request.stockCode(), "종목" + request.stockCode(),
+                        "10000", "100", "2", "1.01", "9900",
+                        "10050", "10000", "100", "200",
+                        "123456", "1234560000",
+                        "9950", "10100", "9900", "12870", "6930"))
+                .toList();
+        return new KisMultiStockPriceResponse("0", "MCA00000", "정상처리 되었습니다.", items);
+    }
+
     private KisStockPriceResponse createMockKosdaqStockPriceResponse() {
         KisStockPriceResponse.Output output = new KisStockPriceResponse.Output(
                 "55000", // currentPrice
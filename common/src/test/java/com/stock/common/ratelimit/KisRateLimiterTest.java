@@ -0,0 +1,124 @@
+package com.stock.common.ratelimit;
+
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.exception.KisRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisRateLimiterTest {
+
+    private KisRateLimiter createLimiter(int perSecond, int perMinute, int perDay, int maxConnections) {
+        KisApiProperties properties = new KisApiProperties(
+            "http://localhost:8080",
+            "test-app-key",
+            "test-app-secret",
+            "01234567-89",
+            "ws://localhost:31000",
+            new KisApiProperties.RateLimit(perSecond, perMinute, perDay, maxConnections),
+            new KisApiProperties.Timeout(5000, 30000, 30000)
+        );
+        return new KisRateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void acquire_초당_한도_초과시_거절하지_않고_지연() {
+        // Given
+        KisRateLimiter limiter = createLimiter(5, 1000, 10000, 10);
+
+        // When
+        long start = System.nanoTime();
+        Flux<KisRateLimiter.Permit> permits = Flux.range(0, 10)
+            .flatMap(i -> limiter.acquire().doOnNext(KisRateLimiter.Permit::release));
+
+        // Then
+        StepVerifier.create(permits)
+            .expectNextCount(10)
+            .verifyComplete();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(limiter.getDailyUsed()).isEqualTo(10);
+    }
+
+    @Test
+    void acquire_일일_한도_초과시_예외() {
+        // Given
+        KisRateLimiter limiter = createLimiter(100, 1000, 2, 10);
+
+        // When & Then
+        StepVerifier.create(limiter.acquire().doOnNext(KisRateLimiter.Permit::release))
+            .expectNextCount(1)
+            .verifyComplete();
+        StepVerifier.create(limiter.acquire().doOnNext(KisRateLimiter.Permit::release))
+            .expectNextCount(1)
+            .verifyComplete();
+        StepVerifier.create(limiter.acquire())
+            .expectError(KisRateLimitExceededException.class)
+            .verify();
+
+        assertThat(limiter.getDailyRemaining()).isZero();
+        // 거절된 요청은 동시 연결 허가를 반납해야 함
+        assertThat(limiter.getAvailablePermits()).isEqualTo(10);
+    }
+
+    @Test
+    void acquire_분당_일일_한도_0이면_초당_한도만_적용() {
+        // Given
+        KisRateLimiter limiter = createLimiter(100, 0, 0, 10);
+
+        // When
+        Flux<KisRateLimiter.Permit> permits = Flux.range(0, 50)
+            .flatMap(i -> limiter.acquire().doOnNext(KisRateLimiter.Permit::release));
+
+        // Then
+        StepVerifier.create(permits)
+            .expectNextCount(50)
+            .expectComplete()
+            .verify(Duration.ofSeconds(2));
+        assertThat(limiter.getDailyUsed()).isEqualTo(50);
+        assertThat(limiter.getDailyRemaining()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void acquire_동시_연결_수_제한() {
+        // Given
+        KisRateLimiter limiter = createLimiter(100, 1000, 10000, 2);
+        KisRateLimiter.Permit first = limiter.acquire().block();
+        KisRateLimiter.Permit second = limiter.acquire().block();
+        assertThat(limiter.getAvailablePermits()).isZero();
+
+        // When & Then
+        StepVerifier.create(limiter.acquire())
+            .then(() -> Mono.delay(Duration.ofMillis(100)).subscribe(unused -> first.release()))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        second.release();
+        second.release(); // 중복 반납은 무시
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_대기중_취소시_허가_누수_없음() {
+        // Given
+        KisRateLimiter limiter = createLimiter(100, 1000, 10000, 1);
+        KisRateLimiter.Permit held = limiter.acquire().block();
+
+        // When
+        StepVerifier.create(limiter.acquire())
+            .expectSubscription()
+            .thenCancel()
+            .verify();
+        held.release();
+
+        // Then
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+}
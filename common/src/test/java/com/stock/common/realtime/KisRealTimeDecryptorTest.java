@@ -0,0 +1,118 @@
+package com.stock.common.realtime;
+
+import com.stock.common.exception.KisWebSocketException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KisRealTimeDecryptorTest {
+
+    private static final String KEY = "abcdefghijklmnopqrstuvwxyz012345";
+    private static final String IV = "0123456789abcdef";
+
+    @Test
+    void decrypt_구독응답_키로_체결_본문_복호화() throws Exception {
+        // Given
+        String plainFrame = fixture("h0stcnt0-multi.txt");
+        int payloadStart = KisRealTimeFrameParser.payloadStart(plainFrame);
+        String body = plainFrame.substring(payloadStart);
+        String encryptedFrame = "1|H0STCNT0|003|" + encrypt(body, KEY, IV);
+
+        KisRealTimeDecryptor decryptor = new KisRealTimeDecryptor();
+        decryptor.register("H0STCNT0", KEY, IV);
+
+        // When
+        CharSequence decrypted = decryptor.decrypt(encryptedFrame);
+        List<KisExecutionTick> ticks = new ArrayList<>();
+        KisRealTimeFrameParser.parseExecutionRecords(decrypted, 0, decrypted.length(),
+            KisRealTimeFrameParser.recordCount(encryptedFrame), ticks::add);
+
+        // Then
+        assertThat(decrypted.toString()).isEqualTo(body);
+        assertThat(ticks).extracting(KisExecutionTick::price).containsExactly(73100L, 73200L, 73000L);
+        assertThat(ticks).isEqualTo(KisRealTimeFrameParser.parseExecutionFrame(plainFrame));
+    }
+
+    @Test
+    void decrypt_같은_스레드에서_여러_TR을_번갈아_복호화() throws Exception {
+        // Given
+        String otherKey = "ZYXWVUTSRQPONMLKJIHGFEDCBA987654";
+        String otherIv = "fedcba9876543210";
+        KisRealTimeDecryptor decryptor = new KisRealTimeDecryptor();
+        decryptor.register("H0STCNT0", KEY, IV);
+        decryptor.register("H0STCNI0", otherKey, otherIv);
+        String execution = "1|H0STCNT0|001|" + encrypt("005930^093001^73100", KEY, IV);
+        String notice = "1|H0STCNI0|001|" + encrypt("고객ID^계좌번호^주문번호", otherKey, otherIv);
+        String longer = "1|H0STCNT0|001|" + encrypt("x".repeat(5000), KEY, IV);
+
+        // When & Then - 버퍼를 재사용하므로 결과는 다음 호출 전에 복사
+        assertThat(decryptor.decrypt(execution).toString()).isEqualTo("005930^093001^73100");
+        assertThat(decryptor.decrypt(notice).toString()).isEqualTo("고객ID^계좌번호^주문번호");
+        assertThat(decryptor.decrypt(longer).toString()).isEqualTo("x".repeat(5000));
+        assertThat(decryptor.decrypt(execution).toString()).isEqualTo("005930^093001^73100");
+    }
+
+    @Test
+    void register_같은_TR을_다시_등록하면_새_키로_교체() throws Exception {
+        // Given
+        String newKey = "00000000001111111111222222222233";
+        KisRealTimeDecryptor decryptor = new KisRealTimeDecryptor();
+        decryptor.register("H0STCNT0", KEY, IV);
+        decryptor.decrypt("1|H0STCNT0|001|" + encrypt("old", KEY, IV));
+
+        // When
+        decryptor.register("H0STCNT0", newKey, IV);
+
+        // Then
+        assertThat(decryptor.decrypt("1|H0STCNT0|001|" + encrypt("new", newKey, IV)).toString()).isEqualTo("new");
+    }
+
+    @Test
+    void decrypt_키가_없거나_본문이_잘못되면_예외() throws Exception {
+        // Given
+        KisRealTimeDecryptor decryptor = new KisRealTimeDecryptor();
+        decryptor.register("H0STCNT0", KEY, IV);
+        String unknown = "1|H0STCNI0|001|" + encrypt("body", KEY, IV);
+
+        // When & Then
+        assertThat(decryptor.canDecrypt(unknown)).isFalse();
+        assertThatThrownBy(() -> decryptor.decrypt(unknown))
+            .isInstanceOf(KisWebSocketException.class)
+            .hasMessageContaining("등록되지 않은");
+        assertThatThrownBy(() -> decryptor.decrypt("1|H0STCNT0|001|not*base64"))
+            .isInstanceOf(KisWebSocketException.class)
+            .hasMessageContaining("base64");
+        assertThatThrownBy(() -> decryptor.decrypt("1|H0STCNT0|001|" + encrypt("body", "00000000001111111111222222222233", IV)))
+            .isInstanceOf(KisWebSocketException.class);
+        assertThatThrownBy(() -> decryptor.register("H0STCNT0", "short", IV))
+            .isInstanceOf(KisWebSocketException.class);
+
+        // 실패 후에도 같은 스레드에서 정상 복호화
+        assertThat(decryptor.decrypt("1|H0STCNT0|001|" + encrypt("body", KEY, IV)).toString()).isEqualTo("body");
+    }
+
+    private static String encrypt(String plain, String key, String iv) throws Exception {
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE,
+            new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), "AES"),
+            new IvParameterSpec(iv.getBytes(StandardCharsets.UTF_8)));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = KisRealTimeDecryptorTest.class.getResourceAsStream("/fixtures/realtime/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.stock.common.realtime;
+
+import com.stock.common.exception.KisWebSocketException;
+import com.stock.common.symbol.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class KisRealTimeFrameParserTest {
+
+    private static final SymbolTable SYMBOLS = SymbolTable.builder(null)
+        .add("005930", SymbolTable.MARKET_KOSPI, null, 0)
+        .add("000660", SymbolTable.MARKET_KOSPI, null, 0)
+        .build();
+
+    @Test
+    void parseExecutionFrame_단건_체결() throws IOException {
+        // Given
+        String frame = fixture("h0stcnt0-single.txt");
+
+        // When
+        List<KisExecutionTick> ticks = KisRealTimeFrameParser.parseExecutionFrame(frame);
+
+        // Then
+        assertThat(ticks).hasSize(1);
+        KisExecutionTick tick = ticks.get(0);
+        assertThat(tick.stockCode()).isEqualTo("005930");
+        assertThat(tick.businessDate()).isEqualTo(20240614);
+        assertThat(tick.executionTime()).isEqualTo(93001);
+        assertThat(tick.price()).isEqualTo(73100L);
+        assertThat(tick.changeSign()).isEqualTo(5);
+        assertThat(tick.change()).isEqualTo(-1100L);
+        assertThat(tick.changeRate()).isCloseTo(-1.48, within(1e-9));
+        assertThat(tick.openPrice()).isEqualTo(73700L);
+        assertThat(tick.highPrice()).isEqualTo(73900L);
+        assertThat(tick.lowPrice()).isEqualTo(72400L);
+        assertThat(tick.askPrice1()).isEqualTo(73100L);
+        assertThat(tick.bidPrice1()).isEqualTo(73000L);
+        assertThat(tick.executionVolume()).isEqualTo(12L);
+        assertThat(tick.accumulatedVolume()).isEqualTo(6677685L);
+        assertThat(tick.accumulatedTradeValue()).isEqualTo(488582510400L);
+        assertThat(tick.executionStrength()).isCloseTo(108.15, within(1e-9));
+        assertThat(tick.isSell()).isTrue();
+    }
+
+    @Test
+    void parseExecutionFrame_데이터건수만큼_여러_체결() throws IOException {
+        // Given
+        String frame = fixture("h0stcnt0-multi.txt");
+        List<KisExecutionTick> ticks = new ArrayList<>();
+
+        // When
+        int count = KisRealTimeFrameParser.parseExecutionFrame(frame, ticks::add);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(ticks).extracting(KisExecutionTick::price).containsExactly(73100L, 73200L, 73000L);
+        assertThat(ticks).extracting(KisExecutionTick::executionVolume).containsExactly(12L, 300L, 1L);
+        assertThat(ticks).extracting(KisExecutionTick::executionTime).containsExactly(93001, 93001, 93002);
+        assertThat(ticks.get(1).isBuy()).isTrue();
+    }
+
+    @Test
+    void parseExecutionFrame_필드가_잘린_프레임은_예외() throws IOException {
+        // Given
+        String frame = fixture("h0stcnt0-truncated.txt");
+
+        // When & Then
+        assertThatThrownBy(() -> KisRealTimeFrameParser.parseExecutionFrame(frame))
+            .isInstanceOf(KisWebSocketException.class)
+            .hasMessageContaining("필드 수가 부족");
+    }
+
+    @Test
+    void parseExecutionFrame_암호화_프레임과_다른_TR은_예외() {
+        assertThatThrownBy(() -> KisRealTimeFrameParser.parseExecutionFrame("1|H0STCNT0|001|c2lnbmVk"))
+            .isInstanceOf(KisWebSocketException.class)
+            .hasMessageContaining("암호화");
+        assertThatThrownBy(() -> KisRealTimeFrameParser.parseExecutionFrame("0|H0STASP0|001|005930^093001"))
+            .isInstanceOf(KisWebSocketException.class)
+            .hasMessageContaining("H0STCNT0");
+    }
+
+    @Test
+    void parseOrderBookFrame_등록된_종목의_호가창만_갱신() throws IOException {
+        // Given
+        String frame = fixture("h0stasp0-multi.txt");
+        OrderBookRegistry registry = new OrderBookRegistry(() -> SYMBOLS);
+        registry.register("005930");
+
+        // When
+        int applied = KisRealTimeFrameParser.parseOrderBookFrame(frame, registry);
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(registry.get("000660")).isNull();
+        OrderBookSnapshot snapshot = registry.get("005930").snapshot();
+        assertThat(snapshot.quoteTime()).isEqualTo(93001);
+        assertThat(snapshot.askPrices()).startsWith(73100L, 73200L).endsWith(74000L);
+        assertThat(snapshot.bidPrices()).startsWith(73000L, 72900L).endsWith(72100L);
+        assertThat(snapshot.askQuantities()).startsWith(1007L).endsWith(10007L);
+        assertThat(snapshot.bidQuantities()).startsWith(905L).endsWith(9005L);
+        assertThat(snapshot.spread()).isEqualTo(100L);
+        assertThat(snapshot.midPrice()).isEqualTo(73050.0);
+        assertThat(snapshot.askDepth()).isEqualTo(55070L).isEqualTo(snapshot.totalAskQuantity());
+        assertThat(snapshot.bidDepth()).isEqualTo(49550L).isEqualTo(snapshot.totalBidQuantity());
+        assertThat(snapshot.updateCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void parseOrderBookFrame_필드가_잘린_프레임은_예외() throws IOException {
+        // Given
+        String frame = fixture("h0stasp0-multi.txt");
+        String truncated = frame.substring(0, frame.indexOf("^000660^") + 20);
+        OrderBookRegistry registry = new OrderBookRegistry(() -> SYMBOLS);
+        registry.register("000660");
+
+        // When & Then
+        assertThatThrownBy(() -> KisRealTimeFrameParser.parseOrderBookFrame(truncated, registry))
+            .isInstanceOf(KisWebSocketException.class)
+            .hasMessageContaining("레코드 2/2");
+        assertThat(registry.get("000660").snapshot()).isNull();
+    }
+
+    @Test
+    void isDataFrame_JSON과_PINGPONG은_데이터_프레임이_아님() {
+        assertThat(KisRealTimeFrameParser.isDataFrame("0|H0STCNT0|001|005930")).isTrue();
+        assertThat(KisRealTimeFrameParser.isDataFrame("1|H0STCNT0|001|abc")).isTrue();
+        assertThat(KisRealTimeFrameParser.isDataFrame("{\"header\":{\"tr_id\":\"PINGPONG\"}}")).isFalse();
+        assertThat(KisRealTimeFrameParser.isDataFrame("")).isFalse();
+        assertThat(KisRealTimeFrameParser.hasTransactionId("0|H0STCNT0|001|005930", "H0STCNT0")).isTrue();
+        assertThat(KisRealTimeFrameParser.hasTransactionId("0|H0STCNT00|001|005930", "H0STCNT0")).isFalse();
+    }
+
+    @Test
+    void parseDecimal_부호와_소수점_처리() {
+        assertThat(KisRealTimeFrameParser.parseDecimal("-0.52", 0, 5)).isCloseTo(-0.52, within(1e-12));
+        assertThat(KisRealTimeFrameParser.parseDecimal("+12.5", 0, 5)).isCloseTo(12.5, within(1e-12));
+        assertThat(KisRealTimeFrameParser.parseDecimal("100", 0, 3)).isEqualTo(100.0);
+        assertThat(KisRealTimeFrameParser.parseDecimal("", 0, 0)).isZero();
+        assertThat(KisRealTimeFrameParser.parseLong("-1100", 0, 5)).isEqualTo(-1100L);
+        assertThatThrownBy(() -> KisRealTimeFrameParser.parseLong("12a", 0, 3))
+            .isInstanceOf(KisWebSocketException.class);
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = KisRealTimeFrameParserTest.class.getResourceAsStream("/fixtures/realtime/" + name)) {
+            assertThat(in).as("fixture %s", name).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.stock.common.realtime;
+
+import com.stock.common.symbol.SymbolTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBookTest {
+
+    private static final SymbolTable SYMBOLS = SymbolTable.builder(null)
+        .add("005930", SymbolTable.MARKET_KOSPI, null, 0)
+        .add("000660", SymbolTable.MARKET_KOSPI, null, 0)
+        .build();
+
+    @Test
+    void snapshot_쓰는_중에도_한_번의_갱신으로_일관된_값만_읽음() throws InterruptedException {
+        // Given
+        OrderBook book = new OrderBook("005930");
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong inconsistent = new AtomicLong();
+        AtomicLong reads = new AtomicLong();
+        Thread[] readers = new Thread[2];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (running.get()) {
+                    OrderBookSnapshot snapshot = book.snapshot();
+                    if (snapshot == null) {
+                        continue;
+                    }
+                    long expected = snapshot.quoteTime();
+                    for (int level = 0; level < OrderBook.DEPTH; level++) {
+                        if (snapshot.askPrices()[level] != expected || snapshot.bidQuantities()[level] != expected) {
+                            inconsistent.incrementAndGet();
+                        }
+                    }
+                    if (snapshot.totalAskQuantity() != expected) {
+                        inconsistent.incrementAndGet();
+                    }
+                    reads.incrementAndGet();
+                }
+            });
+            readers[i].start();
+        }
+
+        // When: 갱신마다 모든 값을 같은 값(갱신 번호)으로 덮어씀
+        for (int update = 1; update <= 200_000; update++) {
+            synchronized (book) {
+                Arrays.fill(book.staging, update);
+                book.publish(update, update, update);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // Then
+        assertThat(reads.get()).isPositive();
+        assertThat(inconsistent.get()).isZero();
+        assertThat(book.getUpdateCount()).isEqualTo(200_000L);
+        assertThat(book.snapshot().quoteTime()).isEqualTo(200_000);
+    }
+
+    @Test
+    void parseOrderBookRecords_갱신마다_객체를_만들지_않음() throws IOException {
+        // Given
+        String frame = fixture();
+        int start = KisRealTimeFrameParser.payloadStart(frame);
+        OrderBookRegistry registry = new OrderBookRegistry(() -> SYMBOLS);
+        registry.register("005930");
+        registry.register("000660");
+        for (int i = 0; i < 20_000; i++) { // JIT 워밍업
+            KisRealTimeFrameParser.parseOrderBookRecords(frame, start, frame.length(), 2, registry);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            KisRealTimeFrameParser.parseOrderBookRecords(frame, start, frame.length(), 2, registry);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Then: 갱신 2만 건에 1KB 미만 (측정 자체의 할당 정도)
+        assertThat(allocated).isLessThan(1024);
+        assertThat(registry.get("000660").getUpdateCount()).isEqualTo(30_000L);
+    }
+
+    private static String fixture() throws IOException {
+        try (InputStream in = OrderBookTest.class.getResourceAsStream("/fixtures/realtime/h0stasp0-multi.txt")) {
+            assertThat(in).isNotNull();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).strip();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.stock.common.realtime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TickArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeTo_종목별_열로_쓰고_같은_순서로_복원() throws IOException {
+        // Given
+        TickArchiveWriter writer = new TickArchiveWriter(20261016);
+        List<long[]> samsung = generate(writer, "005930", 73100, 5000, 1);
+        List<long[]> hynix = generate(writer, "000660", 150000, 3000, 2);
+        boolean otherDay = writer.add(new KisExecutionTick("005930", 20261015, 93000, 70000, 2, 0, 0, 0, 0, 0,
+            0, 0, 1, 1, 1, 0, 1));
+        Path path = directory.resolve("ticks-20261016.tca");
+
+        // When
+        writer.writeTo(path);
+        List<long[]> restored = new ArrayList<>();
+        try (TickArchiveReader reader = TickArchiveReader.open(path)) {
+            reader.read("005930", (time, price, volume) -> restored.add(new long[]{time, price, volume}));
+
+            // Then
+            assertThat(otherDay).isFalse();
+            assertThat(reader.getBusinessDate()).isEqualTo(20261016);
+            assertThat(reader.getStockCodes()).containsExactly("000660", "005930");
+            assertThat(reader.getTickCount("000660")).isEqualTo(hynix.size());
+            assertThat(reader.getTickCount("035420")).isZero();
+        }
+        assertThat(restored).containsExactlyElementsOf(samsung);
+    }
+
+    @Test
+    void read_시각_구간만_돌려줌() throws IOException {
+        // Given
+        TickArchiveWriter writer = new TickArchiveWriter(20261016);
+        writer.add("005930", 90000, 73000, 10);
+        writer.add("005930", 93000, 73100, 5);
+        writer.add("005930", 93000, 73200, 3);
+        writer.add("005930", 93059, 73000, 1);
+        writer.add("005930", 93100, 72900, 7);
+        writer.add("005930", 93000, 73300, 2); // 늦게 도착한 체결
+        Path path = directory.resolve("ticks-20261016.tca");
+        writer.writeTo(path);
+
+        // When
+        List<String> ticks = new ArrayList<>();
+        int count;
+        try (TickArchiveReader reader = TickArchiveReader.open(path)) {
+            count = reader.read("005930", 93000, 93100, (time, price, volume) -> ticks.add(time + "/" + price + "/" + volume));
+        }
+
+        // Then
+        assertThat(count).isEqualTo(4);
+        assertThat(ticks).containsExactly("93000/73100/5", "93000/73200/3", "93059/73000/1", "93000/73300/2");
+    }
+
+    @Test
+    void writeTo_원본_체결_프레임_대비_10분의1_이하() throws IOException {
+        // Given
+        TickArchiveWriter writer = new TickArchiveWriter(20261016);
+        long rawBytes = 0;
+        for (long[] tick : generate(writer, "005930", 73100, 20000, 3)) {
+            rawBytes += ("0|H0STCNT0|001|" + record((int) tick[0], tick[1], tick[2])).length();
+        }
+        Path path = directory.resolve("ticks-20261016.tca");
+
+        // When
+        long archived = writer.writeTo(path);
+
+        // Then
+        assertThat(archived).isLessThan(rawBytes / 10);
+    }
+
+    @Test
+    void open_형식이_다른_파일은_거부() throws IOException {
+        // Given
+        Path path = directory.resolve("not-an-archive.tca");
+        Files.writeString(path, "0|H0STCNT0|001|005930^093001^73100^....");
+
+        // When & Then
+        assertThatThrownBy(() -> TickArchiveReader.open(path)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 장중 체결 흐름과 비슷하게 같은 초/이웃 초에 몰리고 호가 단위로 움직이는 체결 생성
+     */
+    private static List<long[]> generate(TickArchiveWriter writer, String stockCode, long startPrice, int count, long seed) {
+        Random random = new Random(seed);
+        List<long[]> ticks = new ArrayList<>(count);
+        int second = 9 * 3600;
+        long price = startPrice;
+        for (int i = 0; i < count; i++) {
+            second += random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(3);
+            price += (random.nextInt(3) - 1) * 100L;
+            long volume = 1 + random.nextInt(random.nextInt(10) == 0 ? 5000 : 50);
+            int time = BarResolution.toTime(second);
+            writer.add(stockCode, time, price, volume);
+            ticks.add(new long[]{time, price, volume});
+        }
+        return ticks;
+    }
+
+    private static String record(int time, long price, long volume) {
+        return String.join("^",
+            "005930", String.format("%06d", time), Long.toString(price), "5", "-1100", "-1.48", "72996.51", "73700",
+            "73900", "72400", "73100", "73000", Long.toString(volume), "6677685", "488582510400", "5732", "6284",
+            "552", "108.15", "3208114", "3469571", "5", "51.96", "42.17", "090000", "5", "-500", "091532", "2",
+            "+200", "090412", "5", "-1000", "20261016", "20", "N", "60133", "107529", "1150327", "1437205",
+            "0.05", "9732381", "73.61", "0", "00", "73900");
+    }
+}
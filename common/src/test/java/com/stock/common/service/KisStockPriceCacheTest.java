@@ -0,0 +1,181 @@
+package com.stock.common.service;
+
+import com.stock.common.calendar.KrxTradingCalendar;
+import com.stock.common.config.KisQuoteCacheProperties;
+import com.stock.common.config.KrxCalendarProperties;
+import com.stock.common.dto.KisStockPriceRequest;
+import com.stock.common.dto.KisStockPriceResponse;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class KisStockPriceCacheTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final KisStockPriceRequest SAMSUNG = KisStockPriceRequest.kospi("005930");
+    private static final KrxTradingCalendar CALENDAR =
+        new KrxTradingCalendar(new KrxCalendarProperties(null, null, null, null, null));
+
+    private final MutableClock clock = new MutableClock(kst(2024, 6, 14, 10, 0, 0)); // 금요일 장중
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_장중_TTL_내_재조회는_캐시_사용() {
+        // Given
+        KisStockPriceCache cache = new KisStockPriceCache(properties(10), CALENDAR, clock);
+
+        // When & Then
+        StepVerifier.create(cache.get(SAMSUNG, this::load)).expectNextCount(1).verifyComplete();
+        clock.advance(Duration.ofMillis(500));
+        StepVerifier.create(cache.get(SAMSUNG, this::load)).expectNextCount(1).verifyComplete();
+        assertThat(loads).hasValue(1);
+
+        clock.advance(Duration.ofMillis(600));
+        StepVerifier.create(cache.get(SAMSUNG, this::load)).expectNextCount(1).verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_만료_직전_조회시_캐시_반환_후_백그라운드_갱신() {
+        // Given
+        KisStockPriceCache cache = new KisStockPriceCache(properties(10), CALENDAR, clock);
+        StepVerifier.create(cache.get(SAMSUNG, this::load))
+            .expectNextMatches(response -> "1".equals(response.message()))
+            .verifyComplete();
+
+        // When
+        clock.advance(Duration.ofMillis(900));
+
+        // Then
+        StepVerifier.create(cache.get(SAMSUNG, this::load))
+            .expectNextMatches(response -> "1".equals(response.message()))
+            .verifyComplete();
+        await().atMost(2, TimeUnit.SECONDS).until(() -> loads.get() == 2);
+
+        clock.advance(Duration.ofMillis(500));
+        StepVerifier.create(cache.get(SAMSUNG, this::load))
+            .expectNextMatches(response -> "2".equals(response.message()))
+            .verifyComplete();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_오류_응답은_캐시하지_않음() {
+        // Given
+        KisStockPriceCache cache = new KisStockPriceCache(properties(10), CALENDAR, clock);
+        KisStockPriceResponse error = new KisStockPriceResponse("1", "EGW00201", "초당 거래건수를 초과하였습니다.", null);
+
+        // When
+        cache.get(SAMSUNG, request -> {
+            loads.incrementAndGet();
+            return Mono.just(error);
+        }).block();
+        cache.get(SAMSUNG, this::load).block();
+
+        // Then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_최대_크기_초과시_가장_오래_조회되지_않은_종목_제거() {
+        // Given
+        KisStockPriceCache cache = new KisStockPriceCache(properties(2), CALENDAR, clock);
+        KisStockPriceRequest hynix = KisStockPriceRequest.kospi("000660");
+        KisStockPriceRequest kakao = KisStockPriceRequest.kosdaq("035720");
+
+        // When
+        cache.get(SAMSUNG, this::load).block();
+        cache.get(hynix, this::load).block();
+        cache.get(SAMSUNG, this::load).block();
+        cache.get(kakao, this::load).block();
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get(SAMSUNG, this::load).block();
+        assertThat(loads).hasValue(3);
+        cache.get(hynix, this::load).block();
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void expiresAt_장중에는_TTL_장마감_후에는_다음_거래일_장시작() {
+        // Given
+        KisStockPriceCache cache = new KisStockPriceCache(properties(10), CALENDAR, clock);
+        Instant intraday = kst(2024, 6, 14, 10, 0, 0);
+        Instant beforeSettle = kst(2024, 6, 14, 15, 39, 59).plusMillis(500);
+        Instant fridayEvening = kst(2024, 6, 14, 16, 0, 0);
+        Instant mondayPreOpen = kst(2024, 6, 17, 8, 0, 0);
+
+        // When & Then
+        assertThat(cache.expiresAt(intraday)).isEqualTo(intraday.plusSeconds(1).toEpochMilli());
+        assertThat(cache.expiresAt(beforeSettle)).isEqualTo(kst(2024, 6, 14, 15, 40, 0).toEpochMilli());
+        assertThat(cache.expiresAt(fridayEvening)).isEqualTo(kst(2024, 6, 17, 9, 0, 0).toEpochMilli());
+        assertThat(cache.expiresAt(mondayPreOpen)).isEqualTo(kst(2024, 6, 17, 9, 0, 0).toEpochMilli());
+    }
+
+    @Test
+    void expiresAt_휴장일_연휴와_거래시간_변경일은_달력을_따름() {
+        // Given
+        KisStockPriceCache cache = new KisStockPriceCache(properties(10), CALENDAR, clock);
+        Instant beforeChuseok = kst(2024, 9, 13, 16, 0, 0);
+        Instant csatMorning = kst(2024, 11, 14, 9, 30, 0);
+        Instant csatAfternoon = kst(2024, 11, 14, 16, 0, 0);
+
+        // When & Then
+        assertThat(cache.expiresAt(beforeChuseok)).isEqualTo(kst(2024, 9, 19, 9, 0, 0).toEpochMilli());
+        assertThat(cache.expiresAt(csatMorning)).isEqualTo(kst(2024, 11, 14, 10, 0, 0).toEpochMilli());
+        assertThat(cache.expiresAt(csatAfternoon)).isEqualTo(csatAfternoon.plusSeconds(1).toEpochMilli());
+    }
+
+    private Mono<KisStockPriceResponse> load(KisStockPriceRequest request) {
+        int count = loads.incrementAndGet();
+        return Mono.just(new KisStockPriceResponse("0", "MCA00000", String.valueOf(count), null));
+    }
+
+    private static KisQuoteCacheProperties properties(int maxSize) {
+        return new KisQuoteCacheProperties(maxSize, Duration.ofSeconds(1), Duration.ofMillis(200),
+            Duration.ofMinutes(10));
+    }
+
+    private static Instant kst(int year, int month, int day, int hour, int minute, int second) {
+        return LocalDateTime.of(year, month, day, hour, minute, second).atZone(KST).toInstant();
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return KST;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
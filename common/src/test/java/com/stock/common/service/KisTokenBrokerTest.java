@@ -0,0 +1,158 @@
+package com.stock.common.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.config.KisTokenBrokerProperties;
+import com.stock.common.dto.KisTokenResponse;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 Redis로 두 프로세스(KisTokenService 2개)가 토큰을 공유하는지 검증
+ */
+class KisTokenBrokerTest {
+
+    private RedisServer redisServer;
+    private LettuceConnectionFactory connectionFactory;
+    private MockWebServer mockWebServer;
+    private KisApiProperties kisApiProperties;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        int redisPort = freePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redisPort));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        kisApiProperties = new KisApiProperties(
+            String.format("http://localhost:%d", mockWebServer.getPort()),
+            "test-app-key",
+            "test-app-secret",
+            "01234567-89",
+            "ws://localhost:31000",
+            new KisApiProperties.RateLimit(20, 10000, 5),
+            new KisApiProperties.Timeout(5000, 30000, 30000)
+        );
+        objectMapper = new ObjectMapper()
+            .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionFactory.destroy();
+        redisServer.stop();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void 여러_프로세스가_동시에_요청해도_토큰_발급은_한번() throws Exception {
+        // Given
+        mockWebServer.enqueue(tokenResponse("shared-token").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        KisTokenService apiServerNode = createNode();
+        KisTokenService batchCollectorNode = createNode();
+
+        // When
+        List<String> tokens = Flux.range(0, 20)
+            .flatMap(i -> (i % 2 == 0 ? apiServerNode : batchCollectorNode).getValidAccessToken())
+            .collectList()
+            .block(Duration.ofSeconds(10));
+
+        // Then
+        assertThat(tokens).hasSize(20).containsOnly("Bearer shared-token");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        // 로컬 복사본이 채워져 이후 조회는 메모리에서 처리
+        assertThat(apiServerNode.getCachedToken().accessToken()).isEqualTo("shared-token");
+        assertThat(batchCollectorNode.getCachedToken().accessToken()).isEqualTo("shared-token");
+    }
+
+    @Test
+    void 나중에_기동한_프로세스는_Redis_공유_토큰을_사용() throws Exception {
+        // Given
+        mockWebServer.enqueue(tokenResponse("published-token"));
+        KisTokenService firstNode = createNode();
+        StepVerifier.create(firstNode.getValidAccessToken())
+            .expectNext("Bearer published-token")
+            .verifyComplete();
+
+        // When
+        KisTokenService lateNode = createNode();
+
+        // Then
+        StepVerifier.create(lateNode.getValidAccessToken())
+            .expectNext("Bearer published-token")
+            .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 갱신_요청시_공유_토큰이_현재_토큰과_같으면_새로_발급() throws Exception {
+        // Given
+        mockWebServer.enqueue(tokenResponse("old-token"));
+        mockWebServer.enqueue(tokenResponse("new-token"));
+        KisTokenService node = createNode();
+        StepVerifier.create(node.getValidAccessToken())
+            .expectNext("Bearer old-token")
+            .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(node.refreshToken())
+            .expectNextMatches(token -> token.accessToken().equals("new-token"))
+            .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+
+        // 다른 프로세스는 새 토큰을 그대로 공유
+        StepVerifier.create(createNode().getValidAccessToken())
+            .expectNext("Bearer new-token")
+            .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    private KisTokenService createNode() {
+        KisTokenService service = new KisTokenService(
+            WebClient.builder().baseUrl(kisApiProperties.baseUrl()).build(), kisApiProperties);
+        service.setTokenBroker(new KisTokenBroker(
+            new ReactiveStringRedisTemplate(connectionFactory),
+            new KisTokenBrokerProperties(true, "test:kis:token", Duration.ofSeconds(5), Duration.ofMillis(50), Duration.ofMinutes(5)),
+            kisApiProperties));
+        return service;
+    }
+
+    private MockResponse tokenResponse(String accessToken) throws Exception {
+        KisTokenResponse token = new KisTokenResponse(accessToken, "Bearer", 86400L, "2024-12-31 23:59:59");
+        return new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Type", "application/json")
+            .setBody(objectMapper.writeValueAsString(token));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.stock.common.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stock.common.config.KisApiProperties;
+import com.stock.common.config.KisTokenRenewalProperties;
+import com.stock.common.dto.KisTokenResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class KisTokenRenewalSchedulerTest {
+
+    private MockWebServer mockWebServer;
+    private KisTokenService kisTokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private KisTokenRenewalScheduler scheduler;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        String baseUrl = String.format("http://localhost:%d", mockWebServer.getPort());
+        KisApiProperties kisApiProperties = new KisApiProperties(
+            baseUrl,
+            "test-app-key",
+            "test-app-secret",
+            "01234567-89",
+            "ws://localhost:31000",
+            new KisApiProperties.RateLimit(20, 10000, 5),
+            new KisApiProperties.Timeout(5000, 30000, 30000)
+        );
+
+        kisTokenService = new KisTokenService(WebClient.builder().baseUrl(baseUrl).build(), kisApiProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new KisTokenRenewalScheduler(
+            kisTokenService,
+            new KisTokenRenewalProperties(Duration.ofMinutes(30), Duration.ZERO, Duration.ofMillis(100), Duration.ofSeconds(1)),
+            meterRegistry);
+        objectMapper = new ObjectMapper()
+            .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        scheduler.stop();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void start_토큰이_없으면_즉시_발급_후_만료_전_갱신_예약() throws Exception {
+        // Given
+        mockWebServer.enqueue(tokenResponse("renewed-token", 86400L));
+
+        // When
+        scheduler.start();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> kisTokenService.getCachedToken() != null);
+        assertThat(kisTokenService.getCachedToken().accessToken()).isEqualTo("renewed-token");
+
+        // 만료 30분 전으로 다음 갱신이 예약되어야 함
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> scheduler.getNextRenewalAt() != null
+                && scheduler.getNextRenewalAt().isAfter(LocalDateTime.now().plusHours(23)));
+        assertThat(meterRegistry.get("kis.api.token.renewals").tag("result", "success").counter().count())
+            .isEqualTo(1.0);
+        assertThat(meterRegistry.get("kis.api.token.remaining").gauge().value())
+            .isGreaterThan(Duration.ofHours(23).toSeconds());
+
+        // 요청 경로에서는 추가 HTTP 호출 없이 메모리의 토큰만 사용
+        StepVerifier.create(kisTokenService.getValidAccessToken())
+            .expectNext("Bearer renewed-token")
+            .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void start_갱신_실패시_자체_일정으로_재시도() throws Exception {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\":\"bad request\"}"));
+        mockWebServer.enqueue(tokenResponse("retried-token", 86400L));
+
+        // When
+        scheduler.start();
+
+        // Then
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> kisTokenService.getCachedToken() != null);
+        assertThat(kisTokenService.getCachedToken().accessToken()).isEqualTo("retried-token");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("kis.api.token.renewals").tag("result", "failure").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    private MockResponse tokenResponse(String accessToken, long expiresIn) throws Exception {
+        KisTokenResponse token = new KisTokenResponse(accessToken, "Bearer", expiresIn, "2024-12-31 23:59:59");
+        return new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Type", "application/json")
+            .setBody(objectMapper.writeValueAsString(token));
+    }
+}
@@ -12,12 +12,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -382,4 +385,41 @@ class KisTokenServiceTest {
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
-}
\ No newline at end of file
+    
+    @Test
+    void getValidAccessToken_동시_요청시_토큰_발급은_한번만() throws JsonProcessingException {
+        // Given
+        KisTokenResponse token = new KisTokenResponse(
+            "single-flight-token",
+            "Bearer",
+            86400L,
+            "2024-12-31 23:59:59"
+        );
+        
+        // 응답을 지연시켜 모든 구독자가 진행 중인 갱신에 합류하도록 함
+        mockWebServer.enqueue(new MockResponse()
+            .setResponseCode(200)
+            .setHeader("Content-Type", "application/json")
+            .setBodyDelay(300, TimeUnit.MILLISECONDS)
+            .setBody(objectMapper.writeValueAsString(token)));
+        
+        // When
+        int concurrentCallers = 50;
+        List<String> bearerTokens = Flux.range(0, concurrentCallers)
+            .flatMap(i -> kisTokenService.getValidAccessToken(), concurrentCallers)
+            .collectList()
+            .block(Duration.ofSeconds(5));
+        
+        // Then
+        assertThat(bearerTokens)
+            .hasSize(concurrentCallers)
+            .containsOnly("Bearer single-flight-token");
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        
+        // 갱신 완료 후에는 캐시된 토큰을 그대로 사용
+        StepVerifier.create(kisTokenService.getValidAccessToken())
+            .expectNext("Bearer single-flight-token")
+            .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+}
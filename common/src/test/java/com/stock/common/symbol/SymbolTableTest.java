@@ -0,0 +1,74 @@
+package com.stock.common.symbol;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolTableTest {
+
+    @Test
+    void idOf_종목마다_빈틈없는_id와_기본형_열_조회() {
+        // Given
+        SymbolTable table = SymbolTable.builder(null)
+            .add("005930", SymbolTable.MARKET_KOSPI, "전기전자", 0)
+            .add("247540", SymbolTable.MARKET_KOSDAQ, "전기전자", 0)
+            .add("005935", SymbolTable.MARKET_KOSPI, null, SymbolTable.PREFERRED_STOCK | SymbolTable.TRADING_SUSPENDED)
+            .build();
+
+        // When
+        int samsung = table.idOf("005930");
+        int ecopro = table.idOf("247540");
+        int preferred = table.idOf("005935");
+
+        // Then
+        assertThat(new int[]{samsung, ecopro, preferred}).containsExactly(0, 1, 2);
+        assertThat(table.idOf("000000")).isEqualTo(SymbolTable.UNKNOWN);
+        assertThat(table.requestOf(samsung).market()).isEqualTo("J");
+        assertThat(table.requestOf(ecopro).market()).isEqualTo("Q");
+        assertThat(table.sectorIdOf(samsung)).isEqualTo(table.sectorIdOf(ecopro)).isPositive();
+        assertThat(table.sectorOf(preferred)).isNull();
+        assertThat(table.has(preferred, SymbolTable.PREFERRED_STOCK)).isTrue();
+        assertThat(table.isTradable(samsung)).isTrue();
+        assertThat(table.isTradable(preferred)).isFalse();
+    }
+
+    @Test
+    void idOf_프레임_문자열의_종목코드_구간으로_조회() {
+        // Given
+        SymbolTable table = SymbolTable.builder(null)
+            .add("005930", SymbolTable.MARKET_KOSPI, null, 0)
+            .add("000660", SymbolTable.MARKET_KOSPI, null, 0)
+            .build();
+        String record = "000660^093001^187000";
+
+        // When & Then
+        assertThat(table.idOf(record, 0, 6)).isEqualTo(1);
+        assertThat(table.idOf(record, 0, 5)).isEqualTo(SymbolTable.UNKNOWN);
+    }
+
+    @Test
+    void builder_다시_읽어도_기존_id_유지_빠진_종목은_상장_해제() {
+        // Given
+        SymbolTable previous = SymbolTable.builder(null)
+            .add("005930", SymbolTable.MARKET_KOSPI, "전기전자", 0)
+            .add("123456", SymbolTable.MARKET_KOSDAQ, "서비스업", 0)
+            .build();
+
+        // When
+        SymbolTable reloaded = SymbolTable.builder(previous)
+            .add("373220", SymbolTable.MARKET_KOSPI, "전기전자", 0)
+            .add("005930", SymbolTable.MARKET_KOSPI, "전기전자", SymbolTable.ADMINISTRATIVE_ISSUE)
+            .build();
+
+        // Then
+        assertThat(reloaded.idOf("005930")).isZero();
+        assertThat(reloaded.idOf("123456")).isEqualTo(1);
+        assertThat(reloaded.idOf("373220")).isEqualTo(2);
+        assertThat(reloaded.size()).isEqualTo(3);
+        assertThat(reloaded.listedCount()).isEqualTo(2);
+        assertThat(reloaded.has(0, SymbolTable.ADMINISTRATIVE_ISSUE)).isTrue();
+        assertThat(reloaded.isTradable(1)).isFalse();
+        assertThat(reloaded.sectorOf(1)).isEqualTo("서비스업");
+        assertThat(previous.listedCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,82 @@
+package com.stock.common.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+    @Test
+    void execute_동시_동일키_요청은_한번만_호출() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        List<String> results = Flux.range(0, 10)
+            .flatMap(i -> coalescer.execute("005930", key -> {
+                loads.incrementAndGet();
+                return Mono.just("price-" + key).delayElement(Duration.ofMillis(100));
+            }))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(results).hasSize(10).containsOnly("price-005930");
+        assertThat(loads).hasValue(1);
+        assertThat(coalescer.getMissCount()).isEqualTo(1);
+        assertThat(coalescer.getHitCount()).isEqualTo(9);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_다른_키는_각각_호출() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        List<String> results = Flux.just("005930", "000660", "005930", "000660")
+            .flatMap(code -> coalescer.execute(code, key -> {
+                loads.incrementAndGet();
+                return Mono.just(key).delayElement(Duration.ofMillis(100));
+            }))
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(results).containsExactlyInAnyOrder("005930", "005930", "000660", "000660");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void execute_완료된_호출과_실패는_재사용하지_않음() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When & Then
+        StepVerifier.create(coalescer.execute("005930", key -> {
+                loads.incrementAndGet();
+                return Mono.error(new IllegalStateException("upstream error"));
+            }))
+            .expectError(IllegalStateException.class)
+            .verify();
+
+        StepVerifier.create(coalescer.execute("005930", key -> {
+                loads.incrementAndGet();
+                return Mono.just("recovered");
+            }))
+            .expectNext("recovered")
+            .verifyComplete();
+
+        assertThat(loads).hasValue(2);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+}
@@ -69,6 +69,23 @@ CREATE TABLE IF NOT EXISTS realtime_stock_price (
     INDEX idx_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Minute stock price table (1분 주기 수집 현재가로 만든 분봉, 거래량은 누적)
+CREATE TABLE IF NOT EXISTS minute_stock_price (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    stock_code VARCHAR(20) NOT NULL,
+    bar_time DATETIME NOT NULL,
+    open_price DECIMAL(15,2),
+    high_price DECIMAL(15,2),
+    low_price DECIMAL(15,2),
+    close_price DECIMAL(15,2),
+    accumulated_volume BIGINT,
+    accumulated_value BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_stock_bar_time (stock_code, bar_time),
+    INDEX idx_bar_time (bar_time)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Market index table
 CREATE TABLE IF NOT EXISTS market_index (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
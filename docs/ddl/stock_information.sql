@@ -2,6 +2,7 @@ CREATE TABLE `stock_information` (
   `short_code` varchar(20) NOT NULL COMMENT '단축코드',
   `standard_code` varchar(20) NOT NULL COMMENT '표준코드 (ISIN)',
   `korean_name` varchar(100) NOT NULL COMMENT '종목 한글명',
+  `market` varchar(10) NOT NULL COMMENT '상장 시장 (KOSPI/KOSDAQ, 종목 마스터 파일 기준)',
   `group_code` varchar(10) DEFAULT NULL COMMENT '그룹코드',
   `market_cap_scale` varchar(10) DEFAULT NULL COMMENT '시가총액 규모',
   `index_sector_major` varchar(50) DEFAULT NULL COMMENT '지수업종 대분류',
@@ -60,7 +61,7 @@ CREATE TABLE `stock_information` (
   `is_short_selling_overheated` char(1) DEFAULT 'N' COMMENT '공매도 과열 여부',
   `is_abnormal_surge` char(1) DEFAULT 'N' COMMENT '이상급등 여부',
   `is_krx300` char(1) DEFAULT 'N' COMMENT 'KRX300 포함 여부',
-  `is_kospi` char(1) DEFAULT 'N' COMMENT 'KOSPI 포함 여부',
+  `is_kospi` char(1) DEFAULT 'N' COMMENT 'KOSPI 지수 포함 여부 (상장 시장은 market)',
   `revenue` bigint(20) DEFAULT NULL COMMENT '매출액',
   `operating_profit` bigint(20) DEFAULT NULL COMMENT '영업이익',
   `ordinary_income` bigint(20) DEFAULT NULL COMMENT '경상이익',